@@ -0,0 +1,6 @@
+#!/usr/bin/env bash
+
+cd $(dirname $0)
+
+# Any arguments are passed to JMH, e.g. "./benchmark.sh HexUtils" or "./benchmark.sh -p payloadSize=1024".
+mvn package -pl :grpctrl-benchmark -am -DskipTests && java -jar grpctrl-benchmark/target/benchmarks.jar "$@"
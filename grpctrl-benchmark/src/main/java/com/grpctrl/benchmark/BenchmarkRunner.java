@@ -0,0 +1,34 @@
+package com.grpctrl.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Runs the system benchmarks, accepting the standard JMH command-line options (for example, a regular expression to
+ * select the benchmarks to run). The GC profiler is always enabled so that allocation rates are reported along with
+ * throughput, and the results are written in JSON format to {@code jmh-result.json} so they can be compared across
+ * runs.
+ */
+public class BenchmarkRunner {
+    /**
+     * @param args the JMH command-line options
+     * @throws CommandLineOptionException if the command-line options are invalid
+     * @throws RunnerException if there is a problem running the benchmarks
+     */
+    public static void main(@Nonnull final String... args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+}
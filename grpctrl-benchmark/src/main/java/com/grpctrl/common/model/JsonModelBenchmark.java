@@ -0,0 +1,189 @@
+package com.grpctrl.common.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Measure JSON serialization and deserialization of the model objects through the {@link ObjectMapperSupplier}
+ * mapper, both one object at a time via {@code writeObject}/{@code readValue}, and as a stream of objects written via
+ * a {@link JsonGenerator} and read via {@link JsonParser#readValuesAs} the way the REST resources and clients do.
+ * Streaming benchmarks count each object as an operation, so the GC profiler's normalized allocation rate reports the
+ * bytes allocated per object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonModelBenchmark {
+    private static final int STREAM_SIZE = 100;
+
+    /**
+     * The model objects to serialize and deserialize.
+     */
+    public enum Model {
+        ACCOUNT(Account.class) {
+            @Override
+            @Nonnull
+            public Object create(final int index) {
+                return new Account((long) index, "account-" + index, new ServiceLevel());
+            }
+        },
+        GROUP_0_TAGS(Group.class) {
+            @Override
+            @Nonnull
+            public Object create(final int index) {
+                return group(index, 0);
+            }
+        },
+        GROUP_10_TAGS(Group.class) {
+            @Override
+            @Nonnull
+            public Object create(final int index) {
+                return group(index, 10);
+            }
+        },
+        GROUP_100_TAGS(Group.class) {
+            @Override
+            @Nonnull
+            public Object create(final int index) {
+                return group(index, 100);
+            }
+        },
+        USER(User.class) {
+            @Override
+            @Nonnull
+            public Object create(final int index) {
+                final User user = new User("user-" + index);
+                user.setId((long) index);
+                user.setCreated(LocalDateTime.now());
+                user.setLastLogin(LocalDateTime.now());
+                user.setUserAuth(new UserAuth("SHA-512", "salt", "hashed"));
+                user.setEmails(Arrays.asList(new UserEmail("user-" + index + "@example.com")));
+                user.setRoles(Arrays.asList(UserRole.values()));
+                user.setAccounts(Arrays.asList((Account) ACCOUNT.create(index)));
+                return user;
+            }
+        };
+
+        @Nonnull
+        private final Class<?> type;
+
+        Model(@Nonnull final Class<?> type) {
+            this.type = type;
+        }
+
+        @Nonnull
+        public Class<?> getType() {
+            return this.type;
+        }
+
+        @Nonnull
+        public abstract Object create(int index);
+
+        @Nonnull
+        private static Group group(final int index, final int tagCount) {
+            final Group group = new Group((long) index, (long) index + 1, "group-" + index);
+            for (int tag = 0; tag < tagCount; tag++) {
+                group.addTags(new Tag("label-" + tag, "value-" + tag));
+            }
+            return group;
+        }
+    }
+
+    @Param({"ACCOUNT", "GROUP_0_TAGS", "GROUP_10_TAGS", "GROUP_100_TAGS", "USER"})
+    public Model model;
+
+    private ObjectMapper objectMapper;
+    private Object object;
+    private byte[] objectJson;
+    private List<Object> objects;
+    private byte[] streamJson;
+    private ByteArrayOutputStream output;
+
+    @Setup
+    public void setup() throws IOException {
+        this.objectMapper = new ObjectMapperSupplier().get();
+        this.object = this.model.create(0);
+        this.objectJson = this.objectMapper.writeValueAsBytes(this.object);
+        this.objects = new ArrayList<>(STREAM_SIZE);
+        for (int index = 0; index < STREAM_SIZE; index++) {
+            this.objects.add(this.model.create(index));
+        }
+        this.output = new ByteArrayOutputStream();
+        streamWrite();
+        this.streamJson = this.output.toByteArray();
+    }
+
+    @Benchmark
+    public int writeObject() throws IOException {
+        this.output.reset();
+        try (final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(this.output)) {
+            generator.writeObject(this.object);
+        }
+        return this.output.size();
+    }
+
+    @Benchmark
+    @Nonnull
+    public Object readValue() throws IOException {
+        return this.objectMapper.readValue(this.objectJson, this.model.getType());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public int streamWrite() throws IOException {
+        this.output.reset();
+        try (final JsonGenerator generator = this.objectMapper.getFactory().createGenerator(this.output)) {
+            generator.writeStartArray();
+            for (final Object value : this.objects) {
+                generator.writeObject(value);
+            }
+            generator.writeEndArray();
+        }
+        return this.output.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public void streamRead(@Nonnull final Blackhole blackhole) throws IOException {
+        try (final JsonParser parser = this.objectMapper.getFactory().createParser(this.streamJson)) {
+            Preconditions.checkArgument(parser.nextToken() == JsonToken.START_ARRAY);
+            Preconditions.checkArgument(parser.nextToken() == JsonToken.START_OBJECT);
+            final Iterator<?> iter = parser.readValuesAs(this.model.getType());
+            while (iter.hasNext()) {
+                blackhole.consume(iter.next());
+            }
+        }
+    }
+}
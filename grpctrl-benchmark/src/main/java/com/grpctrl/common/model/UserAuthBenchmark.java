@@ -0,0 +1,53 @@
+package com.grpctrl.common.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Measure the throughput of password hashing and validation in the {@link UserAuth} class, for the supported hash
+ * algorithms at both the minimum cost and the PBKDF2 cost configured by default in {@code reference.conf}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserAuthBenchmark {
+    @Param({"MD5", "SHA-256", "SHA-512", "PBKDF2WithHmacSHA512"})
+    public String hashAlgorithm;
+
+    @Param({"1", "65536"})
+    public int hashCost;
+
+    private UserAuth userAuth;
+
+    @Setup
+    public void setup() {
+        this.userAuth = UserAuth.fromPassword(this.hashAlgorithm, this.hashCost, "password");
+    }
+
+    @Benchmark
+    @Nonnull
+    public UserAuth fromPassword() {
+        return UserAuth.fromPassword(this.hashAlgorithm, this.hashCost, "password");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return this.userAuth.validate("password");
+    }
+}
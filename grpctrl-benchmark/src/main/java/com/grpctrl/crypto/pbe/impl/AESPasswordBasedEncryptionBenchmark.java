@@ -0,0 +1,96 @@
+package com.grpctrl.crypto.pbe.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.crypto.SecretKey;
+
+/**
+ * Measure the throughput of the {@link AESPasswordBasedEncryption} class, both when every operation performs the
+ * (expensive) password-based key derivation and when the derived keys are served from the key cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AESPasswordBasedEncryptionBenchmark {
+    @Param({"64", "1024", "65536", "1048576", "67108864"})
+    public int payloadSize;
+
+    /** Whether each operation derives its key from the password, or uses a previously derived key from the cache. */
+    @Param({"true", "false"})
+    public boolean keyDerivation;
+
+    private AESPasswordBasedEncryption pbe;
+    private byte[] payload;
+    private byte[] encrypted;
+
+    @Setup
+    public void setup() {
+        final char[] password = "password".toCharArray();
+        this.pbe = this.keyDerivation ? new AESPasswordBasedEncryption(password, 0) : new FixedSaltEncryption(password);
+
+        this.payload = new byte[this.payloadSize];
+        new Random(0).nextBytes(this.payload);
+
+        // Without key derivation, this primes the cache with the only key used by the benchmarks.
+        this.encrypted = this.pbe.encrypt(this.payload);
+    }
+
+    @Benchmark
+    @Nonnull
+    public byte[] encrypt() {
+        return this.pbe.encrypt(this.payload);
+    }
+
+    @Benchmark
+    @Nonnull
+    public byte[] decrypt() {
+        return this.pbe.decrypt(this.encrypted);
+    }
+
+    /**
+     * Encryption normally generates a new salt (and therefore derives a new, uncached key) every time, so reuse one
+     * salt and look its key up in the cache to measure the cost of encryption when the derived key is available.
+     */
+    private static class FixedSaltEncryption extends AESPasswordBasedEncryption {
+        @Nonnull
+        private final byte[] salt = new byte[16];
+
+        public FixedSaltEncryption(@Nonnull final char[] password) {
+            super(password);
+            new Random(0).nextBytes(this.salt);
+        }
+
+        @Override
+        @Nonnull
+        protected byte[] generateSalt(final int length) {
+            return Arrays.copyOf(this.salt, length);
+        }
+
+        @Override
+        @Nonnull
+        protected SecretKey keygen(final int keyLength, @Nonnull final byte[] salt)
+                throws NoSuchAlgorithmException, InvalidKeySpecException {
+            return cachedKeygen(keyLength, salt);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.grpctrl.crypto.ske.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Measure the throughput of the {@link AESSymmetricKeyEncryption} class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AESSymmetricKeyEncryptionBenchmark {
+    @Param({"64", "1024", "65536", "1048576", "67108864"})
+    public int payloadSize;
+
+    private AESSymmetricKeyEncryption ske;
+    private byte[] payload;
+    private byte[] encrypted;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        this.ske = new AESSymmetricKeyEncryption(keyPairGenerator.generateKeyPair());
+
+        this.payload = new byte[this.payloadSize];
+        new Random(0).nextBytes(this.payload);
+        this.encrypted = this.ske.encrypt(this.payload);
+        this.signature = this.ske.sign(this.payload);
+    }
+
+    @Benchmark
+    @Nonnull
+    public byte[] encrypt() {
+        return this.ske.encrypt(this.payload);
+    }
+
+    @Benchmark
+    @Nonnull
+    public byte[] decrypt() {
+        return this.ske.decrypt(this.encrypted);
+    }
+
+    @Benchmark
+    @Nonnull
+    public byte[] sign() {
+        return this.ske.sign(this.payload);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return this.ske.verify(this.payload, this.signature);
+    }
+}
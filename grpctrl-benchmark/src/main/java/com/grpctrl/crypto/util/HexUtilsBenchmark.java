@@ -0,0 +1,54 @@
+package com.grpctrl.crypto.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Measure the throughput of the {@link HexUtils} conversions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HexUtilsBenchmark {
+    @Param({"64", "1024", "65536", "1048576", "67108864"})
+    public int payloadSize;
+
+    private byte[] bytes;
+    private String hex;
+
+    @Setup
+    public void setup() {
+        this.bytes = new byte[this.payloadSize];
+        new Random(0).nextBytes(this.bytes);
+        this.hex = HexUtils.bytesToHex(this.bytes);
+    }
+
+    @Benchmark
+    @Nonnull
+    public String bytesToHex() {
+        return HexUtils.bytesToHex(this.bytes);
+    }
+
+    @Benchmark
+    @Nonnull
+    public byte[] hexToBytes() {
+        return HexUtils.hexToBytes(this.hex);
+    }
+}
@@ -0,0 +1,65 @@
+package com.grpctrl.rest.resource.v1.account;
+
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.model.ServiceLevel;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the {@link SingleAccountStreamer} and {@link MultipleAccountStreamer} classes that write account responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AccountStreamerBenchmark {
+    private static final int STREAM_SIZE = 100;
+
+    private final ObjectMapperSupplier objectMapperSupplier = new ObjectMapperSupplier();
+    private final Account account = new Account(1L, "account", new ServiceLevel());
+    private final List<Account> accounts = new ArrayList<>(STREAM_SIZE);
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Setup
+    public void setup() {
+        for (long id = 0; id < STREAM_SIZE; id++) {
+            this.accounts.add(new Account(id, "account-" + id, new ServiceLevel()));
+        }
+    }
+
+    @Benchmark
+    public int singleAccount() throws IOException {
+        this.output.reset();
+        new SingleAccountStreamer(this.objectMapperSupplier, consumer -> consumer.accept(this.account))
+                .write(this.output);
+        return this.output.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public int multipleAccounts() throws IOException {
+        this.output.reset();
+        new MultipleAccountStreamer(this.objectMapperSupplier, consumer -> this.accounts.forEach(consumer))
+                .write(this.output);
+        return this.output.size();
+    }
+}
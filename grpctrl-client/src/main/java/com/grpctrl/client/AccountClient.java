@@ -1,13 +1,16 @@
 package com.grpctrl.client;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import com.grpctrl.client.error.ClientException;
+import com.grpctrl.common.json.DataFormat;
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.model.EndPoint;
+import com.grpctrl.rest.resource.v1.NdjsonStreamer;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -18,8 +21,11 @@ import okhttp3.Response;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
@@ -44,13 +50,54 @@ public class AccountClient {
     @Nonnull
     private final String authorization;
 
+    @Nonnull
+    private final String accept;
+
+    @Nonnull
+    private final Map<DataFormat, JsonFactory> factories = new EnumMap<>(DataFormat.class);
+
+    @Nonnull
+    private final EntityTagCache<Long, Account> accountCache = new EntityTagCache<>();
+
+    /**
+     * Create a client that requests responses using the compact {@link DataFormat#SMILE} binary encoding.
+     *
+     * @param objectMapper the object mapper used to read and write model objects
+     * @param httpClient the HTTP client used to communicate with the back-end server
+     * @param endPoint the location of the back-end server
+     * @param username the name of the user to authenticate as
+     * @param password the password of the user to authenticate as
+     */
     public AccountClient(
             @Nonnull final ObjectMapper objectMapper, @Nonnull final OkHttpClient httpClient,
             @Nonnull final EndPoint endPoint, @Nonnull final String username, @Nonnull final String password) {
+        this(objectMapper, httpClient, endPoint, username, password, DataFormat.SMILE);
+    }
+
+    /**
+     * @param objectMapper the object mapper used to read and write model objects
+     * @param httpClient the HTTP client used to communicate with the back-end server
+     * @param endPoint the location of the back-end server
+     * @param username the name of the user to authenticate as
+     * @param password the password of the user to authenticate as
+     * @param dataFormat the preferred data format to request for responses, the server may still respond with JSON
+     */
+    public AccountClient(
+            @Nonnull final ObjectMapper objectMapper, @Nonnull final OkHttpClient httpClient,
+            @Nonnull final EndPoint endPoint, @Nonnull final String username, @Nonnull final String password,
+            @Nonnull final DataFormat dataFormat) {
         this.objectMapper = Objects.requireNonNull(objectMapper);
         this.httpClient = Objects.requireNonNull(httpClient);
         this.endPoint = Objects.requireNonNull(endPoint);
 
+        Objects.requireNonNull(dataFormat);
+        this.accept = dataFormat == DataFormat.JSON ? DataFormat.JSON_MEDIA_TYPE
+                : dataFormat.getMediaType() + ", " + DataFormat.JSON_MEDIA_TYPE + ";q=0.5";
+        for (final DataFormat format : DataFormat.values()) {
+            this.factories.put(format, format == DataFormat.JSON ? objectMapper.getFactory()
+                    : format.createFactory(objectMapper));
+        }
+
         Objects.requireNonNull(username);
         Objects.requireNonNull(password);
         final byte[] bytes = (username + ":" + password).getBytes(Charsets.UTF_8);
@@ -62,6 +109,13 @@ public class AccountClient {
         return this.endPoint.asUrl() + API;
     }
 
+    @Nonnull
+    private JsonParser createParser(@Nonnull final Response response) throws IOException {
+        // Servers respond with the requested format when supported, and always send errors as JSON.
+        final DataFormat dataFormat = DataFormat.fromMediaType(response.header("Content-Type")).orElse(DataFormat.JSON);
+        return this.factories.get(dataFormat).createParser(response.body().byteStream());
+    }
+
     private boolean validateSuccess(@Nonnull final JsonParser jsonParser) throws IOException {
         final JsonToken startObj = jsonParser.nextToken();
         Preconditions.checkArgument(startObj == JsonToken.START_OBJECT);
@@ -95,7 +149,7 @@ public class AccountClient {
             throws ClientException, IOException {
         switch (response.code()) {
             case HttpServletResponse.SC_OK:
-                final JsonParser jsonParser = this.objectMapper.getFactory().createParser(response.body().byteStream());
+                final JsonParser jsonParser = createParser(response);
                 final boolean success = validateSuccess(jsonParser);
                 if (success) {
                     final JsonToken accountField = jsonParser.nextToken();
@@ -126,11 +180,34 @@ public class AccountClient {
         }
     }
 
+    /**
+     * Retrieve the account with the specified unique identifier. Accounts are cached along with the entity tag
+     * provided by the server, and requested conditionally so an unchanged account is not sent again.
+     *
+     * @param accountId the unique identifier of the account to retrieve
+     * @param consumer the consumer to receive the account, when found
+     *
+     * @throws ClientException if there is a problem communicating with the back-end server
+     */
     public void get(final long accountId, @Nonnull final Consumer<Account> consumer) throws ClientException {
         try {
-            final Request request = new Request.Builder().url(getEndPointUrl() + "/" + accountId)
-                    .header("Authorization", this.authorization).get().build();
-            consumeAccounts(this.httpClient.newCall(request).execute(), consumer);
+            final Optional<EntityTagCache.Entry<Account>> cached = this.accountCache.get(accountId);
+            final Request.Builder builder = new Request.Builder().url(getEndPointUrl() + "/" + accountId)
+                    .header("Authorization", this.authorization).header("Accept", this.accept);
+            cached.ifPresent(entry -> builder.header("If-None-Match", entry.getEntityTag()));
+
+            final Response response = this.httpClient.newCall(builder.get().build()).execute();
+            if (response.code() == HttpServletResponse.SC_NOT_MODIFIED && cached.isPresent()) {
+                response.body().close();
+                consumer.accept(new Account(cached.get().getValue()));
+                return;
+            }
+
+            final String entityTag = response.header("ETag");
+            consumeAccounts(response, account -> {
+                this.accountCache.put(accountId, entityTag, new Account(account));
+                consumer.accept(account);
+            });
         } catch (final IOException ioException) {
             throw new ClientException("Failed to communicate with back-end server", ioException);
         }
@@ -138,23 +215,46 @@ public class AccountClient {
 
     public void getAll(@Nonnull final Consumer<Account> consumer) throws ClientException {
         try {
-            final Request request =
-                    new Request.Builder().url(getEndPointUrl()).header("Authorization", this.authorization).get()
-                            .build();
+            final Request request = new Request.Builder().url(getEndPointUrl())
+                    .header("Authorization", this.authorization).header("Accept", this.accept).get().build();
             consumeAccounts(this.httpClient.newCall(request).execute(), consumer);
         } catch (final IOException ioException) {
             throw new ClientException("Failed to communicate with back-end server", ioException);
         }
     }
 
+    /**
+     * Retrieve all of the accounts as a newline-delimited JSON stream, allowing each account to be processed as soon as
+     * it arrives. The returned reader must be closed when no longer needed.
+     *
+     * @return a reader providing the accounts as they are received from the back-end server
+     *
+     * @throws ClientException if there is a problem communicating with the back-end server
+     */
+    @Nonnull
+    public NdjsonReader<Account> streamAll() throws ClientException {
+        try {
+            final Request request = new Request.Builder().url(getEndPointUrl())
+                    .header("Authorization", this.authorization).header("Accept", NdjsonStreamer.MEDIA_TYPE).get()
+                    .build();
+            final Response response = this.httpClient.newCall(request).execute();
+            if (response.code() != HttpServletResponse.SC_OK) {
+                throw new ClientException(
+                        "Response code " + response.code() + " with body: " + response.body().string());
+            }
+            return new NdjsonReader<>(this.objectMapper, response.body().byteStream(), Account.class);
+        } catch (final IOException ioException) {
+            throw new ClientException("Failed to communicate with back-end server", ioException);
+        }
+    }
+
     public void add(final Collection<Account> accounts, @Nonnull final Consumer<Account> consumer)
             throws ClientException {
         try {
             final RequestBody body =
                     RequestBody.create(POST_MEDIA_TYPE, this.objectMapper.writeValueAsString(accounts));
-            final Request request =
-                    new Request.Builder().url(getEndPointUrl()).header("Authorization", this.authorization).post(body)
-                            .build();
+            final Request request = new Request.Builder().url(getEndPointUrl())
+                    .header("Authorization", this.authorization).header("Accept", this.accept).post(body).build();
             consumeAccounts(this.httpClient.newCall(request).execute(), consumer);
         } catch (final IOException ioException) {
             throw new ClientException("Failed to communicate with back-end server", ioException);
@@ -162,14 +262,14 @@ public class AccountClient {
     }
 
     public void remove(final long accountId) throws ClientException {
+        this.accountCache.remove(accountId);
         try {
             final Request request = new Request.Builder().url(getEndPointUrl() + "/" + accountId)
-                    .header("Authorization", this.authorization).delete().build();
+                    .header("Authorization", this.authorization).header("Accept", this.accept).delete().build();
             final Response response = this.httpClient.newCall(request).execute();
             switch (response.code()) {
                 case HttpServletResponse.SC_OK:
-                    final JsonParser jsonParser =
-                            this.objectMapper.getFactory().createParser(response.body().byteStream());
+                    final JsonParser jsonParser = createParser(response);
                     final boolean success = validateSuccess(jsonParser);
                     if (!success) {
                         processError(jsonParser);
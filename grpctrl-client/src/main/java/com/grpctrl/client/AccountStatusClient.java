@@ -12,6 +12,7 @@ import okhttp3.Response;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
@@ -31,6 +32,9 @@ public class AccountStatusClient {
     @Nonnull
     private final EndPoint endPoint;
 
+    @Nonnull
+    private final EntityTagCache<ApiLogin, AccountStatusResponse> statusCache = new EntityTagCache<>();
+
     public AccountStatusClient(
             @Nonnull final ObjectMapper objectMapper, @Nonnull final OkHttpClient httpClient,
             @Nonnull final EndPoint endPoint) {
@@ -46,12 +50,24 @@ public class AccountStatusClient {
 
     public AccountStatusResponse get(@Nonnull final ApiLogin apiLogin) throws ClientException {
         try {
-            final Request request = new Request.Builder().url(getEndPointUrl())
-                    .header(apiLogin.getHeaderKey(), apiLogin.getHeaderValue()).get().build();
-            final Response response = this.httpClient.newCall(request).execute();
+            final Optional<EntityTagCache.Entry<AccountStatusResponse>> cached = this.statusCache.get(apiLogin);
+            final Request.Builder builder = new Request.Builder().url(getEndPointUrl())
+                    .header(apiLogin.getHeaderKey(), apiLogin.getHeaderValue());
+            cached.ifPresent(entry -> builder.header("If-None-Match", entry.getEntityTag()));
+
+            final Response response = this.httpClient.newCall(builder.get().build()).execute();
             switch (response.code()) {
                 case HttpServletResponse.SC_OK:
-                    return this.objectMapper.readValue(response.body().byteStream(), AccountStatusResponse.class);
+                    final AccountStatusResponse status =
+                            this.objectMapper.readValue(response.body().byteStream(), AccountStatusResponse.class);
+                    this.statusCache.put(apiLogin, response.header("ETag"), status);
+                    return status;
+                case HttpServletResponse.SC_NOT_MODIFIED:
+                    if (cached.isPresent()) {
+                        response.body().close();
+                        return cached.get().getValue();
+                    }
+                    throw new ClientException("Response code 304 without a cached account status");
                 default:
                     throw new ClientException(
                             "Response code " + response.code() + " with body: " + response.body().string());
@@ -0,0 +1,109 @@
+package com.grpctrl.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache of the responses received from the back-end server along with their entity tags, used to send
+ * conditional requests and to reuse the cached response when the server indicates it has not been modified.
+ *
+ * @param <K> the type of key identifying the cached responses
+ * @param <V> the type of response being cached
+ */
+public class EntityTagCache<K, V> {
+    /** The default maximum number of responses to cache. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    @Nonnull
+    private final Cache<K, Entry<V>> cache;
+
+    /**
+     * Create a cache holding up to the {@link #DEFAULT_MAX_SIZE} number of responses.
+     */
+    public EntityTagCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize the maximum number of responses to cache
+     */
+    public EntityTagCache(final long maxSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * @param key the key identifying the cached response
+     *
+     * @return the cached response and its entity tag, if available
+     */
+    @Nonnull
+    public Optional<Entry<V>> get(@Nonnull final K key) {
+        return Optional.ofNullable(this.cache.getIfPresent(Objects.requireNonNull(key)));
+    }
+
+    /**
+     * Cache the response, replacing any previously cached response for the key. When no entity tag is provided, any
+     * previously cached response is removed instead.
+     *
+     * @param key the key identifying the response
+     * @param entityTag the entity tag provided by the server with the response, possibly {@code null}
+     * @param value the response to cache
+     */
+    public void put(@Nonnull final K key, @Nullable final String entityTag, @Nonnull final V value) {
+        if (entityTag == null) {
+            this.cache.invalidate(Objects.requireNonNull(key));
+        } else {
+            this.cache.put(Objects.requireNonNull(key), new Entry<>(entityTag, value));
+        }
+    }
+
+    /**
+     * @param key the key identifying the cached response to remove
+     */
+    public void remove(@Nonnull final K key) {
+        this.cache.invalidate(Objects.requireNonNull(key));
+    }
+
+    /**
+     * A cached response along with its entity tag.
+     *
+     * @param <V> the type of response being cached
+     */
+    public static class Entry<V> {
+        @Nonnull
+        private final String entityTag;
+        @Nonnull
+        private final V value;
+
+        /**
+         * @param entityTag the entity tag provided by the server with the response
+         * @param value the cached response
+         */
+        public Entry(@Nonnull final String entityTag, @Nonnull final V value) {
+            this.entityTag = Objects.requireNonNull(entityTag);
+            this.value = Objects.requireNonNull(value);
+        }
+
+        /**
+         * @return the entity tag provided by the server with the response
+         */
+        @Nonnull
+        public String getEntityTag() {
+            return this.entityTag;
+        }
+
+        /**
+         * @return the cached response
+         */
+        @Nonnull
+        public V getValue() {
+            return this.value;
+        }
+    }
+}
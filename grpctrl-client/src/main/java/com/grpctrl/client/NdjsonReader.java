@@ -0,0 +1,143 @@
+package com.grpctrl.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grpctrl.client.error.ClientException;
+import com.grpctrl.rest.resource.v1.NdjsonStreamer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Reads the records from a newline-delimited JSON stream as they arrive, without waiting for the full response. The
+ * stream is expected to end with the status line written by the {@link NdjsonStreamer}. When that status line reports
+ * a failure, or the stream ends without one, a {@link ClientException} is thrown after all of the records received
+ * before the failure have been returned.
+ *
+ * @param <T> the type of record being read
+ */
+public class NdjsonReader<T> implements Iterator<T>, Closeable {
+    @Nonnull
+    private final JsonParser jsonParser;
+    @Nonnull
+    private final Class<T> type;
+
+    @CheckForNull
+    private T next = null;
+    private boolean finished = false;
+    private long count = -1;
+
+    /**
+     * @param objectMapper the object mapper used to parse the records
+     * @param inputStream the stream from which the newline-delimited JSON data will be read, closed by this reader
+     * @param type the type of record being read
+     *
+     * @throws NullPointerException if any of the parameters are {@code null}
+     * @throws ClientException if there is a problem reading from the input stream
+     */
+    public NdjsonReader(
+            @Nonnull final ObjectMapper objectMapper, @Nonnull final InputStream inputStream,
+            @Nonnull final Class<T> type) {
+        try {
+            this.jsonParser = objectMapper.getFactory().createParser(Objects.requireNonNull(inputStream));
+        } catch (final IOException ioException) {
+            throw new ClientException("Failed to read NDJSON data", ioException);
+        }
+        this.type = Objects.requireNonNull(type);
+    }
+
+    /**
+     * @return the number of records the server reported writing, available once the status line has been read
+     */
+    @Nonnull
+    public OptionalLong getCount() {
+        return this.count < 0 ? OptionalLong.empty() : OptionalLong.of(this.count);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null && !this.finished) {
+            advance();
+        }
+        return this.next != null;
+    }
+
+    @Override
+    @Nonnull
+    public T next() {
+        final T record = hasNext() ? this.next : null;
+        if (record == null) {
+            throw new NoSuchElementException();
+        }
+        this.next = null;
+        return record;
+    }
+
+    @Override
+    public void close() {
+        this.finished = true;
+        try {
+            this.jsonParser.close();
+        } catch (final IOException ioException) {
+            throw new ClientException("Failed to close NDJSON stream", ioException);
+        }
+    }
+
+    private void advance() {
+        try {
+            final JsonToken startObj = this.jsonParser.nextToken();
+            if (startObj == null) {
+                close();
+                throw new ClientException("NDJSON stream ended without a status line");
+            } else if (startObj != JsonToken.START_OBJECT) {
+                close();
+                throw new ClientException("Expected a JSON object in NDJSON stream, found " + startObj);
+            }
+
+            final JsonToken firstField = this.jsonParser.nextToken();
+            if (firstField == JsonToken.FIELD_NAME
+                    && NdjsonStreamer.STATUS_FIELD.equals(this.jsonParser.getCurrentName())) {
+                processStatus();
+            } else {
+                this.next = this.jsonParser.readValueAs(this.type);
+            }
+        } catch (final IOException ioException) {
+            close();
+            throw new ClientException("Failed to read NDJSON data", ioException);
+        }
+    }
+
+    private void processStatus() throws IOException {
+        this.jsonParser.nextToken();
+        final boolean success = this.jsonParser.getBooleanValue();
+        int code = 0;
+        String message = null;
+        while (this.jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = this.jsonParser.getCurrentName();
+            this.jsonParser.nextToken();
+            if ("count".equals(field)) {
+                this.count = this.jsonParser.getLongValue();
+            } else if ("code".equals(field)) {
+                code = this.jsonParser.getIntValue();
+            } else if ("message".equals(field)) {
+                message = this.jsonParser.getValueAsString();
+            } else {
+                this.jsonParser.skipChildren();
+            }
+        }
+        close();
+
+        if (!success) {
+            throw new ClientException("Failed with code " + code + " and message: " + message);
+        }
+    }
+}
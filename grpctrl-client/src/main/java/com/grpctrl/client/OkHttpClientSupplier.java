@@ -4,11 +4,15 @@ import com.grpctrl.common.config.ConfigKeys;
 import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.crypto.ssl.SslContextSupplier;
 
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -21,7 +25,7 @@ import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
 
 /**
- * Provides singleton access to an executor service.
+ * Provides singleton access to an HTTP client used to communicate with the back-end server.
  */
 @Provider
 public class OkHttpClientSupplier
@@ -102,6 +106,18 @@ public class OkHttpClientSupplier
             builder.hostnameVerifier((hostName, sslSession) -> true);
         }
 
+        // When negotiated with the server, HTTP/2 multiplexes concurrent requests over a single connection.
+        if (this.configSupplier.get().getBoolean(ConfigKeys.CLIENT_HTTP2_ENABLED.getKey())) {
+            builder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
+
+        // Connection pooling
+        final int maxIdle = this.configSupplier.get().getInt(ConfigKeys.CLIENT_POOL_MAX_IDLE.getKey());
+        final long keepAlive = getTimeoutMillis(ConfigKeys.CLIENT_POOL_KEEP_ALIVE);
+        builder.connectionPool(new ConnectionPool(maxIdle, keepAlive, TimeUnit.MILLISECONDS));
+
         return builder.build();
     }
 
@@ -0,0 +1,51 @@
+package com.grpctrl.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link EntityTagCache} class.
+ */
+public class EntityTagCacheTest {
+    @Test
+    public void testPutAndGet() {
+        final EntityTagCache<Long, String> cache = new EntityTagCache<>();
+        assertFalse(cache.get(1L).isPresent());
+
+        cache.put(1L, "W/\"1.1.JSON\"", "value");
+        final Optional<EntityTagCache.Entry<String>> entry = cache.get(1L);
+        assertTrue(entry.isPresent());
+        assertEquals("W/\"1.1.JSON\"", entry.get().getEntityTag());
+        assertEquals("value", entry.get().getValue());
+    }
+
+    @Test
+    public void testPutWithoutEntityTag() {
+        final EntityTagCache<Long, String> cache = new EntityTagCache<>();
+        cache.put(1L, "W/\"1.1.JSON\"", "value");
+        cache.put(1L, null, "updated");
+        assertFalse(cache.get(1L).isPresent());
+    }
+
+    @Test
+    public void testRemove() {
+        final EntityTagCache<Long, String> cache = new EntityTagCache<>();
+        cache.put(1L, "W/\"1.1.JSON\"", "value");
+        cache.remove(1L);
+        assertFalse(cache.get(1L).isPresent());
+    }
+
+    @Test
+    public void testMaxSize() {
+        final EntityTagCache<Long, String> cache = new EntityTagCache<>(1);
+        cache.put(1L, "W/\"1.1.JSON\"", "value-1");
+        cache.put(2L, "W/\"2.1.JSON\"", "value-2");
+        assertFalse(cache.get(1L).isPresent());
+        assertTrue(cache.get(2L).isPresent());
+    }
+}
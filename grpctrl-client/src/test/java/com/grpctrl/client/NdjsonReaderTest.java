@@ -0,0 +1,111 @@
+package com.grpctrl.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grpctrl.client.error.ClientException;
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.rest.resource.v1.NdjsonStreamer;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Perform testing on the {@link NdjsonReader} class.
+ */
+public class NdjsonReaderTest {
+    private static final ObjectMapperSupplier OBJECT_MAPPER_SUPPLIER = new ObjectMapperSupplier();
+
+    private NdjsonReader<Account> reader(final Consumer<Consumer<Account>> consumer) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new NdjsonStreamer<>(OBJECT_MAPPER_SUPPLIER, consumer, 1, 0).write(output);
+        return reader(output.toByteArray());
+    }
+
+    private NdjsonReader<Account> reader(final byte[] data) {
+        final ObjectMapper objectMapper = OBJECT_MAPPER_SUPPLIER.get();
+        return new NdjsonReader<>(objectMapper, new ByteArrayInputStream(data), Account.class);
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        final List<Account> accounts = Arrays.asList(new Account(1L, "a", new Account().getServiceLevel()),
+                new Account(2L, "b", new Account().getServiceLevel()));
+
+        final List<Account> read = new ArrayList<>();
+        try (final NdjsonReader<Account> reader = reader(accounts::forEach)) {
+            assertFalse(reader.getCount().isPresent());
+            reader.forEachRemaining(read::add);
+            assertFalse(reader.hasNext());
+            assertEquals(OptionalLong.of(2), reader.getCount());
+        }
+        assertEquals(accounts, read);
+    }
+
+    @Test
+    public void testReadEmpty() throws IOException {
+        try (final NdjsonReader<Account> reader = reader(consumer -> {
+        })) {
+            assertFalse(reader.hasNext());
+            assertEquals(OptionalLong.of(0), reader.getCount());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextWhenFinished() throws IOException {
+        try (final NdjsonReader<Account> reader = reader(consumer -> {
+        })) {
+            reader.next();
+        }
+    }
+
+    @Test
+    public void testReadFailure() throws IOException {
+        try (final NdjsonReader<Account> reader = reader(consumer -> {
+            consumer.accept(new Account("a"));
+            throw new IllegalStateException("Broken");
+        })) {
+            assertTrue(reader.hasNext());
+            assertEquals(new Account("a"), reader.next());
+            try {
+                reader.hasNext();
+                fail("Expected a client exception");
+            } catch (final ClientException expected) {
+                assertEquals("Failed with code 500 and message: IllegalStateException: Broken",
+                        expected.getMessage());
+            }
+            assertEquals(OptionalLong.of(1), reader.getCount());
+        }
+    }
+
+    @Test(expected = ClientException.class)
+    public void testReadTruncated() {
+        try (final NdjsonReader<Account> reader = reader(
+                "{\"id\":1,\"name\":\"a\",\"serviceLevel\":{}}\n".getBytes(StandardCharsets.UTF_8))) {
+            assertTrue(reader.hasNext());
+            reader.next();
+            reader.hasNext();
+        }
+    }
+
+    @Test(expected = ClientException.class)
+    public void testReadNotObject() {
+        try (final NdjsonReader<Account> reader = reader("[]\n".getBytes(StandardCharsets.UTF_8))) {
+            reader.hasNext();
+        }
+    }
+}
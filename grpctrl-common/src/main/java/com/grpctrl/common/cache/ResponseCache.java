@@ -0,0 +1,254 @@
+package com.grpctrl.common.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A size-bounded cache of fully serialized response bodies. Response bodies are stored in direct buffers outside of
+ * the Java heap, and the least recently used responses are evicted once the total size of the cached bodies reaches the
+ * configured maximum. Cache keys include the account data version, so changes to the account data never produce stale
+ * hits, the responses cached for previous versions are no longer requested and age out of the cache.
+ */
+public class ResponseCache {
+    @Nonnull
+    private final Cache<Key, ByteBuffer> cache;
+    private final int maxEntrySize;
+
+    /**
+     * @param maxSize the maximum total number of bytes of response data to cache
+     * @param maxEntrySize the maximum number of bytes in a single cached response, larger responses are not cached
+     *
+     * @throws IllegalArgumentException if either of the sizes are negative
+     */
+    public ResponseCache(final long maxSize, final int maxEntrySize) {
+        if (maxSize < 0 || maxEntrySize < 0) {
+            throw new IllegalArgumentException("Invalid response cache size");
+        }
+        this.cache = CacheBuilder.newBuilder().maximumWeight(maxSize)
+                .weigher((final Key key, final ByteBuffer body) -> body.capacity()).recordStats().build();
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * @return the maximum number of bytes in a single cached response, larger responses are not cached
+     */
+    public int getMaxEntrySize() {
+        return this.maxEntrySize;
+    }
+
+    /**
+     * @return the number of responses currently cached
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * @return the ratio of cache lookups that found a cached response
+     */
+    public double getHitRate() {
+        return this.cache.stats().hitRate();
+    }
+
+    /**
+     * @param key the key identifying the cached response
+     *
+     * @return a read-only view of the cached response body, positioned at the start of the data, if available
+     */
+    @Nonnull
+    public Optional<ByteBuffer> get(@Nonnull final Key key) {
+        return Optional.ofNullable(this.cache.getIfPresent(Objects.requireNonNull(key)))
+                .map(ByteBuffer::asReadOnlyBuffer);
+    }
+
+    /**
+     * Cache the response body, replacing any previously cached response for the key. Response bodies larger than the
+     * maximum entry size are ignored.
+     *
+     * @param key the key identifying the response
+     * @param body the fully serialized response body
+     *
+     * @return whether the response body was cached
+     */
+    public boolean put(@Nonnull final Key key, @Nonnull final byte[] body) {
+        Objects.requireNonNull(key);
+        if (Objects.requireNonNull(body).length > this.maxEntrySize) {
+            return false;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+        buffer.put(body);
+        buffer.flip();
+        this.cache.put(key, buffer);
+        return true;
+    }
+
+    /**
+     * Remove all of the cached responses.
+     */
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Identifies a cached response by the account and account data version, the endpoint, the request parameters, and
+     * the content type and encoding of the response body. The parameters are normalized, so the order in which they
+     * were provided does not matter.
+     */
+    public static class Key {
+        private final long accountId;
+        private final long dataVersion;
+        @Nonnull
+        private final String endpoint;
+        @Nonnull
+        private final SortedMap<String, SortedSet<String>> parameters;
+        @Nonnull
+        private final String contentType;
+        @Nonnull
+        private final String contentEncoding;
+
+        /**
+         * @param accountId the unique id of the account whose data is included in the response
+         * @param dataVersion the version of the account data included in the response
+         * @param endpoint identifies the endpoint that produced the response
+         * @param parameters the request parameters that influence the response, possibly {@code null} if none
+         * @param contentType the content type of the response body
+         * @param contentEncoding the content encoding of the response body, like {@code identity} or {@code gzip}
+         *
+         * @throws NullPointerException if any of the required parameters are {@code null}
+         */
+        public Key(
+                final long accountId, final long dataVersion, @Nonnull final String endpoint,
+                @Nullable final Map<String, ? extends Collection<String>> parameters,
+                @Nonnull final String contentType, @Nonnull final String contentEncoding) {
+            this.accountId = accountId;
+            this.dataVersion = dataVersion;
+            this.endpoint = Objects.requireNonNull(endpoint);
+            this.parameters = normalize(parameters);
+            this.contentType = Objects.requireNonNull(contentType);
+            this.contentEncoding = Objects.requireNonNull(contentEncoding);
+        }
+
+        @Nonnull
+        private static SortedMap<String, SortedSet<String>> normalize(
+                @Nullable final Map<String, ? extends Collection<String>> parameters) {
+            final SortedMap<String, SortedSet<String>> normalized = new TreeMap<>();
+            if (parameters != null) {
+                parameters.forEach((name, values) -> {
+                    if (values != null && !values.isEmpty()) {
+                        normalized.computeIfAbsent(name, n -> new TreeSet<>()).addAll(values);
+                    }
+                });
+            }
+            return Collections.unmodifiableSortedMap(normalized);
+        }
+
+        /**
+         * @return the unique id of the account whose data is included in the response
+         */
+        public long getAccountId() {
+            return this.accountId;
+        }
+
+        /**
+         * @return the version of the account data included in the response
+         */
+        public long getDataVersion() {
+            return this.dataVersion;
+        }
+
+        /**
+         * @return identifies the endpoint that produced the response
+         */
+        @Nonnull
+        public String getEndpoint() {
+            return this.endpoint;
+        }
+
+        /**
+         * @return the normalized request parameters that influence the response
+         */
+        @Nonnull
+        public SortedMap<String, SortedSet<String>> getParameters() {
+            return this.parameters;
+        }
+
+        /**
+         * @return the content type of the response body
+         */
+        @Nonnull
+        public String getContentType() {
+            return this.contentType;
+        }
+
+        /**
+         * @return the content encoding of the response body
+         */
+        @Nonnull
+        public String getContentEncoding() {
+            return this.contentEncoding;
+        }
+
+        @Override
+        public boolean equals(@CheckForNull final Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) other;
+            final EqualsBuilder eq = new EqualsBuilder();
+            eq.append(getAccountId(), key.getAccountId());
+            eq.append(getDataVersion(), key.getDataVersion());
+            eq.append(getEndpoint(), key.getEndpoint());
+            eq.append(getParameters(), key.getParameters());
+            eq.append(getContentType(), key.getContentType());
+            eq.append(getContentEncoding(), key.getContentEncoding());
+            return eq.isEquals();
+        }
+
+        @Override
+        public int hashCode() {
+            final HashCodeBuilder hash = new HashCodeBuilder();
+            hash.append(getAccountId());
+            hash.append(getDataVersion());
+            hash.append(getEndpoint());
+            hash.append(getParameters());
+            hash.append(getContentType());
+            hash.append(getContentEncoding());
+            return hash.toHashCode();
+        }
+
+        @Override
+        @Nonnull
+        public String toString() {
+            final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+            str.append("accountId", getAccountId());
+            str.append("dataVersion", getDataVersion());
+            str.append("endpoint", getEndpoint());
+            str.append("parameters", getParameters());
+            str.append("contentType", getContentType());
+            str.append("contentEncoding", getContentEncoding());
+            return str.build();
+        }
+    }
+}
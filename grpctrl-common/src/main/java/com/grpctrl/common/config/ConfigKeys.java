@@ -36,13 +36,47 @@ public enum ConfigKeys {
     /** The accept header value to send to the resource URL. */
     AUTH_API_ACCEPT,
 
+    /** The minimum number of threads kept in the web server thread pool. */
+    SERVER_THREADS_MIN,
+    /** The maximum number of threads in the web server thread pool. */
+    SERVER_THREADS_MAX,
+    /** How long an idle thread above the minimum is kept in the web server thread pool. */
+    SERVER_THREADS_IDLE_TIMEOUT,
+    /** The maximum number of jobs waiting for a web server thread before new jobs are rejected. */
+    SERVER_THREADS_QUEUE_SIZE,
+    /** The number of connector acceptor threads, or -1 to let the web server choose based on the available cores. */
+    SERVER_ACCEPTORS,
+    /** The number of connector selector threads, or -1 to let the web server choose based on the available cores. */
+    SERVER_SELECTORS,
+    /** The size of the operating system queue of connections waiting to be accepted, or 0 for the system default. */
+    SERVER_ACCEPT_QUEUE_SIZE,
+    /** How long an idle connection is kept open by the web server. */
+    SERVER_IDLE_TIMEOUT,
+    /** Whether the web server should also accept plain HTTP, like when running behind a TLS-terminating proxy. */
+    SERVER_HTTP_ENABLED,
+    /** The port on which the web server accepts plain HTTP connections when enabled. */
+    SERVER_HTTP_PORT,
+
+    /** Whether the web server should accept HTTP/2 connections, negotiated with ALPN over TLS or as h2c otherwise. */
+    SERVER_HTTP2_ENABLED,
+    /** The maximum number of concurrent streams a client may open on a single HTTP/2 connection. */
+    SERVER_HTTP2_MAX_CONCURRENT_STREAMS,
+    /** The initial HTTP/2 flow-control window size for each stream, advertised to clients, in bytes. */
+    SERVER_HTTP2_INITIAL_STREAM_WINDOW,
+
     /** The directory containing the web resource base (content files) */
     WEB_CONTENT,
+    /** How long browsers and proxies may cache the static web content. */
+    WEB_CACHE_MAX_AGE,
 
     /** The environment variable defining the shared secret value to use for password-based encryption. */
     CRYPTO_SHARED_SECRET_VARIABLE,
     /** The default shared secret value used for password-based encryption. */
     CRYPTO_SHARED_SECRET_DEFAULT,
+    /** The maximum number of password-derived encryption keys to cache, 0 to disable the cache. */
+    CRYPTO_PBE_CACHE_SIZE,
+    /** Whether the keys for all encrypted configuration properties should be derived when encryption is created. */
+    CRYPTO_PBE_CACHE_WARMUP,
     /** Whether the web server is running with SSL enabled. */
     CRYPTO_SSL_ENABLED,
     /** The key store file used in the SSL configuration. */
@@ -71,6 +105,14 @@ public enum ConfigKeys {
     DB_CLEAN,
     /** Whether the migration sql scripts should be applied to the database. */
     DB_MIGRATE,
+    /** The statement duration at or above which a database statement is logged as a slow query. */
+    DB_SLOW_QUERY_THRESHOLD,
+    /** The fraction of the slow queries run again with EXPLAIN ANALYZE to capture their query plan. */
+    DB_SLOW_QUERY_EXPLAIN_SAMPLE_RATE,
+    /** The maximum amount of time allowed for running EXPLAIN ANALYZE on a slow query. */
+    DB_SLOW_QUERY_EXPLAIN_TIMEOUT,
+    /** The number of the most recent slow queries kept in memory and made available to administrators. */
+    DB_SLOW_QUERY_HISTORY_SIZE,
 
     /** The timeout to wait for the remote server to connect. */
     CLIENT_TIMEOUT_CONNECT,
@@ -80,9 +122,83 @@ public enum ConfigKeys {
     CLIENT_TIMEOUT_WRITE,
     /** Whether the client should attempt to retry on failure. */
     CLIENT_FAILURE_RETRY,
+    /** Whether the client should multiplex requests over HTTP/2 when the server supports it. */
+    CLIENT_HTTP2_ENABLED,
+    /** The maximum number of idle connections the client will keep open to the remote server. */
+    CLIENT_POOL_MAX_IDLE,
+    /** The amount of time the client will keep an idle connection open to the remote server. */
+    CLIENT_POOL_KEEP_ALIVE,
+
+    /** The maximum number of records written to a streaming NDJSON response before the output is flushed. */
+    STREAM_FLUSH_RECORDS,
+    /** The maximum amount of time records may remain buffered in a streaming NDJSON response before a flush. */
+    STREAM_FLUSH_INTERVAL,
+    /** The number of worker threads used to produce and write asynchronous streaming responses. */
+    STREAM_THREADS,
+    /** The maximum number of asynchronous streaming responses waiting for a worker before new ones are rejected. */
+    STREAM_QUEUE_SIZE,
+    /** How long an asynchronous streaming response may wait for a worker thread before it is rejected. */
+    STREAM_TIMEOUT,
+
+    /** The minimum response size before a response is compressed, smaller responses are sent uncompressed. */
+    COMPRESSION_MIN_SIZE,
+    /** The deflater compression level used for compressed responses, from 1 (fastest) to 9 (smallest). */
+    COMPRESSION_LEVEL,
+    /** The system load per processor at or above which responses are no longer compressed. */
+    COMPRESSION_CPU_THRESHOLD,
+
+    /** The maximum total size of the serialized response bodies held in the off-heap response cache. */
+    RESPONSE_CACHE_MAX_SIZE,
+    /** The maximum size of a single serialized response body held in the response cache, larger ones are not cached. */
+    RESPONSE_CACHE_MAX_ENTRY_SIZE,
+
+    /** The maximum number of bulk requests, like account imports, each account may have in progress at once. */
+    RATE_LIMIT_BULK_CONCURRENT_REQUESTS,
+    /** How long the request limit state of an account is kept after the last request from the account. */
+    RATE_LIMIT_IDLE_TIMEOUT,
+    /** The number of independently locked segments used to hold the request limit state of the accounts. */
+    RATE_LIMIT_STRIPES,
+
+    /** The number of samples kept by the request timers and histograms when calculating percentiles. */
+    METRICS_RESERVOIR_SIZE,
+    /** The fraction of requests for which the CPU time consumed and the heap memory allocated are measured. */
+    METRICS_USAGE_SAMPLE_RATE,
+
+    /** The fraction of a heap memory pool in use after garbage collection at which the server enters degraded mode. */
+    MEMORY_PRESSURE_ENTER_THRESHOLD,
+    /** The fraction of each heap memory pool in use after garbage collection below which degraded mode ends. */
+    MEMORY_PRESSURE_EXIT_THRESHOLD,
+    /** How often the heap memory pools are checked to determine whether the server is still under memory pressure. */
+    MEMORY_PRESSURE_CHECK_INTERVAL,
+    /** How long clients are asked to wait before retrying requests rejected due to memory pressure. */
+    MEMORY_PRESSURE_RETRY_AFTER,
+
+    /** The request duration at or above which the span tree of the request is logged. */
+    TRACE_SLOW_REQUEST_THRESHOLD,
+    /** The maximum number of spans recorded in the trace of a single request. */
+    TRACE_MAX_SPANS,
+
+    /** The duration of a flight recording started without an explicit duration. */
+    JFR_DEFAULT_DURATION,
+    /** The maximum duration of a flight recording, longer requested durations are reduced to this value. */
+    JFR_MAX_DURATION,
+    /** The name of the flight recorder settings used when a recording is started without explicit settings. */
+    JFR_DEFAULT_SETTINGS,
+    /** The maximum number of flight recordings retained, including the ones still running. */
+    JFR_MAX_RECORDINGS,
 
     /** The number of threads in the thread pool used to perform security lookup operations */
-    SECURITY_THREADS;
+    SECURITY_THREADS,
+    /** The hash algorithm used when storing new or upgraded user passwords. */
+    SECURITY_PASSWORD_ALGORITHM,
+    /** The hash cost (digest rounds or PBKDF2 iterations) to use for each supported password hash algorithm. */
+    SECURITY_PASSWORD_COSTS,
+    /** The number of threads used to hash passwords, a value of 0 uses the number of available processors. */
+    SECURITY_PASSWORD_THREADS,
+    /** The maximum number of password hashing operations allowed to wait for an available thread. */
+    SECURITY_PASSWORD_QUEUE_SIZE,
+    /** The amount of time a request is willing to wait for password hashing to complete. */
+    SECURITY_PASSWORD_TIMEOUT;
 
     /**
      * @return the key to use when retrieving the common configuration value from the system configuration file
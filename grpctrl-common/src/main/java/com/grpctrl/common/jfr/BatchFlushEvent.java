@@ -0,0 +1,48 @@
+package com.grpctrl.common.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event covering the flush of a batch of records, either a batch of statements sent to the database
+ * or a batch of streamed records written to the client.
+ */
+@Name("com.grpctrl.BatchFlush")
+@Label("Batch Flush")
+@Category("grpctrl")
+@Description("A batch of records flushed to the database or to the client")
+@StackTrace(false)
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD",
+        justification = "the flight recorder reads the event fields on commit")
+public class BatchFlushEvent extends Event implements JfrEvents.BatchFlush {
+    @Label("Target")
+    @Description("Where the batch was flushed, either database or response")
+    public String target;
+
+    @Label("Operation")
+    @Description("The DAO method that flushed a batch of statements, not set for batches of streamed records")
+    public String operation;
+
+    @Label("Records")
+    public long records;
+
+    @Override
+    public void finish(@Nonnull final String target, @Nullable final String operation, final long records) {
+        end();
+        if (shouldCommit()) {
+            this.target = target;
+            this.operation = operation;
+            this.records = records;
+            commit();
+        }
+    }
+}
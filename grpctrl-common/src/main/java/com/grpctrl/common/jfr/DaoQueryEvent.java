@@ -0,0 +1,52 @@
+package com.grpctrl.common.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event covering a single call to a DAO method, including all of the database statements it
+ * executed.
+ */
+@Name("com.grpctrl.DaoQuery")
+@Label("DAO Query")
+@Category("grpctrl")
+@Description("A call to a DAO method")
+@StackTrace(false)
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD",
+        justification = "the fields are read by the flight recorder when the event is committed")
+public class DaoQueryEvent extends Event implements JfrEvents.DaoQuery {
+    @Label("DAO")
+    public String dao;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows Read")
+    @Description("The number of rows read by the queries, or -1 when no query was executed")
+    public long rowsRead;
+
+    @Label("Rows Written")
+    @Description("The number of rows changed by the updates, or -1 when no update was executed")
+    public long rowsWritten;
+
+    @Override
+    public void finish(
+            @Nonnull final String dao, @Nonnull final String method, final long rowsRead, final long rowsWritten) {
+        end();
+        if (shouldCommit()) {
+            this.dao = dao;
+            this.method = method;
+            this.rowsRead = rowsRead;
+            this.rowsWritten = rowsWritten;
+            commit();
+        }
+    }
+}
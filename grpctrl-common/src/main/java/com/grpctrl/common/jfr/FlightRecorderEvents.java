@@ -0,0 +1,37 @@
+package com.grpctrl.common.jfr;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Emits the grpctrl events into flight recordings. Only loaded by {@link JfrEvents} when the running JVM provides the
+ * flight recorder API.
+ */
+class FlightRecorderEvents extends JfrEvents {
+    @Override
+    @Nonnull
+    public DaoQuery beginDaoQuery() {
+        final DaoQueryEvent event = new DaoQueryEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    @Nonnull
+    public BatchFlush beginBatchFlush() {
+        final BatchFlushEvent event = new BatchFlushEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    @CheckForNull
+    public HttpRequest beginHttpRequest() {
+        final HttpRequestEvent event = new HttpRequestEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,252 @@
+package com.grpctrl.common.jfr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Manages the flight recordings started on demand by administrators, so nodes can be profiled without attaching
+ * external tools. Recordings include the grpctrl events, like {@link HttpRequestEvent} and {@link DaoQueryEvent}, next
+ * to the CPU, allocation and lock events of the JVM. A bounded number of recordings is retained, the oldest stopped
+ * recordings are discarded when a new recording is started.
+ */
+public class FlightRecorderManager {
+    private static final Logger LOG = LoggerFactory.getLogger(FlightRecorderManager.class);
+
+    @Nonnull
+    private final Duration defaultDuration;
+    @Nonnull
+    private final Duration maxDuration;
+    @Nonnull
+    private final String defaultSettings;
+    private final int maxRecordings;
+
+    // The retained recordings, in the order they were started, with the name of the settings they use.
+    @Nonnull
+    private final Map<Recording, String> recordings = new LinkedHashMap<>();
+
+    /**
+     * @param defaultDuration the recording duration used when none is requested
+     * @param maxDuration the maximum duration of a recording
+     * @param defaultSettings the name of the recording settings used when none are requested
+     * @param maxRecordings the maximum number of recordings retained
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the durations or the maximum number of recordings are not positive
+     */
+    public FlightRecorderManager(
+            @Nonnull final Duration defaultDuration, @Nonnull final Duration maxDuration,
+            @Nonnull final String defaultSettings, final int maxRecordings) {
+        this.defaultDuration = Objects.requireNonNull(defaultDuration);
+        this.maxDuration = Objects.requireNonNull(maxDuration);
+        this.defaultSettings = Objects.requireNonNull(defaultSettings);
+        this.maxRecordings = maxRecordings;
+
+        if (defaultDuration.isNegative() || defaultDuration.isZero() || maxDuration.isNegative()
+                || maxDuration.isZero() || maxRecordings < 1) {
+            throw new IllegalArgumentException("Recording durations and maximum recordings must be positive");
+        }
+    }
+
+    /**
+     * @return whether flight recordings are supported by the running JVM, which requires the flight recorder API to be
+     *     present and enabled
+     */
+    public static boolean isAvailable() {
+        // Check for the API first, the call to the flight recorder fails to link on JVMs without it.
+        return JfrEvents.isSupported() && FlightRecorder.isAvailable();
+    }
+
+    /**
+     * Start a new flight recording, which stops automatically after the requested duration.
+     *
+     * @param duration the duration of the recording, limited to the maximum duration, or {@code null} to use the
+     *     default duration
+     * @param settings the name of the recording settings to use, like {@code default} or {@code profile}, or
+     *     {@code null} to use the default settings
+     *
+     * @return information about the started recording
+     *
+     * @throws IllegalArgumentException if the duration is not positive or the settings are not known
+     * @throws IllegalStateException if flight recordings are not available, or the maximum number of recordings are
+     *     already running
+     */
+    @Nonnull
+    public synchronized RecordingInfo start(@Nullable final Duration duration, @Nullable final String settings) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Flight recordings are not available in this JVM");
+        }
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw new IllegalArgumentException("Recording duration must be positive");
+        }
+
+        final String settingsName = settings == null ? this.defaultSettings : settings;
+        final Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (final IOException | ParseException notFound) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settingsName, notFound);
+        }
+
+        discardStopped(this.maxRecordings - 1);
+        if (this.recordings.size() >= this.maxRecordings) {
+            throw new IllegalStateException("The maximum number of recordings are already running");
+        }
+
+        final Recording recording = new Recording(configuration);
+        recording.setName("grpctrl-" + recording.getId());
+        recording.setToDisk(true);
+        if (duration == null) {
+            recording.setDuration(this.defaultDuration);
+        } else {
+            recording.setDuration(duration.compareTo(this.maxDuration) > 0 ? this.maxDuration : duration);
+        }
+        recording.start();
+        this.recordings.put(recording, settingsName);
+        LOG.info("Started flight recording {} for {} with {} settings", recording.getName(), recording.getDuration(),
+                settingsName);
+        return info(recording, settingsName);
+    }
+
+    /**
+     * Stop a running recording, so its data can be downloaded.
+     *
+     * @param id the unique identifier of the recording
+     *
+     * @return information about the stopped recording, if the recording exists
+     */
+    @Nonnull
+    public synchronized Optional<RecordingInfo> stop(final long id) {
+        final Optional<Recording> recording = find(id);
+        recording.filter(r -> r.getState() == RecordingState.RUNNING || r.getState() == RecordingState.DELAYED)
+                .ifPresent(Recording::stop);
+        return recording.map(r -> info(r, this.recordings.get(r)));
+    }
+
+    /**
+     * @param id the unique identifier of the recording
+     *
+     * @return information about the recording, if the recording exists
+     */
+    @Nonnull
+    public synchronized Optional<RecordingInfo> get(final long id) {
+        return find(id).map(r -> info(r, this.recordings.get(r)));
+    }
+
+    /**
+     * @return information about all of the retained recordings, in the order they were started
+     */
+    @Nonnull
+    public synchronized List<RecordingInfo> getAll() {
+        final List<RecordingInfo> infos = new ArrayList<>(this.recordings.size());
+        this.recordings.forEach((recording, settings) -> infos.add(info(recording, settings)));
+        return infos;
+    }
+
+    /**
+     * Retrieve the data of a recording in the flight recorder file format. The data of a running recording contains
+     * the events recorded so far, and the recording continues.
+     *
+     * @param id the unique identifier of the recording
+     *
+     * @return the recording data, which must be closed by the caller, if the recording exists and has data
+     *
+     * @throws IOException if there is a problem reading the recording data
+     */
+    @Nonnull
+    public synchronized Optional<InputStream> getData(final long id) throws IOException {
+        final Optional<Recording> recording = find(id);
+        if (!recording.isPresent()) {
+            return Optional.empty();
+        }
+        if (recording.get().getState() != RecordingState.RUNNING) {
+            return Optional.ofNullable(recording.get().getStream(null, null));
+        }
+
+        // Take a stopped copy of the running recording, which is discarded once the data has been read.
+        final Recording copy = recording.get().copy(true);
+        final InputStream stream = copy.getStream(null, null);
+        if (stream == null) {
+            copy.close();
+            return Optional.empty();
+        }
+        return Optional.of(new RecordingStream(stream, copy));
+    }
+
+    /**
+     * Stop the recording if it is running, and discard it along with its data.
+     *
+     * @param id the unique identifier of the recording
+     *
+     * @return whether the recording existed
+     */
+    public synchronized boolean remove(final long id) {
+        final Optional<Recording> recording = find(id);
+        recording.ifPresent(r -> {
+            this.recordings.remove(r);
+            r.close();
+        });
+        return recording.isPresent();
+    }
+
+    @Nonnull
+    private static RecordingInfo info(@Nonnull final Recording recording, @Nonnull final String settings) {
+        return new RecordingInfo(recording.getId(), recording.getName(), settings, recording.getState().name(),
+                recording.getStartTime(), recording.getStopTime(), recording.getDuration(), recording.getSize());
+    }
+
+    @Nonnull
+    private Optional<Recording> find(final long id) {
+        return this.recordings.keySet().stream().filter(r -> r.getId() == id).findFirst();
+    }
+
+    private void discardStopped(final int retain) {
+        final Iterator<Recording> iter = this.recordings.keySet().iterator();
+        while (this.recordings.size() > retain && iter.hasNext()) {
+            final Recording recording = iter.next();
+            if (recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED) {
+                iter.remove();
+                recording.close();
+            }
+        }
+    }
+
+    private static class RecordingStream extends FilterInputStream {
+        @Nonnull
+        private final Recording copy;
+
+        RecordingStream(@Nonnull final InputStream stream, @Nonnull final Recording copy) {
+            super(stream);
+            this.copy = copy;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.copy.close();
+            }
+        }
+    }
+}
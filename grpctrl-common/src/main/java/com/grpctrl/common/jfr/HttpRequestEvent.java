@@ -0,0 +1,51 @@
+package com.grpctrl.common.jfr;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event covering the processing of a single HTTP request, from the start of the request filters until
+ * the response has been written.
+ */
+@Name("com.grpctrl.HttpRequest")
+@Label("HTTP Request")
+@Category("grpctrl")
+@Description("An HTTP request processed by the server")
+@StackTrace(false)
+@SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD",
+        justification = "the flight recorder reads the fields of committed events")
+public class HttpRequestEvent extends Event implements JfrEvents.HttpRequest {
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Account Id")
+    @Description("The unique identifier of the account making the request, or 0 when not known")
+    public long accountId;
+
+    @Label("Status")
+    public int status;
+
+    @Override
+    public void finish(
+            @Nonnull final String method, @Nonnull final String path, final long accountId, final int status) {
+        end();
+        if (shouldCommit()) {
+            this.method = method;
+            this.path = path;
+            this.accountId = accountId;
+            this.status = status;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.grpctrl.common.jfr;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Emits the grpctrl events into flight recordings. The event classes extend {@code jdk.jfr.Event}, which is missing
+ * from Oracle JDK 8 and from OpenJDK 8 releases before 8u262, so code outside this package only reaches them through
+ * this facade. On runtimes without the flight recorder API, {@link #get()} returns an implementation that does nothing.
+ */
+public abstract class JfrEvents {
+    private static final class Holder {
+        private static final boolean SUPPORTED = isLoadable("jdk.jfr.FlightRecorder");
+        private static final JfrEvents INSTANCE = SUPPORTED ? new FlightRecorderEvents() : new Disabled();
+
+        private static boolean isLoadable(@Nonnull final String className) {
+            try {
+                Class.forName(className, false, JfrEvents.class.getClassLoader());
+                return true;
+            } catch (final ClassNotFoundException | LinkageError missing) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return whether the running JVM provides the flight recorder API
+     */
+    public static boolean isSupported() {
+        return Holder.SUPPORTED;
+    }
+
+    /**
+     * @return the events implementation for the running JVM
+     */
+    @Nonnull
+    public static JfrEvents get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return a started event covering a single call to a DAO method
+     */
+    @Nonnull
+    public abstract DaoQuery beginDaoQuery();
+
+    /**
+     * @return a started event covering the flush of a batch of records
+     */
+    @Nonnull
+    public abstract BatchFlush beginBatchFlush();
+
+    /**
+     * @return a started event covering the processing of a single HTTP request, or {@code null} when no flight
+     *     recording includes the event, so the request does not need to be tracked
+     */
+    @CheckForNull
+    public abstract HttpRequest beginHttpRequest();
+
+    /**
+     * A started event covering a single call to a DAO method, see {@link DaoQueryEvent}.
+     */
+    public interface DaoQuery {
+        /**
+         * End the event, and record it when a flight recording includes the event.
+         *
+         * @param dao the simple name of the DAO class
+         * @param method the name of the called DAO method
+         * @param rowsRead the number of rows read by the queries, or -1 when no query was executed
+         * @param rowsWritten the number of rows changed by the updates, or -1 when no update was executed
+         */
+        void finish(@Nonnull String dao, @Nonnull String method, long rowsRead, long rowsWritten);
+    }
+
+    /**
+     * A started event covering the flush of a batch of records, see {@link BatchFlushEvent}.
+     */
+    public interface BatchFlush {
+        /** The target of batches of statements sent to the database. */
+        String DATABASE = "database";
+        /** The target of batches of streamed records written to the client. */
+        String RESPONSE = "response";
+
+        /**
+         * End the event, and record it when a flight recording includes the event.
+         *
+         * @param target where the batch was flushed, either {@link #DATABASE} or {@link #RESPONSE}
+         * @param operation the DAO method that flushed a batch of statements, or {@code null} for streamed records
+         * @param records the number of records in the batch
+         */
+        void finish(@Nonnull String target, @Nullable String operation, long records);
+    }
+
+    /**
+     * A started event covering the processing of a single HTTP request, see {@link HttpRequestEvent}.
+     */
+    public interface HttpRequest {
+        /**
+         * End the event, and record it when a flight recording includes the event.
+         *
+         * @param method the HTTP method of the request
+         * @param path the path of the request
+         * @param accountId the unique identifier of the account making the request, or 0 when not known
+         * @param status the status code of the response
+         */
+        void finish(@Nonnull String method, @Nonnull String path, long accountId, int status);
+    }
+
+    private static class Disabled extends JfrEvents implements DaoQuery, BatchFlush {
+        @Override
+        @Nonnull
+        public DaoQuery beginDaoQuery() {
+            return this;
+        }
+
+        @Override
+        @Nonnull
+        public BatchFlush beginBatchFlush() {
+            return this;
+        }
+
+        @Override
+        @CheckForNull
+        public HttpRequest beginHttpRequest() {
+            return null;
+        }
+
+        @Override
+        public void finish(
+                @Nonnull final String dao, @Nonnull final String method, final long rowsRead, final long rowsWritten) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void finish(@Nonnull final String target, @Nullable final String operation, final long records) {
+            // Nothing to do.
+        }
+    }
+}
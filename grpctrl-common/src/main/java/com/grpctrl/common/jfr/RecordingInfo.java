@@ -0,0 +1,134 @@
+package com.grpctrl.common.jfr;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Describes a flight recording managed by the {@link FlightRecorderManager}.
+ */
+public class RecordingInfo {
+    private final long id;
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final String settings;
+    @Nonnull
+    private final String state;
+    @Nullable
+    private final Instant startTime;
+    @Nullable
+    private final Instant stopTime;
+    @Nullable
+    private final Duration duration;
+    private final long size;
+
+    /**
+     * @param id the unique identifier of the recording
+     * @param name the name of the recording
+     * @param settings the name of the settings used by the recording
+     * @param state the state of the recording
+     * @param startTime the time at which the recording started, if it has started
+     * @param stopTime the time at which the recording stopped, if it has stopped
+     * @param duration the duration after which the recording stops automatically, if any
+     * @param size the number of bytes of recorded data
+     *
+     * @throws NullPointerException if the name, settings or state are {@code null}
+     */
+    public RecordingInfo(
+            final long id, @Nonnull final String name, @Nonnull final String settings, @Nonnull final String state,
+            @Nullable final Instant startTime, @Nullable final Instant stopTime, @Nullable final Duration duration,
+            final long size) {
+        this.id = id;
+        this.name = Objects.requireNonNull(name);
+        this.settings = Objects.requireNonNull(settings);
+        this.state = Objects.requireNonNull(state);
+        this.startTime = startTime;
+        this.stopTime = stopTime;
+        this.duration = duration;
+        this.size = size;
+    }
+
+    /**
+     * @return the unique identifier of the recording
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * @return the name of the recording
+     */
+    @Nonnull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the name of the settings used by the recording, like {@code default} or {@code profile}
+     */
+    @Nonnull
+    public String getSettings() {
+        return this.settings;
+    }
+
+    /**
+     * @return the state of the recording, like {@code RUNNING} or {@code STOPPED}
+     */
+    @Nonnull
+    public String getState() {
+        return this.state;
+    }
+
+    /**
+     * @return the time at which the recording started, if it has started
+     */
+    @Nonnull
+    public Optional<Instant> getStartTime() {
+        return Optional.ofNullable(this.startTime);
+    }
+
+    /**
+     * @return the time at which the recording stopped, if it has stopped
+     */
+    @Nonnull
+    public Optional<Instant> getStopTime() {
+        return Optional.ofNullable(this.stopTime);
+    }
+
+    /**
+     * @return the duration after which the recording stops automatically, if any
+     */
+    @Nonnull
+    public Optional<Duration> getDuration() {
+        return Optional.ofNullable(this.duration);
+    }
+
+    /**
+     * @return the number of bytes of recorded data, available once the recording has stopped
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        str.append("id", getId());
+        str.append("name", getName());
+        str.append("settings", getSettings());
+        str.append("state", getState());
+        str.append("startTime", getStartTime());
+        str.append("stopTime", getStopTime());
+        str.append("duration", getDuration());
+        str.append("size", getSize());
+        return str.build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.grpctrl.common.model.Account;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides the JSON serializer and deserializer for {@link Account} objects.
+ */
+public final class AccountJson {
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String SERVICE_LEVEL = "serviceLevel";
+
+    private static final SerializableString ID_FIELD = new SerializedString(ID);
+    private static final SerializableString NAME_FIELD = new SerializedString(NAME);
+    private static final SerializableString SERVICE_LEVEL_FIELD = new SerializedString(SERVICE_LEVEL);
+
+    /** The shared serializer instance. */
+    public static final Serializer SERIALIZER = new Serializer();
+
+    /** The shared deserializer instance. */
+    public static final Deserializer DESERIALIZER = new Deserializer();
+
+    private AccountJson() {
+    }
+
+    /**
+     * Writes {@link Account} objects directly to the JSON generator.
+     */
+    public static class Serializer extends StdSerializer<Account> {
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(Account.class);
+        }
+
+        @Override
+        public void serialize(
+                @Nonnull final Account account, @Nonnull final JsonGenerator generator,
+                @Nonnull final SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(ID_FIELD);
+            final Optional<Long> id = account.getId();
+            if (id.isPresent()) {
+                generator.writeNumber(id.get());
+            } else {
+                generator.writeNull();
+            }
+            generator.writeFieldName(NAME_FIELD);
+            generator.writeString(account.getName());
+            generator.writeFieldName(SERVICE_LEVEL_FIELD);
+            ServiceLevelJson.SERIALIZER.serialize(account.getServiceLevel(), generator, provider);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads {@link Account} objects from the JSON parser one token at a time.
+     */
+    public static class Deserializer extends ModelDeserializer<Account> {
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(Account.class);
+        }
+
+        @Override
+        @Nonnull
+        protected Account create() {
+            return new Account();
+        }
+
+        @Override
+        protected boolean readField(
+                @Nonnull final JsonParser parser, @Nonnull final DeserializationContext context,
+                @Nonnull final Account account, @Nonnull final String field) throws IOException {
+            switch (field) {
+                case ID:
+                    account.setId(readNullableLong(parser, context));
+                    return true;
+                case NAME:
+                    account.setName(readString(parser, context));
+                    return true;
+                case SERVICE_LEVEL:
+                    account.setServiceLevel(ServiceLevelJson.DESERIALIZER.deserialize(parser, context));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Defines the wire formats supported when exchanging model objects over the REST API. All of the formats share the
+ * same JSON document structure, the binary formats simply encode it more compactly and parse more quickly.
+ */
+public enum DataFormat {
+    /** Plain text JSON. */
+    JSON(DataFormat.JSON_MEDIA_TYPE),
+
+    /** The binary Smile encoding of JSON. */
+    SMILE(DataFormat.SMILE_MEDIA_TYPE),
+
+    /** The binary CBOR encoding of JSON. */
+    CBOR(DataFormat.CBOR_MEDIA_TYPE);
+
+    /** The media type used for plain text JSON. */
+    public static final String JSON_MEDIA_TYPE = "application/json";
+
+    /** The media type used for Smile-encoded JSON. */
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
+    /** The media type used for CBOR-encoded JSON. */
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+
+    @Nonnull
+    private final String mediaType;
+
+    DataFormat(@Nonnull final String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return the media type used to identify this data format in HTTP headers
+     */
+    @Nonnull
+    public String getMediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * @param codec the codec used to read and write objects with parsers and generators created by the new factory
+     *
+     * @return a new factory capable of creating parsers and generators for this data format
+     */
+    @Nonnull
+    public JsonFactory createFactory(@Nullable final ObjectCodec codec) {
+        switch (this) {
+            case SMILE:
+                return new SmileFactory(codec);
+            case CBOR:
+                return new CBORFactory(codec);
+            default:
+                return new JsonFactory(codec);
+        }
+    }
+
+    /**
+     * @param mediaType the media type, possibly including parameters like {@code charset}, to convert
+     *
+     * @return the data format matching the provided media type, if supported
+     */
+    @Nonnull
+    public static Optional<DataFormat> fromMediaType(@Nullable final String mediaType) {
+        if (mediaType == null) {
+            return Optional.empty();
+        }
+
+        final int separator = mediaType.indexOf(';');
+        final String type = (separator < 0 ? mediaType : mediaType.substring(0, separator)).trim()
+                .toLowerCase(Locale.ENGLISH);
+        for (final DataFormat dataFormat : values()) {
+            if (Objects.equals(dataFormat.getMediaType(), type)) {
+                return Optional.of(dataFormat);
+            }
+        }
+        return Optional.empty();
+    }
+}
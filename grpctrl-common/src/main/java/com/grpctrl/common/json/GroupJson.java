@@ -0,0 +1,136 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.grpctrl.common.model.Group;
+import com.grpctrl.common.model.Tag;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides the JSON serializer and deserializer for {@link Group} objects.
+ */
+public final class GroupJson {
+    static final String ID = "id";
+    static final String PARENT_ID = "parentId";
+    static final String NAME = "name";
+    static final String TAGS = "tags";
+
+    private static final SerializableString ID_FIELD = new SerializedString(ID);
+    private static final SerializableString PARENT_ID_FIELD = new SerializedString(PARENT_ID);
+    private static final SerializableString NAME_FIELD = new SerializedString(NAME);
+    private static final SerializableString TAGS_FIELD = new SerializedString(TAGS);
+
+    /** The shared serializer instance. */
+    public static final Serializer SERIALIZER = new Serializer();
+
+    /** The shared deserializer instance. */
+    public static final Deserializer DESERIALIZER = new Deserializer();
+
+    private GroupJson() {
+    }
+
+    /**
+     * Writes {@link Group} objects directly to the JSON generator.
+     */
+    public static class Serializer extends StdSerializer<Group> {
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(Group.class);
+        }
+
+        @Override
+        public void serialize(
+                @Nonnull final Group group, @Nonnull final JsonGenerator generator,
+                @Nonnull final SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(ID_FIELD);
+            writeNullableLong(generator, group.getId());
+            generator.writeFieldName(PARENT_ID_FIELD);
+            writeNullableLong(generator, group.getParentId());
+            generator.writeFieldName(NAME_FIELD);
+            generator.writeString(group.getName());
+            generator.writeFieldName(TAGS_FIELD);
+            generator.writeStartArray();
+            for (final Tag tag : group.getTags()) {
+                TagJson.SERIALIZER.serialize(tag, generator, provider);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        private void writeNullableLong(@Nonnull final JsonGenerator generator, @Nonnull final Optional<Long> value)
+                throws IOException {
+            if (value.isPresent()) {
+                generator.writeNumber(value.get());
+            } else {
+                generator.writeNull();
+            }
+        }
+    }
+
+    /**
+     * Reads {@link Group} objects from the JSON parser one token at a time.
+     */
+    public static class Deserializer extends ModelDeserializer<Group> {
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(Group.class);
+        }
+
+        @Override
+        @Nonnull
+        protected Group create() {
+            return new Group();
+        }
+
+        @Override
+        protected boolean readField(
+                @Nonnull final JsonParser parser, @Nonnull final DeserializationContext context,
+                @Nonnull final Group group, @Nonnull final String field) throws IOException {
+            switch (field) {
+                case ID:
+                    group.setId(readNullableLong(parser, context));
+                    return true;
+                case PARENT_ID:
+                    group.setParentId(readNullableLong(parser, context));
+                    return true;
+                case NAME:
+                    group.setName(readString(parser, context));
+                    return true;
+                case TAGS:
+                    group.setTags(readTags(parser, context));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Nonnull
+        private Set<Tag> readTags(@Nonnull final JsonParser parser, @Nonnull final DeserializationContext context)
+                throws IOException {
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                throw JsonMappingException.from(parser, "Expected a JSON array of group tags");
+            }
+            final Set<Tag> tags = new LinkedHashSet<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                tags.add(TagJson.DESERIALIZER.deserialize(parser, context));
+            }
+            return tags;
+        }
+    }
+}
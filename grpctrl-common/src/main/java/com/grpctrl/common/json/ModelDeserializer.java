@@ -0,0 +1,122 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * The base class for the model object deserializers, which reads a JSON object one token at a time and hands each
+ * field to the subclass so that no intermediate tree or reflective property lookup is required.
+ *
+ * @param <T> the type of model object created by this deserializer
+ */
+public abstract class ModelDeserializer<T> extends StdDeserializer<T> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param type the type of model object created by this deserializer
+     */
+    protected ModelDeserializer(@Nonnull final Class<T> type) {
+        super(type);
+    }
+
+    /**
+     * @return a new model object, populated with default values, into which the parsed fields will be stored
+     */
+    @Nonnull
+    protected abstract T create();
+
+    /**
+     * Read the value of a single field into the model object.
+     *
+     * @param parser the parser, positioned on the first token of the field value
+     * @param context the context of the current deserialization
+     * @param value the model object into which the field value should be stored
+     * @param field the name of the field being read
+     *
+     * @return whether the field was recognized and consumed, unrecognized fields are handled as unknown properties
+     *
+     * @throws IOException if there is a problem reading the field value
+     */
+    protected abstract boolean readField(
+            @Nonnull JsonParser parser, @Nonnull DeserializationContext context, @Nonnull T value,
+            @Nonnull String field) throws IOException;
+
+    @Override
+    @Nonnull
+    public T deserialize(@Nonnull final JsonParser parser, @Nonnull final DeserializationContext context)
+            throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw JsonMappingException.from(parser, "Expected a JSON object for " + handledType().getSimpleName());
+        }
+
+        final T value = create();
+        try {
+            while (token == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                if (!readField(parser, context, value, field)) {
+                    handleUnknownProperty(parser, context, value, field);
+                }
+                token = parser.nextToken();
+            }
+        } catch (final IllegalArgumentException | NullPointerException invalid) {
+            throw JsonMappingException.from(parser,
+                    "Invalid " + handledType().getSimpleName() + " value: " + invalid.getMessage(), invalid);
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw JsonMappingException.from(parser, "Unexpected token in " + handledType().getSimpleName() + ": "
+                    + token);
+        }
+        return value;
+    }
+
+    /**
+     * @param parser the parser, positioned on the field value
+     * @param context the context of the current deserialization
+     *
+     * @return the parsed long value, or {@code null} if the field value is a JSON {@code null}
+     *
+     * @throws IOException if there is a problem reading the field value
+     */
+    @CheckForNull
+    protected Long readNullableLong(@Nonnull final JsonParser parser, @Nonnull final DeserializationContext context)
+            throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return _parseLongPrimitive(parser, context);
+    }
+
+    /**
+     * @param parser the parser, positioned on the field value
+     * @param context the context of the current deserialization
+     *
+     * @return the parsed string value
+     *
+     * @throws IOException if there is a problem reading the field value, or the field value is a JSON {@code null}
+     */
+    @Nonnull
+    protected String readString(@Nonnull final JsonParser parser, @Nonnull final DeserializationContext context)
+            throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        final String value = _parseString(parser, context);
+        if (value == null) {
+            throw JsonMappingException.from(parser, "Invalid " + handledType().getSimpleName() + " value: "
+                    + parser.getCurrentName() + " must not be null");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,35 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.model.Group;
+import com.grpctrl.common.model.ServiceLevel;
+import com.grpctrl.common.model.Tag;
+
+/**
+ * A Jackson module that registers the hand-written serializers and deserializers for the model objects most often
+ * streamed by the REST API. These write fields straight to the generator using pre-encoded field names and parse one
+ * token at a time, avoiding the reflective bean property handling and the {@code Optional} wrapping performed by the
+ * default bean serializers, while producing the same JSON representation.
+ */
+public class ModelModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default constructor.
+     */
+    public ModelModule() {
+        super(ModelModule.class.getSimpleName(), Version.unknownVersion());
+
+        addSerializer(Account.class, AccountJson.SERIALIZER);
+        addSerializer(Group.class, GroupJson.SERIALIZER);
+        addSerializer(ServiceLevel.class, ServiceLevelJson.SERIALIZER);
+        addSerializer(Tag.class, TagJson.SERIALIZER);
+
+        addDeserializer(Account.class, AccountJson.DESERIALIZER);
+        addDeserializer(Group.class, GroupJson.DESERIALIZER);
+        addDeserializer(ServiceLevel.class, ServiceLevelJson.DESERIALIZER);
+        addDeserializer(Tag.class, TagJson.DESERIALIZER);
+    }
+}
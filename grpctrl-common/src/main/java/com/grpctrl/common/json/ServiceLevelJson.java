@@ -0,0 +1,112 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.grpctrl.common.model.ServiceLevel;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides the JSON serializer and deserializer for {@link ServiceLevel} objects.
+ */
+public final class ServiceLevelJson {
+    static final String MAX_GROUPS = "maxGroups";
+    static final String MAX_TAGS = "maxTags";
+    static final String MAX_DEPTH = "maxDepth";
+    static final String MAX_REQUEST_RATE = "maxRequestRate";
+    static final String MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+
+    private static final SerializableString MAX_GROUPS_FIELD = new SerializedString(MAX_GROUPS);
+    private static final SerializableString MAX_TAGS_FIELD = new SerializedString(MAX_TAGS);
+    private static final SerializableString MAX_DEPTH_FIELD = new SerializedString(MAX_DEPTH);
+    private static final SerializableString MAX_REQUEST_RATE_FIELD = new SerializedString(MAX_REQUEST_RATE);
+    private static final SerializableString MAX_CONCURRENT_REQUESTS_FIELD =
+            new SerializedString(MAX_CONCURRENT_REQUESTS);
+
+    /** The shared serializer instance. */
+    public static final Serializer SERIALIZER = new Serializer();
+
+    /** The shared deserializer instance. */
+    public static final Deserializer DESERIALIZER = new Deserializer();
+
+    private ServiceLevelJson() {
+    }
+
+    /**
+     * Writes {@link ServiceLevel} objects directly to the JSON generator.
+     */
+    public static class Serializer extends StdSerializer<ServiceLevel> {
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(ServiceLevel.class);
+        }
+
+        @Override
+        public void serialize(
+                @Nonnull final ServiceLevel serviceLevel, @Nonnull final JsonGenerator generator,
+                @Nonnull final SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(MAX_GROUPS_FIELD);
+            generator.writeNumber(serviceLevel.getMaxGroups());
+            generator.writeFieldName(MAX_TAGS_FIELD);
+            generator.writeNumber(serviceLevel.getMaxTags());
+            generator.writeFieldName(MAX_DEPTH_FIELD);
+            generator.writeNumber(serviceLevel.getMaxDepth());
+            generator.writeFieldName(MAX_REQUEST_RATE_FIELD);
+            generator.writeNumber(serviceLevel.getMaxRequestRate());
+            generator.writeFieldName(MAX_CONCURRENT_REQUESTS_FIELD);
+            generator.writeNumber(serviceLevel.getMaxConcurrentRequests());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads {@link ServiceLevel} objects from the JSON parser one token at a time.
+     */
+    public static class Deserializer extends ModelDeserializer<ServiceLevel> {
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(ServiceLevel.class);
+        }
+
+        @Override
+        @Nonnull
+        protected ServiceLevel create() {
+            return new ServiceLevel();
+        }
+
+        @Override
+        protected boolean readField(
+                @Nonnull final JsonParser parser, @Nonnull final DeserializationContext context,
+                @Nonnull final ServiceLevel serviceLevel, @Nonnull final String field) throws IOException {
+            switch (field) {
+                case MAX_GROUPS:
+                    serviceLevel.setMaxGroups(_parseIntPrimitive(parser, context));
+                    return true;
+                case MAX_TAGS:
+                    serviceLevel.setMaxTags(_parseIntPrimitive(parser, context));
+                    return true;
+                case MAX_DEPTH:
+                    serviceLevel.setMaxDepth(_parseIntPrimitive(parser, context));
+                    return true;
+                case MAX_REQUEST_RATE:
+                    serviceLevel.setMaxRequestRate(_parseIntPrimitive(parser, context));
+                    return true;
+                case MAX_CONCURRENT_REQUESTS:
+                    serviceLevel.setMaxConcurrentRequests(_parseIntPrimitive(parser, context));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.grpctrl.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.grpctrl.common.model.Tag;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides the JSON serializer and deserializer for {@link Tag} objects.
+ */
+public final class TagJson {
+    static final String LABEL = "label";
+    static final String VALUE = "value";
+
+    private static final SerializableString LABEL_FIELD = new SerializedString(LABEL);
+    private static final SerializableString VALUE_FIELD = new SerializedString(VALUE);
+
+    /** The shared serializer instance. */
+    public static final Serializer SERIALIZER = new Serializer();
+
+    /** The shared deserializer instance. */
+    public static final Deserializer DESERIALIZER = new Deserializer();
+
+    private TagJson() {
+    }
+
+    /**
+     * Writes {@link Tag} objects directly to the JSON generator.
+     */
+    public static class Serializer extends StdSerializer<Tag> {
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(Tag.class);
+        }
+
+        @Override
+        public void serialize(
+                @Nonnull final Tag tag, @Nonnull final JsonGenerator generator,
+                @Nonnull final SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(LABEL_FIELD);
+            generator.writeString(tag.getLabel());
+            generator.writeFieldName(VALUE_FIELD);
+            generator.writeString(tag.getValue());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads {@link Tag} objects from the JSON parser one token at a time.
+     */
+    public static class Deserializer extends ModelDeserializer<Tag> {
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(Tag.class);
+        }
+
+        @Override
+        @Nonnull
+        protected Tag create() {
+            return new Tag();
+        }
+
+        @Override
+        protected boolean readField(
+                @Nonnull final JsonParser parser, @Nonnull final DeserializationContext context,
+                @Nonnull final Tag tag, @Nonnull final String field) throws IOException {
+            switch (field) {
+                case LABEL:
+                    tag.setLabel(readString(parser, context));
+                    return true;
+                case VALUE:
+                    tag.setValue(readString(parser, context));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
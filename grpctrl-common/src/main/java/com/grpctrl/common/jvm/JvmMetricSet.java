@@ -0,0 +1,123 @@
+package com.grpctrl.common.jvm;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.jvm.BufferPoolMetricSet;
+import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
+import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
+import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Provides the JVM runtime metrics: garbage collection counts and times, a timer of the individual garbage collection
+ * pauses for each collector, the allocation rate, the usage of the heap and of each memory pool, the direct and mapped
+ * buffer pools, and the number of threads in each state.
+ *
+ * <p>The pause timers and allocation rate are updated from the garbage collection notifications. The allocation rate is
+ * measured as the growth of the eden space between collections, which is where new objects are allocated.</p>
+ */
+public class JvmMetricSet implements MetricSet {
+    @Nonnull
+    private final Map<String, Metric> metrics = new HashMap<>();
+    @Nonnull
+    private final Map<String, Timer> pauses = new ConcurrentHashMap<>();
+    @Nonnull
+    private final Meter allocated = new Meter();
+
+    /**
+     * Create the metric set, registering for garbage collection notifications from each of the collectors.
+     */
+    public JvmMetricSet() {
+        add("gc", new GarbageCollectorMetricSet());
+        add("memory", new MemoryUsageGaugeSet());
+        add("buffers", new BufferPoolMetricSet(ManagementFactory.getPlatformMBeanServer()));
+        add("threads", new ThreadStatesGaugeSet());
+        this.metrics.put(name("memory", "allocated"), this.allocated);
+
+        final GcListener gcListener = new GcListener();
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            final Timer timer = new Timer();
+            this.pauses.put(gc.getName(), timer);
+            this.metrics.put(name("gc", normalize(gc.getName()), "pauses"), timer);
+            if (gc instanceof NotificationEmitter) {
+                ((NotificationEmitter) gc).addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    private void add(@Nonnull final String prefix, @Nonnull final MetricSet metricSet) {
+        metricSet.getMetrics().forEach((name, metric) -> this.metrics.put(name(prefix, name), metric));
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull final String name) {
+        // Match the naming used by the garbage collector metric set, e.g. PS-MarkSweep.
+        return name.replaceAll("\\s+", "-");
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, Metric> getMetrics() {
+        return Collections.unmodifiableMap(this.metrics);
+    }
+
+    private class GcListener implements NotificationListener {
+        // The eden space usage at the end of the previous collection, by memory pool name.
+        @Nonnull
+        private final Map<String, Long> edenAfter = new HashMap<>();
+
+        @Override
+        public void handleNotification(@Nonnull final Notification notification, @Nullable final Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+
+            final GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            final GcInfo gcInfo = info.getGcInfo();
+            final Timer timer = pauses.get(info.getGcName());
+            if (timer != null) {
+                timer.update(gcInfo.getDuration(), TimeUnit.MILLISECONDS);
+            }
+            recordAllocations(gcInfo.getMemoryUsageBeforeGc(), gcInfo.getMemoryUsageAfterGc());
+        }
+
+        private synchronized void recordAllocations(
+                @Nonnull final Map<String, MemoryUsage> before, @Nonnull final Map<String, MemoryUsage> after) {
+            for (final Map.Entry<String, MemoryUsage> entry : before.entrySet()) {
+                final String pool = entry.getKey();
+                if (!pool.contains("Eden")) {
+                    continue;
+                }
+                final long previous = this.edenAfter.getOrDefault(pool, 0L);
+                final long allocatedBytes = entry.getValue().getUsed() - previous;
+                if (allocatedBytes > 0) {
+                    allocated.mark(allocatedBytes);
+                }
+                final MemoryUsage usage = after.get(pool);
+                this.edenAfter.put(pool, usage == null ? 0L : usage.getUsed());
+            }
+        }
+    }
+}
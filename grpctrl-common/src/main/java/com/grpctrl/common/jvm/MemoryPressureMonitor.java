@@ -0,0 +1,151 @@
+package com.grpctrl.common.jvm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+/**
+ * Monitors the heap memory pools and determines whether the server is under memory pressure. The server enters degraded
+ * mode when the usage of any heap memory pool after garbage collection reaches the enter threshold, and leaves degraded
+ * mode once the usage of every heap memory pool after garbage collection drops below the exit threshold. Using the
+ * usage after garbage collection ignores garbage that has not been collected yet, so only live data causes pressure.
+ *
+ * <p>The collection usage thresholds of the memory pools are set so the JVM notifies this monitor as soon as the enter
+ * threshold is crossed. Leaving degraded mode is detected by running this monitor periodically.</p>
+ */
+public class MemoryPressureMonitor implements Runnable, NotificationListener {
+    private static final Logger LOG = LoggerFactory.getLogger(MemoryPressureMonitor.class);
+
+    @Nonnull
+    private final List<MemoryPoolMXBean> pools;
+    private final double enterThreshold;
+    private final double exitThreshold;
+
+    private volatile boolean degraded = false;
+    private volatile double pressure = 0d;
+
+    /**
+     * Create the monitor for the heap memory pools of this JVM, and register to receive the memory threshold
+     * notifications.
+     *
+     * @param enterThreshold the fraction of a heap memory pool in use after garbage collection at which degraded mode
+     *     begins
+     * @param exitThreshold the fraction of each heap memory pool in use after garbage collection below which degraded
+     *     mode ends
+     *
+     * @throws IllegalArgumentException if the thresholds are not between 0 and 1, or the exit threshold is larger than
+     *     the enter threshold
+     */
+    public MemoryPressureMonitor(final double enterThreshold, final double exitThreshold) {
+        this(ManagementFactory.getMemoryPoolMXBeans(), enterThreshold, exitThreshold);
+
+        for (final MemoryPoolMXBean pool : this.pools) {
+            final long max = pool.getUsage().getMax();
+            if (max > 0) {
+                pool.setCollectionUsageThreshold((long) (max * enterThreshold));
+            }
+        }
+        final Object memoryBean = ManagementFactory.getMemoryMXBean();
+        if (memoryBean instanceof NotificationEmitter) {
+            ((NotificationEmitter) memoryBean).addNotificationListener(this, null, null);
+        }
+    }
+
+    /**
+     * @param pools the memory pools to monitor, only the heap pools supporting collection usage are used
+     * @param enterThreshold the fraction of a heap memory pool in use after garbage collection at which degraded mode
+     *     begins
+     * @param exitThreshold the fraction of each heap memory pool in use after garbage collection below which degraded
+     *     mode ends
+     *
+     * @throws IllegalArgumentException if the thresholds are not between 0 and 1, or the exit threshold is larger than
+     *     the enter threshold
+     */
+    MemoryPressureMonitor(
+            @Nonnull final Collection<MemoryPoolMXBean> pools, final double enterThreshold,
+            final double exitThreshold) {
+        if (enterThreshold <= 0 || enterThreshold > 1 || exitThreshold <= 0 || exitThreshold > enterThreshold) {
+            throw new IllegalArgumentException("Invalid memory pressure thresholds");
+        }
+        this.pools = Objects.requireNonNull(pools).stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+                .collect(Collectors.toList());
+        this.enterThreshold = enterThreshold;
+        this.exitThreshold = exitThreshold;
+    }
+
+    /**
+     * @return whether the server is currently under memory pressure, and should reject memory intensive requests
+     */
+    public boolean isDegraded() {
+        return this.degraded;
+    }
+
+    /**
+     * @return the largest fraction of a heap memory pool in use after garbage collection, as of the latest check
+     */
+    public double getPressure() {
+        return this.pressure;
+    }
+
+    @Override
+    public void run() {
+        check();
+    }
+
+    @Override
+    public void handleNotification(@Nonnull final Notification notification, @Nullable final Object handback) {
+        if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            check();
+        }
+    }
+
+    /**
+     * Determine the current memory pressure, entering or leaving degraded mode when a threshold has been crossed.
+     */
+    synchronized void check() {
+        double highest = 0d;
+        String highestPool = null;
+        for (final MemoryPoolMXBean pool : this.pools) {
+            final double fraction = getFraction(pool.getCollectionUsage());
+            if (fraction > highest) {
+                highest = fraction;
+                highestPool = pool.getName();
+            }
+        }
+        this.pressure = highest;
+
+        if (!this.degraded && highest >= this.enterThreshold) {
+            this.degraded = true;
+            LOG.warn(String.format("Entering degraded mode, memory pool %s is %.2f%% used after garbage collection",
+                    highestPool, highest * 100d));
+        } else if (this.degraded && highest < this.exitThreshold) {
+            this.degraded = false;
+            LOG.info(String.format("Leaving degraded mode, memory pools at most %.2f%% used after garbage collection",
+                    highest * 100d));
+        }
+    }
+
+    private static double getFraction(@CheckForNull final MemoryUsage usage) {
+        if (usage == null || usage.getMax() <= 0) {
+            return 0d;
+        }
+        return (double) usage.getUsed() / usage.getMax();
+    }
+}
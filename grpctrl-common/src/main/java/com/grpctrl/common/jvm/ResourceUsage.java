@@ -0,0 +1,158 @@
+package com.grpctrl.common.jvm;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Accounts for the CPU time consumed and the heap memory allocated by the threads working on a single request. The
+ * usage is measured with the per-thread counters of the JVM, so a request is charged only for the work of the threads
+ * it is attached to, while they are attached. A request handed off to another thread, like a worker building and
+ * writing the response, continues to be measured by attaching its usage on that thread, see {@link #current()} and
+ * {@link #attach(ResourceUsage)}.
+ *
+ * <p>Measuring requires the HotSpot extensions of the thread management bean, see {@link #isSupported()}. When they
+ * are not available, the usage of every request remains zero.</p>
+ */
+public class ResourceUsage {
+    private static final ThreadLocal<ResourceUsage> CURRENT = new ThreadLocal<>();
+
+    @CheckForNull
+    private static final com.sun.management.ThreadMXBean THREADS = getThreadBean();
+
+    // The CPU time and allocated bytes of each attached thread when it was attached, by thread id.
+    @Nonnull
+    private final Map<Long, long[]> attached = new ConcurrentHashMap<>();
+    @Nonnull
+    private final AtomicLong cpuNanos = new AtomicLong(0);
+    @Nonnull
+    private final AtomicLong allocatedBytes = new AtomicLong(0);
+    private volatile boolean finished = false;
+
+    @CheckForNull
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        final Object threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) threadBean;
+        if (!threads.isCurrentThreadCpuTimeSupported() || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        return threads;
+    }
+
+    /**
+     * @return whether the running JVM is able to measure the CPU time and memory allocations of each thread
+     */
+    public static boolean isSupported() {
+        return THREADS != null && THREADS.isThreadCpuTimeEnabled() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Start measuring the usage of a new request, attaching it to the calling thread.
+     *
+     * @return the usage of the new request
+     */
+    @Nonnull
+    public static ResourceUsage start() {
+        final ResourceUsage usage = new ResourceUsage();
+        attach(usage);
+        return usage;
+    }
+
+    /**
+     * @return the usage attached to the calling thread, or {@code null} when the thread is not working on a measured
+     *     request
+     */
+    @CheckForNull
+    public static ResourceUsage current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attach the provided usage to the calling thread, typically a usage captured with {@link #current()} on the
+     * thread that submitted some work to an executor. The usage previously attached to the calling thread stops being
+     * charged for the work of this thread.
+     *
+     * @param usage the usage to attach, possibly {@code null} to only detach the current usage
+     *
+     * @return the usage that was previously attached to the calling thread, to be restored once the work is done
+     */
+    @CheckForNull
+    public static ResourceUsage attach(@CheckForNull final ResourceUsage usage) {
+        final ResourceUsage previous = CURRENT.get();
+        if (previous == usage) {
+            return previous;
+        }
+        if (previous != null) {
+            previous.detached();
+        }
+        if (usage == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(usage);
+            usage.attached();
+        }
+        return previous;
+    }
+
+    @Nonnull
+    private static long[] sample() {
+        if (THREADS == null) {
+            return new long[] {0, 0};
+        }
+        final long cpu = Math.max(THREADS.getCurrentThreadCpuTime(), 0);
+        final long allocated = Math.max(THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()), 0);
+        return new long[] {cpu, allocated};
+    }
+
+    private void attached() {
+        if (!this.finished) {
+            this.attached.putIfAbsent(Thread.currentThread().getId(), sample());
+        }
+    }
+
+    private void detached() {
+        final long[] start = this.attached.remove(Thread.currentThread().getId());
+        if (start != null) {
+            final long[] end = sample();
+            this.cpuNanos.addAndGet(Math.max(end[0] - start[0], 0));
+            this.allocatedBytes.addAndGet(Math.max(end[1] - start[1], 0));
+        }
+    }
+
+    /**
+     * @return the CPU time consumed by the request so far in nanoseconds, including the work of the calling thread but
+     *     not the ongoing work of other attached threads
+     */
+    public long getCpuNanos() {
+        final long[] start = this.attached.get(Thread.currentThread().getId());
+        return this.cpuNanos.get() + (start == null ? 0 : Math.max(sample()[0] - start[0], 0));
+    }
+
+    /**
+     * @return the number of heap bytes allocated by the request so far, including the work of the calling thread but
+     *     not the ongoing work of other attached threads
+     */
+    public long getAllocatedBytes() {
+        final long[] start = this.attached.get(Thread.currentThread().getId());
+        return this.allocatedBytes.get() + (start == null ? 0 : Math.max(sample()[1] - start[1], 0));
+    }
+
+    /**
+     * Finish measuring the request, detaching it from the calling thread. Work done by threads attaching the usage
+     * afterwards is no longer measured.
+     */
+    public void finish() {
+        this.finished = true;
+        detached();
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.grpctrl.common.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.grpctrl.common.util.CollectionComparator;
 import com.grpctrl.common.util.OptionalComparator;
 
@@ -205,6 +206,7 @@ public class Group implements Comparable<Group> {
      *
      * @throws NullPointerException if the provided parameter is {@code null}
      */
+    @JsonProperty("tags")
     public Group setTags(@Nonnull final Set<Tag> tags) {
         this.tags = Objects.requireNonNull(tags);
         return this;
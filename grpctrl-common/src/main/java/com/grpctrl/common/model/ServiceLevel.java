@@ -21,6 +21,8 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
     private int maxGroups = 100;
     private int maxTags = 1000;
     private int maxDepth = 3;
+    private int maxRequestRate = 50;
+    private int maxConcurrentRequests = 10;
 
     /**
      * Default constructor.
@@ -41,6 +43,23 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
         setMaxDepth(maxDepth);
     }
 
+    /**
+     * @param maxGroups the maximum number of groups the account can possess
+     * @param maxTags the maximum number of tags the account can possess
+     * @param maxDepth the maximum depth of groups within groups the account supports
+     * @param maxRequestRate the maximum number of requests per second the account is allowed to make
+     * @param maxConcurrentRequests the maximum number of requests the account is allowed to have in progress at once
+     *
+     * @throws IllegalArgumentException if any of the parameters are invalid
+     */
+    public ServiceLevel(
+            final int maxGroups, final int maxTags, final int maxDepth, final int maxRequestRate,
+            final int maxConcurrentRequests) {
+        this(maxGroups, maxTags, maxDepth);
+        setMaxRequestRate(maxRequestRate);
+        setMaxConcurrentRequests(maxConcurrentRequests);
+    }
+
     /**
      * @param other the service level to duplicate
      *
@@ -60,6 +79,8 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
         setMaxGroups(other.getMaxGroups());
         setMaxTags(other.getMaxTags());
         setMaxDepth(other.getMaxDepth());
+        setMaxRequestRate(other.getMaxRequestRate());
+        setMaxConcurrentRequests(other.getMaxConcurrentRequests());
         return this;
     }
 
@@ -120,6 +141,45 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
         return this;
     }
 
+    /**
+     * @return the maximum number of requests per second the account is allowed to make
+     */
+    public int getMaxRequestRate() {
+        return this.maxRequestRate;
+    }
+
+    /**
+     * @param maxRequestRate the new maximum number of requests per second the account is allowed to make
+     *
+     * @return {@code this} for fluent-style usage
+     *
+     * @throws IllegalArgumentException if the provided parameter is invalid
+     */
+    public ServiceLevel setMaxRequestRate(final int maxRequestRate) {
+        this.maxRequestRate = Validator.validateMaxRequestRate(maxRequestRate);
+        return this;
+    }
+
+    /**
+     * @return the maximum number of requests the account is allowed to have in progress at once
+     */
+    public int getMaxConcurrentRequests() {
+        return this.maxConcurrentRequests;
+    }
+
+    /**
+     * @param maxConcurrentRequests the new maximum number of requests the account is allowed to have in progress at
+     *     once
+     *
+     * @return {@code this} for fluent-style usage
+     *
+     * @throws IllegalArgumentException if the provided parameter is invalid
+     */
+    public ServiceLevel setMaxConcurrentRequests(final int maxConcurrentRequests) {
+        this.maxConcurrentRequests = Validator.validateMaxConcurrentRequests(maxConcurrentRequests);
+        return this;
+    }
+
     @Override
     public int compareTo(@Nullable final ServiceLevel other) {
         if (other == null) {
@@ -130,6 +190,8 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
         cmp.append(getMaxGroups(), other.getMaxGroups());
         cmp.append(getMaxTags(), other.getMaxTags());
         cmp.append(getMaxDepth(), other.getMaxDepth());
+        cmp.append(getMaxRequestRate(), other.getMaxRequestRate());
+        cmp.append(getMaxConcurrentRequests(), other.getMaxConcurrentRequests());
         return cmp.toComparison();
     }
 
@@ -144,6 +206,8 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
         hash.append(getMaxGroups());
         hash.append(getMaxTags());
         hash.append(getMaxDepth());
+        hash.append(getMaxRequestRate());
+        hash.append(getMaxConcurrentRequests());
         return hash.toHashCode();
     }
 
@@ -154,6 +218,8 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
         str.append("maxGroups", getMaxGroups());
         str.append("maxTags", getMaxTags());
         str.append("maxDepth", getMaxDepth());
+        str.append("maxRequestRate", getMaxRequestRate());
+        str.append("maxConcurrentRequests", getMaxConcurrentRequests());
         return str.build();
     }
 
@@ -205,5 +271,37 @@ public class ServiceLevel implements Comparable<ServiceLevel> {
 
             return maxDepth;
         }
+
+        /**
+         * Perform validation on the provided {@code maxRequestRate}.
+         *
+         * @param maxRequestRate the maximum number of requests per second the account is allowed to make
+         *
+         * @return the unmodified value, when valid
+         *
+         * @throws IllegalArgumentException if the provided value is invalid
+         */
+        public static int validateMaxRequestRate(final int maxRequestRate) {
+            Preconditions.checkArgument(maxRequestRate > 0, "The maximum request rate must be positive");
+
+            return maxRequestRate;
+        }
+
+        /**
+         * Perform validation on the provided {@code maxConcurrentRequests}.
+         *
+         * @param maxConcurrentRequests the maximum number of requests the account is allowed to have in progress at
+         *     once
+         *
+         * @return the unmodified value, when valid
+         *
+         * @throws IllegalArgumentException if the provided value is invalid
+         */
+        public static int validateMaxConcurrentRequests(final int maxConcurrentRequests) {
+            Preconditions.checkArgument(
+                    maxConcurrentRequests > 0, "The maximum number of concurrent requests must be positive");
+
+            return maxConcurrentRequests;
+        }
     }
 }
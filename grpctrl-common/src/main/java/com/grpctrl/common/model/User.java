@@ -1,5 +1,6 @@
 package com.grpctrl.common.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.grpctrl.common.util.CollectionComparator;
 import com.grpctrl.common.util.OptionalComparator;
@@ -287,6 +288,7 @@ public class User implements Comparable<User>, Principal, SecurityContext {
     }
 
     @Nonnull
+    @JsonIgnore
     public Optional<LoginContext> getLoginContext() {
         return Optional.ofNullable(this.loginContext);
     }
@@ -302,6 +304,7 @@ public class User implements Comparable<User>, Principal, SecurityContext {
 
     @Override
     @Nonnull
+    @JsonIgnore
     public Principal getUserPrincipal() {
         return this;
     }
@@ -8,20 +8,34 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
 import java.util.Objects;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 
 /**
  * Provides information about user's password-based login.
  */
 public class UserAuth implements Comparable<UserAuth> {
+    /** The hash algorithm used when none is specified. */
+    public static final String DEFAULT_HASH_ALGORITHM = "SHA-512";
+    /** The hash cost used when none is specified, a single round of hashing. */
+    public static final int DEFAULT_HASH_COST = 1;
+
+    private static final String PBKDF2_PREFIX = "PBKDF2";
+    private static final int PBKDF2_KEY_LENGTH = 512;
+
     @Nonnull
-    private String hashAlgorithm = "SHA-512";
+    private String hashAlgorithm = DEFAULT_HASH_ALGORITHM;
+
+    private int hashCost = DEFAULT_HASH_COST;
 
     @Nonnull
     private String salt = "";
@@ -43,7 +57,23 @@ public class UserAuth implements Comparable<UserAuth> {
      * @throws NullPointerException if any of the provided parameters are {@code null}
      */
     public UserAuth(@Nonnull final String hashAlgorithm, @Nonnull final String salt, @Nonnull final String hashedPass) {
+        this(hashAlgorithm, DEFAULT_HASH_COST, salt, hashedPass);
+    }
+
+    /**
+     * @param hashAlgorithm the hash algorithm used to generate the hashed password
+     * @param hashCost the cost (number of iterations) used by the hash algorithm to generate the hashed password
+     * @param salt the salt value incorporated into the password prior to hashing
+     * @param hashedPass the hashed password value
+     *
+     * @throws NullPointerException if any of the provided parameters are {@code null}
+     * @throws IllegalArgumentException if the hash cost is not positive
+     */
+    public UserAuth(
+            @Nonnull final String hashAlgorithm, final int hashCost, @Nonnull final String salt,
+            @Nonnull final String hashedPass) {
         setHashAlgorithm(hashAlgorithm);
+        setHashCost(hashCost);
         setSalt(salt);
         setHashedPass(hashedPass);
     }
@@ -65,6 +95,7 @@ public class UserAuth implements Comparable<UserAuth> {
     public void setValues(@Nonnull final UserAuth other) {
         Objects.requireNonNull(other);
         setHashAlgorithm(other.getHashAlgorithm());
+        setHashCost(other.getHashCost());
         setSalt(other.getSalt());
         setHashedPass(other.getHashedPass());
     }
@@ -79,7 +110,7 @@ public class UserAuth implements Comparable<UserAuth> {
      * @throws NullPointerException if the provided parameter is {@code null}
      */
     public static UserAuth fromPassword(@Nonnull final String password) {
-        return fromPassword("SHA-512", password);
+        return fromPassword(DEFAULT_HASH_ALGORITHM, password);
     }
 
     /**
@@ -93,18 +124,79 @@ public class UserAuth implements Comparable<UserAuth> {
      * @throws NullPointerException if the provided parameter is {@code null}
      */
     public static UserAuth fromPassword(@Nonnull final String hashAlgorithm, @Nonnull final String password) {
+        return fromPassword(hashAlgorithm, DEFAULT_HASH_COST, password);
+    }
+
+    /**
+     * Create a new {@link UserAuth} based on the provided password.
+     *
+     * @param hashAlgorithm the algorithm to use when generating the hash, either a {@link MessageDigest} algorithm or
+     *     a PBKDF2 {@link SecretKeyFactory} algorithm (like {@code PBKDF2WithHmacSHA512})
+     * @param hashCost the cost of the hash, the number of digest rounds or PBKDF2 iterations to perform
+     * @param password the plain-text password for which a new {@link UserAuth} should be created
+     *
+     * @return the requested {@link UserAuth}
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     * @throws IllegalArgumentException if the hash cost is not positive
+     */
+    public static UserAuth fromPassword(
+            @Nonnull final String hashAlgorithm, final int hashCost, @Nonnull final String password) {
         Objects.requireNonNull(hashAlgorithm);
         Objects.requireNonNull(password);
 
+        final String salt = RandomString.get(20);
+        final String hashedPass = toHexString(hash(hashAlgorithm, hashCost, salt, password));
+        return new UserAuth(hashAlgorithm, hashCost, salt, hashedPass);
+    }
+
+    /**
+     * Hash the provided salt and password using the specified algorithm and cost.
+     *
+     * @param hashAlgorithm the algorithm to use when generating the hash
+     * @param hashCost the cost of the hash, the number of digest rounds or PBKDF2 iterations to perform
+     * @param salt the salt value to incorporate into the hash
+     * @param password the plain-text password to hash
+     *
+     * @return the hashed bytes
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the hash cost is not positive
+     */
+    @Nonnull
+    public static byte[] hash(
+            @Nonnull final String hashAlgorithm, final int hashCost, @Nonnull final String salt,
+            @Nonnull final String password) {
+        Objects.requireNonNull(hashAlgorithm);
+        Objects.requireNonNull(salt);
+        Objects.requireNonNull(password);
+        if (hashCost < 1) {
+            throw new IllegalArgumentException("Invalid hash cost, must be positive: " + hashCost);
+        }
+
         try {
-            final MessageDigest messageDigest = MessageDigest.getInstance(hashAlgorithm);
-            final String salt = RandomString.get(20);
-            final String hashedPass = toHexString(messageDigest.digest((salt + password).getBytes(Charsets.UTF_8)));
+            if (hashAlgorithm.toUpperCase(Locale.ENGLISH).startsWith(PBKDF2_PREFIX)) {
+                final SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(hashAlgorithm);
+                final PBEKeySpec keySpec = new PBEKeySpec(
+                        password.toCharArray(), salt.getBytes(Charsets.UTF_8), hashCost, PBKDF2_KEY_LENGTH);
+                try {
+                    return keyFactory.generateSecret(keySpec).getEncoded();
+                } finally {
+                    keySpec.clearPassword();
+                }
+            }
 
-            return new UserAuth(hashAlgorithm, salt, hashedPass);
+            final MessageDigest messageDigest = MessageDigest.getInstance(hashAlgorithm);
+            byte[] hashed = messageDigest.digest((salt + password).getBytes(Charsets.UTF_8));
+            for (int round = 1; round < hashCost; round++) {
+                hashed = messageDigest.digest(hashed);
+            }
+            return hashed;
         } catch (final NoSuchAlgorithmException badHashAlgorithm) {
             // Not expecting this to happen.
             throw new RuntimeException("Unexpected bad algorithm", badHashAlgorithm);
+        } catch (final GeneralSecurityException securityException) {
+            throw new RuntimeException("Failed to hash password", securityException);
         }
     }
 
@@ -142,14 +234,11 @@ public class UserAuth implements Comparable<UserAuth> {
     public boolean validate(@Nonnull final String password) {
         Objects.requireNonNull(password);
 
-        try {
-            final MessageDigest messageDigest = MessageDigest.getInstance(getHashAlgorithm());
-            final String expected = toHexString(messageDigest.digest((getSalt() + password).getBytes(Charsets.UTF_8)));
-            return getHashedPass().equals(expected);
-        } catch (final NoSuchAlgorithmException badHashAlgorithm) {
-            // Not expecting this to happen.
-            throw new RuntimeException("Unexpected bad algorithm", badHashAlgorithm);
-        }
+        final String expected = toHexString(hash(getHashAlgorithm(), getHashCost(), getSalt(), password));
+
+        // Use a constant-time comparison so the timing does not leak how much of the hash matched.
+        return MessageDigest.isEqual(
+                getHashedPass().getBytes(Charsets.UTF_8), expected.getBytes(Charsets.UTF_8));
     }
 
     /**
@@ -172,6 +261,28 @@ public class UserAuth implements Comparable<UserAuth> {
         return this;
     }
 
+    /**
+     * @return the cost (number of digest rounds or PBKDF2 iterations) used to hash the password and salt
+     */
+    public int getHashCost() {
+        return this.hashCost;
+    }
+
+    /**
+     * @param hashCost the new hash cost value
+     * @return {@code this} for fluent-style usage
+     *
+     * @throws IllegalArgumentException if the provided {@code hashCost} parameter is not positive
+     */
+    @Nonnull
+    public UserAuth setHashCost(final int hashCost) {
+        if (hashCost < 1) {
+            throw new IllegalArgumentException("Invalid hash cost, must be positive: " + hashCost);
+        }
+        this.hashCost = hashCost;
+        return this;
+    }
+
     /**
      * @return the salt used in conjunction with the user password in the hash
      */
@@ -218,6 +329,7 @@ public class UserAuth implements Comparable<UserAuth> {
         cmp.append(other.getSalt(), getSalt());
         cmp.append(getHashAlgorithm(), other.getHashAlgorithm());
         cmp.append(other.getHashedPass(), getHashedPass());
+        cmp.append(getHashCost(), other.getHashCost());
         return cmp.toComparison();
     }
 
@@ -232,6 +344,7 @@ public class UserAuth implements Comparable<UserAuth> {
         hash.append(getHashAlgorithm());
         hash.append(getSalt());
         hash.append(getHashedPass());
+        hash.append(getHashCost());
         return hash.toHashCode();
     }
 
@@ -240,6 +353,7 @@ public class UserAuth implements Comparable<UserAuth> {
     public String toString() {
         final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
         str.append("hashAlgorithm", getHashAlgorithm());
+        str.append("hashCost", getHashCost());
         str.append("salt", getSalt());
         str.append("hashedPass", getHashedPass());
         return str.build();
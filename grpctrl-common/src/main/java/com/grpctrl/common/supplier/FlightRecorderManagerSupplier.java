@@ -0,0 +1,111 @@
+package com.grpctrl.common.supplier;
+
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.jfr.FlightRecorderManager;
+import com.grpctrl.common.jfr.JfrEvents;
+import com.typesafe.config.Config;
+
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Provides singleton access to the {@link FlightRecorderManager} used to manage the flight recordings started on demand
+ * by administrators. The manager is only created when the running JVM supports flight recordings.
+ */
+@Provider
+public class FlightRecorderManagerSupplier
+        implements Supplier<FlightRecorderManager>, Factory<FlightRecorderManager>,
+        ContextResolver<FlightRecorderManager> {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+
+    @Nullable
+    private volatile FlightRecorderManager singleton = null;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     */
+    @Inject
+    public FlightRecorderManagerSupplier(@Nonnull final ConfigSupplier configSupplier) {
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+    }
+
+    /**
+     * @return whether flight recordings are supported by the running JVM, in which case {@link #get()} provides the
+     *     manager
+     */
+    public boolean isAvailable() {
+        // Check for the API before touching the manager, which links against the flight recorder classes.
+        return JfrEvents.isSupported() && FlightRecorderManager.isAvailable();
+    }
+
+    /**
+     * @return the singleton {@link FlightRecorderManager}
+     *
+     * @throws IllegalStateException if flight recordings are not supported by the running JVM
+     */
+    @Override
+    @Nonnull
+    @SuppressWarnings("all")
+    public FlightRecorderManager get() {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Flight recordings are not available in this JVM");
+        }
+
+        // Use double-check locking (with volatile singleton).
+        if (this.singleton == null) {
+            synchronized (FlightRecorderManagerSupplier.class) {
+                if (this.singleton == null) {
+                    this.singleton = create();
+                }
+            }
+        }
+        return this.singleton;
+    }
+
+    @Override
+    @Nonnull
+    public FlightRecorderManager getContext(@Nonnull final Class<?> type) {
+        return get();
+    }
+
+    @Override
+    @Nonnull
+    public FlightRecorderManager provide() {
+        return get();
+    }
+
+    @Override
+    public void dispose(@Nonnull final FlightRecorderManager flightRecorderManager) {
+        // Nothing to do.
+    }
+
+    @Nonnull
+    private FlightRecorderManager create() {
+        final Config config = this.configSupplier.get();
+        return new FlightRecorderManager(config.getDuration(ConfigKeys.JFR_DEFAULT_DURATION.getKey()),
+                config.getDuration(ConfigKeys.JFR_MAX_DURATION.getKey()),
+                config.getString(ConfigKeys.JFR_DEFAULT_SETTINGS.getKey()),
+                config.getInt(ConfigKeys.JFR_MAX_RECORDINGS.getKey()));
+    }
+
+    /**
+     * Used to bind this supplier for dependency injection.
+     */
+    public static class Binder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bind(FlightRecorderManagerSupplier.class).to(FlightRecorderManagerSupplier.class).in(Singleton.class);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.grpctrl.common.supplier;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.jvm.MemoryPressureMonitor;
+import com.typesafe.config.Config;
+
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Provides singleton access to the {@link MemoryPressureMonitor} used to determine whether the server is under memory
+ * pressure. The monitor is scheduled to run periodically once created, and its state is reported through gauges in the
+ * metric registry.
+ */
+@Provider
+public class MemoryPressureMonitorSupplier
+        implements Supplier<MemoryPressureMonitor>, Factory<MemoryPressureMonitor>,
+        ContextResolver<MemoryPressureMonitor> {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+    @Nonnull
+    private final ScheduledExecutorServiceSupplier scheduledExecutorServiceSupplier;
+    @Nonnull
+    private final MetricRegistrySupplier metricRegistrySupplier;
+
+    @Nullable
+    private volatile MemoryPressureMonitor singleton = null;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param scheduledExecutorServiceSupplier provides the executor used to run the monitor periodically
+     * @param metricRegistrySupplier provides the registry into which the memory pressure gauges are registered
+     */
+    @Inject
+    public MemoryPressureMonitorSupplier(
+            @Nonnull final ConfigSupplier configSupplier,
+            @Nonnull final ScheduledExecutorServiceSupplier scheduledExecutorServiceSupplier,
+            @Nonnull final MetricRegistrySupplier metricRegistrySupplier) {
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+        this.scheduledExecutorServiceSupplier = Objects.requireNonNull(scheduledExecutorServiceSupplier);
+        this.metricRegistrySupplier = Objects.requireNonNull(metricRegistrySupplier);
+    }
+
+    @Override
+    @Nonnull
+    @SuppressWarnings("all")
+    public MemoryPressureMonitor get() {
+        // Use double-check locking (with volatile singleton).
+        if (this.singleton == null) {
+            synchronized (MemoryPressureMonitorSupplier.class) {
+                if (this.singleton == null) {
+                    this.singleton = create();
+                }
+            }
+        }
+        return this.singleton;
+    }
+
+    @Override
+    @Nonnull
+    public MemoryPressureMonitor getContext(@Nonnull final Class<?> type) {
+        return get();
+    }
+
+    @Override
+    @Nonnull
+    public MemoryPressureMonitor provide() {
+        return get();
+    }
+
+    @Override
+    public void dispose(@Nonnull final MemoryPressureMonitor memoryPressureMonitor) {
+        // Nothing to do.
+    }
+
+    @Nonnull
+    private MemoryPressureMonitor create() {
+        final Config config = this.configSupplier.get();
+        final MemoryPressureMonitor monitor =
+                new MemoryPressureMonitor(config.getDouble(ConfigKeys.MEMORY_PRESSURE_ENTER_THRESHOLD.getKey()),
+                        config.getDouble(ConfigKeys.MEMORY_PRESSURE_EXIT_THRESHOLD.getKey()));
+        final long interval =
+                config.getDuration(ConfigKeys.MEMORY_PRESSURE_CHECK_INTERVAL.getKey(), TimeUnit.MILLISECONDS);
+        this.scheduledExecutorServiceSupplier.get()
+                .scheduleWithFixedDelay(monitor, interval, interval, TimeUnit.MILLISECONDS);
+
+        final MetricRegistry metricRegistry = this.metricRegistrySupplier.get();
+        metricRegistry.register(name(MemoryPressureMonitor.class, "degraded"), (Gauge<Boolean>) monitor::isDegraded);
+        metricRegistry.register(name(MemoryPressureMonitor.class, "pressure"), (Gauge<Double>) monitor::getPressure);
+        return monitor;
+    }
+
+    /**
+     * Used to bind this supplier for dependency injection.
+     */
+    public static class Binder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bind(MemoryPressureMonitorSupplier.class).to(MemoryPressureMonitorSupplier.class).in(Singleton.class);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.grpctrl.common.supplier;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JSR310Module;
+import com.grpctrl.common.json.DataFormat;
+import com.grpctrl.common.json.ModelModule;
 
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
@@ -23,6 +29,8 @@ public class ObjectMapperSupplier
         implements Supplier<ObjectMapper>, Factory<ObjectMapper>, ContextResolver<ObjectMapper> {
     @Nullable
     private volatile ObjectMapper singleton = null;
+    @Nullable
+    private volatile Map<DataFormat, JsonFactory> factories = null;
 
     @Override
     @Nonnull
@@ -32,13 +40,31 @@ public class ObjectMapperSupplier
         if (this.singleton == null) {
             synchronized (ObjectMapperSupplier.class) {
                 if (this.singleton == null) {
-                    this.singleton = create();
+                    final ObjectMapper objectMapper = create();
+                    this.factories = createFactories(objectMapper);
+                    this.singleton = objectMapper;
                 }
             }
         }
         return this.singleton;
     }
 
+    /**
+     * @param dataFormat the data format for which a factory should be retrieved
+     *
+     * @return the shared factory used to create parsers and generators for the specified data format, bound to the
+     *     object mapper so that model objects can be read and written using any of the formats
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     */
+    @Nonnull
+    @SuppressWarnings("all")
+    public JsonFactory getFactory(@Nonnull final DataFormat dataFormat) {
+        Objects.requireNonNull(dataFormat);
+        get();
+        return this.factories.get(dataFormat);
+    }
+
     @Override
     @Nonnull
     public ObjectMapper getContext(@Nonnull final Class<?> type) {
@@ -63,9 +89,21 @@ public class ObjectMapperSupplier
         objectMapper.registerModule(new Jdk8Module());
         // Make sure Java 8's new date and time classes are handled correctly.
         objectMapper.registerModule(new JSR310Module());
+        // Use the streaming serializers for the model objects most frequently sent through the REST API.
+        objectMapper.registerModule(new ModelModule());
         return objectMapper;
     }
 
+    @Nonnull
+    private Map<DataFormat, JsonFactory> createFactories(@Nonnull final ObjectMapper objectMapper) {
+        final Map<DataFormat, JsonFactory> factories = new EnumMap<>(DataFormat.class);
+        for (final DataFormat dataFormat : DataFormat.values()) {
+            factories.put(dataFormat,
+                    dataFormat == DataFormat.JSON ? objectMapper.getFactory() : dataFormat.createFactory(objectMapper));
+        }
+        return factories;
+    }
+
     /**
      * Used to bind this supplier for dependency injection.
      */
@@ -0,0 +1,90 @@
+package com.grpctrl.common.supplier;
+
+import com.grpctrl.common.cache.ResponseCache;
+import com.grpctrl.common.config.ConfigKeys;
+import com.typesafe.config.Config;
+
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Provides singleton access to the {@link ResponseCache} holding the serialized response bodies of repeated read
+ * requests.
+ */
+@Provider
+public class ResponseCacheSupplier
+        implements Supplier<ResponseCache>, Factory<ResponseCache>, ContextResolver<ResponseCache> {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+
+    @Nullable
+    private volatile ResponseCache singleton = null;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     */
+    @Inject
+    public ResponseCacheSupplier(@Nonnull final ConfigSupplier configSupplier) {
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+    }
+
+    @Override
+    @Nonnull
+    @SuppressWarnings("all")
+    public ResponseCache get() {
+        // Use double-check locking (with volatile singleton).
+        if (this.singleton == null) {
+            synchronized (ResponseCacheSupplier.class) {
+                if (this.singleton == null) {
+                    this.singleton = create();
+                }
+            }
+        }
+        return this.singleton;
+    }
+
+    @Override
+    @Nonnull
+    public ResponseCache getContext(@Nonnull final Class<?> type) {
+        return get();
+    }
+
+    @Override
+    @Nonnull
+    public ResponseCache provide() {
+        return get();
+    }
+
+    @Override
+    public void dispose(@Nonnull final ResponseCache responseCache) {
+        // Nothing to do.
+    }
+
+    @Nonnull
+    private ResponseCache create() {
+        final Config config = this.configSupplier.get();
+        final long maxSize = config.getBytes(ConfigKeys.RESPONSE_CACHE_MAX_SIZE.getKey());
+        final int maxEntrySize = config.getBytes(ConfigKeys.RESPONSE_CACHE_MAX_ENTRY_SIZE.getKey()).intValue();
+        return new ResponseCache(maxSize, maxEntrySize);
+    }
+
+    /**
+     * Used to bind this supplier for dependency injection.
+     */
+    public static class Binder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bind(ResponseCacheSupplier.class).to(ResponseCacheSupplier.class).in(Singleton.class);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.grpctrl.common.supplier;
+
+import com.grpctrl.common.config.ConfigKeys;
+import com.typesafe.config.Config;
+
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Provides singleton access to the bounded executor service used to produce and write asynchronous streaming
+ * responses, keeping the web server threads free while a response is written to the client. Once all of the worker
+ * threads are busy and the queue of waiting responses is full, new tasks are rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ */
+@Provider
+public class StreamingExecutorServiceSupplier
+        implements Supplier<ExecutorService>, Factory<ExecutorService>, ContextResolver<ExecutorService> {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+
+    @Nullable
+    private volatile ExecutorService singleton = null;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     */
+    @Inject
+    public StreamingExecutorServiceSupplier(@Nonnull final ConfigSupplier configSupplier) {
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+    }
+
+    @Override
+    @Nonnull
+    @SuppressWarnings("all")
+    public ExecutorService get() {
+        // Use double-check locking (with volatile singleton).
+        if (this.singleton == null) {
+            synchronized (StreamingExecutorServiceSupplier.class) {
+                if (this.singleton == null) {
+                    this.singleton = create();
+                }
+            }
+        }
+        return this.singleton;
+    }
+
+    @Override
+    @Nonnull
+    public ExecutorService getContext(@Nonnull final Class<?> type) {
+        return get();
+    }
+
+    @Override
+    @Nonnull
+    public ExecutorService provide() {
+        return get();
+    }
+
+    @Override
+    public void dispose(@Nonnull final ExecutorService executorService) {
+        // Nothing to do.
+    }
+
+    @Nonnull
+    private ExecutorService create() {
+        final Config config = this.configSupplier.get();
+        final int threads = config.getInt(ConfigKeys.STREAM_THREADS.getKey());
+        final int queueSize = config.getInt(ConfigKeys.STREAM_QUEUE_SIZE.getKey());
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize));
+    }
+
+    /**
+     * Used to bind this supplier for dependency injection.
+     */
+    public static class Binder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bind(StreamingExecutorServiceSupplier.class).to(StreamingExecutorServiceSupplier.class)
+                    .in(Singleton.class);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.grpctrl.common.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A timed section of the work done for a request, like a request filter, a resource method or a DAO call. Spans form
+ * a tree below the root span of the {@link Trace}. Spans must be closed when the timed work is complete:
+ *
+ * <pre>
+ * final Span span = Trace.span("lookup");
+ * try {
+ *     ...
+ * } finally {
+ *     span.close();
+ * }
+ * </pre>
+ *
+ * <p>Try-with-resources also works when the span is referenced within the block, otherwise the compiler warns about
+ * an unused resource.</p>
+ *
+ * <p>When no trace is in progress on the calling thread a shared no-op span is returned, so instrumented code costs
+ * almost nothing outside of traced requests.</p>
+ */
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span();
+
+    @CheckForNull
+    private final Trace trace;
+    @CheckForNull
+    private final Span parent;
+    @Nonnull
+    private final String name;
+    private final long startNanos;
+    private volatile long endNanos = -1;
+
+    @Nonnull
+    private final List<Span> children = Collections.synchronizedList(new ArrayList<>());
+
+    private Span() {
+        this.trace = null;
+        this.parent = null;
+        this.name = "noop";
+        this.startNanos = 0;
+    }
+
+    Span(@Nonnull final Trace trace, @CheckForNull final Span parent, @Nonnull final String name) {
+        this.trace = Objects.requireNonNull(trace);
+        this.parent = parent;
+        this.name = Objects.requireNonNull(name);
+        this.startNanos = System.nanoTime();
+    }
+
+    @CheckForNull
+    Trace getTrace() {
+        return this.trace;
+    }
+
+    @CheckForNull
+    Span getParent() {
+        return this.parent;
+    }
+
+    void addChild(@Nonnull final Span child) {
+        this.children.add(child);
+    }
+
+    /**
+     * @return the name describing the timed work
+     */
+    @Nonnull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the number of nanoseconds between the start of the trace and the start of this span
+     */
+    public long getOffsetNanos() {
+        return this.trace == null ? 0 : this.startNanos - this.trace.getRoot().startNanos;
+    }
+
+    /**
+     * @return the duration of the span in nanoseconds, or the time elapsed so far when the span has not been closed
+     */
+    public long getDurationNanos() {
+        if (this.trace == null) {
+            return 0;
+        }
+        final long end = this.endNanos;
+        return (end < 0 ? System.nanoTime() : end) - this.startNanos;
+    }
+
+    /**
+     * @return the spans started while this span was the current span, in the order they were started
+     */
+    @Nonnull
+    public List<Span> getChildren() {
+        synchronized (this.children) {
+            return new ArrayList<>(this.children);
+        }
+    }
+
+    /**
+     * End the span, making its parent the current span again when this span is the current span on the calling thread.
+     */
+    @Override
+    public void close() {
+        if (this.trace != null && this.endNanos < 0) {
+            this.endNanos = System.nanoTime();
+            Trace.closed(this);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.grpctrl.common.trace;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A lightweight in-process trace of the work done for a single request. The trace is made up of a tree of
+ * {@link Span} objects below a root span covering the whole request. The current span is tracked per thread, so code
+ * anywhere in the request processing can call {@link #span(String)} to time its work without the trace being passed
+ * around. Work handed off to another thread continues the trace by attaching the span that was current when the work
+ * was submitted, see {@link #current()} and {@link #attach(Span)}.
+ *
+ * <p>The number of spans in a trace is bounded, so long streaming requests performing many DAO calls do not retain an
+ * unbounded amount of memory. Spans beyond the limit are counted but not recorded.</p>
+ */
+public class Trace {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    @Nonnull
+    private final String requestId;
+    private final int maxSpans;
+    @Nonnull
+    private final Span root;
+
+    @Nonnull
+    private final AtomicInteger spans = new AtomicInteger(1);
+    @Nonnull
+    private final AtomicInteger droppedSpans = new AtomicInteger(0);
+    private volatile boolean finished = false;
+
+    private Trace(@Nonnull final String requestId, @Nonnull final String name, final int maxSpans) {
+        this.requestId = Objects.requireNonNull(requestId);
+        this.maxSpans = maxSpans;
+        this.root = new Span(this, null, Objects.requireNonNull(name));
+    }
+
+    /**
+     * Start a new trace, making its root span the current span on the calling thread.
+     *
+     * @param requestId the unique identifier of the traced request
+     * @param name the name of the root span
+     * @param maxSpans the maximum number of spans recorded in the trace
+     *
+     * @return the new trace
+     *
+     * @throws NullPointerException if either of the parameters is {@code null}
+     */
+    @Nonnull
+    public static Trace start(@Nonnull final String requestId, @Nonnull final String name, final int maxSpans) {
+        final Trace trace = new Trace(requestId, name, maxSpans);
+        CURRENT.set(trace.root);
+        return trace;
+    }
+
+    /**
+     * Start a new span as a child of the current span on the calling thread, making it the current span until closed.
+     *
+     * @param name the name describing the timed work
+     *
+     * @return the new span, or a no-op span when no trace is in progress on the calling thread
+     */
+    @Nonnull
+    public static Span span(@Nonnull final String name) {
+        final Span current = CURRENT.get();
+        final Trace trace = current == null ? null : current.getTrace();
+        if (trace == null) {
+            return Span.NOOP;
+        }
+        if (trace.finished) {
+            // Left behind by a request that finished on another thread.
+            CURRENT.remove();
+            return Span.NOOP;
+        }
+        if (trace.spans.incrementAndGet() > trace.maxSpans) {
+            trace.droppedSpans.incrementAndGet();
+            return Span.NOOP;
+        }
+
+        final Span span = new Span(trace, current, Objects.requireNonNull(name));
+        current.addChild(span);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * @return the current span on the calling thread, or {@code null} when no trace is in progress
+     */
+    @CheckForNull
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make the provided span the current span on the calling thread, typically a span captured with
+     * {@link #current()} on the thread that submitted some work to an executor.
+     *
+     * @param span the span to make current, possibly {@code null} to clear the current span
+     *
+     * @return the span that was previously current on the calling thread, to be restored once the work is done
+     */
+    @CheckForNull
+    public static Span attach(@CheckForNull final Span span) {
+        final Span previous = CURRENT.get();
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+        return previous;
+    }
+
+    static void closed(@Nonnull final Span span) {
+        if (CURRENT.get() == span) {
+            attach(span.getParent());
+        }
+    }
+
+    /**
+     * @return the unique identifier of the traced request
+     */
+    @Nonnull
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    /**
+     * @return the root span covering the whole request
+     */
+    @Nonnull
+    public Span getRoot() {
+        return this.root;
+    }
+
+    /**
+     * @return the number of spans that were not recorded because the trace already held the maximum number of spans
+     */
+    public int getDroppedSpans() {
+        return this.droppedSpans.get();
+    }
+
+    /**
+     * Finish the trace, closing the root span. Spans can no longer be added to a finished trace.
+     */
+    public void finish() {
+        this.finished = true;
+        this.root.close();
+        final Span current = CURRENT.get();
+        if (current != null && current.getTrace() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.grpctrl.common.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link ResponseCache} class.
+ */
+public class ResponseCacheTest {
+    private static ResponseCache.Key key(final long dataVersion) {
+        return new ResponseCache.Key(1L, dataVersion, "endpoint", null, "application/json", "identity");
+    }
+
+    private static String read(final ByteBuffer buffer) {
+        final byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final ResponseCache cache = new ResponseCache(1024, 128);
+        assertFalse(cache.get(key(1)).isPresent());
+
+        assertTrue(cache.put(key(1), "body".getBytes(StandardCharsets.UTF_8)));
+        final Optional<ByteBuffer> cached = cache.get(key(1));
+        assertTrue(cached.isPresent());
+        assertTrue(cached.get().isDirect());
+        assertTrue(cached.get().isReadOnly());
+        assertEquals("body", read(cached.get()));
+
+        // Each lookup provides an independent view of the data.
+        assertEquals("body", read(cache.get(key(1)).get()));
+        assertFalse(cache.get(key(2)).isPresent());
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPutTooLarge() {
+        final ResponseCache cache = new ResponseCache(1024, 3);
+        assertFalse(cache.put(key(1), "body".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(cache.get(key(1)).isPresent());
+        assertEquals(3, cache.getMaxEntrySize());
+    }
+
+    @Test
+    public void testEviction() {
+        final ResponseCache cache = new ResponseCache(4000, 400);
+        for (int version = 1; version <= 20; version++) {
+            cache.put(key(version), new byte[400]);
+        }
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.get(key(20)).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() {
+        new ResponseCache(-1, 10);
+    }
+
+    @Test
+    public void testKeyNormalizesParameters() {
+        final Map<String, Collection<String>> a = new LinkedHashMap<>();
+        a.put("name", Arrays.asList("b", "a"));
+        a.put("depth", Collections.singletonList("1"));
+        a.put("empty", Collections.emptyList());
+        final Map<String, Collection<String>> b = new HashMap<>();
+        b.put("depth", Collections.singletonList("1"));
+        b.put("name", Arrays.asList("a", "b", "a"));
+
+        final ResponseCache.Key keyA = new ResponseCache.Key(1L, 2L, "find", a, "application/json", "gzip");
+        final ResponseCache.Key keyB = new ResponseCache.Key(1L, 2L, "find", b, "application/json", "gzip");
+        assertEquals(keyA, keyB);
+        assertEquals(keyA.hashCode(), keyB.hashCode());
+        assertEquals("ResponseCache.Key[accountId=1,dataVersion=2,endpoint=find,parameters={depth=[1], name=[a, b]},"
+                + "contentType=application/json,contentEncoding=gzip]", keyA.toString());
+
+        assertNotEquals(keyA, new ResponseCache.Key(1L, 3L, "find", a, "application/json", "gzip"));
+        assertNotEquals(keyA, new ResponseCache.Key(1L, 2L, "find", a, "application/json", "identity"));
+        assertNotEquals(keyA, new ResponseCache.Key(1L, 2L, "find", null, "application/json", "gzip"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.grpctrl.common.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Perform testing on the {@link FlightRecorderManager} class.
+ */
+public class FlightRecorderManagerTest {
+    private FlightRecorderManager manager;
+
+    @Before
+    public void before() {
+        this.manager = new FlightRecorderManager(Duration.ofMinutes(1), Duration.ofMinutes(5), "default", 2);
+    }
+
+    @After
+    public void after() {
+        this.manager.getAll().forEach(info -> this.manager.remove(info.getId()));
+    }
+
+    @Test
+    public void testIsAvailable() {
+        assertTrue(FlightRecorderManager.isAvailable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorInvalidRecordings() {
+        new FlightRecorderManager(Duration.ofMinutes(1), Duration.ofMinutes(5), "default", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartUnknownSettings() {
+        this.manager.start(null, "missing");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartInvalidDuration() {
+        this.manager.start(Duration.ZERO, null);
+    }
+
+    @Test
+    public void testStartDurations() {
+        final RecordingInfo defaulted = this.manager.start(null, null);
+        assertEquals("default", defaulted.getSettings());
+        assertEquals("RUNNING", defaulted.getState());
+        assertEquals(Optional.of(Duration.ofMinutes(1)), defaulted.getDuration());
+
+        final RecordingInfo limited = this.manager.start(Duration.ofHours(1), "profile");
+        assertEquals("profile", limited.getSettings());
+        assertEquals(Optional.of(Duration.ofMinutes(5)), limited.getDuration());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStartTooManyRunning() {
+        this.manager.start(null, null);
+        this.manager.start(null, null);
+        this.manager.start(null, null);
+    }
+
+    @Test
+    public void testStoppedRecordingsDiscarded() {
+        final RecordingInfo first = this.manager.start(null, null);
+        this.manager.stop(first.getId());
+        final RecordingInfo second = this.manager.start(null, null);
+        final RecordingInfo third = this.manager.start(null, null);
+
+        final List<RecordingInfo> recordings = this.manager.getAll();
+        assertEquals(2, recordings.size());
+        assertEquals(second.getId(), recordings.get(0).getId());
+        assertEquals(third.getId(), recordings.get(1).getId());
+        assertFalse(this.manager.get(first.getId()).isPresent());
+    }
+
+    @Test
+    public void testStopAndRemove() {
+        final RecordingInfo info = this.manager.start(null, null);
+        assertEquals("STOPPED", this.manager.stop(info.getId()).map(RecordingInfo::getState).orElse(null));
+        assertTrue(this.manager.remove(info.getId()));
+        assertFalse(this.manager.remove(info.getId()));
+        assertFalse(this.manager.stop(info.getId()).isPresent());
+    }
+
+    @Test
+    public void testGetDataWithEvents() throws Exception {
+        final RecordingInfo info = this.manager.start(null, null);
+
+        final JfrEvents.HttpRequest event = JfrEvents.get().beginHttpRequest();
+        assertNotNull(event);
+        event.finish("GET", "/api/v1/status", 1, 200);
+
+        // Read the data of the running recording, followed by the data of the stopped recording.
+        for (final boolean stop : new boolean[] {false, true}) {
+            if (stop) {
+                this.manager.stop(info.getId());
+            }
+            final Path file = Files.createTempFile("recording", ".jfr");
+            try {
+                try (final InputStream data = this.manager.getData(info.getId()).orElse(null)) {
+                    Files.copy(data, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+                assertTrue(events.stream().anyMatch(e -> "com.grpctrl.HttpRequest".equals(e.getEventType().getName())
+                        && "/api/v1/status".equals(e.getString("path")) && e.getInt("status") == 200));
+            } finally {
+                Files.delete(file);
+            }
+        }
+        assertFalse(this.manager.getData(info.getId() + 1000).isPresent());
+    }
+}
@@ -0,0 +1,54 @@
+package com.grpctrl.common.jfr;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Perform testing on the {@link JfrEvents} class.
+ */
+public class JfrEventsTest {
+    @Test
+    public void testSupported() {
+        assertTrue(JfrEvents.isSupported());
+        assertTrue(JfrEvents.get() instanceof FlightRecorderEvents);
+    }
+
+    @Test
+    public void testHttpRequestNotTrackedWithoutRecording() {
+        assertNull(JfrEvents.get().beginHttpRequest());
+    }
+
+    @Test
+    public void testEventsRecorded() throws Exception {
+        final Path file = Files.createTempFile("recording", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable(DaoQueryEvent.class);
+            recording.enable(BatchFlushEvent.class);
+            recording.start();
+
+            JfrEvents.get().beginDaoQuery().finish("TagDao", "add", -1, 3);
+            JfrEvents.get().beginBatchFlush().finish(JfrEvents.BatchFlush.DATABASE, "TagDao.add", 3);
+
+            recording.stop();
+            recording.dump(file);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(e -> "com.grpctrl.DaoQuery".equals(e.getEventType().getName())
+                    && "add".equals(e.getString("method")) && e.getLong("rowsWritten") == 3));
+            assertTrue(events.stream().anyMatch(e -> "com.grpctrl.BatchFlush".equals(e.getEventType().getName())
+                    && "database".equals(e.getString("target")) && e.getLong("records") == 3));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.grpctrl.common.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.model.ServiceLevel;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link DataFormat} class.
+ */
+public class DataFormatTest {
+    @Test
+    public void testGetMediaType() {
+        assertEquals("application/json", DataFormat.JSON.getMediaType());
+        assertEquals("application/x-jackson-smile", DataFormat.SMILE.getMediaType());
+        assertEquals("application/cbor", DataFormat.CBOR.getMediaType());
+    }
+
+    @Test
+    public void testFromMediaType() {
+        assertEquals(Optional.of(DataFormat.JSON), DataFormat.fromMediaType("application/json"));
+        assertEquals(Optional.of(DataFormat.JSON), DataFormat.fromMediaType("application/json; charset=utf-8"));
+        assertEquals(Optional.of(DataFormat.SMILE), DataFormat.fromMediaType(" Application/X-Jackson-Smile "));
+        assertEquals(Optional.of(DataFormat.CBOR), DataFormat.fromMediaType("application/cbor;q=0.9"));
+        assertFalse(DataFormat.fromMediaType("text/plain").isPresent());
+        assertFalse(DataFormat.fromMediaType("").isPresent());
+        assertFalse(DataFormat.fromMediaType(null).isPresent());
+    }
+
+    @Test
+    public void testCreateFactory() {
+        assertTrue(DataFormat.SMILE.createFactory(null) instanceof SmileFactory);
+        assertTrue(DataFormat.CBOR.createFactory(null) instanceof CBORFactory);
+        assertEquals(JsonFactory.class, DataFormat.JSON.createFactory(null).getClass());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ObjectMapperSupplier objectMapperSupplier = new ObjectMapperSupplier();
+        final Account account = new Account(1L, "account", new ServiceLevel(1, 2, 3));
+
+        for (final DataFormat dataFormat : DataFormat.values()) {
+            final JsonFactory factory = objectMapperSupplier.getFactory(dataFormat);
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (final JsonGenerator generator = factory.createGenerator(output)) {
+                generator.writeObject(account);
+            }
+
+            try (final JsonParser parser = factory.createParser(output.toByteArray())) {
+                assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+                assertEquals(account, parser.readValueAs(Account.class));
+            }
+        }
+    }
+}
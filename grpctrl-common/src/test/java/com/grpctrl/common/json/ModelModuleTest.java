@@ -0,0 +1,135 @@
+package com.grpctrl.common.json;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.model.Group;
+import com.grpctrl.common.model.ServiceLevel;
+import com.grpctrl.common.model.Tag;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Perform testing on the {@link ModelModule} class.
+ */
+public class ModelModuleTest {
+    private static ObjectMapper objectMapper = null;
+    private static ObjectMapper reflectiveMapper = null;
+
+    @BeforeClass
+    public static void beforeClass() {
+        objectMapper = new ObjectMapperSupplier().get();
+        reflectiveMapper = new ObjectMapper();
+        reflectiveMapper.registerModule(new Jdk8Module());
+    }
+
+    private static Group group(final Long id, final Long parentId, final Tag... tags) {
+        final Set<Tag> tagSet = new LinkedHashSet<>();
+        for (final Tag tag : tags) {
+            tagSet.add(tag);
+        }
+        return new Group(id, parentId, "group \"name\"", tagSet);
+    }
+
+    @Test
+    public void testAccountWireCompatible() throws IOException {
+        final Account withId = new Account(1L, "account", new ServiceLevel(1, 2, 3));
+        final Account withoutId = new Account("account");
+
+        assertEquals(reflectiveMapper.writeValueAsString(withId), objectMapper.writeValueAsString(withId));
+        assertEquals(reflectiveMapper.writeValueAsString(withoutId), objectMapper.writeValueAsString(withoutId));
+        assertEquals("{\"id\":1,\"name\":\"account\",\"serviceLevel\":{\"maxGroups\":1,\"maxTags\":2,\"maxDepth\":3,"
+                + "\"maxRequestRate\":50,\"maxConcurrentRequests\":10}}", objectMapper.writeValueAsString(withId));
+    }
+
+    @Test
+    public void testGroupWireCompatible() throws IOException {
+        final Group withTags = group(1L, 2L, new Tag("a", "b"), new Tag("c", "d"));
+        final Group withoutTags = group(null, null);
+
+        assertEquals(reflectiveMapper.writeValueAsString(withTags), objectMapper.writeValueAsString(withTags));
+        assertEquals(reflectiveMapper.writeValueAsString(withoutTags), objectMapper.writeValueAsString(withoutTags));
+    }
+
+    @Test
+    public void testAccountRoundTrip() throws IOException {
+        final Account withId = new Account(1L, "account", new ServiceLevel(1, 2, 3));
+        final Account withoutId = new Account("account");
+
+        assertEquals(withId, objectMapper.readValue(objectMapper.writeValueAsString(withId), Account.class));
+        assertEquals(withoutId, objectMapper.readValue(objectMapper.writeValueAsString(withoutId), Account.class));
+        assertEquals(withId, objectMapper.readValue(reflectiveMapper.writeValueAsString(withId), Account.class));
+        assertEquals(withId, reflectiveMapper.readValue(objectMapper.writeValueAsString(withId), Account.class));
+    }
+
+    @Test
+    public void testGroupRoundTrip() throws IOException {
+        final Group withTags = group(1L, 2L, new Tag("a", "b"), new Tag("c", "d"));
+        final Group withoutTags = group(null, null);
+
+        assertEquals(withTags, objectMapper.readValue(objectMapper.writeValueAsString(withTags), Group.class));
+        assertEquals(withoutTags, objectMapper.readValue(objectMapper.writeValueAsString(withoutTags), Group.class));
+        assertEquals(withTags, objectMapper.readValue(reflectiveMapper.writeValueAsString(withTags), Group.class));
+        assertEquals(withTags, reflectiveMapper.readValue(objectMapper.writeValueAsString(withTags), Group.class));
+    }
+
+    @Test
+    public void testReadMissingAndReorderedFields() throws IOException {
+        final Account account = objectMapper.readValue(
+                "{\"serviceLevel\":{\"maxConcurrentRequests\":2,\"maxDepth\":5},\"name\":\"a\"}", Account.class);
+        assertEquals(new Account(null, "a", new ServiceLevel().setMaxDepth(5).setMaxConcurrentRequests(2)), account);
+
+        final Group group = objectMapper.readValue("{\"name\":\"g\",\"id\":null,\"tags\":[]}", Group.class);
+        assertEquals(new Group("g"), group);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testReadUnknownField() throws IOException {
+        objectMapper.readValue("{\"name\":\"a\",\"unknown\":1}", Account.class);
+    }
+
+    @Test
+    public void testReadUnknownFieldIgnored() throws IOException {
+        final ObjectMapper lenient = new ObjectMapperSupplier().get().copy();
+        lenient.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        final Tag tag = lenient.readValue("{\"label\":\"a\",\"unknown\":{\"x\":[1,2]},\"value\":\"b\"}", Tag.class);
+        assertEquals(new Tag("a", "b"), tag);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testReadInvalidName() throws IOException {
+        objectMapper.readValue("{\"name\":\"" + StringUtils.repeat("a", Account.Validator.MAX_NAME_LENGTH + 1) + "\"}",
+                Account.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testReadInvalidServiceLevel() throws IOException {
+        objectMapper.readValue("{\"maxGroups\":-1}", ServiceLevel.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testReadNullTagLabel() throws IOException {
+        objectMapper.readValue("{\"label\":null,\"value\":\"b\"}", Tag.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testReadInvalidTags() throws IOException {
+        objectMapper.readValue("{\"name\":\"g\",\"tags\":{}}", Group.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testReadNotAnObject() throws IOException {
+        objectMapper.readValue("[1]", Account.class);
+    }
+}
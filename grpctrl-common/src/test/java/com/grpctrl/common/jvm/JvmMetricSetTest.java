@@ -0,0 +1,31 @@
+package com.grpctrl.common.jvm;
+
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.Metric;
+
+import org.junit.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Perform testing on the {@link JvmMetricSet} class.
+ */
+public class JvmMetricSetTest {
+    @Test
+    public void testGetMetrics() {
+        final Map<String, Metric> metrics = new JvmMetricSet().getMetrics();
+
+        assertTrue(metrics.containsKey("memory.heap.used"));
+        assertTrue(metrics.containsKey("memory.allocated"));
+        assertTrue(metrics.containsKey("threads.count"));
+        assertTrue(metrics.containsKey("buffers.direct.count"));
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            final String name = gc.getName().replaceAll("\\s+", "-");
+            assertTrue(metrics.containsKey("gc." + name + ".count"));
+            assertTrue(metrics.containsKey("gc." + name + ".pauses"));
+        }
+    }
+}
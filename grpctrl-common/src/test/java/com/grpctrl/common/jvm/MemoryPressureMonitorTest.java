@@ -0,0 +1,95 @@
+package com.grpctrl.common.jvm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Perform testing on the {@link MemoryPressureMonitor} class.
+ */
+public class MemoryPressureMonitorTest {
+    private static MemoryPoolMXBean pool(final MemoryType type, final long... used) {
+        final MemoryPoolMXBean pool = Mockito.mock(MemoryPoolMXBean.class);
+        Mockito.when(pool.getName()).thenReturn("pool");
+        Mockito.when(pool.getType()).thenReturn(type);
+        Mockito.when(pool.isCollectionUsageThresholdSupported()).thenReturn(true);
+        final MemoryUsage[] usages = new MemoryUsage[used.length];
+        for (int i = 0; i < used.length; i++) {
+            usages[i] = new MemoryUsage(0, used[i], 100, 100);
+        }
+        Mockito.when(pool.getCollectionUsage())
+                .thenReturn(usages[0], Arrays.copyOfRange(usages, 1, usages.length));
+        return pool;
+    }
+
+    @Test
+    public void testDegradedMode() {
+        final MemoryPoolMXBean pool = pool(MemoryType.HEAP, 50, 90, 80, 60);
+        final MemoryPressureMonitor monitor =
+                new MemoryPressureMonitor(Collections.singletonList(pool), 0.85, 0.70);
+        assertFalse(monitor.isDegraded());
+
+        monitor.run();
+        assertFalse(monitor.isDegraded());
+        assertEquals(0.5, monitor.getPressure(), 0.0001);
+
+        monitor.run();
+        assertTrue(monitor.isDegraded());
+        assertEquals(0.9, monitor.getPressure(), 0.0001);
+
+        // Still above the exit threshold.
+        monitor.run();
+        assertTrue(monitor.isDegraded());
+
+        monitor.run();
+        assertFalse(monitor.isDegraded());
+        assertEquals(0.6, monitor.getPressure(), 0.0001);
+    }
+
+    @Test
+    public void testNonHeapPoolsIgnored() {
+        final MemoryPoolMXBean pool = pool(MemoryType.NON_HEAP, 95);
+        final MemoryPressureMonitor monitor =
+                new MemoryPressureMonitor(Collections.singletonList(pool), 0.85, 0.70);
+        monitor.run();
+        assertFalse(monitor.isDegraded());
+        assertEquals(0, monitor.getPressure(), 0.0001);
+    }
+
+    @Test
+    public void testNoCollectionUsage() {
+        final MemoryPoolMXBean pool = Mockito.mock(MemoryPoolMXBean.class);
+        Mockito.when(pool.getType()).thenReturn(MemoryType.HEAP);
+        Mockito.when(pool.isCollectionUsageThresholdSupported()).thenReturn(true);
+        final MemoryPressureMonitor monitor =
+                new MemoryPressureMonitor(Collections.singletonList(pool), 0.85, 0.70);
+        monitor.run();
+        assertFalse(monitor.isDegraded());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEnterThreshold() {
+        new MemoryPressureMonitor(Collections.emptyList(), 1.5, 0.70);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExitAboveEnterThreshold() {
+        new MemoryPressureMonitor(Collections.emptyList(), 0.70, 0.85);
+    }
+
+    @Test
+    public void testPlatformPools() {
+        final MemoryPressureMonitor monitor = new MemoryPressureMonitor(0.99, 0.98);
+        monitor.run();
+        assertFalse(monitor.isDegraded());
+    }
+}
@@ -0,0 +1,82 @@
+package com.grpctrl.common.jvm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ResourceUsage} class.
+ */
+public class ResourceUsageTest {
+    private static volatile Object sink;
+
+    private static void allocate(final int bytes) {
+        sink = new byte[bytes];
+    }
+
+    @After
+    public void cleanup() {
+        ResourceUsage.attach(null);
+    }
+
+    @Test
+    public void testStartAndFinish() {
+        assertNull(ResourceUsage.current());
+        final ResourceUsage usage = ResourceUsage.start();
+        assertSame(usage, ResourceUsage.current());
+
+        allocate(1024 * 1024);
+        assertTrue(usage.getAllocatedBytes() >= 1024 * 1024);
+
+        usage.finish();
+        assertNull(ResourceUsage.current());
+        final long allocated = usage.getAllocatedBytes();
+        assertTrue(allocated >= 1024 * 1024);
+        assertTrue(usage.getCpuNanos() >= 0);
+
+        // Work after the request finished is not measured.
+        ResourceUsage.attach(usage);
+        allocate(1024 * 1024);
+        assertEquals(allocated, usage.getAllocatedBytes());
+    }
+
+    @Test
+    public void testDetached() {
+        final ResourceUsage usage = ResourceUsage.start();
+        assertSame(usage, ResourceUsage.attach(null));
+        final long allocated = usage.getAllocatedBytes();
+        allocate(1024 * 1024);
+        assertEquals(allocated, usage.getAllocatedBytes());
+    }
+
+    @Test
+    public void testAttachOnWorker() throws Exception {
+        final ResourceUsage usage = ResourceUsage.start();
+        ResourceUsage.attach(null);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                final ResourceUsage previous = ResourceUsage.attach(usage);
+                try {
+                    allocate(2 * 1024 * 1024);
+                } finally {
+                    ResourceUsage.attach(previous);
+                }
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        usage.finish();
+        assertTrue(usage.getAllocatedBytes() >= 2 * 1024 * 1024);
+    }
+}
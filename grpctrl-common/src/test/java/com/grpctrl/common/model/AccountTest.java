@@ -54,21 +54,19 @@ public class AccountTest {
         final Account b = new Account("name1");
         final Account c = new Account(10L, "name2", new ServiceLevel());
 
-        assertEquals(-423599945, a.hashCode());
-        assertEquals(-423427449, b.hashCode());
-        assertEquals(-423413722, c.hashCode());
+        assertEquals(756312859, a.hashCode());
+        assertEquals(992459883, b.hashCode());
+        assertEquals(992473610, c.hashCode());
     }
 
     @Test
     public void testToString() {
         final Account a = new Account("name", new ServiceLevel(1, 2, 3));
         final Account b = new Account(10L, "name", new ServiceLevel());
-        assertEquals(
-                "Account[id=Optional.empty,name=name,serviceLevel=ServiceLevel[maxGroups=1,maxTags=2,maxDepth=3]]",
-                a.toString());
-        assertEquals(
-                "Account[id=Optional[10],name=name,serviceLevel=ServiceLevel[maxGroups=100,maxTags=1000,maxDepth=3]]",
-                b.toString());
+        assertEquals("Account[id=Optional.empty,name=name,serviceLevel=ServiceLevel[maxGroups=1,maxTags=2,maxDepth=3,"
+                + "maxRequestRate=50,maxConcurrentRequests=10]]", a.toString());
+        assertEquals("Account[id=Optional[10],name=name,serviceLevel=ServiceLevel[maxGroups=100,maxTags=1000,"
+                + "maxDepth=3,maxRequestRate=50,maxConcurrentRequests=10]]", b.toString());
     }
 
     @Test
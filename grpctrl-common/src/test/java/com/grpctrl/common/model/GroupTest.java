@@ -5,11 +5,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -194,4 +197,13 @@ public class GroupTest {
         assertEquals(2, group.getTags().size());
         assertTrue(group.getTags().containsAll(Sets.newHashSet(new Tag("a", "a"), new Tag("b", "b"))));
     }
+
+    @Test
+    public void testJsonRoundTrip() throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapperSupplier().get();
+        final Group group = new Group(1L, 2L, "name", Sets.newHashSet(new Tag("a", "a"), new Tag("b", "b")));
+
+        final String json = objectMapper.writeValueAsString(group);
+        assertEquals(group, objectMapper.readValue(json, Group.class));
+    }
 }
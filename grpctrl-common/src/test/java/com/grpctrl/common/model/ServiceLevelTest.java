@@ -51,15 +51,16 @@ public class ServiceLevelTest {
         final ServiceLevel b = new ServiceLevel(1, 1, 2);
         final ServiceLevel c = new ServiceLevel(2, 3, 4);
 
-        assertEquals(862508, a.hashCode());
-        assertEquals(862509, b.hashCode());
-        assertEquals(863954, c.hashCode());
+        assertEquals(1180775312, a.hashCode());
+        assertEquals(1180776681, b.hashCode());
+        assertEquals(1182754886, c.hashCode());
     }
 
     @Test
     public void testToString() {
-        final ServiceLevel serviceLevel = new ServiceLevel(1, 2, 3);
-        assertEquals("ServiceLevel[maxGroups=1,maxTags=2,maxDepth=3]", serviceLevel.toString());
+        final ServiceLevel serviceLevel = new ServiceLevel(1, 2, 3, 4, 5);
+        assertEquals("ServiceLevel[maxGroups=1,maxTags=2,maxDepth=3,maxRequestRate=4,maxConcurrentRequests=5]",
+                serviceLevel.toString());
     }
 
     @Test
@@ -83,9 +84,19 @@ public class ServiceLevelTest {
         ServiceLevel.Validator.validateMaxDepth(-1);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidatorNegativeMaxRequestRate() {
+        ServiceLevel.Validator.validateMaxRequestRate(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidatorNegativeMaxConcurrentRequests() {
+        ServiceLevel.Validator.validateMaxConcurrentRequests(-1);
+    }
+
     @Test
     public void tesCopy() {
-        final ServiceLevel original = new ServiceLevel(2, 3, 4);
+        final ServiceLevel original = new ServiceLevel(2, 3, 4, 5, 6);
         final ServiceLevel copy = new ServiceLevel(original);
 
         assertEquals(original, copy);
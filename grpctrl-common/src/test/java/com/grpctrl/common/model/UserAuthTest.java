@@ -1,6 +1,7 @@
 package com.grpctrl.common.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -42,7 +43,9 @@ public class UserAuthTest {
         final UserAuth b = new UserAuth("MD5", "abcd", "hashed_password1");
         final UserAuth c = new UserAuth("MD5", "abce", "hashed_password");
         final UserAuth d = new UserAuth("SHA-256", "abcd", "hashed_password");
+        final UserAuth e = new UserAuth("MD5", 2, "abcd", "hashed_password");
 
+        assertNotEquals(a, e);
         assertNotEquals(a, null);
         assertEquals(a, a);
         assertNotEquals(a, b);
@@ -69,16 +72,16 @@ public class UserAuthTest {
         final UserAuth c = new UserAuth("MD5", "abce", "hashed_password");
         final UserAuth d = new UserAuth("SHA-256", "abcd", "hashed_password");
 
-        assertEquals(-521682830, a.hashCode());
-        assertEquals(-1166625431, b.hashCode());
-        assertEquals(-521682793, c.hashCode());
-        assertEquals(525865830, d.hashCode());
+        assertEquals(-2122395525, a.hashCode());
+        assertEquals(-215467986, b.hashCode());
+        assertEquals(-2122394156, c.hashCode());
+        assertEquals(-2017800769, d.hashCode());
     }
 
     @Test
     public void testToString() {
         final UserAuth auth = new UserAuth("MD5", "abcd", "hashed_password");
-        assertEquals("UserAuth[hashAlgorithm=MD5,salt=abcd,hashedPass=hashed_password]", auth.toString());
+        assertEquals("UserAuth[hashAlgorithm=MD5,hashCost=1,salt=abcd,hashedPass=hashed_password]", auth.toString());
     }
 
     @Test
@@ -94,6 +97,7 @@ public class UserAuthTest {
         final UserAuth auth = new UserAuth();
 
         assertEquals("SHA-512", auth.getHashAlgorithm());
+        assertEquals(1, auth.getHashCost());
         assertEquals("", auth.getSalt());
         assertEquals("", auth.getHashedPass());
     }
@@ -117,9 +121,39 @@ public class UserAuthTest {
         assertEquals(64, auth.getHashedPass().length());
     }
 
+    @Test
+    public void testFromPasswordIterated() {
+        final UserAuth auth = UserAuth.fromPassword("SHA-256", 10, "password");
+
+        assertEquals("SHA-256", auth.getHashAlgorithm());
+        assertEquals(10, auth.getHashCost());
+        assertEquals(20, auth.getSalt().length());
+        assertEquals(64, auth.getHashedPass().length());
+        assertTrue(auth.validate("password"));
+        assertFalse(new UserAuth(auth).setHashCost(9).validate("password"));
+    }
+
+    @Test
+    public void testFromPasswordPBKDF2() {
+        final UserAuth auth = UserAuth.fromPassword("PBKDF2WithHmacSHA1", 1000, "password");
+
+        assertEquals("PBKDF2WithHmacSHA1", auth.getHashAlgorithm());
+        assertEquals(1000, auth.getHashCost());
+        assertEquals(20, auth.getSalt().length());
+        assertEquals(128, auth.getHashedPass().length());
+        assertTrue(auth.validate("password"));
+        assertFalse(auth.validate("wrong"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidHashCost() {
+        new UserAuth().setHashCost(0);
+    }
+
     @Test
     public void testValidate() {
         final UserAuth auth = UserAuth.fromPassword("password");
         assertTrue(auth.validate("password"));
+        assertFalse(auth.validate("wrong"));
     }
 }
@@ -1,6 +1,9 @@
 package com.grpctrl.common.supplier;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import com.grpctrl.common.json.DataFormat;
 
 import org.glassfish.hk2.api.DynamicConfiguration;
 import org.junit.BeforeClass;
@@ -23,6 +26,14 @@ public class ObjectMapperSupplierTest {
         assertNotNull(supplier.get());
     }
 
+    @Test
+    public void testGetFactory() {
+        assertSame(supplier.get().getFactory(), supplier.getFactory(DataFormat.JSON));
+        for (final DataFormat dataFormat : DataFormat.values()) {
+            assertSame(supplier.get(), supplier.getFactory(dataFormat).getCodec());
+        }
+    }
+
     @Test
     public void testGetContext() {
         assertNotNull(supplier.getContext(getClass()));
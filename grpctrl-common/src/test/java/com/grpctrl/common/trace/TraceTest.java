@@ -0,0 +1,111 @@
+package com.grpctrl.common.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Perform testing on the {@link Trace} class.
+ */
+public class TraceTest {
+    @After
+    public void cleanup() {
+        Trace.attach(null);
+    }
+
+    @Test
+    public void testNoTrace() {
+        assertNull(Trace.current());
+        try (final Span span = Trace.span("work")) {
+            assertSame(Span.NOOP, span);
+            assertEquals(0, span.getDurationNanos());
+        }
+        assertNull(Trace.current());
+    }
+
+    @Test
+    public void testNestedSpans() {
+        final Trace trace = Trace.start("id", "GET /path", 10);
+        assertEquals("id", trace.getRequestId());
+        assertSame(trace.getRoot(), Trace.current());
+
+        try (final Span outer = Trace.span("outer")) {
+            assertSame(outer, Trace.current());
+            try (final Span inner = Trace.span("inner")) {
+                assertSame(inner, Trace.current());
+            }
+            assertSame(outer, Trace.current());
+        }
+        try (final Span other = Trace.span("other")) {
+            assertSame(other, Trace.current());
+        }
+        assertSame(trace.getRoot(), Trace.current());
+
+        trace.finish();
+        assertNull(Trace.current());
+
+        final List<Span> children = trace.getRoot().getChildren();
+        assertEquals(2, children.size());
+        assertEquals("outer", children.get(0).getName());
+        assertEquals("other", children.get(1).getName());
+        assertEquals(1, children.get(0).getChildren().size());
+        assertEquals("inner", children.get(0).getChildren().get(0).getName());
+        assertTrue(children.get(1).getOffsetNanos() >= children.get(0).getOffsetNanos());
+
+        final long duration = trace.getRoot().getDurationNanos();
+        assertEquals(duration, trace.getRoot().getDurationNanos());
+    }
+
+    @Test
+    public void testMaxSpans() {
+        final Trace trace = Trace.start("id", "GET /path", 3);
+        for (int i = 0; i < 5; i++) {
+            try (final Span span = Trace.span("span" + i)) {
+                assertSame(i < 2 ? span : Span.NOOP, span);
+            }
+        }
+        trace.finish();
+
+        assertEquals(2, trace.getRoot().getChildren().size());
+        assertEquals(3, trace.getDroppedSpans());
+    }
+
+    @Test
+    public void testAttach() throws InterruptedException {
+        final Trace trace = Trace.start("id", "GET /path", 10);
+        final Span captured = Trace.current();
+
+        final Thread thread = new Thread(() -> {
+            final Span previous = Trace.attach(captured);
+            try (final Span span = Trace.span("async")) {
+                assertSame(span, Trace.current());
+            } finally {
+                Trace.attach(previous);
+            }
+        });
+        thread.start();
+        thread.join();
+        trace.finish();
+
+        assertEquals(1, trace.getRoot().getChildren().size());
+        assertEquals("async", trace.getRoot().getChildren().get(0).getName());
+    }
+
+    @Test
+    public void testFinishedTrace() {
+        final Trace trace = Trace.start("id", "GET /path", 10);
+        final Span root = Trace.current();
+        trace.finish();
+
+        Trace.attach(root);
+        assertSame(Span.NOOP, Trace.span("late"));
+        assertNull(Trace.current());
+        assertTrue(trace.getRoot().getChildren().isEmpty());
+    }
+}
@@ -2,6 +2,10 @@ package com.grpctrl.crypto.common;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 
 import javax.annotation.Nonnull;
@@ -18,6 +22,26 @@ public interface CommonEncryption {
      */
     void encrypt(@Nonnull InputStream input, @Nonnull OutputStream output);
 
+    /**
+     * Encrypt data from the provided input channel and write to the provided output channel, using pooled direct
+     * buffers so that no memory is allocated per chunk of data processed. This is the preferred way to encrypt files,
+     * since a {@link java.nio.channels.FileChannel} can be used as both the input and output.
+     *
+     * @param input the blocking channel providing an arbitrary byte stream to encrypt
+     * @param output the blocking channel to which encrypted data will be written
+     */
+    void encrypt(@Nonnull ReadableByteChannel input, @Nonnull WritableByteChannel output);
+
+    /**
+     * Encrypt the remaining data in the provided buffer and write to the provided output channel. The buffer is read
+     * in place, so a direct or memory-mapped buffer is encrypted without first being copied onto the heap. After the
+     * encryption, the position of the buffer will be at its limit.
+     *
+     * @param input the buffer containing the data to encrypt
+     * @param output the blocking channel to which encrypted data will be written
+     */
+    void encrypt(@Nonnull ByteBuffer input, @Nonnull WritableByteChannel output);
+
     /**
      * Encrypt the provided data byte array and return the encrypted data.
      *
@@ -56,6 +80,24 @@ public interface CommonEncryption {
      */
     void decrypt(@Nonnull InputStream input, @Nonnull OutputStream output);
 
+    /**
+     * Decrypt data from the provided input channel and write to the provided output channel, using pooled direct
+     * buffers so that no memory is allocated per chunk of data processed.
+     *
+     * @param input the blocking channel providing an arbitrary byte stream to decrypt
+     * @param output the blocking channel to which decrypted data will be written
+     */
+    void decrypt(@Nonnull ReadableByteChannel input, @Nonnull WritableByteChannel output);
+
+    /**
+     * Decrypt the remaining data in the provided buffer and write to the provided output channel. After the
+     * decryption, the position of the buffer will be at its limit.
+     *
+     * @param input the buffer containing the data to decrypt
+     * @param output the blocking channel to which decrypted data will be written
+     */
+    void decrypt(@Nonnull ByteBuffer input, @Nonnull WritableByteChannel output);
+
     /**
      * Decrypt the provided data byte array and return the unencrypted data.
      *
@@ -85,4 +127,45 @@ public interface CommonEncryption {
      */
     @Nonnull
     String decryptProperty(@Nonnull String data, @Nonnull Charset charset);
+
+    /**
+     * Encrypt data from the provided input stream and write to the provided output stream using the versioned,
+     * segmented format. The input is split into fixed-size segments that are each encrypted and authenticated with
+     * AES-GCM, with the segment index and a final-segment flag bound into each nonce so that segments cannot be
+     * reordered, dropped, or truncated without detection. Segments are encrypted in parallel on the common fork-join
+     * pool. This format is not compatible with {@link #encrypt(InputStream, OutputStream)}.
+     *
+     * @param input an arbitrary byte stream to encrypt
+     * @param output the stream to which encrypted data will be written
+     */
+    void encryptSegmented(@Nonnull InputStream input, @Nonnull OutputStream output);
+
+    /**
+     * Decrypt data written by {@link #encryptSegmented} from the provided input stream and write to the provided
+     * output stream. Segments are decrypted and authenticated in parallel on the common fork-join pool.
+     *
+     * @param input the segmented encrypted byte stream to decrypt
+     * @param output the stream to which decrypted data will be written
+     */
+    void decryptSegmented(@Nonnull InputStream input, @Nonnull OutputStream output);
+
+    /**
+     * Determine the number of segments contained in data written by {@link #encryptSegmented}.
+     *
+     * @param input the channel containing the segmented encrypted data, which is read from the start
+     * @return the number of segments in the encrypted data
+     */
+    long getSegmentCount(@Nonnull SeekableByteChannel input);
+
+    /**
+     * Decrypt a single segment of data written by {@link #encryptSegmented}, without reading or decrypting any of the
+     * other segments.
+     *
+     * @param input the channel containing the segmented encrypted data
+     * @param segment the zero-based index of the segment to decrypt
+     * @return the decrypted segment data
+     * @throws IllegalArgumentException if the segment index is outside of the encrypted data
+     */
+    @Nonnull
+    byte[] decryptSegment(@Nonnull SeekableByteChannel input, long segment);
 }
@@ -1,26 +1,210 @@
 package com.grpctrl.crypto.common;
 
+import com.grpctrl.crypto.util.DirectBufferPool;
 import com.grpctrl.crypto.util.HexUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.ws.rs.InternalServerErrorException;
 
 /**
- * Provides a base implementation of the {@link CommonEncryption} interface.
+ * Provides a base implementation of the {@link CommonEncryption} interface. Implementations only need to define how
+ * a cipher is initialized (and the header data written or read) for encryption and decryption, and this class takes
+ * care of moving data through the cipher for streams, channels and buffers.
  */
 public abstract class CommonEncryptionImpl implements CommonEncryption {
     // Process input/output streams in chunks - arbitrary
-    private static final int BUFFER_SIZE = 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    // Process channels and buffers in chunks using pooled direct buffers - arbitrary
+    private static final int DIRECT_BUFFER_SIZE = 64 * 1024;
+    private static final int DIRECT_BUFFER_POOL_SIZE = 64;
+
+    // Leave room in output buffers for padding and any partial block held back by the cipher
+    private static final int CIPHER_OVERHEAD = 1024;
+
+    private static final DirectBufferPool BUFFER_POOL =
+            new DirectBufferPool(DIRECT_BUFFER_SIZE, DIRECT_BUFFER_POOL_SIZE);
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    /** The default size of the plain-text segments in the segmented encryption format, in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+    // Segmented format specification - changing will break existing encrypted streams!
+    private static final byte[] SEGMENTED_MAGIC = {0x00, 'S', 'E', 'G'};
+    private static final int SEGMENTED_VERSION = 1;
+    private static final String SEGMENT_CIPHER_SPEC = "AES/GCM/NoPadding";
+    private static final int SEGMENT_TAG_LENGTH = 16; // in bytes
+    private static final int NONCE_PREFIX_LENGTH = 7; // followed by 4-byte segment index and 1-byte final flag
+    private static final int NONCE_LENGTH = NONCE_PREFIX_LENGTH + 5;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Cipher instances are not thread-safe, so idle ciphers are kept per-thread and reused after re-initialization.
+    private static final ThreadLocal<Map<String, Deque<Cipher>>> CIPHERS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Retrieve a {@link Cipher} for the specified transformation, reusing an idle cipher previously created on the
+     * current thread when available. The cipher must be initialized before use, and should be returned via
+     * {@link #releaseCipher} when processing is complete.
+     *
+     * @param transformation the name of the cipher transformation, like {@code AES/CBC/PKCS5Padding}
+     * @return a cipher for the requested transformation, confined to the current thread
+     * @throws GeneralSecurityException if the transformation is not supported
+     */
+    @Nonnull
+    protected Cipher acquireCipher(@Nonnull final String transformation) throws GeneralSecurityException {
+        final Deque<Cipher> idle = CIPHERS.get().get(Objects.requireNonNull(transformation));
+        if (idle == null || idle.isEmpty()) {
+            return Cipher.getInstance(transformation);
+        }
+        return idle.pop();
+    }
+
+    /**
+     * @param cipher the cipher, previously retrieved via {@link #acquireCipher}, to make available for reuse on the
+     *     current thread
+     */
+    protected void releaseCipher(@Nonnull final Cipher cipher) {
+        Objects.requireNonNull(cipher);
+        CIPHERS.get().computeIfAbsent(cipher.getAlgorithm(), transformation -> new ArrayDeque<>()).push(cipher);
+    }
+
+    /**
+     * Create and initialize a cipher for encryption, writing any header information (salt, initialization vector,
+     * encrypted keys) needed to later decrypt the data into the provided output.
+     *
+     * @param output the output to which the header information will be written
+     * @return the initialized cipher, acquired via {@link #acquireCipher}
+     * @throws Exception if there is a problem creating the cipher or writing the header
+     */
+    @Nonnull
+    protected abstract Cipher initEncrypt(@Nonnull OutputStream output) throws Exception;
+
+    /**
+     * Read the header information written by {@link #initEncrypt} from the provided input, and create and initialize a
+     * cipher for decryption.
+     *
+     * @param input the input from which the header information will be read
+     * @return the initialized cipher, acquired via {@link #acquireCipher}
+     * @throws Exception if there is a problem reading the header or creating the cipher
+     */
+    @Nonnull
+    protected abstract Cipher initDecrypt(@Nonnull InputStream input) throws Exception;
+
+    /**
+     * Create a new AES secret key for encryption, writing the information needed to later recover the key (salt,
+     * encrypted key) into the provided output.
+     *
+     * @param output the output to which the key information will be written
+     * @return the AES secret key to use for encryption
+     * @throws Exception if there is a problem creating the key or writing the key information
+     */
+    @Nonnull
+    protected abstract SecretKey writeKeyHeader(@Nonnull OutputStream output) throws Exception;
+
+    /**
+     * Read the key information written by {@link #writeKeyHeader} from the provided input, and recover the AES secret
+     * key.
+     *
+     * @param input the input from which the key information will be read
+     * @return the AES secret key to use for decryption
+     * @throws Exception if there is a problem reading the key information or recovering the key
+     */
+    @Nonnull
+    protected abstract SecretKey readKeyHeader(@Nonnull InputStream input) throws Exception;
+
+    /**
+     * @return the size of the plain-text segments to use when writing the segmented encryption format, in bytes
+     */
+    protected int getSegmentSize() {
+        return DEFAULT_SEGMENT_SIZE;
+    }
+
+    @Override
+    public void encrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        Cipher cipher = null;
+        try {
+            cipher = initEncrypt(output);
+
+            // Read data from input into buffer, encrypt and write to output
+            apply(cipher, input, output);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to encrypt data", exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
+
+    @Override
+    public void encrypt(@Nonnull final ReadableByteChannel input, @Nonnull final WritableByteChannel output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        Cipher cipher = null;
+        try {
+            cipher = initEncrypt(Channels.newOutputStream(output));
+            apply(cipher, input, output);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to encrypt data", exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
 
     @Override
-    public abstract void encrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output);
+    public void encrypt(@Nonnull final ByteBuffer input, @Nonnull final WritableByteChannel output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        Cipher cipher = null;
+        try {
+            cipher = initEncrypt(Channels.newOutputStream(output));
+            apply(cipher, input, output);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to encrypt data", exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
 
     @Override
     @Nonnull
@@ -48,7 +232,57 @@ public abstract class CommonEncryptionImpl implements CommonEncryption {
     }
 
     @Override
-    public abstract void decrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output);
+    public void decrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        Cipher cipher = null;
+        try {
+            cipher = initDecrypt(input);
+
+            // Read data from input into buffer, decrypt and write to output
+            apply(cipher, input, output);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
+
+    @Override
+    public void decrypt(@Nonnull final ReadableByteChannel input, @Nonnull final WritableByteChannel output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        Cipher cipher = null;
+        try {
+            cipher = initDecrypt(Channels.newInputStream(input));
+            apply(cipher, input, output);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
+
+    @Override
+    public void decrypt(@Nonnull final ByteBuffer input, @Nonnull final WritableByteChannel output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        Cipher cipher = null;
+        try {
+            cipher = initDecrypt(new ByteBufferInputStream(input));
+            apply(cipher, input, output);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
 
     @Override
     @Nonnull
@@ -76,6 +310,193 @@ public abstract class CommonEncryptionImpl implements CommonEncryption {
         return data;
     }
 
+    @Override
+    public void encryptSegmented(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        try {
+            final int segmentSize = getSegmentSize();
+            final byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+            RANDOM.nextBytes(noncePrefix);
+
+            // Write the format version, segment size, nonce prefix and key information
+            final ByteArrayOutputStream headerOutput = new ByteArrayOutputStream();
+            final DataOutputStream dataOutput = new DataOutputStream(headerOutput);
+            dataOutput.write(SEGMENTED_MAGIC);
+            dataOutput.writeByte(SEGMENTED_VERSION);
+            dataOutput.writeInt(segmentSize);
+            dataOutput.write(noncePrefix);
+            final SecretKey key = writeKeyHeader(dataOutput);
+            dataOutput.flush();
+
+            final SegmentHeader header = new SegmentHeader(segmentSize, noncePrefix, headerOutput.toByteArray(), key);
+            output.write(header.getBytes());
+
+            applySegments(input, output, segmentSize, segment -> applySegment(Cipher.ENCRYPT_MODE, header, segment));
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to encrypt data", exception);
+        }
+    }
+
+    @Override
+    public void decryptSegmented(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        try {
+            final SegmentHeader header = readSegmentHeader(input);
+            applySegments(input, output, header.getSegmentSize() + SEGMENT_TAG_LENGTH,
+                    segment -> applySegment(Cipher.DECRYPT_MODE, header, segment));
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        }
+    }
+
+    @Override
+    public long getSegmentCount(@Nonnull final SeekableByteChannel input) {
+        Objects.requireNonNull(input);
+        try {
+            return getSegmentCount(input, readSegmentHeader(Channels.newInputStream(input.position(0))));
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        }
+    }
+
+    @Override
+    @Nonnull
+    public byte[] decryptSegment(@Nonnull final SeekableByteChannel input, final long segment) {
+        Objects.requireNonNull(input);
+        final SegmentHeader header;
+        final long segmentCount;
+        try {
+            header = readSegmentHeader(Channels.newInputStream(input.position(0)));
+            segmentCount = getSegmentCount(input, header);
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        }
+        if (segment < 0 || segment >= segmentCount) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid segment %d, encrypted data contains %d segments", segment, segmentCount));
+        }
+
+        try {
+            // Segments are a fixed size, so the position of any segment can be calculated from the header length.
+            final long encryptedSegmentSize = header.getSegmentSize() + SEGMENT_TAG_LENGTH;
+            final long position = header.getBytes().length + segment * encryptedSegmentSize;
+            final ByteBuffer buffer =
+                    ByteBuffer.allocate((int) Math.min(encryptedSegmentSize, input.size() - position));
+            input.position(position);
+            while (buffer.hasRemaining()) {
+                if (input.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of encrypted data in segment " + segment);
+                }
+            }
+            return applySegment(Cipher.DECRYPT_MODE, header,
+                    new Segment(segment, segment == segmentCount - 1, buffer.array()));
+        } catch (final Exception exception) {
+            throw new InternalServerErrorException("Failed to decrypt data", exception);
+        }
+    }
+
+    private long getSegmentCount(@Nonnull final SeekableByteChannel input, @Nonnull final SegmentHeader header)
+            throws IOException {
+        final long encryptedSegmentSize = header.getSegmentSize() + SEGMENT_TAG_LENGTH;
+        final long dataLength = input.size() - header.getBytes().length;
+        // Empty input still produces a single (empty) authenticated segment.
+        return Math.max(1, (dataLength + encryptedSegmentSize - 1) / encryptedSegmentSize);
+    }
+
+    @Nonnull
+    private SegmentHeader readSegmentHeader(@Nonnull final InputStream input) throws Exception {
+        // Record the header bytes as they are read, since the full header is authenticated with each segment.
+        final RecordingInputStream recording = new RecordingInputStream(input);
+        final DataInputStream dataInput = new DataInputStream(recording);
+
+        final byte[] magic = new byte[SEGMENTED_MAGIC.length];
+        dataInput.readFully(magic);
+        if (!Arrays.equals(SEGMENTED_MAGIC, magic)) {
+            throw new IOException("Unrecognized segmented encryption format");
+        }
+        final int version = dataInput.readUnsignedByte();
+        if (version != SEGMENTED_VERSION) {
+            throw new IOException("Unsupported segmented encryption version: " + version);
+        }
+        final int segmentSize = dataInput.readInt();
+        if (segmentSize < 1) {
+            throw new IOException("Invalid segment size: " + segmentSize);
+        }
+        final byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+        dataInput.readFully(noncePrefix);
+        final SecretKey key = readKeyHeader(dataInput);
+
+        return new SegmentHeader(segmentSize, noncePrefix, recording.getRecorded(), key);
+    }
+
+    private void applySegments(
+            @Nonnull final InputStream input, @Nonnull final OutputStream output, final int segmentSize,
+            @Nonnull final Function<Segment, byte[]> function) throws IOException {
+        // Read enough segments to keep the fork-join pool busy, process them in parallel, and write them in order.
+        final int batchSize = 2 * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+
+        long index = 0;
+        byte[] current = readSegment(input, segmentSize);
+        boolean done = false;
+        while (!done) {
+            final List<Segment> batch = new ArrayList<>(batchSize);
+            while (!done && batch.size() < batchSize) {
+                // A segment is final when it is short, or when there is no more data after it.
+                final byte[] next = current.length < segmentSize ? new byte[0] : readSegment(input, segmentSize);
+                done = next.length == 0;
+                batch.add(new Segment(index++, done, current));
+                current = next;
+            }
+
+            for (final byte[] processed : batch.parallelStream().map(function).collect(Collectors.toList())) {
+                output.write(processed);
+            }
+        }
+    }
+
+    @Nonnull
+    private byte[] readSegment(@Nonnull final InputStream input, final int segmentSize) throws IOException {
+        final byte[] segment = new byte[segmentSize];
+        int total = 0;
+        int numRead = 0;
+        while (total < segmentSize && numRead >= 0) {
+            numRead = input.read(segment, total, segmentSize - total);
+            total += Math.max(0, numRead);
+        }
+        return total == segmentSize ? segment : Arrays.copyOf(segment, total);
+    }
+
+    @Nonnull
+    private byte[] applySegment(final int mode, @Nonnull final SegmentHeader header, @Nonnull final Segment segment) {
+        if (segment.getIndex() > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Too many segments for the segmented encryption format");
+        }
+
+        // Bind the segment index and final flag into the nonce, and authenticate the header with every segment.
+        final ByteBuffer nonce = ByteBuffer.allocate(NONCE_LENGTH);
+        nonce.put(header.getNoncePrefix());
+        nonce.putInt((int) segment.getIndex());
+        nonce.put(segment.isLast() ? (byte) 1 : (byte) 0);
+
+        Cipher cipher = null;
+        try {
+            cipher = acquireCipher(SEGMENT_CIPHER_SPEC);
+            cipher.init(mode, header.getKey(), new GCMParameterSpec(SEGMENT_TAG_LENGTH * 8, nonce.array()));
+            cipher.updateAAD(header.getBytes());
+            return cipher.doFinal(segment.getData());
+        } catch (final GeneralSecurityException exception) {
+            final String action = mode == Cipher.ENCRYPT_MODE ? "encrypt" : "decrypt";
+            throw new InternalServerErrorException(
+                    String.format("Failed to %s data segment %d", action, segment.getIndex()), exception);
+        } finally {
+            if (cipher != null) {
+                releaseCipher(cipher);
+            }
+        }
+    }
+
     public void apply(
             @Nonnull final Cipher cipher, @Nonnull final InputStream input, @Nonnull final OutputStream output)
             throws Exception {
@@ -83,17 +504,231 @@ public abstract class CommonEncryptionImpl implements CommonEncryption {
         Objects.requireNonNull(input);
         Objects.requireNonNull(output);
 
-        // Read data from input into buffer, apply the cipher, and write to output
+        // Read data from input into buffer, apply the cipher into a reused output buffer, and write to output
         final byte[] buffer = new byte[BUFFER_SIZE];
+        final byte[] outputBuffer = new byte[BUFFER_SIZE + CIPHER_OVERHEAD];
         int numRead;
         boolean more = true;
         while (more) {
             numRead = input.read(buffer);
             more = numRead >= 0;
             if (more) {
-                output.write(cipher.update(buffer, 0, numRead));
+                output.write(outputBuffer, 0, cipher.update(buffer, 0, numRead, outputBuffer));
+            }
+        }
+        output.write(outputBuffer, 0, cipher.doFinal(outputBuffer, 0));
+    }
+
+    /**
+     * Read all data from the input channel, apply the cipher, and write the results to the output channel.
+     *
+     * @param cipher the initialized cipher to apply to the data
+     * @param input the blocking channel from which data will be read
+     * @param output the blocking channel to which the processed data will be written
+     * @throws Exception if there is a problem reading, processing, or writing the data
+     */
+    public void apply(
+            @Nonnull final Cipher cipher, @Nonnull final ReadableByteChannel input,
+            @Nonnull final WritableByteChannel output) throws Exception {
+        Objects.requireNonNull(cipher);
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+
+        final ByteBuffer inputBuffer = BUFFER_POOL.acquire();
+        final ByteBuffer outputBuffer = BUFFER_POOL.acquire();
+        try {
+            inputBuffer.limit(inputBuffer.capacity() - CIPHER_OVERHEAD);
+            while (input.read(inputBuffer) >= 0) {
+                inputBuffer.flip();
+                outputBuffer.clear();
+                cipher.update(inputBuffer, outputBuffer);
+                writeFully(outputBuffer, output);
+
+                inputBuffer.clear();
+                inputBuffer.limit(inputBuffer.capacity() - CIPHER_OVERHEAD);
+            }
+
+            outputBuffer.clear();
+            cipher.doFinal(EMPTY.duplicate(), outputBuffer);
+            writeFully(outputBuffer, output);
+        } finally {
+            BUFFER_POOL.release(inputBuffer);
+            BUFFER_POOL.release(outputBuffer);
+        }
+    }
+
+    /**
+     * Apply the cipher to the remaining data in the input buffer, and write the results to the output channel.
+     *
+     * @param cipher the initialized cipher to apply to the data
+     * @param input the buffer containing the data to process, which is read in place
+     * @param output the blocking channel to which the processed data will be written
+     * @throws Exception if there is a problem processing or writing the data
+     */
+    public void apply(
+            @Nonnull final Cipher cipher, @Nonnull final ByteBuffer input, @Nonnull final WritableByteChannel output)
+            throws Exception {
+        Objects.requireNonNull(cipher);
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+
+        final ByteBuffer outputBuffer = BUFFER_POOL.acquire();
+        try {
+            final int limit = input.limit();
+            final int chunkSize = outputBuffer.capacity() - CIPHER_OVERHEAD;
+            while (input.hasRemaining()) {
+                input.limit(Math.min(limit, input.position() + chunkSize));
+                outputBuffer.clear();
+                cipher.update(input, outputBuffer);
+                input.limit(limit);
+                writeFully(outputBuffer, output);
+            }
+
+            outputBuffer.clear();
+            cipher.doFinal(EMPTY.duplicate(), outputBuffer);
+            writeFully(outputBuffer, output);
+        } finally {
+            BUFFER_POOL.release(outputBuffer);
+        }
+    }
+
+    private void writeFully(@Nonnull final ByteBuffer buffer, @Nonnull final WritableByteChannel output)
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+    }
+
+    /**
+     * Reads header data from a {@link ByteBuffer}, advancing the buffer position.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        @Nonnull
+        private final ByteBuffer buffer;
+
+        public ByteBufferInputStream(@Nonnull final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@Nonnull final byte[] bytes, final int offset, final int length) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+
+    /**
+     * Records the bytes read from the wrapped input stream.
+     */
+    private static class RecordingInputStream extends FilterInputStream {
+        @Nonnull
+        private final ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+
+        public RecordingInputStream(@Nonnull final InputStream input) {
+            super(input);
+        }
+
+        @Nonnull
+        public byte[] getRecorded() {
+            return this.recorded.toByteArray();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value >= 0) {
+                this.recorded.write(value);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(@Nonnull final byte[] bytes, final int offset, final int length) throws IOException {
+            final int numRead = super.read(bytes, offset, length);
+            if (numRead > 0) {
+                this.recorded.write(bytes, offset, numRead);
             }
+            return numRead;
+        }
+    }
+
+    /**
+     * The parsed header of data in the segmented encryption format.
+     */
+    private static class SegmentHeader {
+        private final int segmentSize;
+        @Nonnull
+        private final byte[] noncePrefix;
+        @Nonnull
+        private final byte[] bytes;
+        @Nonnull
+        private final SecretKey key;
+
+        public SegmentHeader(
+                final int segmentSize, @Nonnull final byte[] noncePrefix, @Nonnull final byte[] bytes,
+                @Nonnull final SecretKey key) {
+            this.segmentSize = segmentSize;
+            this.noncePrefix = noncePrefix;
+            this.bytes = bytes;
+            this.key = key;
+        }
+
+        public int getSegmentSize() {
+            return this.segmentSize;
+        }
+
+        @Nonnull
+        public byte[] getNoncePrefix() {
+            return this.noncePrefix;
+        }
+
+        @Nonnull
+        public byte[] getBytes() {
+            return this.bytes;
+        }
+
+        @Nonnull
+        public SecretKey getKey() {
+            return this.key;
+        }
+    }
+
+    /**
+     * A single segment of data in the segmented encryption format.
+     */
+    private static class Segment {
+        private final long index;
+        private final boolean last;
+        @Nonnull
+        private final byte[] data;
+
+        public Segment(final long index, final boolean last, @Nonnull final byte[] data) {
+            this.index = index;
+            this.last = last;
+            this.data = data;
+        }
+
+        public long getIndex() {
+            return this.index;
+        }
+
+        public boolean isLast() {
+            return this.last;
+        }
+
+        @Nonnull
+        public byte[] getData() {
+            return this.data;
         }
-        output.write(cipher.doFinal());
     }
 }
@@ -0,0 +1,243 @@
+package com.grpctrl.crypto.password;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.grpctrl.common.model.UserAuth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.ServiceUnavailableException;
+
+/**
+ * Performs password hashing and verification on a dedicated, bounded thread pool so that bursts of expensive hash
+ * operations cannot starve the web server request threads. When the pool and its queue are full, requests are
+ * rejected with a {@link ServiceUnavailableException} instead of being allowed to pile up.
+ */
+public class PasswordHasher {
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHasher.class);
+
+    /** The number of seconds clients are asked to wait before retrying after the hasher rejects work. */
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    @Nonnull
+    private final String hashAlgorithm;
+    @Nonnull
+    private final Map<String, Integer> hashCosts;
+    private final long timeoutMillis;
+    @Nonnull
+    private final MetricRegistry metricRegistry;
+    @Nonnull
+    private final ThreadPoolExecutor executor;
+    @Nonnull
+    private final Meter rejected;
+
+    /**
+     * @param hashAlgorithm the hash algorithm to use when creating new or upgraded password hashes
+     * @param hashCosts the configured hash cost for each supported hash algorithm
+     * @param threads the number of threads to use when hashing passwords
+     * @param queueSize the maximum number of hash operations allowed to wait for an available thread
+     * @param timeoutMillis the maximum number of milliseconds to wait for a hash operation to complete
+     * @param metricRegistry the registry into which hash latency metrics will be stored
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the hash algorithm has no configured cost, or the numeric parameters are not
+     *     positive
+     */
+    public PasswordHasher(
+            @Nonnull final String hashAlgorithm, @Nonnull final Map<String, Integer> hashCosts, final int threads,
+            final int queueSize, final long timeoutMillis, @Nonnull final MetricRegistry metricRegistry) {
+        this.hashAlgorithm = Objects.requireNonNull(hashAlgorithm);
+        this.hashCosts = new HashMap<>(Objects.requireNonNull(hashCosts));
+        this.timeoutMillis = timeoutMillis;
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+
+        if (!this.hashCosts.containsKey(hashAlgorithm)) {
+            throw new IllegalArgumentException("No hash cost configured for algorithm: " + hashAlgorithm);
+        }
+        if (threads < 1 || queueSize < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("Thread count, queue size and timeout must all be positive");
+        }
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new HasherThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = metricRegistry.meter(MetricRegistry.name(PasswordHasher.class, "rejected"));
+    }
+
+    /**
+     * @return the hash algorithm used when creating new or upgraded password hashes
+     */
+    @Nonnull
+    public String getHashAlgorithm() {
+        return this.hashAlgorithm;
+    }
+
+    /**
+     * @param hashAlgorithm the hash algorithm for which the configured cost should be retrieved
+     *
+     * @return the configured cost for the specified hash algorithm, if available
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     */
+    @Nonnull
+    public Optional<Integer> getHashCost(@Nonnull final String hashAlgorithm) {
+        return Optional.ofNullable(this.hashCosts.get(Objects.requireNonNull(hashAlgorithm)));
+    }
+
+    /**
+     * Create a new {@link UserAuth} for the provided password using the configured hash algorithm and cost.
+     *
+     * @param password the plain-text password to hash
+     *
+     * @return the new {@link UserAuth} object
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     * @throws ServiceUnavailableException if the hasher is too busy to accept the request
+     */
+    @Nonnull
+    public UserAuth hash(@Nonnull final String password) {
+        Objects.requireNonNull(password);
+        final int hashCost = this.hashCosts.get(this.hashAlgorithm);
+        return await(submit(() -> time("hash", this.hashAlgorithm,
+                () -> UserAuth.fromPassword(this.hashAlgorithm, hashCost, password))));
+    }
+
+    /**
+     * Validate that the provided password matches the user authorization.
+     *
+     * @param userAuth the stored user authorization against which the password will be validated
+     * @param password the plain-text password to validate
+     *
+     * @return whether the password matches the user authorization
+     *
+     * @throws NullPointerException if either of the parameters are {@code null}
+     * @throws ServiceUnavailableException if the hasher is too busy to accept the request
+     */
+    public boolean validate(@Nonnull final UserAuth userAuth, @Nonnull final String password) {
+        Objects.requireNonNull(userAuth);
+        Objects.requireNonNull(password);
+        return await(submit(() -> time("validate", userAuth.getHashAlgorithm(), () -> userAuth.validate(password))));
+    }
+
+    /**
+     * Determine whether the provided user authorization was hashed with an out-of-date algorithm or cost, and should
+     * be re-hashed the next time the plain-text password is available.
+     *
+     * @param userAuth the stored user authorization to check
+     *
+     * @return whether the user authorization should be re-hashed
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     */
+    public boolean needsRehash(@Nonnull final UserAuth userAuth) {
+        Objects.requireNonNull(userAuth);
+        return !this.hashAlgorithm.equals(userAuth.getHashAlgorithm())
+                || userAuth.getHashCost() < this.hashCosts.get(this.hashAlgorithm);
+    }
+
+    /**
+     * Re-hash the provided password in the background using the configured algorithm and cost. This is a best-effort
+     * operation, if the hasher is too busy the re-hash is skipped and will be attempted again on a later login.
+     *
+     * @param password the plain-text password to re-hash
+     * @param consumer the consumer that will receive the upgraded user authorization, typically to store it
+     *
+     * @throws NullPointerException if either of the parameters are {@code null}
+     */
+    public void rehash(@Nonnull final String password, @Nonnull final Consumer<UserAuth> consumer) {
+        Objects.requireNonNull(password);
+        Objects.requireNonNull(consumer);
+
+        final int hashCost = this.hashCosts.get(this.hashAlgorithm);
+        try {
+            this.executor.execute(() -> {
+                try {
+                    consumer.accept(time("hash", this.hashAlgorithm,
+                            () -> UserAuth.fromPassword(this.hashAlgorithm, hashCost, password)));
+                } catch (final RuntimeException failure) {
+                    LOG.warn("Failed to re-hash user password", failure);
+                }
+            });
+        } catch (final RejectedExecutionException rejected) {
+            LOG.debug("Password hasher busy, skipping re-hash");
+        }
+    }
+
+    /**
+     * Stop the threads used to perform password hashing.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Nonnull
+    private <T> Future<T> submit(@Nonnull final Callable<T> callable) {
+        try {
+            return this.executor.submit(callable);
+        } catch (final RejectedExecutionException rejected) {
+            this.rejected.mark();
+            throw new ServiceUnavailableException("Too many concurrent login attempts", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    @Nonnull
+    private <T> T await(@Nonnull final Future<T> future) {
+        try {
+            return future.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException timeout) {
+            future.cancel(true);
+            this.rejected.mark();
+            throw new ServiceUnavailableException("Timed out waiting for password verification", RETRY_AFTER_SECONDS);
+        } catch (final InterruptedException interrupted) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for password verification", RETRY_AFTER_SECONDS);
+        } catch (final ExecutionException executionException) {
+            throw new InternalServerErrorException("Failed to hash password", executionException.getCause());
+        }
+    }
+
+    private <T> T time(
+            @Nonnull final String operation, @Nonnull final String algorithm, @Nonnull final Supplier<T> supplier) {
+        final Timer timer = this.metricRegistry.timer(MetricRegistry.name(PasswordHasher.class, operation, algorithm));
+        final Timer.Context context = timer.time();
+        try {
+            return supplier.get();
+        } finally {
+            context.stop();
+        }
+    }
+
+    private static class HasherThreadFactory implements ThreadFactory {
+        @Nonnull
+        private final AtomicInteger count = new AtomicInteger(0);
+
+        @Override
+        @Nonnull
+        public Thread newThread(@Nonnull final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "password-hasher-" + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
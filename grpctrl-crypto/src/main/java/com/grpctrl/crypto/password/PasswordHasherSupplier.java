@@ -0,0 +1,110 @@
+package com.grpctrl.crypto.password;
+
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.grpctrl.common.supplier.MetricRegistrySupplier;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValue;
+
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Provides singleton access to a {@link PasswordHasher} used to hash and verify user passwords.
+ */
+@Provider
+public class PasswordHasherSupplier
+        implements Supplier<PasswordHasher>, Factory<PasswordHasher>, ContextResolver<PasswordHasher> {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+    @Nonnull
+    private final MetricRegistrySupplier metricRegistrySupplier;
+
+    @Nullable
+    private volatile PasswordHasher singleton = null;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param metricRegistrySupplier provides access to the registry used to track password hashing metrics
+     */
+    @Inject
+    public PasswordHasherSupplier(
+            @Nonnull final ConfigSupplier configSupplier,
+            @Nonnull final MetricRegistrySupplier metricRegistrySupplier) {
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+        this.metricRegistrySupplier = Objects.requireNonNull(metricRegistrySupplier);
+    }
+
+    @Override
+    @Nonnull
+    @SuppressWarnings("all")
+    public PasswordHasher get() {
+        // Use double-check locking (with volatile singleton).
+        if (this.singleton == null) {
+            synchronized (PasswordHasherSupplier.class) {
+                if (this.singleton == null) {
+                    this.singleton = create();
+                }
+            }
+        }
+        return this.singleton;
+    }
+
+    @Override
+    @Nonnull
+    public PasswordHasher getContext(@Nonnull final Class<?> type) {
+        return get();
+    }
+
+    @Override
+    @Nonnull
+    public PasswordHasher provide() {
+        return get();
+    }
+
+    @Override
+    public void dispose(@Nonnull final PasswordHasher passwordHasher) {
+        passwordHasher.shutdown();
+    }
+
+    @Nonnull
+    private PasswordHasher create() {
+        final Config config = this.configSupplier.get();
+
+        final Map<String, Integer> hashCosts = new HashMap<>();
+        for (final Map.Entry<String, ConfigValue> entry :
+                config.getObject(ConfigKeys.SECURITY_PASSWORD_COSTS.getKey()).entrySet()) {
+            hashCosts.put(entry.getKey(), ((Number) entry.getValue().unwrapped()).intValue());
+        }
+
+        final int configuredThreads = config.getInt(ConfigKeys.SECURITY_PASSWORD_THREADS.getKey());
+        final int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+
+        return new PasswordHasher(config.getString(ConfigKeys.SECURITY_PASSWORD_ALGORITHM.getKey()), hashCosts,
+                threads, config.getInt(ConfigKeys.SECURITY_PASSWORD_QUEUE_SIZE.getKey()),
+                config.getDuration(ConfigKeys.SECURITY_PASSWORD_TIMEOUT.getKey()).toMillis(),
+                this.metricRegistrySupplier.get());
+    }
+
+    /**
+     * Used to bind this supplier for dependency injection.
+     */
+    public static class Binder extends AbstractBinder {
+        @Override
+        protected void configure() {
+            bind(PasswordHasherSupplier.class).to(PasswordHasherSupplier.class).in(Singleton.class);
+        }
+    }
+}
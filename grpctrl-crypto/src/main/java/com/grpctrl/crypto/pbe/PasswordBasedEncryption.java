@@ -2,9 +2,27 @@ package com.grpctrl.crypto.pbe;
 
 import com.grpctrl.crypto.common.CommonEncryption;
 
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+
 /**
  * Responsible for performing password-based encryption.
  */
 public interface PasswordBasedEncryption extends CommonEncryption {
-    // No additional capabilities defined.
+    /**
+     * Derive and cache the decryption keys needed by the provided encrypted property values, so that later calls to
+     * {@link #decryptProperty} do not need to pay the cost of key derivation. Values that are not encrypted properties
+     * are ignored.
+     *
+     * @param properties the property values, typically of the form {@code ENC{...}}, for which keys will be derived
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     */
+    void warmup(@Nonnull Collection<String> properties);
+
+    /**
+     * Remove all cached derived keys, overwriting the cached key material.
+     */
+    void clearKeys();
 }
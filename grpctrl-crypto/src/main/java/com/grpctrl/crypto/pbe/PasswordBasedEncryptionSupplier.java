@@ -4,12 +4,16 @@ import com.grpctrl.common.config.ConfigKeys;
 import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.crypto.pbe.impl.AESPasswordBasedEncryption;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValueType;
 
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -68,7 +72,7 @@ public class PasswordBasedEncryptionSupplier
 
     @Override
     public void dispose(@Nonnull final PasswordBasedEncryption passwordBasedEncryption) {
-        // Nothing to do.
+        passwordBasedEncryption.clearKeys();
     }
 
     /**
@@ -84,9 +88,32 @@ public class PasswordBasedEncryptionSupplier
         return config.getString(ConfigKeys.CRYPTO_SHARED_SECRET_DEFAULT.getKey());
     }
 
+    /**
+     * @return all of the encrypted string values available in the system configuration
+     */
+    @Nonnull
+    private Collection<String> getEncryptedProperties() {
+        final Config config = this.configSupplier.get();
+        return config.entrySet().stream().map(Map.Entry::getValue)
+                .filter(value -> value.valueType() == ConfigValueType.STRING).map(value -> (String) value.unwrapped())
+                .filter(value -> value.startsWith("ENC{")).collect(Collectors.toList());
+    }
+
     @Nonnull
     private PasswordBasedEncryption create() {
-        return new AESPasswordBasedEncryption(getSharedSecret().toCharArray());
+        final Config config = this.configSupplier.get();
+        final String cacheSizeKey = ConfigKeys.CRYPTO_PBE_CACHE_SIZE.getKey();
+        final String warmupKey = ConfigKeys.CRYPTO_PBE_CACHE_WARMUP.getKey();
+        final int cacheSize = config.hasPath(cacheSizeKey) ? config.getInt(cacheSizeKey)
+                : AESPasswordBasedEncryption.DEFAULT_CACHE_SIZE;
+        final boolean warmup = config.hasPath(warmupKey) && config.getBoolean(warmupKey);
+
+        final PasswordBasedEncryption pbe = new AESPasswordBasedEncryption(getSharedSecret().toCharArray(), cacheSize);
+        if (cacheSize > 0 && warmup) {
+            // Derive the keys for encrypted configuration up front so the suppliers decrypting them don't have to.
+            pbe.warmup(getEncryptedProperties());
+        }
+        return pbe;
     }
 
     /**
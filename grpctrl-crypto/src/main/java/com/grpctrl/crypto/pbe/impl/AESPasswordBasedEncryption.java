@@ -2,14 +2,18 @@ package com.grpctrl.crypto.pbe.impl;
 
 import com.grpctrl.crypto.common.CommonEncryptionImpl;
 import com.grpctrl.crypto.pbe.PasswordBasedEncryption;
+import com.grpctrl.crypto.util.HexUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
 
 import javax.annotation.Nonnull;
@@ -36,14 +40,36 @@ public class AESPasswordBasedEncryption extends CommonEncryptionImpl implements
     private static final int SALT_LENGTH = 16; // in bytes
     private static final int ITERATIONS = 32768;
 
+    /** The default number of derived keys to keep cached. */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
     @Nonnull
     private final char[] password;
+    @Nonnull
+    private final DerivedKeyCache keyCache;
 
     /**
      * @param password the password to use when encrypting and decrypting data
      */
     public AESPasswordBasedEncryption(@Nonnull final char[] password) {
+        this(password, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param password the password to use when encrypting and decrypting data
+     * @param cacheSize the maximum number of derived keys to cache, a value of 0 disables the cache
+     */
+    public AESPasswordBasedEncryption(@Nonnull final char[] password, final int cacheSize) {
         this.password = Objects.requireNonNull(password);
+        this.keyCache = new DerivedKeyCache(cacheSize);
+    }
+
+    /**
+     * @return the cache of derived keys used by this encryption implementation
+     */
+    @Nonnull
+    protected DerivedKeyCache getKeyCache() {
+        return this.keyCache;
     }
 
     /**
@@ -58,7 +84,8 @@ public class AESPasswordBasedEncryption extends CommonEncryptionImpl implements
     }
 
     /**
-     * Generate an AES encryption key from a password and salt.
+     * Generate an AES encryption key from a password and salt. The key is not cached, since it is only used for the
+     * encryption of a single stream with a freshly generated salt.
      *
      * @param keyLength the length of the key to generate
      * @param salt the salt from which to derive the keys
@@ -67,71 +94,157 @@ public class AESPasswordBasedEncryption extends CommonEncryptionImpl implements
     @Nonnull
     protected SecretKey keygen(final int keyLength, @Nonnull final byte[] salt)
             throws NoSuchAlgorithmException, InvalidKeySpecException {
-        Objects.requireNonNull(salt);
-        final SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance(KEYGEN_SPEC);
-        final KeySpec keySpec = new PBEKeySpec(this.password, salt, ITERATIONS, keyLength);
-        final SecretKey secretKey = secretKeyFactory.generateSecret(keySpec);
-        return new SecretKeySpec(secretKey.getEncoded(), ALGORITHM);
+        return toSecretKey(derive(keyLength, Objects.requireNonNull(salt)));
     }
 
-    @Override
-    public void encrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
-        Objects.requireNonNull(input);
-        Objects.requireNonNull(output);
+    /**
+     * Recover an AES decryption key from a password and salt, using the cache of previously derived keys when
+     * possible.
+     *
+     * @param keyLength the length of the key to recover
+     * @param salt the salt from which to derive the keys
+     * @return the {@link SecretKey} used to perform the decryption
+     */
+    @Nonnull
+    protected SecretKey cachedKeygen(final int keyLength, @Nonnull final byte[] salt)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        return toSecretKey(deriveCached(keyLength, Objects.requireNonNull(salt)));
+    }
+
+    @Nonnull
+    private SecretKey toSecretKey(@Nonnull final byte[] key) {
         try {
-            // Generate salt and derive keys for authentication and encryption
-            final int keyLength = 128; // The unlimited-strength jce not required for this.
-            final byte[] salt = generateSalt(SALT_LENGTH);
-            final SecretKey key = keygen(keyLength, salt);
-
-            // Initialize AES encryption
-            final Cipher cipher = Cipher.getInstance(CIPHER_SPEC);
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-
-            // Get initialization vector
-            final byte[] iv = cipher.getParameters().getParameterSpec(IvParameterSpec.class).getIV();
-
-            // Write authentication and AES initialization data
-            output.write(keyLength / 8);
-            output.write(salt);
-            output.write(iv);
-
-            // Read data from input into buffer, encrypt and write to output
-            apply(cipher, input, output);
-        } catch (final Exception exception) {
-            throw new InternalServerErrorException("Failed to encrypt data", exception);
+            return new SecretKeySpec(key, ALGORITHM);
+        } finally {
+            // The SecretKeySpec keeps its own copy.
+            Arrays.fill(key, (byte) 0);
         }
     }
 
-    @Override
-    public void decrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
-        Objects.requireNonNull(input);
-        Objects.requireNonNull(output);
+    /**
+     * Retrieve the key material for the password and salt from the cache, or derive it and add it to the cache.
+     *
+     * @param keyLength the length of the key to generate
+     * @param salt the salt from which to derive the keys
+     * @return the derived key bytes, owned by the caller
+     */
+    @Nonnull
+    private byte[] deriveCached(final int keyLength, @Nonnull final byte[] salt)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        final Optional<byte[]> cached = this.keyCache.get(keyLength, salt);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        final byte[] key = derive(keyLength, salt);
+        this.keyCache.put(keyLength, salt, key);
+        return key;
+    }
+
+    /**
+     * Perform the (expensive) derivation of key material from the password and salt.
+     *
+     * @param keyLength the length of the key to generate
+     * @param salt the salt from which to derive the keys
+     * @return the derived key bytes
+     */
+    @Nonnull
+    private byte[] derive(final int keyLength, @Nonnull final byte[] salt)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        final SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance(KEYGEN_SPEC);
+        final PBEKeySpec keySpec = new PBEKeySpec(this.password, salt, ITERATIONS, keyLength);
         try {
-            final int keyLength = input.read() * 8;
+            return secretKeyFactory.generateSecret(keySpec).getEncoded();
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
 
-            // Read the salt value
-            final byte[] salt = new byte[SALT_LENGTH];
-            int saltRead = 0;
-            while (saltRead < SALT_LENGTH) {
-                saltRead += input.read(salt, saltRead, SALT_LENGTH - saltRead);
+    @Override
+    public void warmup(@Nonnull final Collection<String> properties) {
+        Objects.requireNonNull(properties);
+
+        // Derive keys in parallel, each derivation is CPU-bound and independent of the others.
+        properties.parallelStream().filter(property -> property.matches("ENC\\{.*\\}")).forEach(property -> {
+            final byte[] encrypted = HexUtils.hexToBytes(property.substring(4, property.length() - 1));
+            if (encrypted.length > SALT_LENGTH) {
+                final int keyLength = (encrypted[0] & 0xFF) * 8;
+                final byte[] salt = Arrays.copyOfRange(encrypted, 1, 1 + SALT_LENGTH);
+                try {
+                    Arrays.fill(deriveCached(keyLength, salt), (byte) 0);
+                } catch (final NoSuchAlgorithmException | InvalidKeySpecException exception) {
+                    throw new InternalServerErrorException("Failed to derive decryption key", exception);
+                }
             }
+        });
+    }
 
-            // Read the initialization vector value
-            final byte[] iv = new byte[16]; // 16-byte initialization vector regardless of key size
-            int ivRead = 0;
-            while (ivRead < 16) {
-                ivRead += input.read(iv, ivRead, 16 - ivRead);
-            }
+    @Override
+    public void clearKeys() {
+        this.keyCache.clear();
+    }
+
+    @Override
+    @Nonnull
+    protected SecretKey writeKeyHeader(@Nonnull final OutputStream output) throws Exception {
+        // Generate salt and derive keys for authentication and encryption
+        final int keyLength = 128; // The unlimited-strength jce not required for this.
+        final byte[] salt = generateSalt(SALT_LENGTH);
+
+        // Write the key derivation data
+        output.write(keyLength / 8);
+        output.write(salt);
+        return keygen(keyLength, salt);
+    }
+
+    @Override
+    @Nonnull
+    protected SecretKey readKeyHeader(@Nonnull final InputStream input) throws Exception {
+        final int keyLength = input.read() * 8;
+
+        // Read the salt value
+        final byte[] salt = new byte[SALT_LENGTH];
+        int saltRead = 0;
+        while (saltRead < SALT_LENGTH) {
+            saltRead += input.read(salt, saltRead, SALT_LENGTH - saltRead);
+        }
+        return cachedKeygen(keyLength, salt);
+    }
 
-            // Initialize AES decryption
-            final Cipher cipher = Cipher.getInstance(CIPHER_SPEC);
-            cipher.init(Cipher.DECRYPT_MODE, keygen(keyLength, salt), new IvParameterSpec(iv));
+    @Override
+    @Nonnull
+    protected Cipher initEncrypt(@Nonnull final OutputStream output) throws Exception {
+        // Collect the header so it is written to the output in one operation
+        final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        final SecretKey key = writeKeyHeader(header);
+
+        // Initialize AES encryption
+        final Cipher cipher = acquireCipher(CIPHER_SPEC);
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+
+        // Get initialization vector
+        final byte[] iv = cipher.getParameters().getParameterSpec(IvParameterSpec.class).getIV();
+
+        // Write authentication and AES initialization data
+        header.write(iv);
+        output.write(header.toByteArray());
+        return cipher;
+    }
 
-            // Read data from input into buffer, decrypt and write to output
-            apply(cipher, input, output);
-        } catch (final Exception exception) {
-            throw new InternalServerErrorException("Failed to decrypt data", exception);
+    @Override
+    @Nonnull
+    protected Cipher initDecrypt(@Nonnull final InputStream input) throws Exception {
+        final SecretKey key = readKeyHeader(input);
+
+        // Read the initialization vector value
+        final byte[] iv = new byte[16]; // 16-byte initialization vector regardless of key size
+        int ivRead = 0;
+        while (ivRead < 16) {
+            ivRead += input.read(iv, ivRead, 16 - ivRead);
         }
+
+        // Initialize AES decryption
+        final Cipher cipher = acquireCipher(CIPHER_SPEC);
+        cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+        return cipher;
     }
 }
@@ -0,0 +1,131 @@
+package com.grpctrl.crypto.pbe.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * A bounded, least-recently-used cache of password-derived key material, keyed by the salt and key length used during
+ * key derivation. The cached key bytes are owned by this cache and are overwritten with zeros when evicted or when the
+ * cache is cleared, so callers only ever receive copies.
+ */
+public class DerivedKeyCache {
+    private final int maxSize;
+
+    @Nonnull
+    private final LinkedHashMap<CacheKey, byte[]> cache;
+
+    /**
+     * @param maxSize the maximum number of derived keys to hold in the cache, a value of 0 disables caching
+     *
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public DerivedKeyCache(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size, must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<CacheKey, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(@Nonnull final Map.Entry<CacheKey, byte[]> eldest) {
+                if (super.size() > DerivedKeyCache.this.maxSize) {
+                    Arrays.fill(eldest.getValue(), (byte) 0);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the maximum number of derived keys held in the cache
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * @return the number of derived keys currently held in the cache
+     */
+    public synchronized int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Retrieve a copy of the cached key material derived using the specified key length and salt.
+     *
+     * @param keyLength the length of the derived key, in bits
+     * @param salt the salt used during key derivation
+     *
+     * @return a copy of the derived key bytes, if available in the cache
+     *
+     * @throws NullPointerException if the salt parameter is {@code null}
+     */
+    @Nonnull
+    public synchronized Optional<byte[]> get(final int keyLength, @Nonnull final byte[] salt) {
+        final byte[] key = this.cache.get(new CacheKey(keyLength, Objects.requireNonNull(salt)));
+        return key == null ? Optional.empty() : Optional.of(key.clone());
+    }
+
+    /**
+     * Store a copy of the key material derived using the specified key length and salt.
+     *
+     * @param keyLength the length of the derived key, in bits
+     * @param salt the salt used during key derivation
+     * @param key the derived key bytes, which are copied into the cache
+     *
+     * @throws NullPointerException if either of the array parameters are {@code null}
+     */
+    public synchronized void put(final int keyLength, @Nonnull final byte[] salt, @Nonnull final byte[] key) {
+        Objects.requireNonNull(salt);
+        Objects.requireNonNull(key);
+        if (this.maxSize > 0) {
+            final byte[] previous = this.cache.put(new CacheKey(keyLength, salt.clone()), key.clone());
+            if (previous != null) {
+                Arrays.fill(previous, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Remove all keys from the cache, overwriting the cached key material with zeros.
+     */
+    public synchronized void clear() {
+        for (final byte[] key : this.cache.values()) {
+            Arrays.fill(key, (byte) 0);
+        }
+        this.cache.clear();
+    }
+
+    private static class CacheKey {
+        private final int keyLength;
+        @Nonnull
+        private final byte[] salt;
+
+        public CacheKey(final int keyLength, @Nonnull final byte[] salt) {
+            this.keyLength = keyLength;
+            this.salt = salt;
+        }
+
+        @Override
+        public boolean equals(@CheckForNull final Object other) {
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey cacheKey = (CacheKey) other;
+            return this.keyLength == cacheKey.keyLength && Arrays.equals(this.salt, cacheKey.salt);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.keyLength + Arrays.hashCode(this.salt);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.grpctrl.crypto.common.CommonEncryptionImpl;
 import com.grpctrl.crypto.ske.SymmetricKeyEncryption;
 import com.grpctrl.crypto.util.HexUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
@@ -64,9 +65,13 @@ public class AESSymmetricKeyEncryption extends CommonEncryptionImpl implements S
     protected byte[] getEncryptedSecretKey(@Nonnull final SecretKey secretKey) throws Exception {
         Objects.requireNonNull(secretKey);
         final PrivateKey privateKey = this.keyPair.getPrivate();
-        final Cipher symmetricCipher = Cipher.getInstance(privateKey.getAlgorithm());
-        symmetricCipher.init(Cipher.ENCRYPT_MODE, privateKey);
-        return symmetricCipher.doFinal(secretKey.getEncoded());
+        final Cipher symmetricCipher = acquireCipher(privateKey.getAlgorithm());
+        try {
+            symmetricCipher.init(Cipher.ENCRYPT_MODE, privateKey);
+            return symmetricCipher.doFinal(secretKey.getEncoded());
+        } finally {
+            releaseCipher(symmetricCipher);
+        }
     }
 
     /**
@@ -77,56 +82,62 @@ public class AESSymmetricKeyEncryption extends CommonEncryptionImpl implements S
     protected SecretKeySpec getDecryptedSecretKey(@Nonnull final byte[] encrypted) throws Exception {
         Objects.requireNonNull(encrypted);
         final PublicKey publicKey = this.keyPair.getPublic();
-        final Cipher symmetricCipher = Cipher.getInstance(publicKey.getAlgorithm());
-        symmetricCipher.init(Cipher.DECRYPT_MODE, publicKey);
-        return new SecretKeySpec(symmetricCipher.doFinal(encrypted), ALGORITHM);
+        final Cipher symmetricCipher = acquireCipher(publicKey.getAlgorithm());
+        try {
+            symmetricCipher.init(Cipher.DECRYPT_MODE, publicKey);
+            return new SecretKeySpec(symmetricCipher.doFinal(encrypted), ALGORITHM);
+        } finally {
+            releaseCipher(symmetricCipher);
+        }
     }
 
     @Override
-    public void encrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
-        Objects.requireNonNull(input);
-        Objects.requireNonNull(output);
-        try {
-            final int keyLength = 128; // The unlimited-strength jce not required for this.
-            final SecretKey secretKey = createSecretKey(keyLength);
-            final Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(secretKey.getEncoded(), ALGORITHM));
-
-            // First, write the secret key into the output stream
-            final byte[] encryptedSecretKey = getEncryptedSecretKey(secretKey);
-            output.write(encryptedSecretKey.length / 8);
-            output.write(encryptedSecretKey);
-
-            // Read data from input into buffer, encrypt and write to output
-            apply(cipher, input, output);
-        } catch (final Exception exception) {
-            throw new InternalServerErrorException("Failed to encrypt data", exception);
-        }
+    @Nonnull
+    protected SecretKey writeKeyHeader(@Nonnull final OutputStream output) throws Exception {
+        final int keyLength = 128; // The unlimited-strength jce not required for this.
+        final SecretKey secretKey = createSecretKey(keyLength);
+
+        // Write the encrypted secret key
+        final byte[] encryptedSecretKey = getEncryptedSecretKey(secretKey);
+        output.write(encryptedSecretKey.length / 8);
+        output.write(encryptedSecretKey);
+        return new SecretKeySpec(secretKey.getEncoded(), ALGORITHM);
     }
 
     @Override
-    public void decrypt(@Nonnull final InputStream input, @Nonnull final OutputStream output) {
-        Objects.requireNonNull(input);
-        Objects.requireNonNull(output);
-        try {
-            // Read the encrypted key value
-            final int encryptedKeyLength = input.read() * 8;
-            final byte[] encryptedKey = new byte[encryptedKeyLength];
-            int keyRead = 0;
-            while (keyRead < encryptedKeyLength) {
-                keyRead += input.read(encryptedKey, keyRead, encryptedKeyLength - keyRead);
-            }
-
-            final SecretKeySpec secretKey = getDecryptedSecretKey(encryptedKey);
-
-            final Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-
-            // Read data from input into buffer, decrypt and write to output
-            apply(cipher, input, output);
-        } catch (final Exception exception) {
-            throw new InternalServerErrorException("Failed to decrypt data", exception);
+    @Nonnull
+    protected SecretKey readKeyHeader(@Nonnull final InputStream input) throws Exception {
+        // Read the encrypted key value
+        final int encryptedKeyLength = input.read() * 8;
+        final byte[] encryptedKey = new byte[encryptedKeyLength];
+        int keyRead = 0;
+        while (keyRead < encryptedKeyLength) {
+            keyRead += input.read(encryptedKey, keyRead, encryptedKeyLength - keyRead);
         }
+        return getDecryptedSecretKey(encryptedKey);
+    }
+
+    @Override
+    @Nonnull
+    protected Cipher initEncrypt(@Nonnull final OutputStream output) throws Exception {
+        // First, write the secret key into the output in one operation
+        final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        final SecretKey secretKey = writeKeyHeader(header);
+        output.write(header.toByteArray());
+
+        final Cipher cipher = acquireCipher(ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+        return cipher;
+    }
+
+    @Override
+    @Nonnull
+    protected Cipher initDecrypt(@Nonnull final InputStream input) throws Exception {
+        final SecretKey secretKey = readKeyHeader(input);
+
+        final Cipher cipher = acquireCipher(ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, secretKey);
+        return cipher;
     }
 
     @Override
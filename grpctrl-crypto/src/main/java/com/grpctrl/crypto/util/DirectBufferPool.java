@@ -0,0 +1,82 @@
+package com.grpctrl.crypto.util;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Maintains a bounded pool of fixed-size direct {@link ByteBuffer} objects. Direct buffers are expensive to allocate
+ * and release, so they are retained here for reuse instead of being allocated for each operation.
+ */
+public class DirectBufferPool {
+    private final int bufferSize;
+
+    @Nonnull
+    private final BlockingQueue<ByteBuffer> pool;
+
+    /**
+     * @param bufferSize the capacity of each of the buffers in the pool, in bytes
+     * @param maxPooled the maximum number of idle buffers to keep in the pool
+     *
+     * @throws IllegalArgumentException if either of the parameters are not positive
+     */
+    public DirectBufferPool(final int bufferSize, final int maxPooled) {
+        if (bufferSize < 1 || maxPooled < 1) {
+            throw new IllegalArgumentException("Buffer size and pool size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.pool = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * @return the capacity of each of the buffers in the pool, in bytes
+     */
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * @return the number of idle buffers currently available in the pool
+     */
+    public int getAvailable() {
+        return this.pool.size();
+    }
+
+    /**
+     * Retrieve a cleared buffer from the pool, allocating a new one if the pool is empty.
+     *
+     * @return a cleared direct buffer, which should be returned to the pool via {@link #release} when no longer needed
+     */
+    @Nonnull
+    public ByteBuffer acquire() {
+        final ByteBuffer buffer = this.pool.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(this.bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer to the pool. Buffers not created by this pool are ignored, as are buffers released when the pool
+     * is already full.
+     *
+     * @param buffer the buffer to return to the pool
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     */
+    @SuppressFBWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
+            justification = "buffers released when the pool is full are left to the garbage collector")
+    public void release(@Nonnull final ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        if (buffer.isDirect() && buffer.capacity() == this.bufferSize) {
+            buffer.clear();
+            this.pool.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.grpctrl.crypto.password;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.servlets.MetricsServlet;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.grpctrl.common.supplier.MetricRegistrySupplier;
+
+import org.glassfish.hk2.api.DynamicConfiguration;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.servlet.ServletContext;
+
+/**
+ * Perform testing on the {@link PasswordHasherSupplier}.
+ */
+public class PasswordHasherSupplierTest {
+    private static PasswordHasherSupplier supplier = null;
+
+    @BeforeClass
+    public static void beforeClass() {
+        final ServletContext servletContext = Mockito.mock(ServletContext.class);
+        Mockito.when(servletContext.getAttribute(MetricsServlet.METRICS_REGISTRY)).thenReturn(new MetricRegistry());
+
+        supplier = new PasswordHasherSupplier(new ConfigSupplier(), new MetricRegistrySupplier(servletContext));
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        supplier.dispose(supplier.get());
+    }
+
+    @Test
+    public void testGet() {
+        assertNotNull(supplier.get());
+        assertEquals("PBKDF2WithHmacSHA512", supplier.get().getHashAlgorithm());
+    }
+
+    @Test
+    public void testGetContext() {
+        assertNotNull(supplier.getContext(getClass()));
+    }
+
+    @Test
+    public void testProvide() {
+        assertNotNull(supplier.provide());
+    }
+
+    @Test
+    public void testBinder() {
+        // Nothing to really test here.
+        new PasswordHasherSupplier.Binder().bind(Mockito.mock(DynamicConfiguration.class));
+    }
+}
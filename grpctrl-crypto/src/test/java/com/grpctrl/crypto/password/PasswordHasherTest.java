@@ -0,0 +1,124 @@
+package com.grpctrl.crypto.password;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.grpctrl.common.model.UserAuth;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.ServiceUnavailableException;
+
+/**
+ * Perform testing on the {@link PasswordHasher} class.
+ */
+public class PasswordHasherTest {
+    private static Map<String, Integer> getHashCosts() {
+        final Map<String, Integer> hashCosts = new HashMap<>();
+        hashCosts.put("SHA-512", 1);
+        hashCosts.put("PBKDF2WithHmacSHA1", 1000);
+        return hashCosts;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingHashCost() {
+        new PasswordHasher("MD5", getHashCosts(), 1, 1, 1000, new MetricRegistry());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreads() {
+        new PasswordHasher("SHA-512", getHashCosts(), 0, 1, 1000, new MetricRegistry());
+    }
+
+    @Test
+    public void testHashAndValidate() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final PasswordHasher hasher =
+                new PasswordHasher("PBKDF2WithHmacSHA1", getHashCosts(), 2, 10, 5000, metricRegistry);
+        try {
+            assertEquals("PBKDF2WithHmacSHA1", hasher.getHashAlgorithm());
+            assertEquals(Optional.of(1000), hasher.getHashCost("PBKDF2WithHmacSHA1"));
+            assertEquals(Optional.empty(), hasher.getHashCost("MD5"));
+
+            final UserAuth userAuth = hasher.hash("password");
+            assertEquals("PBKDF2WithHmacSHA1", userAuth.getHashAlgorithm());
+            assertEquals(1000, userAuth.getHashCost());
+            assertTrue(hasher.validate(userAuth, "password"));
+            assertFalse(hasher.validate(userAuth, "wrong"));
+
+            final String timerName = MetricRegistry.name(PasswordHasher.class, "validate", "PBKDF2WithHmacSHA1");
+            assertEquals(2, metricRegistry.timer(timerName).getCount());
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    public void testNeedsRehash() {
+        final PasswordHasher hasher =
+                new PasswordHasher("PBKDF2WithHmacSHA1", getHashCosts(), 1, 1, 1000, new MetricRegistry());
+        try {
+            assertTrue(hasher.needsRehash(UserAuth.fromPassword("SHA-512", "password")));
+            assertTrue(hasher.needsRehash(new UserAuth("PBKDF2WithHmacSHA1", 999, "salt", "hash")));
+            assertFalse(hasher.needsRehash(new UserAuth("PBKDF2WithHmacSHA1", 1000, "salt", "hash")));
+            assertFalse(hasher.needsRehash(new UserAuth("PBKDF2WithHmacSHA1", 2000, "salt", "hash")));
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    public void testRehash() throws InterruptedException {
+        final PasswordHasher hasher =
+                new PasswordHasher("PBKDF2WithHmacSHA1", getHashCosts(), 1, 1, 1000, new MetricRegistry());
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final AtomicReference<UserAuth> upgraded = new AtomicReference<>();
+            hasher.rehash("password", userAuth -> {
+                upgraded.set(userAuth);
+                latch.countDown();
+            });
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals("PBKDF2WithHmacSHA1", upgraded.get().getHashAlgorithm());
+            assertTrue(upgraded.get().validate("password"));
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test(expected = ServiceUnavailableException.class)
+    public void testRejected() throws InterruptedException {
+        final PasswordHasher hasher =
+                new PasswordHasher("SHA-512", getHashCosts(), 1, 1, 1000, new MetricRegistry());
+        final CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            // Occupy the only thread and the only queue slot so the next request is rejected.
+            final CountDownLatch started = new CountDownLatch(1);
+            hasher.rehash("password", userAuth -> {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (final InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            hasher.rehash("password", userAuth -> { });
+
+            hasher.validate(UserAuth.fromPassword("password"), "password");
+        } finally {
+            blocker.countDown();
+            hasher.shutdown();
+        }
+    }
+}
@@ -3,14 +3,25 @@ package com.grpctrl.crypto.pbe.impl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.grpctrl.crypto.util.HexUtils;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Random;
 
 import javax.ws.rs.InternalServerErrorException;
 
@@ -205,4 +216,257 @@ public class AESPasswordBasedEncryptionTest {
 
         aes.decrypt(input, output);
     }
+
+    @Test
+    public void testKeyCache() {
+        final AESPasswordBasedEncryption aes = new AESPasswordBasedEncryption("password".toCharArray(), 1);
+
+        // Keys derived during encryption use a new salt every time, so they are not cached.
+        final String first = aes.encryptProperty("first", StandardCharsets.UTF_8);
+        assertEquals(0, aes.getKeyCache().size());
+        assertEquals("first", aes.decryptProperty(first, StandardCharsets.UTF_8));
+        assertEquals(1, aes.getKeyCache().size());
+
+        // The cache is bounded, so decrypting with a new salt evicts the first key.
+        final String second = aes.encryptProperty("second", StandardCharsets.UTF_8);
+        assertEquals(1, aes.getKeyCache().size());
+        assertEquals("second", aes.decryptProperty(second, StandardCharsets.UTF_8));
+        assertEquals(1, aes.getKeyCache().size());
+        assertEquals("first", aes.decryptProperty(first, StandardCharsets.UTF_8));
+
+        aes.clearKeys();
+        assertEquals(0, aes.getKeyCache().size());
+    }
+
+    @Test
+    public void testKeyCacheDisabled() {
+        final AESPasswordBasedEncryption aes = new AESPasswordBasedEncryption("password".toCharArray(), 0);
+
+        final String encrypted = aes.encryptProperty("original", StandardCharsets.UTF_8);
+        assertEquals("original", aes.decryptProperty(encrypted, StandardCharsets.UTF_8));
+        assertEquals(0, aes.getKeyCache().size());
+    }
+
+    @Test
+    public void testWarmup() {
+        final AESPasswordBasedEncryption aes1 = new AESPasswordBasedEncryption("password".toCharArray());
+        final AESPasswordBasedEncryption aes2 = new AESPasswordBasedEncryption("password".toCharArray());
+
+        final String first = aes1.encryptProperty("first", StandardCharsets.UTF_8);
+        final String second = aes1.encryptProperty("second", StandardCharsets.UTF_8);
+
+        aes2.warmup(Arrays.asList(first, second, "not encrypted"));
+        assertEquals(2, aes2.getKeyCache().size());
+
+        assertEquals("first", aes2.decryptProperty(first, StandardCharsets.UTF_8));
+        assertEquals("second", aes2.decryptProperty(second, StandardCharsets.UTF_8));
+        assertEquals(2, aes2.getKeyCache().size());
+    }
+
+    @Test
+    public void testWarmupRetainedAfterEncryption() {
+        final AESPasswordBasedEncryption aes = new AESPasswordBasedEncryption("password".toCharArray(), 2);
+
+        final String first = aes.encryptProperty("first", StandardCharsets.UTF_8);
+        final String second = aes.encryptProperty("second", StandardCharsets.UTF_8);
+        aes.warmup(Arrays.asList(first, second));
+        assertEquals(2, aes.getKeyCache().size());
+
+        // Encrypting more values than the cache holds does not evict the warmed keys.
+        for (int i = 0; i < 3; i++) {
+            aes.encryptProperty("value" + i, StandardCharsets.UTF_8);
+        }
+        assertEquals(2, aes.getKeyCache().size());
+        for (final String property : Arrays.asList(first, second)) {
+            final byte[] encrypted = HexUtils.hexToBytes(property.substring(4, property.length() - 1));
+            assertTrue(aes.getKeyCache().get(encrypted[0] * 8, Arrays.copyOfRange(encrypted, 1, 17)).isPresent());
+        }
+    }
+
+    @Test
+    public void testRoundTripChannelAES() throws IOException {
+        final AESPasswordBasedEncryption enc = new AESPasswordBasedEncryption("password".toCharArray());
+
+        // Larger than the direct buffers used internally, to exercise multiple chunks.
+        final byte[] original = new byte[200 * 1024 + 7];
+        new Random().nextBytes(original);
+
+        final File plain = File.createTempFile("plain-", ".dat");
+        final File encrypted = File.createTempFile("encrypted-", ".dat");
+        final File decrypted = File.createTempFile("decrypted-", ".dat");
+        try {
+            Files.write(plain.toPath(), original);
+            try (final FileChannel input = FileChannel.open(plain.toPath(), StandardOpenOption.READ);
+                 final FileChannel output = FileChannel.open(encrypted.toPath(), StandardOpenOption.WRITE)) {
+                enc.encrypt(input, output);
+            }
+            try (final FileChannel input = FileChannel.open(encrypted.toPath(), StandardOpenOption.READ);
+                 final FileChannel output = FileChannel.open(decrypted.toPath(), StandardOpenOption.WRITE)) {
+                enc.decrypt(input, output);
+            }
+
+            assertTrue(Objects.deepEquals(original, Files.readAllBytes(decrypted.toPath())));
+        } finally {
+            assertTrue(plain.delete());
+            assertTrue(encrypted.delete());
+            assertTrue(decrypted.delete());
+        }
+    }
+
+    @Test
+    public void testRoundTripChannelCompatibleWithStreamAES() {
+        final AESPasswordBasedEncryption enc = new AESPasswordBasedEncryption("password".toCharArray());
+
+        final byte[] original = "original data".getBytes(StandardCharsets.UTF_8);
+
+        // Data encrypted via channels can be decrypted via streams, and the other way around.
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encrypt(Channels.newChannel(new ByteArrayInputStream(original)), Channels.newChannel(encryptedOutput));
+        assertTrue(Objects.deepEquals(original, enc.decrypt(encryptedOutput.toByteArray())));
+
+        final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+        enc.decrypt(Channels.newChannel(new ByteArrayInputStream(enc.encrypt(original))),
+                Channels.newChannel(decryptedOutput));
+        assertTrue(Objects.deepEquals(original, decryptedOutput.toByteArray()));
+    }
+
+    @Test
+    public void testRoundTripByteBufferAES() {
+        final AESPasswordBasedEncryption enc = new AESPasswordBasedEncryption("password".toCharArray());
+
+        final byte[] original = new byte[150 * 1024 + 3];
+        new Random().nextBytes(original);
+
+        final ByteBuffer input = ByteBuffer.allocateDirect(original.length);
+        input.put(original).flip();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encrypt(input, Channels.newChannel(encryptedOutput));
+        assertEquals(0, input.remaining());
+
+        final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+        enc.decrypt(ByteBuffer.wrap(encryptedOutput.toByteArray()), Channels.newChannel(decryptedOutput));
+        assertTrue(Objects.deepEquals(original, decryptedOutput.toByteArray()));
+    }
+
+    @Test
+    public void testRoundTripByteBufferEmptyAES() {
+        final AESPasswordBasedEncryption enc = new AESPasswordBasedEncryption("password".toCharArray());
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encrypt(ByteBuffer.allocate(0), Channels.newChannel(encryptedOutput));
+
+        final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+        enc.decrypt(ByteBuffer.wrap(encryptedOutput.toByteArray()), Channels.newChannel(decryptedOutput));
+        assertEquals(0, decryptedOutput.size());
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptByteBufferThrowsExceptionAES() {
+        final AESPasswordBasedEncryption enc = new AESPasswordBasedEncryption("password".toCharArray());
+
+        enc.decrypt(ByteBuffer.wrap(new byte[] {1, 2, 3}), Channels.newChannel(new ByteArrayOutputStream()));
+    }
+
+    private AESPasswordBasedEncryption segmentedAES() {
+        // Use small segments so that tests cover multiple segments without large payloads.
+        return new AESPasswordBasedEncryption("password".toCharArray()) {
+            @Override
+            protected int getSegmentSize() {
+                return 1000;
+            }
+        };
+    }
+
+    @Test
+    public void testRoundTripSegmentedAES() {
+        final AESPasswordBasedEncryption enc = segmentedAES();
+
+        for (final int size : new int[] {0, 1, 999, 1000, 1001, 10005}) {
+            final byte[] original = new byte[size];
+            new Random().nextBytes(original);
+
+            final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+            enc.encryptSegmented(new ByteArrayInputStream(original), encryptedOutput);
+
+            final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+            enc.decryptSegmented(new ByteArrayInputStream(encryptedOutput.toByteArray()), decryptedOutput);
+            assertTrue(Objects.deepEquals(original, decryptedOutput.toByteArray()));
+        }
+    }
+
+    @Test
+    public void testDecryptSegmentRandomAccessAES() throws IOException {
+        final AESPasswordBasedEncryption enc = segmentedAES();
+
+        final byte[] original = new byte[3500];
+        new Random().nextBytes(original);
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(original), encryptedOutput);
+
+        final Path encrypted = Files.createTempFile("segmented-", ".dat");
+        try {
+            Files.write(encrypted, encryptedOutput.toByteArray());
+            try (final FileChannel input = FileChannel.open(encrypted, StandardOpenOption.READ)) {
+                assertEquals(4, enc.getSegmentCount(input));
+                assertTrue(Objects.deepEquals(Arrays.copyOfRange(original, 3000, 3500), enc.decryptSegment(input, 3)));
+                assertTrue(Objects.deepEquals(Arrays.copyOfRange(original, 1000, 2000), enc.decryptSegment(input, 1)));
+            }
+        } finally {
+            Files.delete(encrypted);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecryptSegmentInvalidIndexAES() throws IOException {
+        final AESPasswordBasedEncryption enc = segmentedAES();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(new byte[1500]), encryptedOutput);
+
+        final Path encrypted = Files.createTempFile("segmented-", ".dat");
+        try {
+            Files.write(encrypted, encryptedOutput.toByteArray());
+            try (final FileChannel input = FileChannel.open(encrypted, StandardOpenOption.READ)) {
+                enc.decryptSegment(input, 2);
+            }
+        } finally {
+            Files.delete(encrypted);
+        }
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptSegmentedTruncatedAES() {
+        final AESPasswordBasedEncryption enc = segmentedAES();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(new byte[2500]), encryptedOutput);
+
+        // Drop the final segment (500 bytes of data plus the 16-byte tag), leaving only complete segments.
+        final byte[] encrypted = encryptedOutput.toByteArray();
+        final byte[] truncated = Arrays.copyOf(encrypted, encrypted.length - 516);
+
+        enc.decryptSegmented(new ByteArrayInputStream(truncated), new ByteArrayOutputStream());
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptSegmentedTamperedAES() {
+        final AESPasswordBasedEncryption enc = segmentedAES();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(new byte[2500]), encryptedOutput);
+
+        final byte[] encrypted = encryptedOutput.toByteArray();
+        encrypted[encrypted.length - 600] ^= 1;
+
+        enc.decryptSegmented(new ByteArrayInputStream(encrypted), new ByteArrayOutputStream());
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptSegmentedLegacyFormatAES() {
+        final AESPasswordBasedEncryption enc = segmentedAES();
+
+        enc.decryptSegmented(new ByteArrayInputStream(enc.encrypt(new byte[10])), new ByteArrayOutputStream());
+    }
 }
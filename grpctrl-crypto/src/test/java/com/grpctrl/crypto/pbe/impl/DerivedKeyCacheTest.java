@@ -0,0 +1,72 @@
+package com.grpctrl.crypto.pbe.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link DerivedKeyCache} class.
+ */
+public class DerivedKeyCacheTest {
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() {
+        new DerivedKeyCache(-1);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final DerivedKeyCache cache = new DerivedKeyCache(2);
+        final byte[] salt = {1, 2, 3};
+        final byte[] key = {4, 5, 6};
+
+        assertFalse(cache.get(128, salt).isPresent());
+        cache.put(128, salt, key);
+
+        final Optional<byte[]> cached = cache.get(128, new byte[] {1, 2, 3});
+        assertTrue(cached.isPresent());
+        assertArrayEquals(key, cached.get());
+        assertFalse(cache.get(256, salt).isPresent());
+
+        // The returned value is a copy, modifying it should not change the cache.
+        cached.get()[0] = 0;
+        assertArrayEquals(key, cache.get(128, salt).get());
+    }
+
+    @Test
+    public void testEviction() {
+        final DerivedKeyCache cache = new DerivedKeyCache(2);
+        cache.put(128, new byte[] {1}, new byte[] {1});
+        cache.put(128, new byte[] {2}, new byte[] {2});
+
+        // Access the first key so the second becomes the least-recently-used.
+        assertTrue(cache.get(128, new byte[] {1}).isPresent());
+        cache.put(128, new byte[] {3}, new byte[] {3});
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getMaxSize());
+        assertTrue(cache.get(128, new byte[] {1}).isPresent());
+        assertFalse(cache.get(128, new byte[] {2}).isPresent());
+        assertTrue(cache.get(128, new byte[] {3}).isPresent());
+    }
+
+    @Test
+    public void testDisabled() {
+        final DerivedKeyCache cache = new DerivedKeyCache(0);
+        cache.put(128, new byte[] {1}, new byte[] {1});
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testClear() {
+        final DerivedKeyCache cache = new DerivedKeyCache(2);
+        cache.put(128, new byte[] {1}, new byte[] {1});
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertFalse(cache.get(128, new byte[] {1}).isPresent());
+    }
+}
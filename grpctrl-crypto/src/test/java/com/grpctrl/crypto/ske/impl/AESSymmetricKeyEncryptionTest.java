@@ -8,14 +8,23 @@ import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Random;
 
 import javax.ws.rs.InternalServerErrorException;
 
@@ -287,4 +296,191 @@ public class AESSymmetricKeyEncryptionTest {
         final AESSymmetricKeyEncryption ske = new AESSymmetricKeyEncryption(getKeyPair());
         ske.createSecretKey(-1);
     }
+
+    @Test
+    public void testRoundTripChannel() throws IOException {
+        final AESSymmetricKeyEncryption enc = new AESSymmetricKeyEncryption(getKeyPair());
+
+        // Larger than the direct buffers used internally, to exercise multiple chunks.
+        final byte[] original = new byte[200 * 1024 + 7];
+        new Random().nextBytes(original);
+
+        final File plain = File.createTempFile("plain-", ".dat");
+        final File encrypted = File.createTempFile("encrypted-", ".dat");
+        final File decrypted = File.createTempFile("decrypted-", ".dat");
+        try {
+            Files.write(plain.toPath(), original);
+            try (final FileChannel input = FileChannel.open(plain.toPath(), StandardOpenOption.READ);
+                 final FileChannel output = FileChannel.open(encrypted.toPath(), StandardOpenOption.WRITE)) {
+                enc.encrypt(input, output);
+            }
+            try (final FileChannel input = FileChannel.open(encrypted.toPath(), StandardOpenOption.READ);
+                 final FileChannel output = FileChannel.open(decrypted.toPath(), StandardOpenOption.WRITE)) {
+                enc.decrypt(input, output);
+            }
+
+            assertTrue(Objects.deepEquals(original, Files.readAllBytes(decrypted.toPath())));
+        } finally {
+            assertTrue(plain.delete());
+            assertTrue(encrypted.delete());
+            assertTrue(decrypted.delete());
+        }
+    }
+
+    @Test
+    public void testRoundTripChannelCompatibleWithStream() {
+        final AESSymmetricKeyEncryption enc = new AESSymmetricKeyEncryption(getKeyPair());
+
+        final byte[] original = "original data".getBytes(StandardCharsets.UTF_8);
+
+        // Data encrypted via channels can be decrypted via streams, and the other way around.
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encrypt(Channels.newChannel(new ByteArrayInputStream(original)), Channels.newChannel(encryptedOutput));
+        assertTrue(Objects.deepEquals(original, enc.decrypt(encryptedOutput.toByteArray())));
+
+        final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+        enc.decrypt(Channels.newChannel(new ByteArrayInputStream(enc.encrypt(original))),
+                Channels.newChannel(decryptedOutput));
+        assertTrue(Objects.deepEquals(original, decryptedOutput.toByteArray()));
+    }
+
+    @Test
+    public void testRoundTripByteBuffer() {
+        final AESSymmetricKeyEncryption enc = new AESSymmetricKeyEncryption(getKeyPair());
+
+        final byte[] original = new byte[150 * 1024 + 3];
+        new Random().nextBytes(original);
+
+        final ByteBuffer input = ByteBuffer.allocateDirect(original.length);
+        input.put(original).flip();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encrypt(input, Channels.newChannel(encryptedOutput));
+        assertEquals(0, input.remaining());
+
+        final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+        enc.decrypt(ByteBuffer.wrap(encryptedOutput.toByteArray()), Channels.newChannel(decryptedOutput));
+        assertTrue(Objects.deepEquals(original, decryptedOutput.toByteArray()));
+    }
+
+    @Test
+    public void testRoundTripByteBufferEmpty() {
+        final AESSymmetricKeyEncryption enc = new AESSymmetricKeyEncryption(getKeyPair());
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encrypt(ByteBuffer.allocate(0), Channels.newChannel(encryptedOutput));
+
+        final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+        enc.decrypt(ByteBuffer.wrap(encryptedOutput.toByteArray()), Channels.newChannel(decryptedOutput));
+        assertEquals(0, decryptedOutput.size());
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptByteBufferThrowsException() {
+        final AESSymmetricKeyEncryption enc = new AESSymmetricKeyEncryption(getKeyPair());
+
+        enc.decrypt(ByteBuffer.wrap(new byte[] {1, 2, 3}), Channels.newChannel(new ByteArrayOutputStream()));
+    }
+
+    private AESSymmetricKeyEncryption segmented() {
+        // Use small segments so that tests cover multiple segments without large payloads.
+        return new AESSymmetricKeyEncryption(getKeyPair()) {
+            @Override
+            protected int getSegmentSize() {
+                return 1000;
+            }
+        };
+    }
+
+    @Test
+    public void testRoundTripSegmented() {
+        final AESSymmetricKeyEncryption enc = segmented();
+
+        for (final int size : new int[] {0, 1, 999, 1000, 1001, 10005}) {
+            final byte[] original = new byte[size];
+            new Random().nextBytes(original);
+
+            final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+            enc.encryptSegmented(new ByteArrayInputStream(original), encryptedOutput);
+
+            final ByteArrayOutputStream decryptedOutput = new ByteArrayOutputStream();
+            enc.decryptSegmented(new ByteArrayInputStream(encryptedOutput.toByteArray()), decryptedOutput);
+            assertTrue(Objects.deepEquals(original, decryptedOutput.toByteArray()));
+        }
+    }
+
+    @Test
+    public void testDecryptSegmentRandomAccess() throws IOException {
+        final AESSymmetricKeyEncryption enc = segmented();
+
+        final byte[] original = new byte[3500];
+        new Random().nextBytes(original);
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(original), encryptedOutput);
+
+        final Path encrypted = Files.createTempFile("segmented-", ".dat");
+        try {
+            Files.write(encrypted, encryptedOutput.toByteArray());
+            try (final FileChannel input = FileChannel.open(encrypted, StandardOpenOption.READ)) {
+                assertEquals(4, enc.getSegmentCount(input));
+                assertTrue(Objects.deepEquals(Arrays.copyOfRange(original, 3000, 3500), enc.decryptSegment(input, 3)));
+                assertTrue(Objects.deepEquals(Arrays.copyOfRange(original, 1000, 2000), enc.decryptSegment(input, 1)));
+            }
+        } finally {
+            Files.delete(encrypted);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecryptSegmentInvalidIndex() throws IOException {
+        final AESSymmetricKeyEncryption enc = segmented();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(new byte[1500]), encryptedOutput);
+
+        final Path encrypted = Files.createTempFile("segmented-", ".dat");
+        try {
+            Files.write(encrypted, encryptedOutput.toByteArray());
+            try (final FileChannel input = FileChannel.open(encrypted, StandardOpenOption.READ)) {
+                enc.decryptSegment(input, 2);
+            }
+        } finally {
+            Files.delete(encrypted);
+        }
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptSegmentedTruncated() {
+        final AESSymmetricKeyEncryption enc = segmented();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(new byte[2500]), encryptedOutput);
+
+        // Drop the final segment (500 bytes of data plus the 16-byte tag), leaving only complete segments.
+        final byte[] encrypted = encryptedOutput.toByteArray();
+        final byte[] truncated = Arrays.copyOf(encrypted, encrypted.length - 516);
+
+        enc.decryptSegmented(new ByteArrayInputStream(truncated), new ByteArrayOutputStream());
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptSegmentedTampered() {
+        final AESSymmetricKeyEncryption enc = segmented();
+
+        final ByteArrayOutputStream encryptedOutput = new ByteArrayOutputStream();
+        enc.encryptSegmented(new ByteArrayInputStream(new byte[2500]), encryptedOutput);
+
+        final byte[] encrypted = encryptedOutput.toByteArray();
+        encrypted[encrypted.length - 600] ^= 1;
+
+        enc.decryptSegmented(new ByteArrayInputStream(encrypted), new ByteArrayOutputStream());
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testDecryptSegmentedLegacyFormat() {
+        final AESSymmetricKeyEncryption enc = segmented();
+
+        enc.decryptSegmented(new ByteArrayInputStream(enc.encrypt(new byte[10])), new ByteArrayOutputStream());
+    }
 }
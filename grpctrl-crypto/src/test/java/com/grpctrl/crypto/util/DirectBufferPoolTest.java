@@ -0,0 +1,68 @@
+package com.grpctrl.crypto.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Perform testing on the {@link DirectBufferPool} class.
+ */
+public class DirectBufferPoolTest {
+    @Test
+    public void testAcquireRelease() {
+        final DirectBufferPool pool = new DirectBufferPool(128, 2);
+        assertEquals(128, pool.getBufferSize());
+        assertEquals(0, pool.getAvailable());
+
+        final ByteBuffer buffer = pool.acquire();
+        assertTrue(buffer.isDirect());
+        assertEquals(128, buffer.capacity());
+
+        buffer.put((byte) 1).flip();
+        pool.release(buffer);
+        assertEquals(1, pool.getAvailable());
+
+        final ByteBuffer reused = pool.acquire();
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(128, reused.limit());
+        assertEquals(0, pool.getAvailable());
+    }
+
+    @Test
+    public void testReleaseBounded() {
+        final DirectBufferPool pool = new DirectBufferPool(128, 1);
+
+        final ByteBuffer first = pool.acquire();
+        final ByteBuffer second = pool.acquire();
+        assertNotSame(first, second);
+
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.getAvailable());
+    }
+
+    @Test
+    public void testReleaseForeignBuffers() {
+        final DirectBufferPool pool = new DirectBufferPool(128, 2);
+
+        pool.release(ByteBuffer.allocate(128));
+        pool.release(ByteBuffer.allocateDirect(64));
+        assertEquals(0, pool.getAvailable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBufferSize() {
+        new DirectBufferPool(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPoolSize() {
+        new DirectBufferPool(1, 0);
+    }
+}
@@ -1,9 +1,19 @@
 package com.grpctrl.db;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Charsets;
 import com.grpctrl.common.config.ConfigKeys;
 import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.crypto.pbe.PasswordBasedEncryptionSupplier;
+import com.grpctrl.db.metrics.DaoMetrics;
+import com.grpctrl.db.metrics.SlowQueryLog;
 import com.typesafe.config.Config;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
@@ -13,6 +23,7 @@ import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
@@ -24,17 +35,31 @@ import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
 
 /**
- * Provides singleton access to a {@link DataSource} used to communicate with the configured JDBC database.
+ * Provides singleton access to a {@link DataSource} used to communicate with the configured JDBC database. The data
+ * source records connection pool and DAO metrics, which are made available in the shared {@link MetricRegistry} once
+ * it has been provided via {@link #registerMetrics(MetricRegistry)}. Slow statements are captured in the
+ * {@link SlowQueryLog} available from {@link #getSlowQueryLog()}.
  */
 @Provider
 public class DataSourceSupplier implements Supplier<DataSource>, Factory<DataSource>, ContextResolver<DataSource> {
+    /** The name of the connection pool, used as the prefix of the connection pool metric names. */
+    public static final String POOL_NAME = "grpctrl";
+
     @Nonnull
     private final ConfigSupplier configSupplier;
     @Nonnull
     private final PasswordBasedEncryptionSupplier pbeSupplier;
 
+    // The database metrics are recorded here from the start, and forwarded to the shared registry once available.
+    @Nonnull
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    @Nonnull
+    private final DaoMetrics daoMetrics = new DaoMetrics(this.metricRegistry);
+
     @Nullable
     private volatile DataSource singleton;
+    @Nullable
+    private volatile SlowQueryLog slowQueryLog;
 
     /**
      * Create the supplier with the necessary dependencies.
@@ -85,6 +110,36 @@ public class DataSourceSupplier implements Supplier<DataSource>, Factory<DataSou
         // No need to do anything here.
     }
 
+    /**
+     * @return the metrics used to record the database work performed by the DAO implementations
+     */
+    @Nonnull
+    public DaoMetrics getDaoMetrics() {
+        return this.daoMetrics;
+    }
+
+    /**
+     * @return the log holding the most recent slow statements executed through the data source
+     */
+    @Nonnull
+    public SlowQueryLog getSlowQueryLog() {
+        // The slow query log is created along with the data source.
+        get();
+        return Objects.requireNonNull(this.slowQueryLog);
+    }
+
+    /**
+     * Make the connection pool and DAO metrics available in the provided registry, including any metrics created
+     * after this call.
+     *
+     * @param target the shared registry into which the database metrics are registered
+     *
+     * @throws NullPointerException if the provided parameter is {@code null}
+     */
+    public void registerMetrics(@Nonnull final MetricRegistry target) {
+        this.metricRegistry.addListener(new ForwardingListener(Objects.requireNonNull(target)));
+    }
+
     @Nonnull
     private DataSource create() {
         final Config config = this.configSupplier.get();
@@ -99,6 +154,8 @@ public class DataSourceSupplier implements Supplier<DataSource>, Factory<DataSou
         hikariConfig.setIdleTimeout(config.getDuration(ConfigKeys.DB_TIMEOUT_IDLE.getKey()).toMillis());
         hikariConfig.setConnectionTimeout(config.getDuration(ConfigKeys.DB_TIMEOUT_CONNECTION.getKey()).toMillis());
         hikariConfig.setAutoCommit(false);
+        hikariConfig.setPoolName(POOL_NAME);
+        hikariConfig.setMetricRegistry(this.metricRegistry);
 
         final HikariDataSource dataSource = new HikariDataSource(hikariConfig);
 
@@ -112,7 +169,82 @@ public class DataSourceSupplier implements Supplier<DataSource>, Factory<DataSou
             flyway.migrate();
         }
 
-        return dataSource;
+        // Slow queries are explained using connections from the pool that are not instrumented, so the explains are
+        // not recorded as slow queries themselves.
+        final SlowQueryLog slowQueries = new SlowQueryLog(
+                config.getDuration(ConfigKeys.DB_SLOW_QUERY_THRESHOLD.getKey(), TimeUnit.NANOSECONDS),
+                config.getDouble(ConfigKeys.DB_SLOW_QUERY_EXPLAIN_SAMPLE_RATE.getKey()),
+                config.getInt(ConfigKeys.DB_SLOW_QUERY_HISTORY_SIZE.getKey()),
+                (int) config.getDuration(ConfigKeys.DB_SLOW_QUERY_EXPLAIN_TIMEOUT.getKey(), TimeUnit.SECONDS),
+                dataSource, this.metricRegistry);
+        this.slowQueryLog = slowQueries;
+        return this.daoMetrics.instrument(dataSource, slowQueries);
+    }
+
+    private static class ForwardingListener implements MetricRegistryListener {
+        @Nonnull
+        private final MetricRegistry target;
+
+        ForwardingListener(@Nonnull final MetricRegistry target) {
+            this.target = target;
+        }
+
+        private void add(@Nonnull final String name, @Nonnull final Metric metric) {
+            // Metrics registered previously are left in place.
+            if (!this.target.getMetrics().containsKey(name)) {
+                this.target.register(name, metric);
+            }
+        }
+
+        @Override
+        public void onGaugeAdded(@Nonnull final String name, @Nonnull final Gauge<?> gauge) {
+            add(name, gauge);
+        }
+
+        @Override
+        public void onGaugeRemoved(@Nonnull final String name) {
+            this.target.remove(name);
+        }
+
+        @Override
+        public void onCounterAdded(@Nonnull final String name, @Nonnull final Counter counter) {
+            add(name, counter);
+        }
+
+        @Override
+        public void onCounterRemoved(@Nonnull final String name) {
+            this.target.remove(name);
+        }
+
+        @Override
+        public void onHistogramAdded(@Nonnull final String name, @Nonnull final Histogram histogram) {
+            add(name, histogram);
+        }
+
+        @Override
+        public void onHistogramRemoved(@Nonnull final String name) {
+            this.target.remove(name);
+        }
+
+        @Override
+        public void onMeterAdded(@Nonnull final String name, @Nonnull final Meter meter) {
+            add(name, meter);
+        }
+
+        @Override
+        public void onMeterRemoved(@Nonnull final String name) {
+            this.target.remove(name);
+        }
+
+        @Override
+        public void onTimerAdded(@Nonnull final String name, @Nonnull final Timer timer) {
+            add(name, timer);
+        }
+
+        @Override
+        public void onTimerRemoved(@Nonnull final String name) {
+            this.target.remove(name);
+        }
     }
 
     /**
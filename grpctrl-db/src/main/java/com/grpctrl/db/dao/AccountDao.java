@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
@@ -50,6 +51,19 @@ public interface AccountDao {
      */
     Optional<Account> get(@Nonnull ApiLogin apiLogin);
 
+    /**
+     * Retrieve the current data version of the account with the specified unique id. The data version changes whenever
+     * the account, its service level, or any of its groups or tags are modified.
+     *
+     * @param accountId the unique identifier of the account for which the data version will be retrieved
+     *
+     * @return the current data version of the account, if the account exists
+     *
+     * @throws NullPointerException if the parameter is {@code null}
+     * @throws javax.ws.rs.WebApplicationException if there is a problem interacting with the database
+     */
+    OptionalLong getDataVersion(@Nonnull Long accountId);
+
     /**
      * Retrieve all the accounts available for the specified user id.
      *
@@ -35,4 +35,16 @@ public interface UserAuthDao {
      * @throws NullPointerException if either of the parameters are {@code null}
      */
     void add(@Nonnull Connection conn, @Nonnull Collection<User> users);
+
+    /**
+     * Replace the stored user auth information for the specified user, typically after the password has been
+     * re-hashed with a stronger hash algorithm or cost.
+     *
+     * @param conn the {@link Connection} to use when updating the user authorization
+     * @param userId the unique identifier of the user whose authorization is to be updated
+     * @param userAuth the new {@link UserAuth} to store for the user
+     *
+     * @throws NullPointerException if any of the parameters are {@code null}
+     */
+    void update(@Nonnull Connection conn, @Nonnull Long userId, @Nonnull UserAuth userAuth);
 }
@@ -1,6 +1,7 @@
 package com.grpctrl.db.dao;
 
 import com.grpctrl.common.model.User;
+import com.grpctrl.common.model.UserAuth;
 import com.grpctrl.common.model.UserSource;
 
 import java.util.Collection;
@@ -76,6 +77,16 @@ public interface UserDao {
      */
     void add(@Nonnull Collection<User> users);
 
+    /**
+     * Replace the stored password authorization for the user with the specified unique identifier.
+     *
+     * @param userId the unique identifier of the user whose authorization is to be updated
+     * @param userAuth the new {@link UserAuth} to store for the user
+     *
+     * @throws NullPointerException if either parameter is {@code null}
+     */
+    void updateAuth(@Nonnull Long userId, @Nonnull UserAuth userAuth);
+
     /**
      * Delete the {@link User} object with the specified unique identifier.
      *
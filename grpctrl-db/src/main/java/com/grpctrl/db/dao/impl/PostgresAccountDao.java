@@ -23,6 +23,7 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
@@ -61,7 +62,8 @@ public class PostgresAccountDao implements AccountDao {
         Objects.requireNonNull(consumer);
 
         final String sql =
-                "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth FROM accounts a LEFT JOIN "
+                "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth, s.max_request_rate, "
+                        + "s.max_concurrent_requests FROM accounts a LEFT JOIN "
                         + "service_levels s ON (a.account_id = s.account_id) WHERE a.account_id = ANY (?)";
 
         final DataSource dataSource = this.dataSourceSupplier.get();
@@ -79,6 +81,8 @@ public class PostgresAccountDao implements AccountDao {
                     account.getServiceLevel().setMaxGroups(rs.getInt("max_groups"));
                     account.getServiceLevel().setMaxTags(rs.getInt("max_tags"));
                     account.getServiceLevel().setMaxDepth(rs.getInt("max_depth"));
+                    account.getServiceLevel().setMaxRequestRate(rs.getInt("max_request_rate"));
+                    account.getServiceLevel().setMaxConcurrentRequests(rs.getInt("max_concurrent_requests"));
 
                     consumer.accept(account);
                 }
@@ -93,7 +97,8 @@ public class PostgresAccountDao implements AccountDao {
         Objects.requireNonNull(apiLogin);
 
         final String sql =
-                "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth FROM accounts a LEFT JOIN "
+                "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth, s.max_request_rate, "
+                        + "s.max_concurrent_requests FROM accounts a LEFT JOIN "
                         + "service_levels s ON (a.account_id = s.account_id) LEFT JOIN api_logins l ON "
                         + "(a.account_id = l.account_id) WHERE l.key = ? AND l.secret = ?";
 
@@ -113,6 +118,8 @@ public class PostgresAccountDao implements AccountDao {
                     account.getServiceLevel().setMaxGroups(rs.getInt("max_groups"));
                     account.getServiceLevel().setMaxTags(rs.getInt("max_tags"));
                     account.getServiceLevel().setMaxDepth(rs.getInt("max_depth"));
+                    account.getServiceLevel().setMaxRequestRate(rs.getInt("max_request_rate"));
+                    account.getServiceLevel().setMaxConcurrentRequests(rs.getInt("max_concurrent_requests"));
 
                     return Optional.of(account);
                 }
@@ -124,6 +131,30 @@ public class PostgresAccountDao implements AccountDao {
         return Optional.empty();
     }
 
+    @Override
+    @Nonnull
+    public OptionalLong getDataVersion(@Nonnull final Long accountId) {
+        Objects.requireNonNull(accountId);
+
+        final String sql = "SELECT data_version FROM accounts WHERE account_id = ?";
+
+        final DataSource dataSource = this.dataSourceSupplier.get();
+        try (final Connection conn = dataSource.getConnection();
+             final PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, accountId);
+
+            try (final ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return OptionalLong.of(rs.getLong("data_version"));
+                }
+            }
+        } catch (final SQLException sqlException) {
+            throw ErrorTransformer.get("Failed to get account data version", sqlException);
+        }
+
+        return OptionalLong.empty();
+    }
+
     @Override
     @Nonnull
     public Collection<Account> getForUser(@Nonnull final Long userId) {
@@ -131,7 +162,8 @@ public class PostgresAccountDao implements AccountDao {
 
         final Collection<Account> accounts = new LinkedList<>();
 
-        final String sql = "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth FROM accounts a JOIN "
+        final String sql = "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth, s.max_request_rate, "
+                + "s.max_concurrent_requests FROM accounts a JOIN "
                 + "service_levels s ON (a.account_id = s.account_id) JOIN user_accounts u ON "
                 + "(u.account_id = a.account_id) WHERE u.user_id = ?";
 
@@ -149,6 +181,8 @@ public class PostgresAccountDao implements AccountDao {
                     account.getServiceLevel().setMaxGroups(rs.getInt("max_groups"));
                     account.getServiceLevel().setMaxTags(rs.getInt("max_tags"));
                     account.getServiceLevel().setMaxDepth(rs.getInt("max_depth"));
+                    account.getServiceLevel().setMaxRequestRate(rs.getInt("max_request_rate"));
+                    account.getServiceLevel().setMaxConcurrentRequests(rs.getInt("max_concurrent_requests"));
 
                     accounts.add(account);
                 }
@@ -168,7 +202,8 @@ public class PostgresAccountDao implements AccountDao {
         Objects.requireNonNull(userIds);
 
         final String sql =
-                "SELECT u.user_id, a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth FROM accounts a JOIN "
+                "SELECT u.user_id, a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth, s.max_request_rate, "
+                        + "s.max_concurrent_requests FROM accounts a JOIN "
                         + "service_levels s ON (a.account_id = s.account_id) JOIN user_accounts u ON "
                         + "(u.account_id = a.account_id) WHERE u.user_id = ANY (?)";
 
@@ -186,6 +221,8 @@ public class PostgresAccountDao implements AccountDao {
                     account.getServiceLevel().setMaxGroups(rs.getInt("max_groups"));
                     account.getServiceLevel().setMaxTags(rs.getInt("max_tags"));
                     account.getServiceLevel().setMaxDepth(rs.getInt("max_depth"));
+                    account.getServiceLevel().setMaxRequestRate(rs.getInt("max_request_rate"));
+                    account.getServiceLevel().setMaxConcurrentRequests(rs.getInt("max_concurrent_requests"));
 
                     Collection<Account> accounts = map.get(userId);
                     if (accounts == null) {
@@ -207,7 +244,8 @@ public class PostgresAccountDao implements AccountDao {
     public void getAll(@Nonnull final Consumer<Account> consumer) {
         Objects.requireNonNull(consumer);
 
-        final String sql = "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth FROM accounts a JOIN "
+        final String sql = "SELECT a.account_id, a.name, s.max_groups, s.max_tags, s.max_depth, s.max_request_rate, "
+                + "s.max_concurrent_requests FROM accounts a JOIN "
                 + "service_levels s ON (a.account_id = s.account_id)";
 
         final DataSource dataSource = this.dataSourceSupplier.get();
@@ -224,6 +262,8 @@ public class PostgresAccountDao implements AccountDao {
                 account.getServiceLevel().setMaxGroups(rs.getInt("max_groups"));
                 account.getServiceLevel().setMaxTags(rs.getInt("max_tags"));
                 account.getServiceLevel().setMaxDepth(rs.getInt("max_depth"));
+                account.getServiceLevel().setMaxRequestRate(rs.getInt("max_request_rate"));
+                account.getServiceLevel().setMaxConcurrentRequests(rs.getInt("max_concurrent_requests"));
 
                 consumer.accept(account);
             }
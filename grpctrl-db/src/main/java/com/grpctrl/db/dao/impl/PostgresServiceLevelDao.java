@@ -23,7 +23,8 @@ public class PostgresServiceLevelDao implements ServiceLevelDao {
 
     private static class AddConsumer implements CloseableBiConsumer<Long, ServiceLevel> {
         private static final String SQL =
-                "INSERT INTO service_levels (account_id, max_groups, max_tags, max_depth) VALUES (?, ?, ?, ?)";
+                "INSERT INTO service_levels (account_id, max_groups, max_tags, max_depth, max_request_rate, "
+                        + "max_concurrent_requests) VALUES (?, ?, ?, ?, ?, ?)";
 
         private final PreparedStatement ps;
 
@@ -43,6 +44,8 @@ public class PostgresServiceLevelDao implements ServiceLevelDao {
                 this.ps.setInt(2, serviceLevel.getMaxGroups());
                 this.ps.setInt(3, serviceLevel.getMaxTags());
                 this.ps.setInt(4, serviceLevel.getMaxDepth());
+                this.ps.setInt(5, serviceLevel.getMaxRequestRate());
+                this.ps.setInt(6, serviceLevel.getMaxConcurrentRequests());
                 this.ps.addBatch();
             } catch (final SQLException sqlException) {
                 throw new InternalServerErrorException("Failed to add service level batch", sqlException);
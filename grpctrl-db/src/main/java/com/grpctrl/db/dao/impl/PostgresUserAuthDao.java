@@ -27,7 +27,7 @@ public class PostgresUserAuthDao implements UserAuthDao {
         Objects.requireNonNull(conn);
         Objects.requireNonNull(userIds);
 
-        final String sql = "SELECT user_id, hash_alg, salt, hashed_pass FROM user_auths WHERE user_id = ANY (?)";
+        final String sql = "SELECT user_id, hash_alg, hash_cost, salt, hashed_pass FROM user_auths WHERE user_id = ANY (?)";
 
         final Map<Long, UserAuth> map = new HashMap<>();
         try (final PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -36,10 +36,11 @@ public class PostgresUserAuthDao implements UserAuthDao {
                 while (rs.next()) {
                     final long userId = rs.getLong("user_id");
                     final String hashAlgorithm = rs.getString("hash_alg");
+                    final int hashCost = rs.getInt("hash_cost");
                     final String salt = rs.getString("salt");
                     final String hashedPass = rs.getString("hashed_pass");
 
-                    map.put(userId, new UserAuth(hashAlgorithm, salt, hashedPass));
+                    map.put(userId, new UserAuth(hashAlgorithm, hashCost, salt, hashedPass));
                 }
             }
         } catch (final SQLException sqlException) {
@@ -54,7 +55,8 @@ public class PostgresUserAuthDao implements UserAuthDao {
         Objects.requireNonNull(users);
 
         final int batchSize = 1000;
-        final String sql = "INSERT INTO user_auths (user_id, hash_alg, salt, hashed_pass) VALUES (?, ?, ?, ?)";
+        final String sql =
+                "INSERT INTO user_auths (user_id, hash_alg, hash_cost, salt, hashed_pass) VALUES (?, ?, ?, ?, ?)";
 
         int batches = 0;
 
@@ -64,8 +66,9 @@ public class PostgresUserAuthDao implements UserAuthDao {
                 if (userAuth.isPresent()) {
                     ps.setLong(1, user.getId().orElse(null));
                     ps.setString(2, userAuth.get().getHashAlgorithm());
-                    ps.setString(3, userAuth.get().getSalt());
-                    ps.setString(4, userAuth.get().getHashedPass());
+                    ps.setInt(3, userAuth.get().getHashCost());
+                    ps.setString(4, userAuth.get().getSalt());
+                    ps.setString(5, userAuth.get().getHashedPass());
                     ps.addBatch();
                     batches++;
 
@@ -83,4 +86,25 @@ public class PostgresUserAuthDao implements UserAuthDao {
             throw new InternalServerErrorException("Failed to add user auth data", sqlException);
         }
     }
+
+    @Override
+    public void update(@Nonnull final Connection conn, @Nonnull final Long userId, @Nonnull final UserAuth userAuth) {
+        Objects.requireNonNull(conn);
+        Objects.requireNonNull(userId);
+        Objects.requireNonNull(userAuth);
+
+        final String sql = "UPDATE user_auths SET hash_alg = ?, hash_cost = ?, salt = ?, hashed_pass = ? "
+                + "WHERE user_id = ?";
+
+        try (final PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, userAuth.getHashAlgorithm());
+            ps.setInt(2, userAuth.getHashCost());
+            ps.setString(3, userAuth.getSalt());
+            ps.setString(4, userAuth.getHashedPass());
+            ps.setLong(5, userId);
+            ps.executeUpdate();
+        } catch (final SQLException sqlException) {
+            throw new InternalServerErrorException("Failed to update user auth data", sqlException);
+        }
+    }
 }
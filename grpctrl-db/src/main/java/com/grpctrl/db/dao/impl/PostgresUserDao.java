@@ -242,6 +242,20 @@ public class PostgresUserDao implements UserDao {
         }
     }
 
+    @Override
+    public void updateAuth(@Nonnull final Long userId, @Nonnull final UserAuth userAuth) {
+        Objects.requireNonNull(userId);
+        Objects.requireNonNull(userAuth);
+
+        final DataSource dataSource = this.dataSourceSupplier.get();
+        try (final Connection conn = dataSource.getConnection()) {
+            this.userAuthDaoSupplier.get().update(conn, userId, userAuth);
+            conn.commit();
+        } catch (final SQLException sqlException) {
+            throw ErrorTransformer.get("Failed to update user auth", sqlException);
+        }
+    }
+
     @Override
     public void remove(@Nonnull final Long userId) {
         remove(Collections.singleton(Objects.requireNonNull(userId)));
@@ -82,7 +82,8 @@ public class AccountDaoSupplier implements Supplier<AccountDao>, Factory<Account
 
     @Nonnull
     private AccountDao create() {
-        return new PostgresAccountDao(this.dataSourceSupplier, this.serviceLevelDaoSupplier);
+        return this.dataSourceSupplier.getDaoMetrics().instrument(AccountDao.class,
+                new PostgresAccountDao(this.dataSourceSupplier, this.serviceLevelDaoSupplier));
     }
 
     /**
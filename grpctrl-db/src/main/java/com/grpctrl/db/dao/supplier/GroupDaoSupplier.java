@@ -80,7 +80,8 @@ public class GroupDaoSupplier
 
     @Nonnull
     private GroupDao create() {
-        return new PostgresGroupDao(this.dataSourceSupplier, this.tagDaoSupplier);
+        return this.dataSourceSupplier.getDaoMetrics().instrument(GroupDao.class,
+                new PostgresGroupDao(this.dataSourceSupplier, this.tagDaoSupplier));
     }
 
     /**
@@ -77,7 +77,8 @@ public class TagDaoSupplier implements Supplier<TagDao>, Factory<TagDao>, Contex
 
     @Nonnull
     private TagDao create() {
-        return new PostgresTagDao(this.dataSourceSupplier);
+        return this.dataSourceSupplier.getDaoMetrics()
+                .instrument(TagDao.class, new PostgresTagDao(this.dataSourceSupplier));
     }
 
     /**
@@ -97,8 +97,9 @@ public class UserDaoSupplier implements Supplier<UserDao>, Factory<UserDao>, Con
 
     @Nonnull
     private UserDao create() {
-        return new PostgresUserDao(this.dataSourceSupplier, this.userAuthDaoSupplier, this.userEmailDaoSupplier,
-                this.userRoleDaoSupplier, this.accountDaoSupplier);
+        return this.dataSourceSupplier.getDaoMetrics().instrument(UserDao.class,
+                new PostgresUserDao(this.dataSourceSupplier, this.userAuthDaoSupplier, this.userEmailDaoSupplier,
+                        this.userRoleDaoSupplier, this.accountDaoSupplier));
     }
 
     /**
@@ -0,0 +1,275 @@
+package com.grpctrl.db.metrics;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.grpctrl.common.jfr.DaoQueryEvent;
+import com.grpctrl.common.jfr.JfrEvents;
+import com.grpctrl.common.trace.Span;
+import com.grpctrl.common.trace.Trace;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+
+/**
+ * Records metrics describing the database work performed by each DAO method into a {@link MetricRegistry}: a timer
+ * covering the whole method call, a timer covering the time spent waiting for pooled connections, a timer covering the
+ * execution of each SQL statement, histograms of the rows read, rows written and batch sizes, and meters counting the
+ * database errors by SQL state. Comparing the method timer with the connection wait and statement timers shows whether
+ * latency comes from the connection pool, the database, or from streaming the rows to the consumers.
+ *
+ * <p>The metrics are named after the DAO interface and method, for example
+ * {@code com.grpctrl.db.dao.TagDao.add.queries}. Database work performed outside of an instrumented DAO method is
+ * recorded under the {@code unattributed} name. Each DAO method call is also recorded as a span in the {@link Trace}
+ * of the request being processed, if any, and as a {@link DaoQueryEvent} in flight recordings when the JVM provides
+ * the flight recorder API, see {@link JfrEvents}.</p>
+ */
+public class DaoMetrics {
+    @Nonnull
+    private final MetricRegistry metricRegistry;
+    @Nonnull
+    private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+    @Nonnull
+    private final Operation unattributed;
+    @Nonnull
+    private final ThreadLocal<Invocation> current = new ThreadLocal<>();
+
+    /**
+     * @param metricRegistry the registry into which the database metrics are recorded
+     */
+    public DaoMetrics(@Nonnull final MetricRegistry metricRegistry) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+        this.unattributed = new Operation(name(DaoMetrics.class, "unattributed"));
+    }
+
+    /**
+     * Wrap the provided DAO so that each of its methods records metrics.
+     *
+     * @param daoClass the DAO interface, used to name the recorded metrics
+     * @param dao the DAO implementation to instrument
+     * @param <T> the type of DAO
+     *
+     * @return the instrumented DAO
+     *
+     * @throws NullPointerException if either parameter is {@code null}
+     * @throws IllegalArgumentException if the provided DAO class is not an interface
+     */
+    @Nonnull
+    public <T> T instrument(@Nonnull final Class<T> daoClass, @Nonnull final T dao) {
+        if (!Objects.requireNonNull(daoClass).isInterface()) {
+            throw new IllegalArgumentException("The DAO class must be an interface: " + daoClass.getName());
+        }
+        return daoClass.cast(Proxy.newProxyInstance(daoClass.getClassLoader(), new Class<?>[] {daoClass},
+                new DaoHandler(daoClass, Objects.requireNonNull(dao))));
+    }
+
+    /**
+     * Wrap the provided data source so that the connections, statements and result sets it provides record metrics
+     * for the DAO method in progress on the calling thread.
+     *
+     * @param dataSource the data source to instrument
+     *
+     * @return the instrumented data source
+     *
+     * @throws NullPointerException if the parameter is {@code null}
+     */
+    @Nonnull
+    public DataSource instrument(@Nonnull final DataSource dataSource) {
+        return JdbcInstrumentation.instrument(DataSource.class, Objects.requireNonNull(dataSource), this, null);
+    }
+
+    /**
+     * Wrap the provided data source so that the connections, statements and result sets it provides record metrics
+     * for the DAO method in progress on the calling thread, and statements exceeding the slow query threshold are
+     * recorded in the provided slow query log.
+     *
+     * @param dataSource the data source to instrument
+     * @param slowQueryLog the log into which the slow statements are recorded
+     *
+     * @return the instrumented data source
+     *
+     * @throws NullPointerException if either parameter is {@code null}
+     */
+    @Nonnull
+    public DataSource instrument(@Nonnull final DataSource dataSource, @Nonnull final SlowQueryLog slowQueryLog) {
+        return JdbcInstrumentation.instrument(
+                DataSource.class, Objects.requireNonNull(dataSource), this, Objects.requireNonNull(slowQueryLog));
+    }
+
+    /**
+     * @return the invocation of the DAO method in progress on the calling thread, or a new invocation recorded under
+     *     the {@code unattributed} name that the caller must complete when no DAO method is in progress
+     */
+    @Nonnull
+    Invocation current() {
+        final Invocation invocation = this.current.get();
+        return invocation == null ? new Invocation(this.unattributed, false) : invocation;
+    }
+
+    @Nonnull
+    private Operation getOperation(@Nonnull final Class<?> daoClass, @Nonnull final Method method) {
+        return this.operations.computeIfAbsent(method, m -> new Operation(name(daoClass, m.getName())));
+    }
+
+    /**
+     * The metrics recorded for a single DAO method.
+     */
+    class Operation {
+        @Nonnull
+        private final String prefix;
+        @Nonnull
+        private final Timer calls;
+        @Nonnull
+        private final Timer connectionWait;
+        @Nonnull
+        private final Timer queries;
+        @Nonnull
+        private final Histogram rowsRead;
+        @Nonnull
+        private final Histogram rowsWritten;
+        @Nonnull
+        private final Histogram batchSize;
+
+        Operation(@Nonnull final String prefix) {
+            this.prefix = prefix;
+            this.calls = metricRegistry.timer(name(prefix, "calls"));
+            this.connectionWait = metricRegistry.timer(name(prefix, "connection-wait"));
+            this.queries = metricRegistry.timer(name(prefix, "queries"));
+            this.rowsRead = metricRegistry.histogram(name(prefix, "rows-read"));
+            this.rowsWritten = metricRegistry.histogram(name(prefix, "rows-written"));
+            this.batchSize = metricRegistry.histogram(name(prefix, "batch-size"));
+        }
+
+        @Nonnull
+        String getName() {
+            return this.prefix;
+        }
+
+        void connectionWait(final long durationNanos) {
+            this.connectionWait.update(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void query(final long durationNanos) {
+            this.queries.update(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void batch(final long size) {
+            this.batchSize.update(size);
+        }
+
+        void error(@Nonnull final SQLException sqlException) {
+            final String sqlState = sqlException.getSQLState();
+            metricRegistry.meter(name(this.prefix, "errors", sqlState == null ? "unknown" : sqlState)).mark();
+        }
+    }
+
+    /**
+     * Accumulates the rows read and written during a single call to a DAO method, so the histograms describe the work
+     * done by the whole call rather than by each individual statement.
+     */
+    static class Invocation {
+        @Nonnull
+        private final Operation operation;
+        private final boolean attached;
+
+        private long rowsRead = -1;
+        private long rowsWritten = -1;
+
+        Invocation(@Nonnull final Operation operation, final boolean attached) {
+            this.operation = operation;
+            this.attached = attached;
+        }
+
+        @Nonnull
+        Operation getOperation() {
+            return this.operation;
+        }
+
+        void readStarted() {
+            this.rowsRead = Math.max(this.rowsRead, 0);
+        }
+
+        void rowRead() {
+            this.rowsRead++;
+        }
+
+        void rowsWritten(final long rows) {
+            this.rowsWritten = Math.max(this.rowsWritten, 0) + Math.max(rows, 0);
+        }
+
+        /**
+         * Complete an invocation not attached to a DAO method call, recording the rows read or written immediately.
+         */
+        void completeIfDetached() {
+            if (!this.attached) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            // Only record the row counts for the kinds of statements actually executed during the invocation.
+            if (this.rowsRead >= 0) {
+                this.operation.rowsRead.update(this.rowsRead);
+            }
+            if (this.rowsWritten >= 0) {
+                this.operation.rowsWritten.update(this.rowsWritten);
+            }
+        }
+    }
+
+    private class DaoHandler implements InvocationHandler {
+        @Nonnull
+        private final Class<?> daoClass;
+        @Nonnull
+        private final Object dao;
+
+        DaoHandler(@Nonnull final Class<?> daoClass, @Nonnull final Object dao) {
+            this.daoClass = daoClass;
+            this.dao = dao;
+        }
+
+        @Override
+        @CheckForNull
+        public Object invoke(
+                @Nonnull final Object proxy, @Nonnull final Method method, @CheckForNull final Object[] args)
+                throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return JdbcInstrumentation.invoke(this.dao, method, args);
+            }
+
+            final Operation operation = getOperation(this.daoClass, method);
+            final Invocation previous = current.get();
+            final Invocation invocation = new Invocation(operation, true);
+            current.set(invocation);
+            final JfrEvents.DaoQuery event = JfrEvents.get().beginDaoQuery();
+            final Span span = Trace.span(this.daoClass.getSimpleName() + "." + method.getName());
+            final long start = System.nanoTime();
+            try {
+                return JdbcInstrumentation.invoke(this.dao, method, args);
+            } finally {
+                span.close();
+                operation.calls.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                invocation.complete();
+                event.finish(this.daoClass.getSimpleName(), method.getName(), invocation.rowsRead,
+                        invocation.rowsWritten);
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        }
+    }
+}
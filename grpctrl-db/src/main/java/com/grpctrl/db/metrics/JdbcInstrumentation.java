@@ -0,0 +1,305 @@
+package com.grpctrl.db.metrics;
+
+import com.grpctrl.common.jfr.BatchFlushEvent;
+import com.grpctrl.common.jfr.JfrEvents;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+/**
+ * Wraps the JDBC objects used by the DAO implementations so that connection wait times, statement execution times,
+ * row counts, batch sizes and errors are recorded in the {@link DaoMetrics}, and slow statements are recorded in the
+ * {@link SlowQueryLog} when one is provided. Statement batches are also recorded as a {@link BatchFlushEvent} in flight
+ * recordings, through {@link JfrEvents}. Only the methods of interest are intercepted, all other calls are passed
+ * directly to the wrapped JDBC object.
+ */
+final class JdbcInstrumentation {
+    private JdbcInstrumentation() {
+    }
+
+    /**
+     * @param type the JDBC interface implemented by the target object
+     * @param target the data source, connection or statement to instrument
+     * @param metrics the metrics into which the database work is recorded
+     * @param slowQueryLog the log into which slow statements are recorded, possibly {@code null} to not record them
+     * @param <T> the JDBC interface type
+     *
+     * @return the instrumented JDBC object
+     */
+    @Nonnull
+    static <T> T instrument(
+            @Nonnull final Class<T> type, @Nonnull final T target, @Nonnull final DaoMetrics metrics,
+            @Nullable final SlowQueryLog slowQueryLog) {
+        final InvocationHandler handler;
+        if (DataSource.class.isAssignableFrom(type)) {
+            handler = new DataSourceHandler(target, metrics, slowQueryLog);
+        } else if (Connection.class.isAssignableFrom(type)) {
+            handler = new ConnectionHandler(target, metrics, slowQueryLog);
+        } else {
+            handler = new StatementHandler(target, metrics, slowQueryLog, null);
+        }
+        return proxy(type, handler);
+    }
+
+    @Nonnull
+    private static <T> T proxy(@Nonnull final Class<T> type, @Nonnull final InvocationHandler handler) {
+        return type.cast(
+                Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * Invoke the method on the target object, rethrowing any exception thrown by the method itself.
+     */
+    @CheckForNull
+    static Object invoke(@Nonnull final Object target, @Nonnull final Method method, @CheckForNull final Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException invocationTargetException) {
+            final Throwable cause = invocationTargetException.getCause();
+            throw cause == null ? invocationTargetException : cause;
+        }
+    }
+
+    /**
+     * @return the SQL passed as the first argument of a JDBC method, like {@code prepareStatement} or {@code execute}
+     */
+    @CheckForNull
+    private static String getSql(@CheckForNull final Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        @Nonnull
+        final Object target;
+        @Nonnull
+        final DaoMetrics metrics;
+
+        Handler(@Nonnull final Object target, @Nonnull final DaoMetrics metrics) {
+            this.target = Objects.requireNonNull(target);
+            this.metrics = metrics;
+        }
+
+        @Override
+        @CheckForNull
+        public Object invoke(
+                @Nonnull final Object proxy, @Nonnull final Method method, @CheckForNull final Object[] args)
+                throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return JdbcInstrumentation.invoke(this.target, method, args);
+            }
+            try {
+                return handle(method, args);
+            } catch (final SQLException sqlException) {
+                this.metrics.current().getOperation().error(sqlException);
+                throw sqlException;
+            }
+        }
+
+        @CheckForNull
+        abstract Object handle(@Nonnull Method method, @CheckForNull Object[] args) throws Throwable;
+    }
+
+    private static class DataSourceHandler extends Handler {
+        @Nullable
+        private final SlowQueryLog slowQueryLog;
+
+        DataSourceHandler(
+                @Nonnull final Object target, @Nonnull final DaoMetrics metrics,
+                @Nullable final SlowQueryLog slowQueryLog) {
+            super(target, metrics);
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        @CheckForNull
+        Object handle(@Nonnull final Method method, @CheckForNull final Object[] args) throws Throwable {
+            if (!"getConnection".equals(method.getName())) {
+                return JdbcInstrumentation.invoke(this.target, method, args);
+            }
+
+            final long start = System.nanoTime();
+            try {
+                final Connection connection = (Connection) JdbcInstrumentation.invoke(this.target, method, args);
+                if (connection == null) {
+                    throw new SQLException("The data source did not provide a connection");
+                }
+                return instrument(Connection.class, connection, this.metrics, this.slowQueryLog);
+            } finally {
+                this.metrics.current().getOperation().connectionWait(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends Handler {
+        @Nullable
+        private final SlowQueryLog slowQueryLog;
+
+        ConnectionHandler(
+                @Nonnull final Object target, @Nonnull final DaoMetrics metrics,
+                @Nullable final SlowQueryLog slowQueryLog) {
+            super(target, metrics);
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        @CheckForNull
+        @SuppressWarnings("unchecked")
+        Object handle(@Nonnull final Method method, @CheckForNull final Object[] args) throws Throwable {
+            final Object result = JdbcInstrumentation.invoke(this.target, method, args);
+            if (result instanceof Statement) {
+                // Proxy the declared return type, like PreparedStatement, so callers see the interface they expect.
+                // Prepared statements and calls receive their SQL here, plain statements when they are executed.
+                return proxy((Class<Object>) method.getReturnType(),
+                        new StatementHandler(result, this.metrics, this.slowQueryLog, getSql(args)));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler extends Handler {
+        @Nullable
+        private final SlowQueryLog slowQueryLog;
+        @Nullable
+        private final String sql;
+        @Nonnull
+        private final SortedMap<Integer, SlowQueryLog.Parameter> parameters = new TreeMap<>();
+        private int batched = 0;
+
+        StatementHandler(
+                @Nonnull final Object target, @Nonnull final DaoMetrics metrics,
+                @Nullable final SlowQueryLog slowQueryLog, @Nullable final String sql) {
+            super(target, metrics);
+            this.slowQueryLog = slowQueryLog;
+            this.sql = sql;
+        }
+
+        @Override
+        @CheckForNull
+        Object handle(@Nonnull final Method method, @CheckForNull final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("addBatch".equals(name)) {
+                this.batched++;
+            } else if ("clearBatch".equals(name)) {
+                this.batched = 0;
+            } else if ("getResultSet".equals(name)) {
+                return resultSet(JdbcInstrumentation.invoke(this.target, method, args), this.metrics.current());
+            } else if (this.slowQueryLog != null) {
+                trackParameters(method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return JdbcInstrumentation.invoke(this.target, method, args);
+            }
+
+            final DaoMetrics.Invocation invocation = this.metrics.current();
+            final int records = this.batched;
+            final JfrEvents.BatchFlush event = name.endsWith("Batch") ? JfrEvents.get().beginBatchFlush() : null;
+            if (event != null) {
+                invocation.getOperation().batch(records);
+                this.batched = 0;
+            }
+
+            final long start = System.nanoTime();
+            final Object result;
+            try {
+                result = JdbcInstrumentation.invoke(this.target, method, args);
+            } finally {
+                if (event != null) {
+                    event.finish(JfrEvents.BatchFlush.DATABASE, invocation.getOperation().getName(), records);
+                }
+                final long durationNanos = System.nanoTime() - start;
+                invocation.getOperation().query(durationNanos);
+                if (this.slowQueryLog != null && this.slowQueryLog.isSlow(durationNanos)) {
+                    slow(this.slowQueryLog, invocation, name, args, durationNanos);
+                }
+            }
+
+            if ("executeQuery".equals(name)) {
+                return resultSet(result, invocation);
+            } else if (result instanceof int[]) {
+                // Drivers report SUCCESS_NO_INFO as a negative count, which is ignored.
+                invocation.rowsWritten(IntStream.of((int[]) result).filter(count -> count > 0).asLongStream().sum());
+            } else if (result instanceof long[]) {
+                invocation.rowsWritten(LongStream.of((long[]) result).filter(count -> count > 0).sum());
+            } else if (result instanceof Number) {
+                invocation.rowsWritten(((Number) result).longValue());
+            }
+            invocation.completeIfDetached();
+            return result;
+        }
+
+        private void trackParameters(@Nonnull final Method method, @CheckForNull final Object[] args) {
+            if ("clearParameters".equals(method.getName())) {
+                this.parameters.clear();
+            } else if (method.getName().startsWith("set") && method.getDeclaringClass() != Statement.class
+                    && args != null && args.length > 1 && args[0] instanceof Integer) {
+                this.parameters.put((Integer) args[0], new SlowQueryLog.Parameter(method, args));
+            }
+        }
+
+        private void slow(
+                @Nonnull final SlowQueryLog slowQueryLog, @Nonnull final DaoMetrics.Invocation invocation,
+                @Nonnull final String name, @CheckForNull final Object[] args, final long durationNanos) {
+            final String statementSql = Optional.ofNullable(getSql(args)).orElse(this.sql);
+            if (statementSql != null) {
+                slowQueryLog.record(invocation.getOperation().getName(), statementSql,
+                        new ArrayList<>(this.parameters.values()), durationNanos, name.endsWith("Batch"));
+            }
+        }
+
+        @CheckForNull
+        private Object resultSet(@CheckForNull final Object result, @Nonnull final DaoMetrics.Invocation invocation) {
+            if (result instanceof ResultSet) {
+                invocation.readStarted();
+                return proxy(ResultSet.class, new ResultSetHandler(result, this.metrics, invocation));
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler extends Handler {
+        @Nonnull
+        private final DaoMetrics.Invocation invocation;
+        private boolean closed = false;
+
+        ResultSetHandler(
+                @Nonnull final Object target, @Nonnull final DaoMetrics metrics,
+                @Nonnull final DaoMetrics.Invocation invocation) {
+            super(target, metrics);
+            this.invocation = invocation;
+        }
+
+        @Override
+        @CheckForNull
+        Object handle(@Nonnull final Method method, @CheckForNull final Object[] args) throws Throwable {
+            final Object result = JdbcInstrumentation.invoke(this.target, method, args);
+            if ("next".equals(method.getName())) {
+                if (Boolean.TRUE.equals(result)) {
+                    this.invocation.rowRead();
+                }
+            } else if ("close".equals(method.getName()) && !this.closed) {
+                this.closed = true;
+                this.invocation.completeIfDetached();
+            }
+            return result;
+        }
+    }
+}
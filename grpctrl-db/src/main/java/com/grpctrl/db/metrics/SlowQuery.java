@@ -0,0 +1,111 @@
+package com.grpctrl.db.metrics;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Describes a database statement that took longer than the configured slow query threshold. Only the shape of the
+ * bind parameters is retained, never their values.
+ */
+public class SlowQuery {
+    private final long timestamp;
+    @Nonnull
+    private final String operation;
+    @Nonnull
+    private final String sql;
+    @Nonnull
+    private final List<String> parameters;
+    private final long durationNanos;
+    @Nullable
+    private final String plan;
+
+    /**
+     * @param timestamp the time at which the statement completed, in milliseconds since the epoch
+     * @param operation the name of the DAO method that executed the statement
+     * @param sql the normalized SQL of the statement
+     * @param parameters the shapes of the bind parameters, in parameter order
+     * @param durationNanos the execution time of the statement in nanoseconds
+     * @param plan the output of {@code EXPLAIN (ANALYZE, BUFFERS)} for the statement, if it was sampled
+     *
+     * @throws NullPointerException if any of the required parameters are {@code null}
+     */
+    public SlowQuery(
+            final long timestamp, @Nonnull final String operation, @Nonnull final String sql,
+            @Nonnull final List<String> parameters, final long durationNanos, @Nullable final String plan) {
+        this.timestamp = timestamp;
+        this.operation = Objects.requireNonNull(operation);
+        this.sql = Objects.requireNonNull(sql);
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(parameters)));
+        this.durationNanos = durationNanos;
+        this.plan = plan;
+    }
+
+    /**
+     * @return the time at which the statement completed, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return the name of the DAO method that executed the statement
+     */
+    @Nonnull
+    public String getOperation() {
+        return this.operation;
+    }
+
+    /**
+     * @return the normalized SQL of the statement
+     */
+    @Nonnull
+    public String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * @return the shapes of the bind parameters, like {@code Long} or {@code varchar[3]}, in parameter order
+     */
+    @Nonnull
+    public List<String> getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * @return the execution time of the statement in milliseconds
+     */
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.durationNanos);
+    }
+
+    /**
+     * @return the output of {@code EXPLAIN (ANALYZE, BUFFERS)} for the statement, or {@code null} when the statement
+     *     was not sampled or could not be explained
+     */
+    @CheckForNull
+    public String getPlan() {
+        return this.plan;
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        str.append("timestamp", getTimestamp());
+        str.append("operation", getOperation());
+        str.append("sql", getSql());
+        str.append("parameters", getParameters());
+        str.append("durationMillis", getDurationMillis());
+        str.append("plan", getPlan());
+        return str.build();
+    }
+}
@@ -0,0 +1,303 @@
+package com.grpctrl.db.metrics;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+
+/**
+ * Captures the database statements taking longer than a configured threshold. Each slow statement is logged with its
+ * normalized SQL, the shapes of its bind parameters and its duration, and kept in a bounded history of the most recent
+ * slow statements. A sampled fraction of the slow queries is also run again with {@code EXPLAIN (ANALYZE, BUFFERS)} on
+ * a separate connection in the background, and the resulting plan is kept with the slow query in the history.
+ *
+ * <p>Since {@code ANALYZE} executes the statement, only queries are explained. The explain runs in a read-only
+ * transaction that is always rolled back, and only one explain runs at a time so a burst of slow queries cannot add
+ * significant load to a database that is already struggling.</p>
+ */
+public class SlowQueryLog {
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w$])\\d+(?:\\.\\d+)?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern QUERY = Pattern.compile("^(?:SELECT|WITH)\\b.*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MODIFICATION =
+            Pattern.compile(".*\\b(?:INSERT|UPDATE|DELETE|MERGE|TRUNCATE)\\b.*", Pattern.CASE_INSENSITIVE);
+
+    private final long thresholdNanos;
+    private final double explainSampleRate;
+    private final int capacity;
+    private final int explainTimeoutSeconds;
+    @Nonnull
+    private final DataSource explainDataSource;
+
+    @Nonnull
+    private final Deque<SlowQuery> history;
+    @Nonnull
+    private final ThreadPoolExecutor executor;
+
+    @Nonnull
+    private final Meter slow;
+    @Nonnull
+    private final Meter explained;
+    @Nonnull
+    private final Meter explainsSkipped;
+
+    /**
+     * @param thresholdNanos the statement duration in nanoseconds at or above which a statement is considered slow
+     * @param explainSampleRate the fraction of the slow queries to explain, from 0 (none) to 1 (all)
+     * @param capacity the maximum number of slow queries kept in the history
+     * @param explainTimeoutSeconds the maximum number of seconds an explain is allowed to run
+     * @param explainDataSource provides the connections used to explain slow queries, this should not be an
+     *     instrumented data source so that the explains are not reported as slow queries themselves
+     * @param metricRegistry the registry into which the slow query counts are recorded
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the sample rate is not between 0 and 1, or the capacity or timeout are not
+     *     positive
+     */
+    public SlowQueryLog(
+            final long thresholdNanos, final double explainSampleRate, final int capacity,
+            final int explainTimeoutSeconds, @Nonnull final DataSource explainDataSource,
+            @Nonnull final MetricRegistry metricRegistry) {
+        if (explainSampleRate < 0 || explainSampleRate > 1) {
+            throw new IllegalArgumentException("Explain sample rate must be between 0 and 1");
+        }
+        if (capacity < 1 || explainTimeoutSeconds < 1) {
+            throw new IllegalArgumentException("Capacity and explain timeout must both be positive");
+        }
+        this.thresholdNanos = thresholdNanos;
+        this.explainSampleRate = explainSampleRate;
+        this.capacity = capacity;
+        this.explainTimeoutSeconds = explainTimeoutSeconds;
+        this.explainDataSource = Objects.requireNonNull(explainDataSource);
+        this.history = new ArrayDeque<>(capacity);
+
+        // A single explain at a time, with at most one more waiting. Additional samples are dropped.
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Objects.requireNonNull(metricRegistry);
+        this.slow = metricRegistry.meter(MetricRegistry.name(SlowQueryLog.class, "slow"));
+        this.explained = metricRegistry.meter(MetricRegistry.name(SlowQueryLog.class, "explained"));
+        this.explainsSkipped = metricRegistry.meter(MetricRegistry.name(SlowQueryLog.class, "explains-skipped"));
+    }
+
+    /**
+     * @param durationNanos the execution time of a statement in nanoseconds
+     *
+     * @return whether a statement with the provided duration is considered slow
+     */
+    public boolean isSlow(final long durationNanos) {
+        return durationNanos >= this.thresholdNanos;
+    }
+
+    /**
+     * @return the most recent slow queries, newest first
+     */
+    @Nonnull
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (this.history) {
+            return new ArrayList<>(this.history);
+        }
+    }
+
+    /**
+     * Record a slow statement, logging it and adding it to the history. The statement is explained in the background
+     * when it is sampled and is a query.
+     *
+     * @param operation the name of the DAO method that executed the statement
+     * @param sql the SQL of the statement as provided by the DAO
+     * @param parameters the bind parameters of the statement, in parameter order
+     * @param durationNanos the execution time of the statement in nanoseconds
+     * @param batch whether the statement was executed as a batch
+     */
+    void record(
+            @Nonnull final String operation, @Nonnull final String sql, @Nonnull final List<Parameter> parameters,
+            final long durationNanos, final boolean batch) {
+        this.slow.mark();
+        final String normalized = normalize(sql);
+        final List<String> shapes = parameters.stream().map(Parameter::getShape).collect(Collectors.toList());
+        LOG.warn("Slow query in {} took {} ms: {} {}", operation, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                normalized, shapes);
+
+        final long timestamp = System.currentTimeMillis();
+        if (!batch && isExplainable(normalized, parameters)
+                && ThreadLocalRandom.current().nextDouble() < this.explainSampleRate) {
+            try {
+                this.executor.execute(() -> add(new SlowQuery(timestamp, operation, normalized, shapes, durationNanos,
+                        explain(sql, parameters))));
+                return;
+            } catch (final RejectedExecutionException rejected) {
+                // Other slow queries are already being explained, keep this one without a plan.
+                this.explainsSkipped.mark();
+            }
+        }
+        add(new SlowQuery(timestamp, operation, normalized, shapes, durationNanos, null));
+    }
+
+    private void add(@Nonnull final SlowQuery slowQuery) {
+        synchronized (this.history) {
+            if (this.history.size() == this.capacity) {
+                this.history.removeLast();
+            }
+            this.history.addFirst(slowQuery);
+        }
+    }
+
+    @CheckForNull
+    @SuppressFBWarnings(value = "SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING",
+            justification = "the explained SQL was already prepared and executed by the application")
+    private String explain(@Nonnull final String sql, @Nonnull final List<Parameter> parameters) {
+        try (final Connection connection = this.explainDataSource.getConnection()) {
+            connection.setReadOnly(true);
+            try (final PreparedStatement ps = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                ps.setQueryTimeout(this.explainTimeoutSeconds);
+                for (final Parameter parameter : parameters) {
+                    parameter.apply(ps);
+                }
+
+                final StringBuilder plan = new StringBuilder();
+                try (final ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(plan.length() == 0 ? "" : "\n").append(rs.getString(1));
+                    }
+                }
+                this.explained.mark();
+                return plan.toString();
+            } finally {
+                // The explain executed the query, make sure nothing it did is kept.
+                connection.rollback();
+            }
+        } catch (final SQLException sqlException) {
+            LOG.warn("Failed to explain slow query", sqlException);
+            return null;
+        }
+    }
+
+    /**
+     * @param sql the SQL of a statement
+     *
+     * @return the SQL with literal values replaced by {@code ?} and whitespace collapsed, so statements that differ
+     *     only in their literal values have the same normalized SQL
+     */
+    @Nonnull
+    static String normalize(@Nonnull final String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    static boolean isExplainable(@Nonnull final String normalized, @Nonnull final Collection<Parameter> parameters) {
+        return QUERY.matcher(normalized).matches() && !MODIFICATION.matcher(normalized).matches()
+                && parameters.stream().allMatch(Parameter::isReplayable);
+    }
+
+    /**
+     * A bind parameter set on a prepared statement, retained so the statement can be explained with the same values.
+     * The values themselves are never logged or kept in the history.
+     */
+    static class Parameter {
+        @Nonnull
+        private final Method setter;
+        @Nonnull
+        private final Object[] args;
+
+        /**
+         * @param setter the {@link PreparedStatement} method used to set the parameter, like {@code setLong}
+         * @param args the arguments passed to the setter, starting with the parameter index
+         */
+        Parameter(@Nonnull final Method setter, @Nonnull final Object[] args) {
+            this.setter = setter;
+            this.args = args;
+        }
+
+        /**
+         * @return the type of the parameter value, like {@code Long}, {@code null} or {@code varchar[3]} for arrays
+         */
+        @Nonnull
+        String getShape() {
+            final String type = this.setter.getName().substring(3);
+            final Object value = this.args[1];
+            if (value == null || "Null".equals(type)) {
+                return "null";
+            } else if (value instanceof Array) {
+                return getArrayShape((Array) value);
+            } else if ("Object".equals(type)) {
+                return value.getClass().getSimpleName();
+            }
+            return type;
+        }
+
+        @Nonnull
+        private static String getArrayShape(@Nonnull final Array array) {
+            try {
+                final Object elements = array.getArray();
+                final int length = elements instanceof Object[] ? ((Object[]) elements).length : -1;
+                return array.getBaseTypeName() + "[" + (length < 0 ? "" : length) + "]";
+            } catch (final SQLException sqlException) {
+                return "Array";
+            }
+        }
+
+        /**
+         * @return whether the parameter value can be set again on another statement
+         */
+        boolean isReplayable() {
+            for (final Object arg : this.args) {
+                if (arg instanceof InputStream || arg instanceof Reader || arg instanceof Blob || arg instanceof Clob
+                        || arg instanceof SQLXML) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void apply(@Nonnull final PreparedStatement ps) throws SQLException {
+            try {
+                this.setter.invoke(ps, this.args);
+            } catch (final IllegalAccessException | InvocationTargetException exception) {
+                final Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+                throw new SQLException("Failed to set parameter " + this.args[0], cause);
+            }
+        }
+    }
+}
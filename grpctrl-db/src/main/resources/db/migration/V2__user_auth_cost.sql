@@ -0,0 +1,9 @@
+
+--
+-- Track the cost (digest rounds or PBKDF2 iterations) used when hashing user passwords so that stored hashes can be
+-- upgraded on login as the configured cost increases.
+--
+
+ALTER TABLE user_auths ALTER COLUMN hash_alg TYPE VARCHAR(40);
+ALTER TABLE user_auths ADD COLUMN hash_cost INTEGER NOT NULL DEFAULT 1;
+
@@ -0,0 +1,57 @@
+
+--
+-- Track a data version for each account, incremented whenever the account, its service level, or any of its groups
+-- or tags change. The version is used to generate entity tags for conditional requests, so clients can determine
+-- whether their copy of the account data is still current without the groups and tags being read.
+--
+-- The version is incremented at most once per transaction, so bulk inserts of groups and tags do not repeatedly
+-- update the account row.
+--
+
+ALTER TABLE accounts ADD COLUMN data_version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE accounts ADD COLUMN data_version_txid BIGINT;
+
+
+CREATE FUNCTION accounts_bump_data_version(id BIGINT) RETURNS VOID AS $$
+BEGIN
+    UPDATE accounts SET data_version = data_version + 1, data_version_txid = txid_current()
+        WHERE account_id = id AND data_version_txid IS DISTINCT FROM txid_current();
+END;
+$$ LANGUAGE plpgsql;
+
+
+CREATE FUNCTION accounts_data_changed() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM accounts_bump_data_version(OLD.account_id);
+        RETURN OLD;
+    END IF;
+    PERFORM accounts_bump_data_version(NEW.account_id);
+    IF TG_OP = 'UPDATE' AND OLD.account_id <> NEW.account_id THEN
+        PERFORM accounts_bump_data_version(OLD.account_id);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER groups_data_changed AFTER INSERT OR UPDATE OR DELETE ON groups
+    FOR EACH ROW EXECUTE PROCEDURE accounts_data_changed();
+CREATE TRIGGER tags_data_changed AFTER INSERT OR UPDATE OR DELETE ON tags
+    FOR EACH ROW EXECUTE PROCEDURE accounts_data_changed();
+CREATE TRIGGER service_levels_data_changed AFTER INSERT OR UPDATE OR DELETE ON service_levels
+    FOR EACH ROW EXECUTE PROCEDURE accounts_data_changed();
+
+
+-- Changes to the account itself, other than to the data version columns, also increment the version.
+CREATE FUNCTION accounts_changed() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.name IS DISTINCT FROM OLD.name AND NEW.data_version = OLD.data_version THEN
+        NEW.data_version := OLD.data_version + 1;
+        NEW.data_version_txid := txid_current();
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER accounts_changed BEFORE UPDATE ON accounts
+    FOR EACH ROW EXECUTE PROCEDURE accounts_changed();
@@ -0,0 +1,9 @@
+
+--
+-- Limit the rate at which each account may make requests, and the number of requests each account may have in
+-- progress at once, so a single busy account cannot starve the others of server threads and database connections.
+--
+
+ALTER TABLE service_levels ADD COLUMN max_request_rate INTEGER NOT NULL DEFAULT 50;
+ALTER TABLE service_levels ADD COLUMN max_concurrent_requests INTEGER NOT NULL DEFAULT 10;
+
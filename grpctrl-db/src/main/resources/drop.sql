@@ -11,3 +11,7 @@ DROP TABLE IF EXISTS api_logins;
 DROP TABLE IF EXISTS accounts;
 DROP TABLE IF EXISTS schema_version;
 
+DROP FUNCTION IF EXISTS accounts_changed();
+DROP FUNCTION IF EXISTS accounts_data_changed();
+DROP FUNCTION IF EXISTS accounts_bump_data_version(BIGINT);
+
@@ -1,6 +1,9 @@
 package com.grpctrl.db;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
 
 import com.grpctrl.common.config.ConfigKeys;
 import com.grpctrl.common.supplier.ConfigSupplier;
@@ -36,6 +39,10 @@ public class DataSourceSupplierTest {
         map.put(ConfigKeys.DB_TIMEOUT_CONNECTION.getKey(), ConfigValueFactory.fromAnyRef("10 seconds"));
         map.put(ConfigKeys.DB_CLEAN.getKey(), ConfigValueFactory.fromAnyRef("true"));
         map.put(ConfigKeys.DB_MIGRATE.getKey(), ConfigValueFactory.fromAnyRef("false"));
+        map.put(ConfigKeys.DB_SLOW_QUERY_THRESHOLD.getKey(), ConfigValueFactory.fromAnyRef("500 milliseconds"));
+        map.put(ConfigKeys.DB_SLOW_QUERY_EXPLAIN_SAMPLE_RATE.getKey(), ConfigValueFactory.fromAnyRef(0.1));
+        map.put(ConfigKeys.DB_SLOW_QUERY_EXPLAIN_TIMEOUT.getKey(), ConfigValueFactory.fromAnyRef("30 seconds"));
+        map.put(ConfigKeys.DB_SLOW_QUERY_HISTORY_SIZE.getKey(), ConfigValueFactory.fromAnyRef(100));
 
         map.put(ConfigKeys.CRYPTO_SHARED_SECRET_VARIABLE.getKey(), ConfigValueFactory.fromAnyRef("SHARED_SECRET"));
         map.put("SHARED_SECRET", ConfigValueFactory.fromAnyRef("SHARED_SECRET"));
@@ -69,6 +76,23 @@ public class DataSourceSupplierTest {
         supplier.dispose(supplier.get());
     }
 
+    @Test
+    public void testRegisterMetrics() {
+        assertNotNull(supplier.get());
+        assertNotNull(supplier.getDaoMetrics());
+
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        supplier.registerMetrics(metricRegistry);
+        assertTrue(metricRegistry.getNames().contains(DataSourceSupplier.POOL_NAME + ".pool.Wait"));
+        assertTrue(metricRegistry.getNames().contains(DataSourceSupplier.POOL_NAME + ".pool.ActiveConnections"));
+    }
+
+    @Test
+    public void testGetSlowQueryLog() {
+        assertNotNull(supplier.getSlowQueryLog());
+        assertTrue(supplier.getSlowQueryLog().getSlowQueries().isEmpty());
+    }
+
     @Test
     public void testBinder() {
         // Nothing to really test here.
@@ -45,7 +45,7 @@ public abstract class BaseAccountDaoTest {
         final Account account1 = new Account("account-management-test-1");
         final Account account2 = new Account("account-management-test-2");
         final Account account3 = new Account("account-management-test-3");
-        final Account account4 = new Account("account-management-test-4", new ServiceLevel(11, 12, 13));
+        final Account account4 = new Account("account-management-test-4", new ServiceLevel(11, 12, 13, 14, 15));
 
         final Collection<Account> addedCollection = new ArrayList<>(1);
         dao.add(asList(account1, account2, account3, account4).iterator(), new AddTo(addedCollection));
@@ -117,6 +117,11 @@ public abstract class BaseAccountDaoTest {
         getAccountDaoWithDataSourceException().get(singleton(1111L), IGNORED);
     }
 
+    @Test(expected = InternalServerErrorException.class)
+    public void testGetDataVersionException() throws WebApplicationException {
+        getAccountDaoWithDataSourceException().getDataVersion(1111L);
+    }
+
     @Test(expected = InternalServerErrorException.class)
     public void testGetAllAccountException() throws WebApplicationException {
         getAccountDaoWithDataSourceException().getAll(IGNORED);
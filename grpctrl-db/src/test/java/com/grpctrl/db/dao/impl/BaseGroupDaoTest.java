@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.OptionalLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -414,6 +415,37 @@ public abstract class BaseGroupDaoTest {
         assertEquals(0, dao.remove(account1, singleton(p2id)));
     }
 
+    @Test
+    public void testDataVersion() throws WebApplicationException {
+        final GroupDao dao = getGroupDao();
+
+        final Account account = new Account("data-version-account-1");
+        getAccountDao().add(singleton(account).iterator(), ACCOUNT_IGNORED);
+        final Long accountId = account.getId().orElse(null);
+
+        final OptionalLong initial = getAccountDao().getDataVersion(accountId);
+        assertTrue(initial.isPresent());
+
+        // Reading the groups does not change the version.
+        dao.get(account, IGNORED);
+        assertEquals(initial, getAccountDao().getDataVersion(accountId));
+
+        // Adding groups changes the version once for the whole batch.
+        dao.add(account, asList(new Group("a"), new Group("b")).iterator(), IGNORED);
+        final OptionalLong added = getAccountDao().getDataVersion(accountId);
+        assertEquals(initial.getAsLong() + 1, added.getAsLong());
+
+        // Removing a group changes the version.
+        final Collection<Group> groups = new ArrayList<>();
+        dao.getByName(account, singleton("a"), new AddTo(groups));
+        assertEquals(1, dao.remove(account, singleton(groups.iterator().next().getId().orElse(null))));
+        assertTrue(getAccountDao().getDataVersion(accountId).getAsLong() > added.getAsLong());
+
+        // There is no version once the account has been removed.
+        assertEquals(1, getAccountDao().remove(singleton(accountId)));
+        assertFalse(getAccountDao().getDataVersion(accountId).isPresent());
+    }
+
     @Test(expected = QuotaExceededException.class)
     public void testGroupsExceedQuotaIndividualInserts() {
         final GroupDao dao = getGroupDao();
@@ -37,6 +37,10 @@ public class GroupDaoSupplierTest {
         map.put(ConfigKeys.DB_TIMEOUT_CONNECTION.getKey(), ConfigValueFactory.fromAnyRef("10 seconds"));
         map.put(ConfigKeys.DB_CLEAN.getKey(), ConfigValueFactory.fromAnyRef("true"));
         map.put(ConfigKeys.DB_MIGRATE.getKey(), ConfigValueFactory.fromAnyRef("false"));
+        map.put(ConfigKeys.DB_SLOW_QUERY_THRESHOLD.getKey(), ConfigValueFactory.fromAnyRef("500 milliseconds"));
+        map.put(ConfigKeys.DB_SLOW_QUERY_EXPLAIN_SAMPLE_RATE.getKey(), ConfigValueFactory.fromAnyRef(0.1));
+        map.put(ConfigKeys.DB_SLOW_QUERY_EXPLAIN_TIMEOUT.getKey(), ConfigValueFactory.fromAnyRef("30 seconds"));
+        map.put(ConfigKeys.DB_SLOW_QUERY_HISTORY_SIZE.getKey(), ConfigValueFactory.fromAnyRef(100));
 
         map.put(ConfigKeys.CRYPTO_SHARED_SECRET_VARIABLE.getKey(), ConfigValueFactory.fromAnyRef("SHARED_SECRET"));
         map.put("SHARED_SECRET", ConfigValueFactory.fromAnyRef("SHARED_SECRET"));
@@ -0,0 +1,158 @@
+package com.grpctrl.db.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.codahale.metrics.MetricRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * Perform testing on the {@link DaoMetrics} class.
+ */
+public class DaoMetricsTest {
+    private static final String PREFIX = TestDao.class.getName() + ".";
+
+    private MetricRegistry metricRegistry;
+    private DataSource dataSource;
+    private TestDao dao;
+
+    /**
+     * A simple DAO used to exercise the instrumentation.
+     */
+    public interface TestDao {
+        int read() throws SQLException;
+
+        int write() throws SQLException;
+
+        void fail() throws SQLException;
+    }
+
+    @Before
+    public void before() throws SQLException {
+        final ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.next()).thenReturn(true, true, true, false);
+
+        final PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(preparedStatement.executeBatch()).thenReturn(new int[] {1, 1, Statement.SUCCESS_NO_INFO});
+        Mockito.when(preparedStatement.executeUpdate()).thenThrow(new SQLException("Unique", "23505"));
+
+        final Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(preparedStatement);
+
+        final DataSource mockDataSource = Mockito.mock(DataSource.class);
+        Mockito.when(mockDataSource.getConnection()).thenReturn(connection);
+
+        this.metricRegistry = new MetricRegistry();
+        final DaoMetrics daoMetrics = new DaoMetrics(this.metricRegistry);
+        this.dataSource = daoMetrics.instrument(mockDataSource);
+        this.dao = daoMetrics.instrument(TestDao.class, new JdbcTestDao(this.dataSource));
+    }
+
+    @Test
+    public void testRead() throws SQLException {
+        assertEquals(3, this.dao.read());
+
+        assertEquals(1, this.metricRegistry.timer(PREFIX + "read.calls").getCount());
+        assertEquals(1, this.metricRegistry.timer(PREFIX + "read.connection-wait").getCount());
+        assertEquals(1, this.metricRegistry.timer(PREFIX + "read.queries").getCount());
+        assertEquals(1, this.metricRegistry.histogram(PREFIX + "read.rows-read").getCount());
+        assertEquals(3, this.metricRegistry.histogram(PREFIX + "read.rows-read").getSnapshot().getMax());
+        assertEquals(0, this.metricRegistry.histogram(PREFIX + "read.rows-written").getCount());
+    }
+
+    @Test
+    public void testWrite() throws SQLException {
+        assertEquals(2, this.dao.write());
+
+        assertEquals(1, this.metricRegistry.timer(PREFIX + "write.calls").getCount());
+        assertEquals(1, this.metricRegistry.timer(PREFIX + "write.queries").getCount());
+        assertEquals(3, this.metricRegistry.histogram(PREFIX + "write.batch-size").getSnapshot().getMax());
+        assertEquals(2, this.metricRegistry.histogram(PREFIX + "write.rows-written").getSnapshot().getMax());
+        assertEquals(0, this.metricRegistry.histogram(PREFIX + "write.rows-read").getCount());
+    }
+
+    @Test
+    public void testFail() {
+        try {
+            this.dao.fail();
+            fail("Expected a database error");
+        } catch (final SQLException sqlException) {
+            assertEquals("23505", sqlException.getSQLState());
+        }
+
+        assertEquals(1, this.metricRegistry.timer(PREFIX + "fail.calls").getCount());
+        assertEquals(1, this.metricRegistry.meter(PREFIX + "fail.errors.23505").getCount());
+    }
+
+    @Test
+    public void testUnattributed() throws SQLException {
+        // Database work performed outside of a DAO method.
+        assertEquals(3, new JdbcTestDao(this.dataSource).read());
+
+        final String prefix = MetricRegistry.name(DaoMetrics.class, "unattributed") + ".";
+        assertEquals(0, this.metricRegistry.timer(PREFIX + "read.calls").getCount());
+        assertEquals(1, this.metricRegistry.timer(prefix + "queries").getCount());
+        assertEquals(3, this.metricRegistry.histogram(prefix + "rows-read").getSnapshot().getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInstrumentNotInterface() {
+        new DaoMetrics(this.metricRegistry).instrument(Object.class, new Object());
+    }
+
+    private static class JdbcTestDao implements TestDao {
+        private final DataSource dataSource;
+
+        JdbcTestDao(final DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public int read() throws SQLException {
+            int rows = 0;
+            try (final Connection conn = this.dataSource.getConnection();
+                 final PreparedStatement ps = conn.prepareStatement("SELECT 1");
+                 final ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public int write() throws SQLException {
+            try (final Connection conn = this.dataSource.getConnection();
+                 final PreparedStatement ps = conn.prepareStatement("INSERT")) {
+                for (int i = 0; i < 3; i++) {
+                    ps.addBatch();
+                }
+                int written = 0;
+                for (final int count : ps.executeBatch()) {
+                    written += Math.max(count, 0);
+                }
+                return written;
+            }
+        }
+
+        @Override
+        public void fail() throws SQLException {
+            try (final Connection conn = this.dataSource.getConnection();
+                 final PreparedStatement ps = conn.prepareStatement("UPDATE")) {
+                ps.executeUpdate();
+            }
+        }
+    }
+}
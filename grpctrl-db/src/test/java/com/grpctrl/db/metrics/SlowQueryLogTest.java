@@ -0,0 +1,143 @@
+package com.grpctrl.db.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Perform testing on the {@link SlowQueryLog} class.
+ */
+public class SlowQueryLogTest {
+    private static SlowQueryLog.Parameter parameter(
+            final String setter, final Class<?> type, final int index, final Object value) throws Exception {
+        return new SlowQueryLog.Parameter(
+                PreparedStatement.class.getMethod(setter, int.class, type), new Object[] {index, value});
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("SELECT * FROM groups WHERE account_id = ? AND name = ? AND g2.id = ?",
+                SlowQueryLog.normalize("SELECT *\n  FROM groups\tWHERE account_id = 12 AND name = 'it''s' "
+                        + "AND g2.id = ?"));
+    }
+
+    @Test
+    public void testIsExplainable() throws Exception {
+        final List<SlowQueryLog.Parameter> none = Collections.emptyList();
+        assertTrue(SlowQueryLog.isExplainable("SELECT * FROM groups", none));
+        assertTrue(SlowQueryLog.isExplainable("WITH RECURSIVE p AS (SELECT 1) SELECT * FROM p", none));
+        assertFalse(SlowQueryLog.isExplainable("INSERT INTO groups VALUES (?)", none));
+        assertFalse(SlowQueryLog.isExplainable("WITH d AS (DELETE FROM groups RETURNING *) SELECT * FROM d", none));
+        assertFalse(SlowQueryLog.isExplainable("SELECT * FROM groups WHERE data = ?",
+                Collections.singletonList(parameter("setBinaryStream", InputStream.class, 1,
+                        new ByteArrayInputStream(new byte[0])))));
+    }
+
+    @Test
+    public void testParameterShape() throws Exception {
+        assertEquals("Long", parameter("setLong", long.class, 1, 5L).getShape());
+        assertEquals("String", parameter("setString", String.class, 1, "value").getShape());
+        assertEquals("null", parameter("setString", String.class, 1, null).getShape());
+        assertEquals("Integer", parameter("setObject", Object.class, 1, 5).getShape());
+    }
+
+    @Test
+    public void testHistory() throws Exception {
+        final SlowQueryLog slowQueryLog = new SlowQueryLog(
+                TimeUnit.MILLISECONDS.toNanos(100), 0, 2, 30, Mockito.mock(DataSource.class), new MetricRegistry());
+        assertFalse(slowQueryLog.isSlow(TimeUnit.MILLISECONDS.toNanos(99)));
+        assertTrue(slowQueryLog.isSlow(TimeUnit.MILLISECONDS.toNanos(100)));
+
+        final List<SlowQueryLog.Parameter> parameters =
+                Collections.singletonList(parameter("setLong", long.class, 1, 5L));
+        slowQueryLog.record("first", "SELECT 1", parameters, TimeUnit.MILLISECONDS.toNanos(100), false);
+        slowQueryLog.record("second", "SELECT 2", parameters, TimeUnit.MILLISECONDS.toNanos(200), false);
+        slowQueryLog.record("third", "SELECT 3", parameters, TimeUnit.MILLISECONDS.toNanos(300), false);
+
+        final List<SlowQuery> slowQueries = slowQueryLog.getSlowQueries();
+        assertEquals(2, slowQueries.size());
+        assertEquals("third", slowQueries.get(0).getOperation());
+        assertEquals("SELECT ?", slowQueries.get(0).getSql());
+        assertEquals(Collections.singletonList("Long"), slowQueries.get(0).getParameters());
+        assertEquals(300, slowQueries.get(0).getDurationMillis());
+        assertNull(slowQueries.get(0).getPlan());
+        assertEquals("second", slowQueries.get(1).getOperation());
+    }
+
+    @Test
+    public void testExplain() throws Exception {
+        final ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.next()).thenReturn(true, true, false);
+        Mockito.when(resultSet.getString(1)).thenReturn("Seq Scan on groups", "Execution time: 1.0 ms");
+
+        final PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(preparedStatement.executeQuery()).thenReturn(resultSet);
+
+        final Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(preparedStatement);
+
+        final DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        final SlowQueryLog slowQueryLog = new SlowQueryLog(0, 1, 10, 30, dataSource, new MetricRegistry());
+        slowQueryLog.record("operation", "SELECT * FROM groups WHERE id = ?",
+                Collections.singletonList(parameter("setLong", long.class, 1, 5L)), 1000, false);
+
+        for (int i = 0; i < 100 && slowQueryLog.getSlowQueries().isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        final List<SlowQuery> slowQueries = slowQueryLog.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals("Seq Scan on groups\nExecution time: 1.0 ms", slowQueries.get(0).getPlan());
+    }
+
+    @Test
+    public void testInstrumentedStatement() throws SQLException {
+        final PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(preparedStatement.executeUpdate()).thenReturn(1);
+
+        final Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(preparedStatement);
+
+        final DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final SlowQueryLog slowQueryLog = new SlowQueryLog(0, 1, 10, 30, dataSource, metricRegistry);
+        final DataSource instrumented = new DaoMetrics(metricRegistry).instrument(dataSource, slowQueryLog);
+
+        try (final Connection conn = instrumented.getConnection();
+             final PreparedStatement ps = conn.prepareStatement("UPDATE groups SET name = ? WHERE id = 7")) {
+            ps.setString(1, "name");
+            ps.setFetchSize(10);
+            assertEquals(1, ps.executeUpdate());
+        }
+
+        final List<SlowQuery> slowQueries = slowQueryLog.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals(MetricRegistry.name(DaoMetrics.class, "unattributed"), slowQueries.get(0).getOperation());
+        assertEquals("UPDATE groups SET name = ? WHERE id = ?", slowQueries.get(0).getSql());
+        assertEquals(Arrays.asList("String"), slowQueries.get(0).getParameters());
+        assertNull(slowQueries.get(0).getPlan());
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(SlowQueryLog.class, "slow")).getCount());
+    }
+}
@@ -2,9 +2,15 @@ package com.grpctrl.rest;
 
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
 import com.grpctrl.rest.providers.AccountLookupFilter;
+import com.grpctrl.rest.providers.CompressionFilter;
+import com.grpctrl.rest.providers.FlightRecorderListener;
 import com.grpctrl.rest.providers.GenericExceptionMapper;
-import com.grpctrl.rest.providers.MemoryUsageLogger;
+import com.grpctrl.rest.providers.MemoryPressureFilter;
+import com.grpctrl.rest.providers.RateLimitFilter;
 import com.grpctrl.rest.providers.RequestLoggingFilter;
+import com.grpctrl.rest.providers.RequestMetricsListener;
+import com.grpctrl.rest.providers.ResourceUsageFilter;
+import com.grpctrl.rest.providers.TracingFilter;
 import com.grpctrl.rest.providers.UserLookupFilter;
 import com.grpctrl.rest.resource.auth.Login;
 import com.grpctrl.rest.resource.auth.Logout;
@@ -12,12 +18,16 @@ import com.grpctrl.rest.resource.v1.account.AccountAdd;
 import com.grpctrl.rest.resource.v1.account.AccountGet;
 import com.grpctrl.rest.resource.v1.account.AccountGetAll;
 import com.grpctrl.rest.resource.v1.account.AccountRemove;
+import com.grpctrl.rest.resource.v1.admin.RecordingGet;
+import com.grpctrl.rest.resource.v1.admin.RecordingGetAll;
+import com.grpctrl.rest.resource.v1.admin.RecordingRemove;
+import com.grpctrl.rest.resource.v1.admin.RecordingStart;
+import com.grpctrl.rest.resource.v1.admin.RecordingStop;
+import com.grpctrl.rest.resource.v1.admin.SlowQueryGetAll;
 import com.grpctrl.rest.resource.v1.group.GroupAdd;
 import com.grpctrl.rest.resource.v1.status.AccountStatus;
 
-import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ResourceConfig;
-import org.glassfish.jersey.server.filter.EncodingFilter;
 
 import javax.ws.rs.ApplicationPath;
 
@@ -42,13 +52,23 @@ public class ApiApplication extends ResourceConfig {
         register(GroupAdd.class);
         register(Login.class);
         register(Logout.class);
+        register(RecordingStart.class);
+        register(RecordingStop.class);
+        register(RecordingGet.class);
+        register(RecordingGetAll.class);
+        register(RecordingRemove.class);
+        register(SlowQueryGetAll.class);
 
+        register(TracingFilter.class);
         register(RequestLoggingFilter.class);
         register(UserLookupFilter.class);
         register(AccountLookupFilter.class);
-        register(MemoryUsageLogger.class);
+        register(MemoryPressureFilter.class);
+        register(RateLimitFilter.class);
+        register(RequestMetricsListener.class);
+        register(FlightRecorderListener.class);
+        register(ResourceUsageFilter.class);
         register(GenericExceptionMapper.class);
-
-        EncodingFilter.enableFor(this, GZipEncoder.class);
+        register(CompressionFilter.class);
     }
 }
@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.servlets.HealthCheckServlet;
 import com.codahale.metrics.servlets.MetricsServlet;
+import com.grpctrl.common.jvm.JvmMetricSet;
 
 import javax.annotation.Nonnull;
 import javax.servlet.ServletContextEvent;
@@ -17,7 +18,9 @@ public class ContextListener implements ServletContextListener {
     public void contextInitialized(@Nonnull final ServletContextEvent event) {
         // Create the metric and health check registry so that the servlets will have them when they need them.
         // These values are also pulled from the servlet context by the corresponding suppliers.
-        event.getServletContext().setAttribute(MetricsServlet.METRICS_REGISTRY, new MetricRegistry());
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        metricRegistry.register("jvm", new JvmMetricSet());
+        event.getServletContext().setAttribute(MetricsServlet.METRICS_REGISTRY, metricRegistry);
         event.getServletContext().setAttribute(HealthCheckServlet.HEALTH_CHECK_REGISTRY, new HealthCheckRegistry());
     }
 
@@ -2,6 +2,8 @@ package com.grpctrl.rest.providers;
 
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.model.ApiLogin;
+import com.grpctrl.common.trace.Span;
+import com.grpctrl.common.trace.Trace;
 import com.grpctrl.db.dao.supplier.AccountDaoSupplier;
 
 import org.apache.commons.lang3.StringUtils;
@@ -40,6 +42,15 @@ public class AccountLookupFilter implements ContainerRequestFilter {
 
     @Override
     public void filter(@Nonnull final ContainerRequestContext requestContext) throws IOException {
+        final Span span = Trace.span(AccountLookupFilter.class.getSimpleName());
+        try {
+            lookup(requestContext);
+        } finally {
+            span.close();
+        }
+    }
+
+    private void lookup(@Nonnull final ContainerRequestContext requestContext) {
         final Optional<ApiLogin> apiLogin = getApiLogin(requestContext);
 
         if (apiLogin.isPresent()) {
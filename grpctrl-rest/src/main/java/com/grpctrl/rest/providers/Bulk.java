@@ -0,0 +1,19 @@
+package com.grpctrl.rest.providers;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks resources performing bulk operations, like importing large numbers of accounts or groups or streaming large
+ * exports. Bulk requests hold database connections for much longer than other requests, so the {@link RateLimitFilter}
+ * limits each account to a smaller number of bulk requests in progress at once. They also use far more memory, so the
+ * {@link MemoryPressureFilter} rejects them while the server is under memory pressure.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Bulk {
+}
@@ -0,0 +1,126 @@
+package com.grpctrl.rest.providers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * An output stream that writes gzip-compressed data once the amount of data written reaches a minimum size. Smaller
+ * payloads are written without compression when the stream is closed, since the gzip header and trailer would outweigh
+ * any savings. Once compressing, each flush performs a deflater sync-flush so the data written so far reaches the
+ * client, which keeps flush points in streaming responses meaningful. Flushes requested before the minimum size is
+ * reached are deferred until the compression decision has been made.
+ */
+public class CompressingOutputStream extends FilterOutputStream {
+    @Nonnull
+    private final Runnable onCompress;
+    private final int minSize;
+    private final int level;
+
+    @CheckForNull
+    private ByteArrayOutputStream buffer;
+    @CheckForNull
+    private OutputStream gzip = null;
+    private boolean closed = false;
+
+    /**
+     * @param out the underlying output stream to which data is written
+     * @param minSize the minimum number of bytes that must be written before the data is compressed
+     * @param level the deflater compression level to use, from 0 to 9
+     * @param onCompress invoked once, before any compressed data is written to the underlying stream, so the
+     *     response headers can indicate the content encoding
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the minimum size is negative or the level is not valid
+     */
+    public CompressingOutputStream(
+            @Nonnull final OutputStream out, final int minSize, final int level, @Nonnull final Runnable onCompress) {
+        super(Objects.requireNonNull(out));
+        if (minSize < 0 || level < 0 || level > 9) {
+            throw new IllegalArgumentException("Invalid compression minimum size or level");
+        }
+        this.onCompress = Objects.requireNonNull(onCompress);
+        this.minSize = minSize;
+        this.level = level;
+        this.buffer = new ByteArrayOutputStream(Math.min(minSize, 8192));
+    }
+
+    /**
+     * @return whether the data written to this stream is being compressed
+     */
+    public boolean isCompressing() {
+        return this.gzip != null;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] data, final int off, final int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        if (this.gzip != null) {
+            this.gzip.write(data, off, len);
+        } else if (this.buffer != null && this.buffer.size() + len < this.minSize) {
+            this.buffer.write(data, off, len);
+        } else {
+            startCompressing().write(data, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.gzip != null) {
+            this.gzip.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        if (this.gzip != null) {
+            this.gzip.close();
+        } else {
+            // Too small to be worth compressing, so write the data as-is.
+            if (this.buffer != null) {
+                this.buffer.writeTo(this.out);
+                this.buffer = null;
+            }
+            this.out.close();
+        }
+    }
+
+    @Nonnull
+    private OutputStream startCompressing() throws IOException {
+        this.onCompress.run();
+
+        final OutputStream compressed = new LeveledGzipOutputStream(this.out, this.level);
+        if (this.buffer != null) {
+            this.buffer.writeTo(compressed);
+            this.buffer = null;
+        }
+        this.gzip = compressed;
+        return compressed;
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+        public LeveledGzipOutputStream(@Nonnull final OutputStream out, final int level) throws IOException {
+            // Enable sync-flush so flushing the stream pushes all of the compressed data written so far.
+            super(out, 8192, true);
+            this.def.setLevel(level);
+        }
+    }
+}
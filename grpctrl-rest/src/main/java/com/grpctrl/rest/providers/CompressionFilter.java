@@ -0,0 +1,167 @@
+package com.grpctrl.rest.providers;
+
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.typesafe.config.Config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Responsible for gzip compression of response entities, when the client accepts it and compression is worthwhile.
+ * Compression is skipped for media types that are already binary, like the Smile and CBOR encodings, and while the
+ * system CPU is saturated. Responses smaller than the configured minimum size are sent uncompressed, while streaming
+ * responses are compressed from the start with a sync-flush at each streamer flush point.
+ */
+@Provider
+public class CompressionFilter implements ContainerResponseFilter, WriterInterceptor {
+    /** The request property holding the minimum size at which the response entity will be compressed. */
+    static final String MIN_SIZE_PROPERTY = CompressionFilter.class.getName() + ".minSize";
+
+    private static final String GZIP = "gzip";
+    private static final long CPU_SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int minSize;
+    private final int level;
+    private final double cpuThreshold;
+
+    private volatile double cpuLoad = 0;
+    private volatile long cpuLoadSampled = System.nanoTime() - CPU_SAMPLE_NANOS;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     */
+    @Inject
+    public CompressionFilter(@Nonnull final ConfigSupplier configSupplier) {
+        final Config config = Objects.requireNonNull(configSupplier).get();
+        this.minSize = config.getBytes(ConfigKeys.COMPRESSION_MIN_SIZE.getKey()).intValue();
+        this.level = config.getInt(ConfigKeys.COMPRESSION_LEVEL.getKey());
+        this.cpuThreshold = config.getDouble(ConfigKeys.COMPRESSION_CPU_THRESHOLD.getKey());
+    }
+
+    @Override
+    public void filter(
+            @Nonnull final ContainerRequestContext requestContext,
+            @Nonnull final ContainerResponseContext responseContext) {
+        if (!responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+                || !isCompressible(responseContext.getMediaType())) {
+            return;
+        }
+
+        // The response representation depends on the encodings accepted by the client.
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)) || isCpuSaturated()) {
+            return;
+        }
+
+        final Object entity = responseContext.getEntity();
+        if (entity instanceof StreamingOutput) {
+            // Streams are expected to be large, compress right away so flushes reach the client.
+            requestContext.setProperty(MIN_SIZE_PROPERTY, 0);
+        } else if (entity instanceof String) {
+            if (((String) entity).getBytes(StandardCharsets.UTF_8).length >= this.minSize) {
+                requestContext.setProperty(MIN_SIZE_PROPERTY, 0);
+            }
+        } else if (entity instanceof byte[]) {
+            if (((byte[]) entity).length >= this.minSize) {
+                requestContext.setProperty(MIN_SIZE_PROPERTY, 0);
+            }
+        } else {
+            // The serialized size is not known yet, so decide once the data is written.
+            requestContext.setProperty(MIN_SIZE_PROPERTY, this.minSize);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(@Nonnull final WriterInterceptorContext context) throws IOException {
+        final Object minSize = context.getProperty(MIN_SIZE_PROPERTY);
+        if (minSize instanceof Integer) {
+            context.setOutputStream(new CompressingOutputStream(context.getOutputStream(), (Integer) minSize,
+                    this.level, () -> context.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP)));
+        }
+        context.proceed();
+    }
+
+    /**
+     * @param mediaType the media type of the response entity
+     *
+     * @return whether the media type describes text-based content that will benefit from compression
+     */
+    public static boolean isCompressible(@Nullable final MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        final String type = mediaType.getType().toLowerCase(Locale.ENGLISH);
+        final String subtype = mediaType.getSubtype().toLowerCase(Locale.ENGLISH);
+        return "text".equals(type) || "json".equals(subtype) || subtype.endsWith("+json") || "x-ndjson".equals(subtype)
+                || "xml".equals(subtype) || subtype.endsWith("+xml") || "javascript".equals(subtype);
+    }
+
+    /**
+     * @param acceptEncoding the value of the {@code Accept-Encoding} header provided by the client
+     *
+     * @return whether the client accepts gzip-encoded responses
+     */
+    public static boolean acceptsGzip(@CheckForNull final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            final String name = parts[0].trim().toLowerCase(Locale.ENGLISH);
+            final boolean accepted = parts.length < 2 || !isZeroQuality(parts[1]);
+            if (GZIP.equals(name) || "x-gzip".equals(name)) {
+                gzip = accepted;
+            } else if ("*".equals(name)) {
+                any = accepted;
+            }
+        }
+        // An explicit gzip coding takes precedence over the wildcard.
+        return gzip != null ? gzip : any != null && any;
+    }
+
+    private static boolean isZeroQuality(@Nonnull final String parameter) {
+        final String[] pair = parameter.trim().split("=");
+        if (pair.length == 2 && "q".equalsIgnoreCase(pair[0].trim())) {
+            try {
+                return Double.parseDouble(pair[1].trim()) <= 0;
+            } catch (final NumberFormatException badQuality) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCpuSaturated() {
+        // Sampled at most once a second, the load average changes slowly and is shared by all requests.
+        final long now = System.nanoTime();
+        if (now - this.cpuLoadSampled >= CPU_SAMPLE_NANOS) {
+            this.cpuLoadSampled = now;
+            final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            this.cpuLoad = os.getSystemLoadAverage() / os.getAvailableProcessors();
+        }
+        return this.cpuLoad >= this.cpuThreshold;
+    }
+}
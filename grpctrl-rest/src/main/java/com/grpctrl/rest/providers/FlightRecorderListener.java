@@ -0,0 +1,59 @@
+package com.grpctrl.rest.providers;
+
+import com.grpctrl.common.jfr.HttpRequestEvent;
+import com.grpctrl.common.jfr.JfrEvents;
+import com.grpctrl.common.model.Account;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Emits an {@link HttpRequestEvent} into the flight recorder for each request, covering the request from the moment
+ * it is received until the response has been completely written. Requests are only tracked while a flight recording
+ * including the event is in progress, on JVMs providing the flight recorder API.
+ */
+@Provider
+public class FlightRecorderListener implements ApplicationEventListener {
+    @Override
+    public void onEvent(@Nonnull final ApplicationEvent event) {
+        // Nothing to do.
+    }
+
+    @Override
+    @CheckForNull
+    public RequestEventListener onRequest(@Nonnull final RequestEvent event) {
+        final JfrEvents.HttpRequest httpRequestEvent = JfrEvents.get().beginHttpRequest();
+        return httpRequestEvent == null ? null : new RequestListener(httpRequestEvent);
+    }
+
+    private static class RequestListener implements RequestEventListener {
+        @Nonnull
+        private final JfrEvents.HttpRequest httpRequestEvent;
+
+        RequestListener(@Nonnull final JfrEvents.HttpRequest httpRequestEvent) {
+            this.httpRequestEvent = httpRequestEvent;
+        }
+
+        @Override
+        public void onEvent(@Nonnull final RequestEvent event) {
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+
+            final ContainerRequest request = event.getContainerRequest();
+            final ContainerResponse response = event.getContainerResponse();
+            final Object account = request.getProperty(AccountLookupFilter.ACCOUNT_PROPERTY);
+            this.httpRequestEvent.finish(request.getMethod(), request.getRequestUri().getPath(),
+                    account instanceof Account ? ((Account) account).getId().orElse(0L) : 0L,
+                    response == null ? 500 : response.getStatus());
+        }
+    }
+}
@@ -15,6 +15,7 @@ import javax.inject.Inject;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -61,7 +62,9 @@ public class GenericExceptionMapper implements ExceptionMapper<Throwable> {
         } else if (throwable instanceof WebApplicationException) {
             LOG.error("Exception caught", throwable);
             final WebApplicationException wae = (WebApplicationException) throwable;
+            // Keep the retry hint provided with rate limiting and server busy responses.
             return Response.status(wae.getResponse().getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, wae.getResponse().getHeaderString(HttpHeaders.RETRY_AFTER))
                     .entity(new ErrorResponse(wae.getResponse().getStatus(), throwable.getMessage()))
                     .type(MediaType.APPLICATION_JSON_TYPE).build();
         } else {
@@ -0,0 +1,76 @@
+package com.grpctrl.rest.providers;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Meter;
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.jvm.MemoryPressureMonitor;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.grpctrl.common.supplier.MemoryPressureMonitorSupplier;
+import com.grpctrl.common.supplier.MetricRegistrySupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Sheds the memory intensive requests, like bulk imports and large streaming exports, while the server is in degraded
+ * mode due to memory pressure. Rejected requests receive a {@code 503 Service Unavailable} response with a
+ * {@code Retry-After} header. All other requests continue to be processed normally.
+ */
+@Provider
+@Priority(Priorities.USER + 50)
+public class MemoryPressureFilter implements ContainerRequestFilter {
+    private static final Logger LOG = LoggerFactory.getLogger(MemoryPressureFilter.class);
+
+    @Nonnull
+    private final ResourceInfo resourceInfo;
+    @Nonnull
+    private final MemoryPressureMonitor memoryPressureMonitor;
+    private final long retryAfterSeconds;
+
+    @Nonnull
+    private final Meter rejected;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param memoryPressureMonitorSupplier provides the monitor determining whether the server is under memory pressure
+     * @param metricRegistrySupplier provides the registry into which the rejected request counts are recorded
+     * @param resourceInfo provides information about the resource matched for the current request
+     */
+    @Inject
+    public MemoryPressureFilter(
+            @Nonnull final ConfigSupplier configSupplier,
+            @Nonnull final MemoryPressureMonitorSupplier memoryPressureMonitorSupplier,
+            @Nonnull final MetricRegistrySupplier metricRegistrySupplier, @Nonnull final ResourceInfo resourceInfo) {
+        this.resourceInfo = Objects.requireNonNull(resourceInfo);
+        this.memoryPressureMonitor = Objects.requireNonNull(memoryPressureMonitorSupplier).get();
+        this.retryAfterSeconds = Objects.requireNonNull(configSupplier).get()
+                .getDuration(ConfigKeys.MEMORY_PRESSURE_RETRY_AFTER.getKey(), TimeUnit.SECONDS);
+
+        this.rejected = Objects.requireNonNull(metricRegistrySupplier).get()
+                .meter(name(MemoryPressureFilter.class, "rejected"));
+    }
+
+    @Override
+    public void filter(@Nonnull final ContainerRequestContext requestContext) {
+        if (this.memoryPressureMonitor.isDegraded() && RateLimitFilter.isBulk(this.resourceInfo)) {
+            this.rejected.mark();
+            LOG.warn("Rejecting bulk request to {} due to memory pressure", requestContext.getUriInfo().getPath());
+            throw new ServiceUnavailableException(
+                    "The server is under memory pressure, try again later", this.retryAfterSeconds);
+        }
+    }
+}
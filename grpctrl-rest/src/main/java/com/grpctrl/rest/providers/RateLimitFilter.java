@@ -0,0 +1,125 @@
+package com.grpctrl.rest.providers;
+
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.typesafe.config.Config;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Performs admission control on requests made with an account api key, enforcing the request rate and concurrent
+ * request limits of the account service level so a single busy account cannot exhaust the server threads or database
+ * connections. Rejected requests receive a {@code 429 Too Many Requests} response with a {@code Retry-After} header.
+ * This filter runs after the {@link AccountLookupFilter} has identified the account, and the admitted requests hold
+ * their permit until the response has been completely written to the client.
+ */
+@Provider
+@Priority(Priorities.USER + 100)
+public class RateLimitFilter implements ContainerRequestFilter, ApplicationEventListener {
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // The 429 Too Many Requests status is not included in the JAX-RS 2.0 Response.Status enumeration.
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /** The request property holding the permit of an admitted request. */
+    static final String PERMIT_PROPERTY = RateLimitFilter.class.getName() + ".permit";
+
+    private static final RequestEventListener RELEASE_LISTENER = event -> {
+        if (event.getType() == RequestEvent.Type.FINISHED) {
+            final Object permit = event.getContainerRequest().getProperty(PERMIT_PROPERTY);
+            if (permit instanceof RequestLimiter.Permit) {
+                ((RequestLimiter.Permit) permit).release();
+            }
+        }
+    };
+
+    @Nonnull
+    private final ResourceInfo resourceInfo;
+    @Nonnull
+    private final RequestLimiter requestLimiter;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param resourceInfo provides information about the resource matched for the current request
+     */
+    @Inject
+    public RateLimitFilter(@Nonnull final ConfigSupplier configSupplier, @Nonnull final ResourceInfo resourceInfo) {
+        final Config config = Objects.requireNonNull(configSupplier).get();
+        this.resourceInfo = Objects.requireNonNull(resourceInfo);
+        this.requestLimiter = new RequestLimiter(config.getInt(ConfigKeys.RATE_LIMIT_BULK_CONCURRENT_REQUESTS.getKey()),
+                config.getDuration(ConfigKeys.RATE_LIMIT_IDLE_TIMEOUT.getKey(), TimeUnit.MILLISECONDS),
+                config.getInt(ConfigKeys.RATE_LIMIT_STRIPES.getKey()));
+    }
+
+    @Override
+    public void filter(@Nonnull final ContainerRequestContext requestContext) {
+        final Object property = requestContext.getProperty(AccountLookupFilter.ACCOUNT_PROPERTY);
+        if (!(property instanceof Account)) {
+            // Only requests made on behalf of an account are limited.
+            return;
+        }
+
+        final Account account = (Account) property;
+        final Optional<Long> accountId = account.getId();
+        if (!accountId.isPresent()) {
+            return;
+        }
+
+        final RequestLimiter.Permit permit =
+                this.requestLimiter.acquire(accountId.get(), account.getServiceLevel(), isBulk(this.resourceInfo));
+        if (!permit.isAdmitted()) {
+            LOG.warn("Rejecting request from account {} due to request limits", accountId.get());
+            throw new ClientErrorException("The account request limit has been reached, try again later",
+                    Response.status(TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, permit.getRetryAfterSeconds()).build());
+        }
+        requestContext.setProperty(PERMIT_PROPERTY, permit);
+    }
+
+    /**
+     * @param resourceInfo provides information about the resource matched for the current request
+     *
+     * @return whether the matched resource class or method is annotated as performing a {@link Bulk} operation
+     */
+    static boolean isBulk(@Nonnull final ResourceInfo resourceInfo) {
+        final Class<?> resourceClass = resourceInfo.getResourceClass();
+        final Method resourceMethod = resourceInfo.getResourceMethod();
+        return resourceClass != null && resourceClass.isAnnotationPresent(Bulk.class)
+                || resourceMethod != null && resourceMethod.isAnnotationPresent(Bulk.class);
+    }
+
+    @Override
+    public void onEvent(@Nonnull final ApplicationEvent event) {
+        // Nothing to do.
+    }
+
+    @Override
+    @Nonnull
+    public RequestEventListener onRequest(@Nonnull final RequestEvent event) {
+        // Requests finish once the response has been written, including streaming and asynchronous responses.
+        return RELEASE_LISTENER;
+    }
+}
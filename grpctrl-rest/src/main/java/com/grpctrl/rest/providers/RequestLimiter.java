@@ -0,0 +1,192 @@
+package com.grpctrl.rest.providers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.grpctrl.common.model.ServiceLevel;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Enforces the request limits defined in each account {@link ServiceLevel}: a token bucket allowing up to the maximum
+ * request rate per second, with bursts of up to one second worth of requests, and a cap on the number of requests in
+ * progress at once. Bulk requests additionally share a smaller concurrency budget of their own. All of the per-account
+ * counters are updated with compare-and-set operations, and the account state is held in a striped cache so accounts
+ * never contend with each other for locks. Accounts that stop making requests are dropped from the cache once idle.
+ */
+public class RequestLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Nonnull
+    private final Cache<Long, AccountState> accounts;
+    @Nonnull
+    private final LongSupplier clock;
+    private final int bulkConcurrentRequests;
+
+    /**
+     * @param bulkConcurrentRequests the maximum number of bulk requests each account may have in progress at once
+     * @param idleTimeoutMillis the number of milliseconds after which the state of an idle account is discarded
+     * @param stripes the number of independently locked segments used to hold the account state
+     */
+    public RequestLimiter(final int bulkConcurrentRequests, final long idleTimeoutMillis, final int stripes) {
+        this(bulkConcurrentRequests, idleTimeoutMillis, stripes, System::nanoTime);
+    }
+
+    /**
+     * @param bulkConcurrentRequests the maximum number of bulk requests each account may have in progress at once
+     * @param idleTimeoutMillis the number of milliseconds after which the state of an idle account is discarded
+     * @param stripes the number of independently locked segments used to hold the account state
+     * @param clock provides the current time in nanoseconds
+     *
+     * @throws IllegalArgumentException if the bulk concurrent requests or stripes are not positive
+     */
+    RequestLimiter(
+            final int bulkConcurrentRequests, final long idleTimeoutMillis, final int stripes,
+            @Nonnull final LongSupplier clock) {
+        if (bulkConcurrentRequests < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Invalid bulk concurrent requests or stripes");
+        }
+        this.accounts = CacheBuilder.newBuilder().concurrencyLevel(stripes)
+                .expireAfterAccess(idleTimeoutMillis, TimeUnit.MILLISECONDS).build();
+        this.clock = Objects.requireNonNull(clock);
+        this.bulkConcurrentRequests = bulkConcurrentRequests;
+    }
+
+    /**
+     * Attempt to admit a request for the account.
+     *
+     * @param accountId the unique id of the account making the request
+     * @param serviceLevel the service level of the account, defining its request limits
+     * @param bulk whether the request is a bulk operation, subject to the smaller bulk concurrency budget
+     *
+     * @return the permit to release once the request is complete when the request is admitted, otherwise a rejection
+     *     indicating how long the client should wait before retrying
+     */
+    @Nonnull
+    public Permit acquire(final long accountId, @Nonnull final ServiceLevel serviceLevel, final boolean bulk) {
+        Objects.requireNonNull(serviceLevel);
+        final AccountState state = getState(accountId);
+
+        // The concurrency limits are checked first, so requests rejected for concurrency do not use up rate tokens.
+        if (!tryIncrement(state.inFlight, serviceLevel.getMaxConcurrentRequests())) {
+            return Permit.rejected(NANOS_PER_SECOND);
+        }
+        if (bulk) {
+            final int bulkLimit = Math.min(this.bulkConcurrentRequests, serviceLevel.getMaxConcurrentRequests());
+            if (!tryIncrement(state.bulkInFlight, bulkLimit)) {
+                state.inFlight.decrementAndGet();
+                return Permit.rejected(NANOS_PER_SECOND);
+            }
+        }
+
+        final Permit permit = new Permit(state, bulk, 0);
+        final long waitNanos = state.takeToken(this.clock.getAsLong(), serviceLevel.getMaxRequestRate());
+        if (waitNanos > 0) {
+            permit.release();
+            return Permit.rejected(waitNanos);
+        }
+        return permit;
+    }
+
+    @Nonnull
+    private AccountState getState(final long accountId) {
+        try {
+            return this.accounts.get(accountId, AccountState::new);
+        } catch (final ExecutionException executionException) {
+            // Not expected, the account state creation does not throw.
+            throw new IllegalStateException("Failed to create account request state", executionException);
+        }
+    }
+
+    private static boolean tryIncrement(@Nonnull final AtomicInteger counter, final int limit) {
+        while (true) {
+            final int current = counter.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static class AccountState {
+        // The theoretical arrival time of the next request, as used by the generic cell rate algorithm.
+        private final AtomicLong nextArrival = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger bulkInFlight = new AtomicInteger();
+
+        private long takeToken(final long now, final int ratePerSecond) {
+            final long interval = NANOS_PER_SECOND / ratePerSecond;
+            while (true) {
+                final long arrival = this.nextArrival.get();
+                final long next = (arrival == Long.MIN_VALUE || arrival < now ? now : arrival) + interval;
+                final long ahead = next - now;
+                if (ahead > NANOS_PER_SECOND) {
+                    // The bucket is empty, the next token becomes available once we are within the burst allowance.
+                    return ahead - NANOS_PER_SECOND;
+                }
+                if (this.nextArrival.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * The outcome of an attempt to admit a request. Admitted requests must release their permit once complete.
+     */
+    public static class Permit {
+        @CheckForNull
+        private final AccountState state;
+        private final boolean bulk;
+        private final long retryAfterNanos;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(@CheckForNull final AccountState state, final boolean bulk, final long retryAfterNanos) {
+            this.state = state;
+            this.bulk = bulk;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        @Nonnull
+        private static Permit rejected(final long retryAfterNanos) {
+            return new Permit(null, false, retryAfterNanos);
+        }
+
+        /**
+         * @return whether the request was admitted
+         */
+        public boolean isAdmitted() {
+            return this.state != null;
+        }
+
+        /**
+         * @return the number of whole seconds a rejected client should wait before retrying the request
+         */
+        public long getRetryAfterSeconds() {
+            return Math.max(1, (this.retryAfterNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        }
+
+        /**
+         * Release the permit, making room for another request from the account. Releasing more than once, or releasing
+         * a rejected permit, has no effect.
+         */
+        public void release() {
+            if (this.state != null && this.released.compareAndSet(false, true)) {
+                if (this.bulk) {
+                    this.state.bulkInFlight.decrementAndGet();
+                }
+                this.state.inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.grpctrl.rest.providers;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.grpctrl.common.supplier.MetricRegistrySupplier;
+
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Records request metrics for each resource method into the {@link MetricRegistry}: a timer covering the request from
+ * the moment it is received until the response has been completely written, a histogram of the response sizes, meters
+ * counting the responses by status code class, and a counter of the requests in progress. Requests that do not match
+ * any resource method are recorded under the {@code unmatched} name. Response sizes are measured after any content
+ * encoding has been applied, so they reflect the number of bytes sent to the client.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER - 1000)
+public class RequestMetricsListener implements ApplicationEventListener, WriterInterceptor {
+    /** The request property holding the stream counting the response bytes. */
+    static final String BYTES_PROPERTY = RequestMetricsListener.class.getName() + ".bytes";
+
+    @Nonnull
+    private final Counter active;
+    @Nonnull
+    private final ResourceMethodMetrics<MethodMetrics> methodMetrics;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param metricRegistrySupplier provides the registry into which the request metrics are recorded
+     */
+    @Inject
+    public RequestMetricsListener(
+            @Nonnull final ConfigSupplier configSupplier,
+            @Nonnull final MetricRegistrySupplier metricRegistrySupplier) {
+        final MetricRegistry metricRegistry = Objects.requireNonNull(metricRegistrySupplier).get();
+        final int reservoirSize = Objects.requireNonNull(configSupplier).get()
+                .getInt(ConfigKeys.METRICS_RESERVOIR_SIZE.getKey());
+        this.active = metricRegistry.counter(name(RequestMetricsListener.class, "active"));
+        this.methodMetrics = new ResourceMethodMetrics<>(
+                metricRegistry, reservoirSize, RequestMetricsListener.class, MethodMetrics::new);
+    }
+
+    @Override
+    public void onEvent(@Nonnull final ApplicationEvent event) {
+        // Nothing to do.
+    }
+
+    @Override
+    @Nonnull
+    public RequestEventListener onRequest(@Nonnull final RequestEvent event) {
+        return new RequestListener();
+    }
+
+    @Override
+    public void aroundWriteTo(@Nonnull final WriterInterceptorContext context) throws IOException {
+        // Runs before the compression interceptor, so this stream receives the encoded bytes sent to the client.
+        final CountingOutputStream counting = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(counting);
+        context.setProperty(BYTES_PROPERTY, counting);
+        context.proceed();
+    }
+
+    private static class MethodMetrics {
+        @Nonnull
+        private final Timer requests;
+        @Nonnull
+        private final Histogram responseSize;
+        @Nonnull
+        private final Counter active;
+        @Nonnull
+        private final Meter[] responses = new Meter[5];
+
+        MethodMetrics(@Nonnull final ResourceMethodMetrics<MethodMetrics> metrics, @Nonnull final String prefix) {
+            final MetricRegistry metricRegistry = metrics.getMetricRegistry();
+            this.requests = metrics.timer(name(prefix, "requests"));
+            this.responseSize = metrics.histogram(name(prefix, "response-size"));
+            this.active = metricRegistry.counter(name(prefix, "active"));
+            for (int statusClass = 1; statusClass <= this.responses.length; statusClass++) {
+                this.responses[statusClass - 1] = metricRegistry.meter(name(prefix, "responses", statusClass + "xx"));
+            }
+        }
+
+        void record(final long durationNanos, final int status, final long bytes) {
+            this.requests.update(durationNanos, TimeUnit.NANOSECONDS);
+            this.responseSize.update(bytes);
+            final int statusClass = status / 100;
+            if (statusClass >= 1 && statusClass <= this.responses.length) {
+                this.responses[statusClass - 1].mark();
+            }
+        }
+    }
+
+    private class RequestListener implements RequestEventListener {
+        private final long start = System.nanoTime();
+
+        @CheckForNull
+        private MethodMetrics matched = null;
+
+        RequestListener() {
+            active.inc();
+        }
+
+        @Override
+        public void onEvent(@Nonnull final RequestEvent event) {
+            switch (event.getType()) {
+                case RESOURCE_METHOD_START:
+                    matched(event);
+                    break;
+                case FINISHED:
+                    finished(event);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void matched(@Nonnull final RequestEvent event) {
+            this.matched = methodMetrics.get(event.getUriInfo().getMatchedResourceMethod());
+            this.matched.active.inc();
+        }
+
+        private void finished(@Nonnull final RequestEvent event) {
+            final long duration = System.nanoTime() - this.start;
+            active.dec();
+
+            final ContainerResponse response = event.getContainerResponse();
+            final int status = response == null ? 500 : response.getStatus();
+            final Object counting = event.getContainerRequest().getProperty(BYTES_PROPERTY);
+            final long bytes = counting instanceof CountingOutputStream ? ((CountingOutputStream) counting).count : 0;
+
+            if (this.matched != null) {
+                this.matched.active.dec();
+                this.matched.record(duration, status, bytes);
+            } else {
+                methodMetrics.get(null).record(duration, status, bytes);
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(@Nonnull final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(@Nonnull final byte[] data, final int off, final int len) throws IOException {
+            this.out.write(data, off, len);
+            this.count += len;
+        }
+    }
+}
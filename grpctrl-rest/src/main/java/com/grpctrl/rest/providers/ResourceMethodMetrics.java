@@ -0,0 +1,113 @@
+package com.grpctrl.rest.providers;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Holds the metrics recorded by a provider for each resource method, created the first time the resource method is
+ * matched and named after the resource class and method. Requests that do not match any resource method share the
+ * metrics named {@code unmatched} below the provider class.
+ *
+ * @param <M> the type of the metrics recorded for each resource method
+ */
+class ResourceMethodMetrics<M> {
+    @Nonnull
+    private final MetricRegistry metricRegistry;
+    private final int reservoirSize;
+    @Nonnull
+    private final BiFunction<ResourceMethodMetrics<M>, String, M> factory;
+
+    @Nonnull
+    private final M unmatched;
+    @Nonnull
+    private final Map<Method, M> methodMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * @param metricRegistry the registry into which the metrics are recorded
+     * @param reservoirSize the number of samples kept in the reservoirs of the timers and histograms
+     * @param provider the provider recording the metrics, used to name the metrics of unmatched requests
+     * @param factory creates the metrics of a resource method from these metrics and the prefix of the metric names
+     */
+    ResourceMethodMetrics(
+            @Nonnull final MetricRegistry metricRegistry, final int reservoirSize, @Nonnull final Class<?> provider,
+            @Nonnull final BiFunction<ResourceMethodMetrics<M>, String, M> factory) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+        this.reservoirSize = reservoirSize;
+        this.factory = Objects.requireNonNull(factory);
+        this.unmatched = factory.apply(this, name(Objects.requireNonNull(provider), "unmatched"));
+    }
+
+    /**
+     * @return the registry into which the metrics are recorded
+     */
+    @Nonnull
+    MetricRegistry getMetricRegistry() {
+        return this.metricRegistry;
+    }
+
+    /**
+     * @param resourceMethod the resource method matched by a request, or {@code null} when no resource method matched
+     *
+     * @return the metrics of the resource method, or the metrics of the unmatched requests
+     */
+    @Nonnull
+    M get(@CheckForNull final ResourceMethod resourceMethod) {
+        if (resourceMethod == null) {
+            return this.unmatched;
+        }
+        final Invocable invocable = resourceMethod.getInvocable();
+        final Method method = invocable.getDefinitionMethod();
+        return this.methodMetrics.computeIfAbsent(method, m -> this.factory.apply(this,
+                name(invocable.getHandler().getHandlerClass(), m.getName())));
+    }
+
+    /**
+     * @param name the name of the timer
+     *
+     * @return the timer registered with the name, created with the configured reservoir size when not yet registered
+     */
+    @Nonnull
+    Timer timer(@Nonnull final String name) {
+        // A larger reservoir than the default keeps the tail percentiles, like the 99.9th, meaningful.
+        return register(name, new Timer(new ExponentiallyDecayingReservoir(this.reservoirSize, 0.015)));
+    }
+
+    /**
+     * @param name the name of the histogram
+     *
+     * @return the histogram registered with the name, created with the configured reservoir size when not yet
+     *     registered
+     */
+    @Nonnull
+    Histogram histogram(@Nonnull final String name) {
+        return register(name, new Histogram(new ExponentiallyDecayingReservoir(this.reservoirSize, 0.015)));
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private <T extends Metric> T register(@Nonnull final String name, @Nonnull final T metric) {
+        try {
+            return this.metricRegistry.register(name, metric);
+        } catch (final IllegalArgumentException alreadyExists) {
+            // Registered previously, possibly by another instance of the provider.
+            return (T) this.metricRegistry.getMetrics().get(name);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.grpctrl.rest.providers;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.jvm.ResourceUsage;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.grpctrl.common.supplier.MetricRegistrySupplier;
+import com.typesafe.config.Config;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Measures the CPU time consumed and the heap memory allocated by a sample of the requests, and records them for each
+ * resource method into histograms in the {@link MetricRegistry}. The {@link ResourceUsage} of a sampled request
+ * follows the request onto the worker threads building and writing asynchronous and streaming responses, so the
+ * histograms cover the whole request until the response has been completely written. Requests that do not match any
+ * resource method are recorded under the {@code unmatched} name.
+ *
+ * <p>Sampled requests include the usage measured before the response body is written in the {@code X-Resource-Usage}
+ * response header, like {@code cpu-micros=850; allocated-bytes=124032}.</p>
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR)
+public class ResourceUsageFilter implements ContainerResponseFilter, ApplicationEventListener {
+    /** The header holding the resource usage of a sampled request. */
+    public static final String RESOURCE_USAGE_HEADER = "X-Resource-Usage";
+
+    /** The request property holding the resource usage of a sampled request. */
+    static final String USAGE_PROPERTY = ResourceUsageFilter.class.getName() + ".usage";
+
+    private final double sampleRate;
+
+    @Nonnull
+    private final Meter sampled;
+    @Nonnull
+    private final ResourceMethodMetrics<MethodMetrics> methodMetrics;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param metricRegistrySupplier provides the registry into which the resource usage histograms are recorded
+     */
+    @Inject
+    public ResourceUsageFilter(
+            @Nonnull final ConfigSupplier configSupplier,
+            @Nonnull final MetricRegistrySupplier metricRegistrySupplier) {
+        final Config config = Objects.requireNonNull(configSupplier).get();
+        final MetricRegistry metricRegistry = Objects.requireNonNull(metricRegistrySupplier).get();
+        this.sampleRate = config.getDouble(ConfigKeys.METRICS_USAGE_SAMPLE_RATE.getKey());
+        this.sampled = metricRegistry.meter(name(ResourceUsageFilter.class, "sampled"));
+        this.methodMetrics = new ResourceMethodMetrics<>(metricRegistry,
+                config.getInt(ConfigKeys.METRICS_RESERVOIR_SIZE.getKey()), ResourceUsageFilter.class,
+                MethodMetrics::new);
+    }
+
+    @Override
+    public void filter(
+            @Nonnull final ContainerRequestContext requestContext,
+            @Nonnull final ContainerResponseContext responseContext) {
+        final Object usage = requestContext.getProperty(USAGE_PROPERTY);
+        if (usage instanceof ResourceUsage) {
+            final ResourceUsage resourceUsage = (ResourceUsage) usage;
+            responseContext.getHeaders().putSingle(RESOURCE_USAGE_HEADER,
+                    "cpu-micros=" + TimeUnit.NANOSECONDS.toMicros(resourceUsage.getCpuNanos())
+                            + "; allocated-bytes=" + resourceUsage.getAllocatedBytes());
+        }
+    }
+
+    @Override
+    public void onEvent(@Nonnull final ApplicationEvent event) {
+        // Nothing to do.
+    }
+
+    @Override
+    @CheckForNull
+    public RequestEventListener onRequest(@Nonnull final RequestEvent event) {
+        if (this.sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= this.sampleRate
+                || !ResourceUsage.isSupported()) {
+            return null;
+        }
+
+        this.sampled.mark();
+        final ResourceUsage usage = ResourceUsage.start();
+        event.getContainerRequest().setProperty(USAGE_PROPERTY, usage);
+        return new RequestListener(usage);
+    }
+
+    private static class MethodMetrics {
+        @Nonnull
+        private final Histogram cpuTime;
+        @Nonnull
+        private final Histogram allocated;
+
+        MethodMetrics(@Nonnull final ResourceMethodMetrics<MethodMetrics> metrics, @Nonnull final String prefix) {
+            this.cpuTime = metrics.histogram(name(prefix, "cpu-nanos"));
+            this.allocated = metrics.histogram(name(prefix, "allocated-bytes"));
+        }
+
+        void record(@Nonnull final ResourceUsage usage) {
+            this.cpuTime.update(usage.getCpuNanos());
+            this.allocated.update(usage.getAllocatedBytes());
+        }
+    }
+
+    private class RequestListener implements RequestEventListener {
+        @Nonnull
+        private final ResourceUsage usage;
+
+        @CheckForNull
+        private MethodMetrics matched = null;
+
+        RequestListener(@Nonnull final ResourceUsage usage) {
+            this.usage = usage;
+        }
+
+        @Override
+        public void onEvent(@Nonnull final RequestEvent event) {
+            switch (event.getType()) {
+                case RESOURCE_METHOD_START:
+                    matched(event);
+                    break;
+                case RESOURCE_METHOD_FINISHED:
+                    // An asynchronous resource releases this thread, the response is resumed on another thread.
+                    if (ResourceUsage.current() == this.usage) {
+                        ResourceUsage.attach(null);
+                    }
+                    break;
+                case RESP_FILTERS_START:
+                    // No-op when a worker already attached the usage while building the response.
+                    ResourceUsage.attach(this.usage);
+                    break;
+                case FINISHED:
+                    finished();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void matched(@Nonnull final RequestEvent event) {
+            this.matched = methodMetrics.get(event.getUriInfo().getMatchedResourceMethod());
+        }
+
+        private void finished() {
+            this.usage.finish();
+            final MethodMetrics metrics = this.matched == null ? methodMetrics.get(null) : this.matched;
+            metrics.record(this.usage);
+        }
+    }
+}
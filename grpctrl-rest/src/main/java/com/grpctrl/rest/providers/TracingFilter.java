@@ -0,0 +1,190 @@
+package com.grpctrl.rest.providers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.supplier.ConfigSupplier;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.common.trace.Span;
+import com.grpctrl.common.trace.Trace;
+import com.typesafe.config.Config;
+
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Starts a {@link Trace} for each request before any other filter runs, records spans for the resource method and for
+ * writing the response, and returns the request id in the {@code X-Request-Id} response header. A valid request id
+ * provided by the client in the same header is reused, so requests can be correlated across services. Requests taking
+ * longer than the configured threshold have their span tree logged as JSON once the response has been written.
+ */
+@Provider
+@PreMatching
+@Priority(Priorities.AUTHENTICATION - 1000)
+public class TracingFilter implements ContainerRequestFilter, ContainerResponseFilter, ApplicationEventListener {
+    private static final Logger LOG = LoggerFactory.getLogger(TracingFilter.class);
+
+    /** The header holding the unique identifier of the request. */
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    /** The request property holding the trace of the request. */
+    static final String TRACE_PROPERTY = TracingFilter.class.getName() + ".trace";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Nonnull
+    private final ObjectMapperSupplier objectMapperSupplier;
+    private final long slowRequestNanos;
+    private final int maxSpans;
+
+    /**
+     * @param configSupplier provides access to the static system configuration properties
+     * @param objectMapperSupplier provides the object mapper used to log the span tree of slow requests
+     */
+    @Inject
+    public TracingFilter(
+            @Nonnull final ConfigSupplier configSupplier, @Nonnull final ObjectMapperSupplier objectMapperSupplier) {
+        final Config config = Objects.requireNonNull(configSupplier).get();
+        this.objectMapperSupplier = Objects.requireNonNull(objectMapperSupplier);
+        this.slowRequestNanos =
+                config.getDuration(ConfigKeys.TRACE_SLOW_REQUEST_THRESHOLD.getKey(), TimeUnit.NANOSECONDS);
+        this.maxSpans = config.getInt(ConfigKeys.TRACE_MAX_SPANS.getKey());
+    }
+
+    @Override
+    public void filter(@Nonnull final ContainerRequestContext requestContext) {
+        final String header = requestContext.getHeaderString(REQUEST_ID_HEADER);
+        final String requestId = header != null && VALID_REQUEST_ID.matcher(header).matches()
+                ? header : UUID.randomUUID().toString();
+        final Trace trace = Trace.start(requestId,
+                requestContext.getMethod() + " /" + requestContext.getUriInfo().getPath(false), this.maxSpans);
+        requestContext.setProperty(TRACE_PROPERTY, trace);
+    }
+
+    @Override
+    public void filter(
+            @Nonnull final ContainerRequestContext requestContext,
+            @Nonnull final ContainerResponseContext responseContext) {
+        final Object trace = requestContext.getProperty(TRACE_PROPERTY);
+        if (trace instanceof Trace) {
+            responseContext.getHeaders().putSingle(REQUEST_ID_HEADER, ((Trace) trace).getRequestId());
+        }
+    }
+
+    @Override
+    public void onEvent(@Nonnull final ApplicationEvent event) {
+        // Nothing to do.
+    }
+
+    @Override
+    @Nonnull
+    public RequestEventListener onRequest(@Nonnull final RequestEvent event) {
+        return new RequestListener();
+    }
+
+    private void finished(@Nonnull final RequestEvent event) {
+        final Object property = event.getContainerRequest().getProperty(TRACE_PROPERTY);
+        if (!(property instanceof Trace)) {
+            return;
+        }
+
+        final Trace trace = (Trace) property;
+        trace.finish();
+        if (trace.getRoot().getDurationNanos() >= this.slowRequestNanos) {
+            final ContainerResponse response = event.getContainerResponse();
+            final ObjectMapper objectMapper = this.objectMapperSupplier.get();
+            final ObjectNode json = objectMapper.createObjectNode();
+            json.put("requestId", trace.getRequestId());
+            json.put("status", response == null ? 500 : response.getStatus());
+            json.put("droppedSpans", trace.getDroppedSpans());
+            json.set("trace", toJson(objectMapper, trace.getRoot()));
+            try {
+                LOG.warn("Slow request: {}", objectMapper.writeValueAsString(json));
+            } catch (final JsonProcessingException jsonException) {
+                LOG.error("Failed to log slow request trace", jsonException);
+            }
+        }
+    }
+
+    @Nonnull
+    private static ObjectNode toJson(@Nonnull final ObjectMapper objectMapper, @Nonnull final Span span) {
+        final ObjectNode json = objectMapper.createObjectNode();
+        json.put("name", span.getName());
+        json.put("offsetMicros", TimeUnit.NANOSECONDS.toMicros(span.getOffsetNanos()));
+        json.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getDurationNanos()));
+        final ArrayNode children = json.putArray("children");
+        span.getChildren().forEach(child -> children.add(toJson(objectMapper, child)));
+        return json;
+    }
+
+    private class RequestListener implements RequestEventListener {
+        @CheckForNull
+        private Span resource = null;
+        @CheckForNull
+        private Span write = null;
+
+        @Override
+        public void onEvent(@Nonnull final RequestEvent event) {
+            switch (event.getType()) {
+                case RESOURCE_METHOD_START:
+                    this.resource = resourceStarted(event);
+                    break;
+                case RESOURCE_METHOD_FINISHED:
+                    close(this.resource);
+                    break;
+                case RESP_FILTERS_FINISHED:
+                    this.write = Trace.span("write");
+                    break;
+                case FINISHED:
+                    close(this.write);
+                    finished(event);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @CheckForNull
+        private Span resourceStarted(@Nonnull final RequestEvent event) {
+            final ResourceMethod resourceMethod = event.getUriInfo().getMatchedResourceMethod();
+            if (resourceMethod == null) {
+                return null;
+            }
+            final Invocable invocable = resourceMethod.getInvocable();
+            return Trace.span(invocable.getHandler().getHandlerClass().getSimpleName() + "."
+                    + invocable.getDefinitionMethod().getName());
+        }
+
+        private void close(@CheckForNull final Span span) {
+            if (span != null) {
+                span.close();
+            }
+        }
+    }
+}
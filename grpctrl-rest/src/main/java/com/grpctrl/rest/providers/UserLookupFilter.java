@@ -4,6 +4,10 @@ import com.google.common.base.Charsets;
 import com.grpctrl.common.model.User;
 import com.grpctrl.common.model.UserAuth;
 import com.grpctrl.common.model.UserSource;
+import com.grpctrl.common.trace.Span;
+import com.grpctrl.common.trace.Trace;
+import com.grpctrl.crypto.password.PasswordHasher;
+import com.grpctrl.crypto.password.PasswordHasherSupplier;
 import com.grpctrl.db.dao.supplier.UserDaoSupplier;
 
 import org.apache.commons.lang3.StringUtils;
@@ -38,14 +42,32 @@ public class UserLookupFilter implements ContainerRequestFilter {
 
     @Nonnull
     private final UserDaoSupplier userDaoSupplier;
+    @Nonnull
+    private final PasswordHasherSupplier passwordHasherSupplier;
 
+    /**
+     * @param userDaoSupplier the supplier of the {@link com.grpctrl.db.dao.UserDao} used to look up users
+     * @param passwordHasherSupplier the supplier of the {@link PasswordHasher} used to verify user passwords
+     */
     @Inject
-    public UserLookupFilter(@Nonnull final UserDaoSupplier userDaoSupplier) {
+    public UserLookupFilter(
+            @Nonnull final UserDaoSupplier userDaoSupplier,
+            @Nonnull final PasswordHasherSupplier passwordHasherSupplier) {
         this.userDaoSupplier = Objects.requireNonNull(userDaoSupplier);
+        this.passwordHasherSupplier = Objects.requireNonNull(passwordHasherSupplier);
     }
 
     @Override
     public void filter(@Nonnull final ContainerRequestContext requestContext) throws IOException {
+        final Span span = Trace.span(UserLookupFilter.class.getSimpleName());
+        try {
+            lookup(requestContext);
+        } finally {
+            span.close();
+        }
+    }
+
+    private void lookup(@Nonnull final ContainerRequestContext requestContext) {
         final SecurityContext securityContext = requestContext.getSecurityContext();
         final Principal principal = securityContext.getUserPrincipal();
         if (principal != null) {
@@ -67,10 +89,21 @@ public class UserLookupFilter implements ContainerRequestFilter {
             if (!userAuth.isPresent()) {
                 throw new ForbiddenException("User login or password invalid (user auth not present)");
             }
-            if (!userAuth.get().validate(login.get().getValue())) {
+            // Verification runs on the bounded hashing pool, which responds with a 503 when overloaded.
+            final PasswordHasher passwordHasher = this.passwordHasherSupplier.get();
+            if (!passwordHasher.validate(userAuth.get(), login.get().getValue())) {
                 throw new ForbiddenException("User login or password invalid (password validation failed)");
             }
 
+            // Transparently upgrade passwords stored with an out-of-date hash algorithm or cost.
+            final Optional<Long> userId = user.get().getId();
+            if (userId.isPresent() && passwordHasher.needsRehash(userAuth.get())) {
+                passwordHasher.rehash(login.get().getValue(), upgraded -> {
+                    this.userDaoSupplier.get().updateAuth(userId.get(), upgraded);
+                    LOG.info("Upgraded password hash for user {} to {}", userId.get(), upgraded.getHashAlgorithm());
+                });
+            }
+
             // Update the security context for this user.
             requestContext.setSecurityContext(user.get());
         }
@@ -1,23 +1,48 @@
 package com.grpctrl.rest.resource.v1;
 
+import com.grpctrl.common.cache.ResponseCache;
+import com.grpctrl.common.json.DataFormat;
+import com.grpctrl.common.jvm.ResourceUsage;
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.model.User;
 import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.trace.Span;
+import com.grpctrl.common.trace.Trace;
 import com.grpctrl.rest.providers.AccountLookupFilter;
+import com.grpctrl.rest.providers.CompressionFilter;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * The base class for resources.
  */
 public class BaseResource {
+    /** The number of seconds a client should wait before retrying a request rejected because the server is busy. */
+    private static final long RETRY_AFTER_SECONDS = 1;
+
     public Optional<Account> getAccount(@Nonnull final ContainerRequestContext requestContext) {
         return Optional.ofNullable((Account) requestContext.getProperty(AccountLookupFilter.ACCOUNT_PROPERTY));
     }
@@ -44,4 +69,168 @@ public class BaseResource {
             throw new ForbiddenException("Access to resource requires role: " + userRole.name());
         }
     }
+
+    /**
+     * Determine the data format to use in the response based on the media types the client has indicated it will
+     * accept, in order of preference. Plain text JSON is used when the client does not ask for a supported format.
+     *
+     * @param httpHeaders the headers provided with the request
+     *
+     * @return the data format to use when writing the response
+     */
+    @Nonnull
+    public DataFormat getDataFormat(@Nonnull final HttpHeaders httpHeaders) {
+        for (final MediaType mediaType : Objects.requireNonNull(httpHeaders).getAcceptableMediaTypes()) {
+            if (mediaType.isWildcardType()) {
+                break;
+            }
+            final Optional<DataFormat> dataFormat =
+                    DataFormat.fromMediaType(mediaType.getType() + "/" + mediaType.getSubtype());
+            if (dataFormat.isPresent()) {
+                return dataFormat.get();
+            }
+        }
+        return DataFormat.JSON;
+    }
+
+    /**
+     * Determine whether the client prefers to receive a newline-delimited JSON stream, based on the media types the
+     * client has indicated it will accept, in order of preference.
+     *
+     * @param httpHeaders the headers provided with the request
+     *
+     * @return whether the response should be written using an {@link NdjsonStreamer}
+     */
+    public boolean prefersNdjson(@Nonnull final HttpHeaders httpHeaders) {
+        for (final MediaType mediaType : Objects.requireNonNull(httpHeaders).getAcceptableMediaTypes()) {
+            if (mediaType.isWildcardType()) {
+                break;
+            }
+            final String type = mediaType.getType() + "/" + mediaType.getSubtype();
+            if (NdjsonStreamer.MEDIA_TYPE.equalsIgnoreCase(type)) {
+                return true;
+            } else if (DataFormat.fromMediaType(type).isPresent()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create the entity tag identifying a representation of account data. Account data versions change whenever the
+     * account, its service level, or any of its groups or tags change, so the tag remains valid until then. The tag is
+     * weak since the same data may be sent with different content encodings.
+     *
+     * @param accountId the unique identifier of the account the response describes
+     * @param dataVersion the data version of the account when the response was created
+     * @param variant identifies the representation of the response, like the data format in use
+     *
+     * @return the entity tag to include in the response
+     */
+    @Nonnull
+    public EntityTag createEntityTag(final long accountId, final long dataVersion, @Nonnull final String variant) {
+        return new EntityTag(accountId + "." + dataVersion + "." + Objects.requireNonNull(variant), true);
+    }
+
+    /**
+     * Determine whether the client already holds the current representation of the response, based on the entity tags
+     * provided in the {@code If-None-Match} request header.
+     *
+     * @param request the request being processed
+     * @param entityTag the entity tag of the current representation
+     *
+     * @return a {@code 304 Not Modified} response when the client representation is current, otherwise empty
+     */
+    @Nonnull
+    public Optional<Response> notModified(@Nonnull final Request request, @Nonnull final EntityTag entityTag) {
+        final Response.ResponseBuilder builder = Objects.requireNonNull(request).evaluatePreconditions(entityTag);
+        return Optional.ofNullable(builder).map(Response.ResponseBuilder::build);
+    }
+
+    /**
+     * Build the response for a read request whose body depends only on the account data, the endpoint, and the request
+     * parameters. When the serialized response body is already in the cache, it is sent as-is, compressed already when
+     * the client accepts gzip, without any database access or serialization. Otherwise the response is produced by the
+     * provided streamer and its body is added to the cache once written.
+     *
+     * @param responseCache the cache holding serialized response bodies
+     * @param httpHeaders the headers provided with the request
+     * @param accountId the unique identifier of the account the response describes
+     * @param dataVersion the data version of the account
+     * @param endpoint identifies the endpoint producing the response
+     * @param parameters the request parameters that influence the response, possibly {@code null} if none
+     * @param mediaType the media type of the response body
+     * @param streamingOutput the streamer responsible for producing the response body on a cache miss
+     *
+     * @return the response builder, with the entity and media type already set
+     */
+    @Nonnull
+    public Response.ResponseBuilder cacheable(
+            @Nonnull final ResponseCache responseCache, @Nonnull final HttpHeaders httpHeaders, final long accountId,
+            final long dataVersion, @Nonnull final String endpoint,
+            @Nullable final Map<String, ? extends Collection<String>> parameters, @Nonnull final String mediaType,
+            @Nonnull final StreamingOutput streamingOutput) {
+        final boolean gzip = CompressionFilter.isCompressible(MediaType.valueOf(mediaType))
+                && CompressionFilter.acceptsGzip(httpHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        final ResponseCache.Key key = new ResponseCache.Key(accountId, dataVersion, endpoint, parameters, mediaType,
+                gzip ? CachingStreamer.GZIP : CachingStreamer.IDENTITY);
+
+        final Optional<ByteBuffer> cached = responseCache.get(key);
+        if (!cached.isPresent()) {
+            return Response.ok().entity(new CachingStreamer(streamingOutput, responseCache, key)).type(mediaType);
+        }
+
+        final Response.ResponseBuilder builder = Response.ok().entity(new CachedStreamer(cached.get())).type(mediaType);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, CachingStreamer.GZIP);
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return builder;
+    }
+
+    /**
+     * Build and write the response on a worker thread, releasing the web server thread that received the request. The
+     * response supplier is invoked on the worker, and any streaming entity it returns is written by that same worker.
+     * When the worker pool is saturated, or the response waits longer than the timeout for a worker, the client
+     * receives a {@link ServiceUnavailableException} asking it to retry later.
+     *
+     * @param asyncResponse the suspended response to resume
+     * @param executorService the bounded worker pool used to build and write the response
+     * @param timeoutMillis the maximum number of milliseconds to wait for a worker to start on the response
+     * @param response supplies the response to send to the client
+     */
+    public void respondAsync(
+            @Nonnull final AsyncResponse asyncResponse, @Nonnull final ExecutorService executorService,
+            final long timeoutMillis, @Nonnull final Supplier<Response> response) {
+        Objects.requireNonNull(asyncResponse);
+        Objects.requireNonNull(response);
+
+        asyncResponse.setTimeoutHandler(timedOut -> timedOut.resume(
+                new ServiceUnavailableException("Timed out waiting for a worker", RETRY_AFTER_SECONDS)));
+        asyncResponse.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        // Continue the request trace and resource usage on the worker thread, which also writes the response.
+        final Span span = Trace.current();
+        final ResourceUsage usage = ResourceUsage.current();
+        try {
+            Objects.requireNonNull(executorService).execute(() -> {
+                final Span previous = Trace.attach(span);
+                final ResourceUsage previousUsage = ResourceUsage.attach(usage);
+                try {
+                    if (asyncResponse.isSuspended()) {
+                        try {
+                            asyncResponse.resume(response.get());
+                        } catch (final RuntimeException failure) {
+                            asyncResponse.resume(failure);
+                        }
+                    }
+                } finally {
+                    ResourceUsage.attach(previousUsage);
+                    Trace.attach(previous);
+                }
+            });
+        } catch (final RejectedExecutionException rejected) {
+            asyncResponse.resume(new ServiceUnavailableException("Server is busy", RETRY_AFTER_SECONDS));
+        }
+    }
 }
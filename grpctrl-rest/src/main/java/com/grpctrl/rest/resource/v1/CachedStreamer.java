@@ -0,0 +1,40 @@
+package com.grpctrl.rest.resource.v1;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Responsible for writing a response body previously serialized and stored in the
+ * {@link com.grpctrl.common.cache.ResponseCache}, copying the cached bytes to the client without any database access
+ * or serialization.
+ */
+public class CachedStreamer implements StreamingOutput {
+    @Nonnull
+    private final ByteBuffer body;
+
+    /**
+     * @param body the cached response body, positioned at the start of the data to write
+     */
+    public CachedStreamer(@Nonnull final ByteBuffer body) {
+        this.body = Objects.requireNonNull(body);
+    }
+
+    @Override
+    public void write(@Nonnull final OutputStream output) throws IOException, WebApplicationException {
+        // Each write uses its own view of the buffer, so the cached data can be written to many clients at once.
+        final ByteBuffer data = this.body.duplicate();
+        final WritableByteChannel channel = Channels.newChannel(Objects.requireNonNull(output));
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+        output.flush();
+    }
+}
@@ -0,0 +1,107 @@
+package com.grpctrl.rest.resource.v1;
+
+import com.grpctrl.common.cache.ResponseCache;
+import com.grpctrl.rest.providers.CompressingOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Wraps another streamer, writing its output to the client while capturing a copy of the serialized response body. Once
+ * the wrapped streamer completes successfully, the captured body is stored in the {@link ResponseCache}, compressed
+ * first when the cache key calls for a gzip content encoding. Capturing stops once the body grows beyond the maximum
+ * cache entry size, and nothing is cached when the wrapped streamer fails.
+ */
+public class CachingStreamer implements StreamingOutput {
+    /** The content encoding used for cached response bodies that are not compressed. */
+    public static final String IDENTITY = "identity";
+    /** The content encoding used for cached response bodies that are gzip-compressed. */
+    public static final String GZIP = "gzip";
+
+    @Nonnull
+    private final StreamingOutput delegate;
+    @Nonnull
+    private final ResponseCache responseCache;
+    @Nonnull
+    private final ResponseCache.Key key;
+
+    /**
+     * @param delegate the streamer responsible for serializing the response body
+     * @param responseCache the cache into which the serialized response body is stored
+     * @param key the key identifying the response in the cache
+     */
+    public CachingStreamer(
+            @Nonnull final StreamingOutput delegate, @Nonnull final ResponseCache responseCache,
+            @Nonnull final ResponseCache.Key key) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.responseCache = Objects.requireNonNull(responseCache);
+        this.key = Objects.requireNonNull(key);
+    }
+
+    @Override
+    public void write(@Nonnull final OutputStream output) throws IOException, WebApplicationException {
+        final CapturingOutputStream capturing =
+                new CapturingOutputStream(Objects.requireNonNull(output), this.responseCache.getMaxEntrySize());
+        this.delegate.write(capturing);
+
+        final byte[] body = capturing.getCaptured();
+        if (body != null) {
+            this.responseCache.put(this.key, GZIP.equals(this.key.getContentEncoding()) ? compress(body) : body);
+        }
+    }
+
+    @Nonnull
+    private static byte[] compress(@Nonnull final byte[] body) throws IOException {
+        // Compressed once and served many times, so use the best compression available.
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (final OutputStream gzip = new CompressingOutputStream(compressed, 0, Deflater.BEST_COMPRESSION, () -> {
+        })) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static class CapturingOutputStream extends FilterOutputStream {
+        private final int maxSize;
+
+        @CheckForNull
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        public CapturingOutputStream(@Nonnull final OutputStream out, final int maxSize) {
+            super(out);
+            this.maxSize = maxSize;
+        }
+
+        @CheckForNull
+        public byte[] getCaptured() {
+            return this.captured == null ? null : this.captured.toByteArray();
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@Nonnull final byte[] data, final int off, final int len) throws IOException {
+            this.out.write(data, off, len);
+            if (this.captured != null) {
+                if (this.captured.size() + len > this.maxSize) {
+                    // Too large to cache, stop capturing.
+                    this.captured = null;
+                } else {
+                    this.captured.write(data, off, len);
+                }
+            }
+        }
+    }
+}
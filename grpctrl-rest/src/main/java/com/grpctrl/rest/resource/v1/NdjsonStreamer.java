@@ -0,0 +1,183 @@
+package com.grpctrl.rest.resource.v1;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.grpctrl.common.jfr.BatchFlushEvent;
+import com.grpctrl.common.jfr.JfrEvents;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Responsible for streaming objects as newline-delimited JSON, with each record written as a single JSON object on its
+ * own line. The output is flushed after a configured number of records, or when records have been buffered for longer
+ * than the configured flush interval, so clients are able to process records as they arrive. The final line is always
+ * a status object containing a {@code success} field, the number of records written, and the error code and message
+ * when the stream failed part way through. Each flush is recorded as a {@link BatchFlushEvent} in flight recordings,
+ * through {@link JfrEvents}.
+ *
+ * @param <T> the type of object being streamed
+ */
+public class NdjsonStreamer<T> implements StreamingOutput {
+    private static final Logger LOG = LoggerFactory.getLogger(NdjsonStreamer.class);
+
+    /** The media type used for newline-delimited JSON. */
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    /** The name of the field identifying the trailing status line. */
+    public static final String STATUS_FIELD = "success";
+
+    @Nonnull
+    private final ObjectMapperSupplier objectMapperSupplier;
+    @Nonnull
+    private final Consumer<Consumer<T>> consumer;
+    private final int flushRecords;
+    private final long flushIntervalMillis;
+
+    /**
+     * @param objectMapperSupplier responsible for generating JSON data
+     * @param consumer the consumer responsible for pushing objects through this class
+     * @param flushRecords the maximum number of records to write before flushing the output
+     * @param flushIntervalMillis the maximum number of milliseconds records may be buffered before flushing the output
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the number of flush records is not positive, or the interval is negative
+     */
+    public NdjsonStreamer(
+            @Nonnull final ObjectMapperSupplier objectMapperSupplier, @Nonnull final Consumer<Consumer<T>> consumer,
+            final int flushRecords, final long flushIntervalMillis) {
+        if (flushRecords < 1 || flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("Flush records must be positive and interval must not be negative");
+        }
+        this.objectMapperSupplier = Objects.requireNonNull(objectMapperSupplier);
+        this.consumer = Objects.requireNonNull(consumer);
+        this.flushRecords = flushRecords;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * @return the object mapper responsible for generating JSON data
+     */
+    @Nonnull
+    public ObjectMapperSupplier getObjectMapperSupplier() {
+        return this.objectMapperSupplier;
+    }
+
+    /**
+     * @return the consumer that will accept our writing consumer as input when processing the data
+     */
+    @Nonnull
+    public Consumer<Consumer<T>> getConsumer() {
+        return this.consumer;
+    }
+
+    /**
+     * @return the maximum number of records to write before flushing the output
+     */
+    public int getFlushRecords() {
+        return this.flushRecords;
+    }
+
+    /**
+     * @return the maximum number of milliseconds records may be buffered before flushing the output
+     */
+    public long getFlushIntervalMillis() {
+        return this.flushIntervalMillis;
+    }
+
+    @Override
+    public void write(@Nonnull final OutputStream output) throws IOException, WebApplicationException {
+        final ObjectMapper objectMapper = getObjectMapperSupplier().get();
+        try (final JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            // Each record is terminated by a newline instead of the default space between root values.
+            generator.setRootValueSeparator(null);
+
+            // Flushing is controlled here, not after every record written by the object mapper.
+            final ObjectWriter objectWriter =
+                    objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            final RecordWriter recordWriter = new RecordWriter(generator, objectWriter);
+            try {
+                getConsumer().accept(recordWriter);
+                writeStatus(generator, recordWriter.getCount(), null);
+            } catch (final RuntimeException failure) {
+                LOG.error("Failed to stream records", failure);
+                writeStatus(generator, recordWriter.getCount(), failure);
+            }
+        }
+    }
+
+    private void writeStatus(
+            @Nonnull final JsonGenerator generator, final long count, @Nullable final RuntimeException failure)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeBooleanField(STATUS_FIELD, failure == null);
+        generator.writeNumberField("count", count);
+        if (failure != null) {
+            final int code = failure instanceof WebApplicationException
+                    ? ((WebApplicationException) failure).getResponse().getStatus()
+                    : Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+            generator.writeNumberField("code", code);
+            generator.writeStringField("message", ExceptionUtils.getMessage(failure));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private class RecordWriter implements Consumer<T> {
+        @Nonnull
+        private final JsonGenerator generator;
+        @Nonnull
+        private final ObjectWriter objectWriter;
+        private final long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(getFlushIntervalMillis());
+
+        private long count = 0;
+        private int pending = 0;
+        private long lastFlush = System.nanoTime();
+
+        public RecordWriter(@Nonnull final JsonGenerator generator, @Nonnull final ObjectWriter objectWriter) {
+            this.generator = generator;
+            this.objectWriter = objectWriter;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        @Override
+        public void accept(@Nonnull final T record) {
+            try {
+                this.objectWriter.writeValue(this.generator, record);
+                this.generator.writeRaw('\n');
+                this.count++;
+
+                final long now = System.nanoTime();
+                if (++this.pending >= getFlushRecords() || now - this.lastFlush >= this.flushIntervalNanos) {
+                    final JfrEvents.BatchFlush event = JfrEvents.get().beginBatchFlush();
+                    this.generator.flush();
+                    event.finish(JfrEvents.BatchFlush.RESPONSE, null, this.pending);
+                    this.pending = 0;
+                    this.lastFlush = now;
+                }
+            } catch (final IOException ioException) {
+                throw new InternalServerErrorException("Failed to write JSON data to client", ioException);
+            }
+        }
+    }
+}
@@ -2,14 +2,21 @@ package com.grpctrl.rest.resource.v1.account;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.json.DataFormat;
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.common.supplier.StreamingExecutorServiceSupplier;
 import com.grpctrl.db.dao.supplier.AccountDaoSupplier;
+import com.grpctrl.rest.providers.Bulk;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -19,33 +26,59 @@ import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.StreamingOutput;
 
 /**
- * Add accounts to the backing data store.
+ * Add accounts to the backing data store. The accounts are read, stored and written back to the client on a bounded
+ * worker pool, so the web server thread that received the request is released while the response is streamed.
  */
+@Bulk
 @Singleton
 @Path("/v1/account/")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, DataFormat.SMILE_MEDIA_TYPE, DataFormat.CBOR_MEDIA_TYPE})
 @Consumes(MediaType.APPLICATION_JSON)
 public class AccountAdd extends BaseAccountResource {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+    @Nonnull
+    private final StreamingExecutorServiceSupplier streamingExecutorServiceSupplier;
+
     @Inject
     public AccountAdd(
-            @Nonnull final ObjectMapperSupplier objectMapperSupplier,
-            @Nonnull final AccountDaoSupplier accountDaoSupplier) {
+            @Nonnull final ConfigSupplier configSupplier, @Nonnull final ObjectMapperSupplier objectMapperSupplier,
+            @Nonnull final AccountDaoSupplier accountDaoSupplier,
+            @Nonnull final StreamingExecutorServiceSupplier streamingExecutorServiceSupplier) {
         super(objectMapperSupplier, accountDaoSupplier);
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+        this.streamingExecutorServiceSupplier = Objects.requireNonNull(streamingExecutorServiceSupplier);
     }
 
     @POST
-    public Response add(
-            @Nonnull @Context final SecurityContext securityContext, @Nonnull final InputStream inputStream) {
+    public void add(
+            @Nonnull @Context final SecurityContext securityContext, @Nonnull @Context final HttpHeaders httpHeaders,
+            @Nonnull final InputStream inputStream, @Nonnull @Suspended final AsyncResponse asyncResponse) {
         requireRole(securityContext, UserRole.ADMIN);
 
-        final StreamingOutput streamingOutput = new MultipleAccountStreamer(getObjectMapperSupplier(), consumer -> {
+        final DataFormat dataFormat = getDataFormat(httpHeaders);
+        final long timeout =
+                this.configSupplier.get().getDuration(ConfigKeys.STREAM_TIMEOUT.getKey(), TimeUnit.MILLISECONDS);
+        respondAsync(asyncResponse, this.streamingExecutorServiceSupplier.get(), timeout, () -> {
+            final StreamingOutput streamingOutput = createStreamer(inputStream, dataFormat);
+            return Response.ok().entity(streamingOutput).type(dataFormat.getMediaType()).build();
+        });
+    }
+
+    @Nonnull
+    private StreamingOutput createStreamer(
+            @Nonnull final InputStream inputStream, @Nonnull final DataFormat dataFormat) {
+        return new MultipleAccountStreamer(getObjectMapperSupplier(), consumer -> {
             try {
                 final JsonParser jsonParser = getObjectMapperSupplier().get().getFactory().createParser(inputStream);
 
@@ -65,8 +98,6 @@ public class AccountAdd extends BaseAccountResource {
             } catch (final IOException ioException) {
                 throw new InternalServerErrorException("Failed to read account JSON input data", ioException);
             }
-        });
-
-        return Response.ok().entity(streamingOutput).type(MediaType.APPLICATION_JSON).build();
+        }, dataFormat);
     }
 }
@@ -1,9 +1,15 @@
 package com.grpctrl.rest.resource.v1.account;
 
+import com.grpctrl.common.json.DataFormat;
 import com.grpctrl.common.model.UserRole;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.common.supplier.ResponseCacheSupplier;
 import com.grpctrl.db.dao.supplier.AccountDaoSupplier;
 
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -13,35 +19,64 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.StreamingOutput;
 
 /**
- * Retrieve the account information for the provided unique account identifier.
+ * Retrieve the account information for the provided unique account identifier. Responses include an entity tag based
+ * on the account data version, and clients providing the current tag receive a {@code 304 Not Modified} response.
+ * Serialized responses are cached by account data version, so repeated requests for unchanged accounts are served
+ * without loading or serializing the account.
  */
 @Singleton
 @Path("/v1/account/{accountId}")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, DataFormat.SMILE_MEDIA_TYPE, DataFormat.CBOR_MEDIA_TYPE})
 public class AccountGet extends BaseAccountResource {
+    @Nonnull
+    private final ResponseCacheSupplier responseCacheSupplier;
+
+    /**
+     * @param objectMapperSupplier the {@link ObjectMapperSupplier} responsible for generating JSON data
+     * @param accountDaoSupplier the {@link AccountDaoSupplier} used to perform the account operation
+     * @param responseCacheSupplier the {@link ResponseCacheSupplier} holding the serialized account responses
+     */
     @Inject
     public AccountGet(
             @Nonnull final ObjectMapperSupplier objectMapperSupplier,
-            @Nonnull final AccountDaoSupplier accountDaoSupplier) {
+            @Nonnull final AccountDaoSupplier accountDaoSupplier,
+            @Nonnull final ResponseCacheSupplier responseCacheSupplier) {
         super(objectMapperSupplier, accountDaoSupplier);
+        this.responseCacheSupplier = Objects.requireNonNull(responseCacheSupplier);
     }
 
     @GET
     @Nullable
     public Response get(
-            @Nonnull @Context final SecurityContext securityContext,
-            @Nonnull @PathParam("accountId") final Long accountId) {
+            @Nonnull @Context final SecurityContext securityContext, @Nonnull @Context final HttpHeaders httpHeaders,
+            @Nonnull @Context final Request request, @Nonnull @PathParam("accountId") final Long accountId) {
         requireRole(securityContext, UserRole.ADMIN);
 
+        final DataFormat dataFormat = getDataFormat(httpHeaders);
         final StreamingOutput streamingOutput = new SingleAccountStreamer(getObjectMapperSupplier(),
-                consumer -> getAccountDaoSupplier().get().get(accountId, consumer));
+                consumer -> getAccountDaoSupplier().get().get(accountId, consumer), dataFormat);
+
+        // The version is read before the account, so a concurrent change can only make the tag older than the data.
+        final OptionalLong dataVersion = getAccountDaoSupplier().get().getDataVersion(accountId);
+        if (!dataVersion.isPresent()) {
+            return Response.ok().entity(streamingOutput).type(dataFormat.getMediaType()).build();
+        }
 
-        return Response.ok().entity(streamingOutput).type(MediaType.APPLICATION_JSON).build();
+        final EntityTag entityTag = createEntityTag(accountId, dataVersion.getAsLong(), dataFormat.name());
+        final Optional<Response> notModified = notModified(request, entityTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        return cacheable(this.responseCacheSupplier.get(), httpHeaders, accountId, dataVersion.getAsLong(),
+                "account.get", null, dataFormat.getMediaType(), streamingOutput).tag(entityTag).build();
     }
 }
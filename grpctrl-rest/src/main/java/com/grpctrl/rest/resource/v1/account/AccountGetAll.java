@@ -1,48 +1,86 @@
 package com.grpctrl.rest.resource.v1.account;
 
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.json.DataFormat;
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.common.supplier.StreamingExecutorServiceSupplier;
 import com.grpctrl.db.dao.supplier.AccountDaoSupplier;
+import com.grpctrl.rest.providers.Bulk;
+import com.grpctrl.rest.resource.v1.NdjsonStreamer;
+import com.typesafe.config.Config;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.StreamingOutput;
 
 /**
- * Retrieve all of the accounts in the system.
+ * Retrieve all of the accounts in the system. The accounts are read and written to the client on a bounded worker pool,
+ * so the web server thread that received the request is released while the response is streamed.
  */
+@Bulk
 @Singleton
 @Path("/v1/account/")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, DataFormat.SMILE_MEDIA_TYPE, DataFormat.CBOR_MEDIA_TYPE,
+        NdjsonStreamer.MEDIA_TYPE})
 public class AccountGetAll extends BaseAccountResource {
     private final Consumer<Consumer<Account>> consumer = consumer -> getAccountDaoSupplier().get().getAll(consumer);
 
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+    @Nonnull
+    private final StreamingExecutorServiceSupplier streamingExecutorServiceSupplier;
+
     @Inject
     public AccountGetAll(
-            @Nonnull final ObjectMapperSupplier objectMapperSupplier,
-            @Nonnull final AccountDaoSupplier accountDaoSupplier) {
+            @Nonnull final ConfigSupplier configSupplier, @Nonnull final ObjectMapperSupplier objectMapperSupplier,
+            @Nonnull final AccountDaoSupplier accountDaoSupplier,
+            @Nonnull final StreamingExecutorServiceSupplier streamingExecutorServiceSupplier) {
         super(objectMapperSupplier, accountDaoSupplier);
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+        this.streamingExecutorServiceSupplier = Objects.requireNonNull(streamingExecutorServiceSupplier);
     }
 
     @GET
-    @Nullable
-    public Response getAll(@Nonnull @Context SecurityContext securityContext) {
+    public void getAll(
+            @Nonnull @Context final SecurityContext securityContext, @Nonnull @Context final HttpHeaders httpHeaders,
+            @Nonnull @Suspended final AsyncResponse asyncResponse) {
         requireRole(securityContext, UserRole.ADMIN);
 
-        final StreamingOutput streamingOutput = new MultipleAccountStreamer(getObjectMapperSupplier(), this.consumer);
+        // The request headers are only available on the thread handling the request.
+        final boolean ndjson = prefersNdjson(httpHeaders);
+        final DataFormat dataFormat = getDataFormat(httpHeaders);
+
+        final Config config = this.configSupplier.get();
+        final long timeout = config.getDuration(ConfigKeys.STREAM_TIMEOUT.getKey(), TimeUnit.MILLISECONDS);
+        respondAsync(asyncResponse, this.streamingExecutorServiceSupplier.get(), timeout, () -> {
+            if (ndjson) {
+                final StreamingOutput streamingOutput = new NdjsonStreamer<>(getObjectMapperSupplier(), this.consumer,
+                        config.getInt(ConfigKeys.STREAM_FLUSH_RECORDS.getKey()),
+                        config.getDuration(ConfigKeys.STREAM_FLUSH_INTERVAL.getKey(), TimeUnit.MILLISECONDS));
+                return Response.ok().entity(streamingOutput).type(NdjsonStreamer.MEDIA_TYPE).build();
+            }
 
-        return Response.ok().entity(streamingOutput).type(MediaType.APPLICATION_JSON).build();
+            final StreamingOutput streamingOutput =
+                    new MultipleAccountStreamer(getObjectMapperSupplier(), this.consumer, dataFormat);
+            return Response.ok().entity(streamingOutput).type(dataFormat.getMediaType()).build();
+        });
     }
 }
@@ -1,6 +1,8 @@
 package com.grpctrl.rest.resource.v1.account;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.grpctrl.common.json.DataFormat;
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
 
@@ -15,13 +17,16 @@ import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.StreamingOutput;
 
 /**
- * Responsible for streaming account objects as JSON.
+ * Responsible for streaming account objects as JSON, or one of the binary encodings of JSON defined in
+ * {@link DataFormat}.
  */
 public class SingleAccountStreamer implements StreamingOutput {
     @Nonnull
     private final ObjectMapperSupplier objectMapperSupplier;
     @Nonnull
     private final Consumer<Consumer<Account>> consumer;
+    @Nonnull
+    private final DataFormat dataFormat;
 
     /**
      * @param objectMapperSupplier responsible for generating JSON data
@@ -30,8 +35,20 @@ public class SingleAccountStreamer implements StreamingOutput {
     public SingleAccountStreamer(
             @Nonnull final ObjectMapperSupplier objectMapperSupplier,
             @Nonnull final Consumer<Consumer<Account>> consumer) {
+        this(objectMapperSupplier, consumer, DataFormat.JSON);
+    }
+
+    /**
+     * @param objectMapperSupplier responsible for generating JSON data
+     * @param consumer the consumer responsible for pushing account objects through this class
+     * @param dataFormat the data format in which the account objects will be written
+     */
+    public SingleAccountStreamer(
+            @Nonnull final ObjectMapperSupplier objectMapperSupplier,
+            @Nonnull final Consumer<Consumer<Account>> consumer, @Nonnull final DataFormat dataFormat) {
         this.objectMapperSupplier = Objects.requireNonNull(objectMapperSupplier);
         this.consumer = Objects.requireNonNull(consumer);
+        this.dataFormat = Objects.requireNonNull(dataFormat);
     }
 
     /**
@@ -50,9 +67,18 @@ public class SingleAccountStreamer implements StreamingOutput {
         return this.consumer;
     }
 
+    /**
+     * @return the data format in which the account objects will be written
+     */
+    @Nonnull
+    public DataFormat getDataFormat() {
+        return this.dataFormat;
+    }
+
     @Override
     public void write(@Nonnull final OutputStream output) throws IOException, WebApplicationException {
-        try (final JsonGenerator generator = getObjectMapperSupplier().get().getFactory().createGenerator(output)) {
+        final JsonFactory factory = getObjectMapperSupplier().getFactory(getDataFormat());
+        try (final JsonGenerator generator = factory.createGenerator(output)) {
             generator.writeStartObject();
             generator.writeFieldName("success");
             generator.writeBoolean(true);
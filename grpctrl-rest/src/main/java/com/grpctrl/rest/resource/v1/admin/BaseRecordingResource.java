@@ -0,0 +1,53 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.grpctrl.common.jfr.FlightRecorderManager;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
+import com.grpctrl.rest.resource.v1.BaseResource;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.ServerErrorException;
+import javax.ws.rs.core.Response;
+
+/**
+ * The base class for the flight recording resources.
+ */
+public class BaseRecordingResource extends BaseResource {
+    @Nonnull
+    private final FlightRecorderManagerSupplier flightRecorderManagerSupplier;
+
+    /**
+     * @param flightRecorderManagerSupplier the {@link FlightRecorderManagerSupplier} managing the flight recordings
+     */
+    @Inject
+    public BaseRecordingResource(@Nonnull final FlightRecorderManagerSupplier flightRecorderManagerSupplier) {
+        this.flightRecorderManagerSupplier = Objects.requireNonNull(flightRecorderManagerSupplier);
+    }
+
+    /**
+     * @return the {@link FlightRecorderManager} managing the flight recordings
+     *
+     * @throws ServerErrorException with status 501 if flight recordings are not supported by the running JVM
+     */
+    @Nonnull
+    public FlightRecorderManager getFlightRecorderManager() {
+        if (!this.flightRecorderManagerSupplier.isAvailable()) {
+            throw new ServerErrorException(
+                    "Flight recordings are not available in this JVM", Response.Status.NOT_IMPLEMENTED);
+        }
+        return this.flightRecorderManagerSupplier.get();
+    }
+
+    /**
+     * @param recordingId the unique identifier of the recording that was not found
+     *
+     * @return the exception to throw when the requested recording does not exist
+     */
+    @Nonnull
+    public NotFoundException notFound(final long recordingId) {
+        return new NotFoundException("Recording not found: " + recordingId);
+    }
+}
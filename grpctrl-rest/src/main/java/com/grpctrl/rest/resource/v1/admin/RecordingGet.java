@@ -0,0 +1,62 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.google.common.io.ByteStreams;
+import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Download the data of a flight recording as a file that can be opened in Java Mission Control. Downloading a running
+ * recording provides the events recorded so far, without stopping the recording. Only available to administrators.
+ */
+@Singleton
+@Path("/v1/admin/recordings/{recordingId}")
+@Produces(MediaType.APPLICATION_OCTET_STREAM)
+public class RecordingGet extends BaseRecordingResource {
+    /**
+     * @param flightRecorderManagerSupplier the {@link FlightRecorderManagerSupplier} managing the flight recordings
+     */
+    @Inject
+    public RecordingGet(@Nonnull final FlightRecorderManagerSupplier flightRecorderManagerSupplier) {
+        super(flightRecorderManagerSupplier);
+    }
+
+    @GET
+    @Nonnull
+    public Response get(
+            @Nonnull @Context final SecurityContext securityContext,
+            @Nonnull @PathParam("recordingId") final Long recordingId) {
+        requireRole(securityContext, UserRole.ADMIN);
+
+        final InputStream data;
+        try {
+            data = getFlightRecorderManager().getData(recordingId).orElseThrow(() -> notFound(recordingId));
+        } catch (final IOException ioException) {
+            throw new InternalServerErrorException("Failed to read recording data", ioException);
+        }
+
+        final StreamingOutput streamingOutput = output -> {
+            try (final InputStream input = data) {
+                ByteStreams.copy(input, output);
+            }
+        };
+        return Response.ok().entity(streamingOutput).type(MediaType.APPLICATION_OCTET_STREAM)
+                .header("Content-Disposition", "attachment; filename=\"grpctrl-" + recordingId + ".jfr\"").build();
+    }
+}
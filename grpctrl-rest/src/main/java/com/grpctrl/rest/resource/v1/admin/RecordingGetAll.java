@@ -0,0 +1,42 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.grpctrl.common.jfr.RecordingInfo;
+import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+
+/**
+ * Retrieve information about the retained flight recordings, in the order they were started. Only available to
+ * administrators.
+ */
+@Singleton
+@Path("/v1/admin/recordings")
+@Produces(MediaType.APPLICATION_JSON)
+public class RecordingGetAll extends BaseRecordingResource {
+    /**
+     * @param flightRecorderManagerSupplier the {@link FlightRecorderManagerSupplier} managing the flight recordings
+     */
+    @Inject
+    public RecordingGetAll(@Nonnull final FlightRecorderManagerSupplier flightRecorderManagerSupplier) {
+        super(flightRecorderManagerSupplier);
+    }
+
+    @GET
+    @Nonnull
+    public List<RecordingInfo> getAll(@Nonnull @Context final SecurityContext securityContext) {
+        requireRole(securityContext, UserRole.ADMIN);
+
+        return getFlightRecorderManager().getAll();
+    }
+}
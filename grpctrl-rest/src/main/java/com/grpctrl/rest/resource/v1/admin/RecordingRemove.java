@@ -0,0 +1,62 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+
+/**
+ * Discard a flight recording along with its data, stopping it first when it is still running. Only available to
+ * administrators.
+ */
+@Singleton
+@Path("/v1/admin/recordings/{recordingId}")
+@Produces(MediaType.APPLICATION_JSON)
+public class RecordingRemove extends BaseRecordingResource {
+    /**
+     * @param flightRecorderManagerSupplier the {@link FlightRecorderManagerSupplier} managing the flight recordings
+     */
+    @Inject
+    public RecordingRemove(@Nonnull final FlightRecorderManagerSupplier flightRecorderManagerSupplier) {
+        super(flightRecorderManagerSupplier);
+    }
+
+    @DELETE
+    @Nonnull
+    public RemoveResponse remove(
+            @Nonnull @Context final SecurityContext securityContext,
+            @Nonnull @PathParam("recordingId") final Long recordingId) {
+        requireRole(securityContext, UserRole.ADMIN);
+
+        return new RemoveResponse(getFlightRecorderManager().remove(recordingId));
+    }
+
+    @JsonPropertyOrder({"success", "removed"})
+    private static class RemoveResponse {
+        private final boolean success;
+        private final boolean removed;
+
+        public RemoveResponse(final boolean removed) {
+            this.success = true;
+            this.removed = removed;
+        }
+
+        public boolean isSuccess() {
+            return this.success;
+        }
+
+        public boolean isRemoved() {
+            return this.removed;
+        }
+    }
+}
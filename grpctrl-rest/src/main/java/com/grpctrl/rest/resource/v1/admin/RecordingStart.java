@@ -0,0 +1,58 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.grpctrl.common.jfr.RecordingInfo;
+import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
+
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+/**
+ * Start a new flight recording, which stops automatically after the requested number of seconds. The recording uses
+ * the requested flight recorder settings, like {@code default} for low overhead or {@code profile} for more detail.
+ * The configured defaults are used when the duration or settings are not provided. Only available to administrators.
+ */
+@Singleton
+@Path("/v1/admin/recordings")
+@Produces(MediaType.APPLICATION_JSON)
+public class RecordingStart extends BaseRecordingResource {
+    /**
+     * @param flightRecorderManagerSupplier the {@link FlightRecorderManagerSupplier} managing the flight recordings
+     */
+    @Inject
+    public RecordingStart(@Nonnull final FlightRecorderManagerSupplier flightRecorderManagerSupplier) {
+        super(flightRecorderManagerSupplier);
+    }
+
+    @POST
+    @Nonnull
+    public RecordingInfo start(
+            @Nonnull @Context final SecurityContext securityContext,
+            @Nullable @QueryParam("duration") final Long durationSeconds,
+            @Nullable @QueryParam("settings") final String settings) {
+        requireRole(securityContext, UserRole.ADMIN);
+
+        try {
+            return getFlightRecorderManager()
+                    .start(durationSeconds == null ? null : Duration.ofSeconds(durationSeconds), settings);
+        } catch (final IllegalArgumentException invalid) {
+            throw new BadRequestException(invalid.getMessage(), invalid);
+        } catch (final IllegalStateException unavailable) {
+            throw new ClientErrorException(unavailable.getMessage(), Response.Status.CONFLICT, unavailable);
+        }
+    }
+}
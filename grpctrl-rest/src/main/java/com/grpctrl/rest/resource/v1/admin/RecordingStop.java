@@ -0,0 +1,42 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.grpctrl.common.jfr.RecordingInfo;
+import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+
+/**
+ * Stop a running flight recording before its duration has elapsed. Only available to administrators.
+ */
+@Singleton
+@Path("/v1/admin/recordings/{recordingId}/stop")
+@Produces(MediaType.APPLICATION_JSON)
+public class RecordingStop extends BaseRecordingResource {
+    /**
+     * @param flightRecorderManagerSupplier the {@link FlightRecorderManagerSupplier} managing the flight recordings
+     */
+    @Inject
+    public RecordingStop(@Nonnull final FlightRecorderManagerSupplier flightRecorderManagerSupplier) {
+        super(flightRecorderManagerSupplier);
+    }
+
+    @POST
+    @Nonnull
+    public RecordingInfo stop(
+            @Nonnull @Context final SecurityContext securityContext,
+            @Nonnull @PathParam("recordingId") final Long recordingId) {
+        requireRole(securityContext, UserRole.ADMIN);
+
+        return getFlightRecorderManager().stop(recordingId).orElseThrow(() -> notFound(recordingId));
+    }
+}
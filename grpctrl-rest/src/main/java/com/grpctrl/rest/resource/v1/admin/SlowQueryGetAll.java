@@ -0,0 +1,47 @@
+package com.grpctrl.rest.resource.v1.admin;
+
+import com.grpctrl.common.model.UserRole;
+import com.grpctrl.db.DataSourceSupplier;
+import com.grpctrl.db.metrics.SlowQuery;
+import com.grpctrl.rest.resource.v1.BaseResource;
+
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+
+/**
+ * Retrieve the most recent slow database queries, newest first, including the query plans captured for the sampled
+ * queries. Only available to administrators.
+ */
+@Singleton
+@Path("/v1/admin/slow-queries")
+@Produces(MediaType.APPLICATION_JSON)
+public class SlowQueryGetAll extends BaseResource {
+    @Nonnull
+    private final DataSourceSupplier dataSourceSupplier;
+
+    /**
+     * @param dataSourceSupplier the {@link DataSourceSupplier} holding the slow query log
+     */
+    @Inject
+    public SlowQueryGetAll(@Nonnull final DataSourceSupplier dataSourceSupplier) {
+        this.dataSourceSupplier = Objects.requireNonNull(dataSourceSupplier);
+    }
+
+    @GET
+    @Nonnull
+    public List<SlowQuery> getAll(@Nonnull @Context final SecurityContext securityContext) {
+        requireRole(securityContext, UserRole.ADMIN);
+
+        return this.dataSourceSupplier.getSlowQueryLog().getSlowQueries();
+    }
+}
@@ -1,10 +1,17 @@
 package com.grpctrl.rest.resource.v1.group;
 
+import com.grpctrl.common.config.ConfigKeys;
+import com.grpctrl.common.json.DataFormat;
+import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.common.supplier.StreamingExecutorServiceSupplier;
 import com.grpctrl.db.dao.supplier.GroupDaoSupplier;
+import com.grpctrl.rest.providers.Bulk;
 import com.grpctrl.rest.resource.v1.account.MultipleAccountStreamer;
 
 import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -13,36 +20,55 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.StreamingOutput;
 
 /**
- * Add groups to the backing data store.
+ * Add groups to the backing data store. The response is produced and written on a bounded worker pool, so the web
+ * server thread that received the request is released while the response is streamed.
  */
+@Bulk
 @Singleton
 @Path("/v1/group/")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, DataFormat.SMILE_MEDIA_TYPE, DataFormat.CBOR_MEDIA_TYPE})
 @Consumes(MediaType.APPLICATION_JSON)
 public class GroupAdd extends BaseGroupResource {
+    @Nonnull
+    private final ConfigSupplier configSupplier;
+    @Nonnull
+    private final StreamingExecutorServiceSupplier streamingExecutorServiceSupplier;
+
     @Inject
     public GroupAdd(
-            @Nonnull final ObjectMapperSupplier objectMapperSupplier,
-            @Nonnull final GroupDaoSupplier groupDaoSupplier) {
+            @Nonnull final ConfigSupplier configSupplier, @Nonnull final ObjectMapperSupplier objectMapperSupplier,
+            @Nonnull final GroupDaoSupplier groupDaoSupplier,
+            @Nonnull final StreamingExecutorServiceSupplier streamingExecutorServiceSupplier) {
         super(objectMapperSupplier, groupDaoSupplier);
+        this.configSupplier = Objects.requireNonNull(configSupplier);
+        this.streamingExecutorServiceSupplier = Objects.requireNonNull(streamingExecutorServiceSupplier);
     }
 
     @POST
-    public Response add(
-            @Context @Nonnull final SecurityContext securityContext, @Nonnull final InputStream inputStream) {
+    public void add(
+            @Context @Nonnull final SecurityContext securityContext, @Context @Nonnull final HttpHeaders httpHeaders,
+            @Nonnull final InputStream inputStream, @Nonnull @Suspended final AsyncResponse asyncResponse) {
         // TODO: Determine the account based on the user/apikey security
         //final Account account = new Account().setId(10001L).setName("parent");
 
-        final StreamingOutput streamingOutput = new MultipleAccountStreamer(getObjectMapperSupplier(), consumer -> {
+        final DataFormat dataFormat = getDataFormat(httpHeaders);
+        final long timeout =
+                this.configSupplier.get().getDuration(ConfigKeys.STREAM_TIMEOUT.getKey(), TimeUnit.MILLISECONDS);
+        respondAsync(asyncResponse, this.streamingExecutorServiceSupplier.get(), timeout, () -> {
+            final StreamingOutput streamingOutput =
+                    new MultipleAccountStreamer(getObjectMapperSupplier(), consumer -> {
+                    }, dataFormat);
+            return Response.ok().entity(streamingOutput).type(dataFormat.getMediaType()).build();
         });
-
-        return Response.ok().entity(streamingOutput).type(MediaType.APPLICATION_JSON).build();
     }
 }
@@ -2,39 +2,72 @@ package com.grpctrl.rest.resource.v1.status;
 
 import com.grpctrl.common.model.Account;
 import com.grpctrl.common.model.User;
+import com.grpctrl.db.dao.supplier.AccountDaoSupplier;
 import com.grpctrl.rest.resource.v1.BaseResource;
 
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
 /**
- * Retrieve account information for the current user and account.
+ * Retrieve account information for the current user and account. When an account is available, responses include an
+ * entity tag based on the account data version and the current user, and clients providing the current tag receive a
+ * {@code 304 Not Modified} response.
  */
 @Singleton
 @Path("/v1/status")
 @Produces(MediaType.APPLICATION_JSON)
 public class AccountStatus extends BaseResource {
+    @Nonnull
+    private final AccountDaoSupplier accountDaoSupplier;
+
+    /**
+     * @param accountDaoSupplier the {@link AccountDaoSupplier} used to retrieve account data versions
+     */
+    @Inject
+    public AccountStatus(@Nonnull final AccountDaoSupplier accountDaoSupplier) {
+        this.accountDaoSupplier = Objects.requireNonNull(accountDaoSupplier);
+    }
+
     @GET
     @Nullable
     public Response get(
             @Nonnull @Context final SecurityContext securityContext,
-            @Nonnull @Context final ContainerRequestContext requestContext) {
+            @Nonnull @Context final ContainerRequestContext requestContext, @Nonnull @Context final Request request) {
         final Optional<Account> account = getAccount(requestContext);
         final Optional<User> user = getUser(securityContext);
 
         final AccountStatusResponse response = new AccountStatusResponse(account.orElse(null), user.orElse(null));
 
-        return Response.ok().entity(response).type(MediaType.APPLICATION_JSON).build();
+        final Optional<Long> accountId = account.flatMap(Account::getId);
+        final OptionalLong dataVersion = accountId.isPresent()
+                ? this.accountDaoSupplier.get().getDataVersion(accountId.get()) : OptionalLong.empty();
+        if (!dataVersion.isPresent()) {
+            return Response.ok().entity(response).type(MediaType.APPLICATION_JSON).build();
+        }
+
+        // The user details are loaded with each request, so changes to the user are reflected in the tag.
+        final String variant = user.map(u -> Integer.toHexString(u.hashCode())).orElse("-");
+        final EntityTag entityTag = createEntityTag(accountId.get(), dataVersion.getAsLong(), variant);
+        final Optional<Response> notModified = notModified(request, entityTag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        return Response.ok().entity(response).type(MediaType.APPLICATION_JSON).tag(entityTag).build();
     }
 }
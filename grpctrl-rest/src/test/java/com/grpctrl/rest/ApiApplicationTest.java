@@ -24,9 +24,15 @@ public class ApiApplicationTest {
 
         assertEquals("com.grpctrl.common.supplier.ObjectMapperSupplier", nameIter.next());
         assertEquals("com.grpctrl.rest.providers.AccountLookupFilter", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.CompressionFilter", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.FlightRecorderListener", nameIter.next());
         assertEquals("com.grpctrl.rest.providers.GenericExceptionMapper", nameIter.next());
-        assertEquals("com.grpctrl.rest.providers.MemoryUsageLogger", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.MemoryPressureFilter", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.RateLimitFilter", nameIter.next());
         assertEquals("com.grpctrl.rest.providers.RequestLoggingFilter", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.RequestMetricsListener", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.ResourceUsageFilter", nameIter.next());
+        assertEquals("com.grpctrl.rest.providers.TracingFilter", nameIter.next());
         assertEquals("com.grpctrl.rest.providers.UserLookupFilter", nameIter.next());
         assertEquals("com.grpctrl.rest.resource.auth.Login", nameIter.next());
         assertEquals("com.grpctrl.rest.resource.auth.Logout", nameIter.next());
@@ -34,10 +40,14 @@ public class ApiApplicationTest {
         assertEquals("com.grpctrl.rest.resource.v1.account.AccountGet", nameIter.next());
         assertEquals("com.grpctrl.rest.resource.v1.account.AccountGetAll", nameIter.next());
         assertEquals("com.grpctrl.rest.resource.v1.account.AccountRemove", nameIter.next());
+        assertEquals("com.grpctrl.rest.resource.v1.admin.RecordingGet", nameIter.next());
+        assertEquals("com.grpctrl.rest.resource.v1.admin.RecordingGetAll", nameIter.next());
+        assertEquals("com.grpctrl.rest.resource.v1.admin.RecordingRemove", nameIter.next());
+        assertEquals("com.grpctrl.rest.resource.v1.admin.RecordingStart", nameIter.next());
+        assertEquals("com.grpctrl.rest.resource.v1.admin.RecordingStop", nameIter.next());
+        assertEquals("com.grpctrl.rest.resource.v1.admin.SlowQueryGetAll", nameIter.next());
         assertEquals("com.grpctrl.rest.resource.v1.group.GroupAdd", nameIter.next());
         assertEquals("com.grpctrl.rest.resource.v1.status.AccountStatus", nameIter.next());
-        assertEquals("org.glassfish.jersey.message.GZipEncoder", nameIter.next());
-        assertEquals("org.glassfish.jersey.server.filter.EncodingFilter", nameIter.next());
         assertFalse(nameIter.hasNext());
     }
 }
@@ -0,0 +1,120 @@
+package com.grpctrl.rest.providers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Perform testing on the {@link CompressingOutputStream} class.
+ */
+public class CompressingOutputStreamTest {
+    private static byte[] gunzip(final byte[] data) throws IOException {
+        try (final GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static byte[] data(final int size) {
+        final StringBuilder str = new StringBuilder(size);
+        while (str.length() < size) {
+            str.append((char) ('a' + str.length() % 26));
+        }
+        return str.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testBelowMinSize() throws IOException {
+        final AtomicInteger compressed = new AtomicInteger();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final CompressingOutputStream stream =
+                new CompressingOutputStream(output, 100, 6, compressed::incrementAndGet)) {
+            stream.write(data(99));
+            stream.flush();
+            assertFalse(stream.isCompressing());
+            assertEquals(0, output.size());
+        }
+        assertEquals(0, compressed.get());
+        assertArrayEquals(data(99), output.toByteArray());
+    }
+
+    @Test
+    public void testAtMinSize() throws IOException {
+        final AtomicInteger compressed = new AtomicInteger();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final CompressingOutputStream stream =
+                new CompressingOutputStream(output, 100, 6, compressed::incrementAndGet)) {
+            stream.write(data(60));
+            stream.write(data(40));
+            assertTrue(stream.isCompressing());
+            stream.write('z');
+        }
+        assertEquals(1, compressed.get());
+
+        final byte[] expected = new byte[101];
+        System.arraycopy(data(60), 0, expected, 0, 60);
+        System.arraycopy(data(40), 0, expected, 60, 40);
+        expected[100] = 'z';
+        assertArrayEquals(expected, gunzip(output.toByteArray()));
+    }
+
+    @Test
+    public void testSyncFlush() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final CompressingOutputStream stream = new CompressingOutputStream(output, 0, 1, () -> {
+        })) {
+            stream.write(data(1000));
+            stream.flush();
+
+            // All of the data written so far is available to the client after the flush.
+            final int flushed = output.size();
+            assertTrue(flushed > 0);
+            assertTrue(flushed < 1000);
+        }
+        assertArrayEquals(data(1000), gunzip(output.toByteArray()));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final AtomicInteger compressed = new AtomicInteger();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CompressingOutputStream(output, 0, 6, compressed::incrementAndGet).close();
+        assertEquals(0, compressed.get());
+        assertEquals(0, output.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterClose() throws IOException {
+        final CompressingOutputStream stream = new CompressingOutputStream(new ByteArrayOutputStream(), 0, 6, () -> {
+        });
+        stream.close();
+        stream.write(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLevel() {
+        new CompressingOutputStream(new ByteArrayOutputStream(), 0, 10, () -> {
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMinSize() {
+        new CompressingOutputStream(new ByteArrayOutputStream(), -1, 6, () -> {
+        });
+    }
+}
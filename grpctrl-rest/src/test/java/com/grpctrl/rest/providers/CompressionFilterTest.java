@@ -0,0 +1,41 @@
+package com.grpctrl.rest.providers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.grpctrl.common.json.DataFormat;
+import com.grpctrl.rest.resource.v1.NdjsonStreamer;
+
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Perform testing on the {@link CompressionFilter} class.
+ */
+public class CompressionFilterTest {
+    @Test
+    public void testIsCompressible() {
+        assertTrue(CompressionFilter.isCompressible(MediaType.APPLICATION_JSON_TYPE));
+        assertTrue(CompressionFilter.isCompressible(MediaType.TEXT_HTML_TYPE));
+        assertTrue(CompressionFilter.isCompressible(MediaType.valueOf(NdjsonStreamer.MEDIA_TYPE)));
+        assertTrue(CompressionFilter.isCompressible(MediaType.valueOf("application/problem+json")));
+        assertFalse(CompressionFilter.isCompressible(MediaType.valueOf(DataFormat.SMILE_MEDIA_TYPE)));
+        assertFalse(CompressionFilter.isCompressible(MediaType.valueOf(DataFormat.CBOR_MEDIA_TYPE)));
+        assertFalse(CompressionFilter.isCompressible(MediaType.APPLICATION_OCTET_STREAM_TYPE));
+        assertFalse(CompressionFilter.isCompressible(null));
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(CompressionFilter.acceptsGzip("gzip"));
+        assertTrue(CompressionFilter.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(CompressionFilter.acceptsGzip("X-GZIP"));
+        assertTrue(CompressionFilter.acceptsGzip("*"));
+        assertFalse(CompressionFilter.acceptsGzip(null));
+        assertFalse(CompressionFilter.acceptsGzip("identity"));
+        assertFalse(CompressionFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(CompressionFilter.acceptsGzip("*, gzip;q=0"));
+        assertTrue(CompressionFilter.acceptsGzip("*;q=0, gzip"));
+    }
+}
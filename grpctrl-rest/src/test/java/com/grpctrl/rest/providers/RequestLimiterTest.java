@@ -0,0 +1,116 @@
+package com.grpctrl.rest.providers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.grpctrl.common.model.ServiceLevel;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Perform testing on the {@link RequestLimiter} class.
+ */
+public class RequestLimiterTest {
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final RequestLimiter limiter = new RequestLimiter(2, TimeUnit.MINUTES.toMillis(10), 4, this.clock::get);
+
+    @Test
+    public void testRequestRate() {
+        final ServiceLevel serviceLevel = new ServiceLevel().setMaxRequestRate(10).setMaxConcurrentRequests(100);
+
+        // A full second worth of requests is allowed as a burst.
+        for (int i = 0; i < 10; i++) {
+            final RequestLimiter.Permit permit = this.limiter.acquire(1L, serviceLevel, false);
+            assertTrue(permit.isAdmitted());
+            permit.release();
+        }
+        final RequestLimiter.Permit rejected = this.limiter.acquire(1L, serviceLevel, false);
+        assertFalse(rejected.isAdmitted());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+
+        // Other accounts are not affected.
+        assertTrue(this.limiter.acquire(2L, serviceLevel, false).isAdmitted());
+
+        // Tokens are added back over time.
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+        assertFalse(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+    }
+
+    @Test
+    public void testConcurrentRequests() {
+        final ServiceLevel serviceLevel = new ServiceLevel().setMaxRequestRate(1000).setMaxConcurrentRequests(2);
+
+        final RequestLimiter.Permit first = this.limiter.acquire(1L, serviceLevel, false);
+        final RequestLimiter.Permit second = this.limiter.acquire(1L, serviceLevel, false);
+        assertTrue(first.isAdmitted());
+        assertTrue(second.isAdmitted());
+        assertFalse(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+
+        // Releasing more than once only frees a single slot.
+        first.release();
+        first.release();
+        assertTrue(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+        assertFalse(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+    }
+
+    @Test
+    public void testConcurrencyRejectionKeepsToken() {
+        final ServiceLevel serviceLevel = new ServiceLevel().setMaxRequestRate(2).setMaxConcurrentRequests(1);
+
+        final RequestLimiter.Permit first = this.limiter.acquire(1L, serviceLevel, false);
+        assertTrue(first.isAdmitted());
+        for (int i = 0; i < 5; i++) {
+            assertFalse(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+        }
+
+        // The requests rejected for concurrency did not use up the remaining token.
+        first.release();
+        final RequestLimiter.Permit second = this.limiter.acquire(1L, serviceLevel, false);
+        assertTrue(second.isAdmitted());
+        second.release();
+
+        // A request rejected for its rate does not hold on to a concurrency slot.
+        assertFalse(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+    }
+
+    @Test
+    public void testBulkRequests() {
+        final ServiceLevel serviceLevel = new ServiceLevel().setMaxRequestRate(1000).setMaxConcurrentRequests(5);
+
+        final RequestLimiter.Permit first = this.limiter.acquire(1L, serviceLevel, true);
+        assertTrue(first.isAdmitted());
+        assertTrue(this.limiter.acquire(1L, serviceLevel, true).isAdmitted());
+        assertFalse(this.limiter.acquire(1L, serviceLevel, true).isAdmitted());
+
+        // Other requests still have room within the overall budget.
+        assertTrue(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+
+        first.release();
+        assertTrue(this.limiter.acquire(1L, serviceLevel, true).isAdmitted());
+    }
+
+    @Test
+    public void testRejectedRelease() {
+        final ServiceLevel serviceLevel = new ServiceLevel().setMaxRequestRate(1000).setMaxConcurrentRequests(1);
+
+        assertTrue(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+        final RequestLimiter.Permit rejected = this.limiter.acquire(1L, serviceLevel, false);
+        assertFalse(rejected.isAdmitted());
+
+        // Releasing a rejected permit does not free a slot.
+        rejected.release();
+        assertFalse(this.limiter.acquire(1L, serviceLevel, false).isAdmitted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBulkConcurrentRequests() {
+        new RequestLimiter(0, 1000, 4);
+    }
+}
@@ -0,0 +1,40 @@
+package com.grpctrl.rest.providers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import org.junit.Test;
+
+/**
+ * Perform testing on the {@link ResourceMethodMetrics} class.
+ */
+public class ResourceMethodMetricsTest {
+    @Test
+    public void testUnmatched() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final ResourceMethodMetrics<Timer> metrics = new ResourceMethodMetrics<>(metricRegistry, 100,
+                ResourceMethodMetricsTest.class, (m, prefix) -> m.timer(MetricRegistry.name(prefix, "requests")));
+
+        final Timer unmatched = metrics.get(null);
+        assertSame(unmatched, metrics.get(null));
+        assertSame(unmatched, metricRegistry.getTimers()
+                .get(MetricRegistry.name(ResourceMethodMetricsTest.class, "unmatched", "requests")));
+    }
+
+    @Test
+    public void testSharedRegistration() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final ResourceMethodMetrics<Histogram> first = new ResourceMethodMetrics<>(metricRegistry, 100,
+                ResourceMethodMetricsTest.class, (m, prefix) -> m.histogram(MetricRegistry.name(prefix, "size")));
+        final ResourceMethodMetrics<Histogram> second = new ResourceMethodMetrics<>(metricRegistry, 100,
+                ResourceMethodMetricsTest.class, (m, prefix) -> m.histogram(MetricRegistry.name(prefix, "size")));
+
+        // Another instance of the provider records into the metrics registered first.
+        assertSame(first.get(null), second.get(null));
+        assertEquals(1, metricRegistry.getHistograms().size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.grpctrl.rest.resource.v1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import com.grpctrl.common.cache.ResponseCache;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Perform testing on the {@link CachingStreamer} and {@link CachedStreamer} classes.
+ */
+public class CachingStreamerTest {
+    private static final String BODY = "{\"success\":true,\"account\":{\"id\":1,\"name\":\"a\"}}";
+
+    private static ResponseCache.Key key(final String contentEncoding) {
+        return new ResponseCache.Key(1L, 1L, "endpoint", null, "application/json", contentEncoding);
+    }
+
+    private static StreamingOutput body(final String body) {
+        return output -> {
+            output.write(body.getBytes(StandardCharsets.UTF_8));
+            output.close();
+        };
+    }
+
+    private static String write(final StreamingOutput streamer) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamer.write(output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(final ByteBuffer buffer) {
+        final byte[] data = new byte[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return data;
+    }
+
+    @Test
+    public void testCacheIdentity() throws IOException {
+        final ResponseCache cache = new ResponseCache(1024, 1024);
+        assertEquals(BODY, write(new CachingStreamer(body(BODY), cache, key(CachingStreamer.IDENTITY))));
+
+        final ByteBuffer cached = cache.get(key(CachingStreamer.IDENTITY)).get();
+        assertEquals(BODY, new String(read(cached), StandardCharsets.UTF_8));
+
+        // The cached body can be written many times.
+        final CachedStreamer cachedStreamer = new CachedStreamer(cached);
+        assertEquals(BODY, write(cachedStreamer));
+        assertEquals(BODY, write(cachedStreamer));
+    }
+
+    @Test
+    public void testCacheGzip() throws IOException {
+        final ResponseCache cache = new ResponseCache(1024, 1024);
+        assertEquals(BODY, write(new CachingStreamer(body(BODY), cache, key(CachingStreamer.GZIP))));
+
+        final ByteBuffer cached = cache.get(key(CachingStreamer.GZIP)).get();
+        final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        try (final InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(read(cached)))) {
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = gzip.read(buffer)) >= 0) {
+                uncompressed.write(buffer, 0, read);
+            }
+        }
+        assertEquals(BODY, new String(uncompressed.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testTooLargeNotCached() throws IOException {
+        final ResponseCache cache = new ResponseCache(1024, 10);
+        assertEquals(BODY, write(new CachingStreamer(body(BODY), cache, key(CachingStreamer.IDENTITY))));
+        assertFalse(cache.get(key(CachingStreamer.IDENTITY)).isPresent());
+    }
+
+    @Test
+    public void testFailureNotCached() throws IOException {
+        final ResponseCache cache = new ResponseCache(1024, 1024);
+        final StreamingOutput failing = output -> {
+            output.write(BODY.getBytes(StandardCharsets.UTF_8));
+            throw new IOException("Broken");
+        };
+        try {
+            write(new CachingStreamer(failing, cache, key(CachingStreamer.IDENTITY)));
+            fail("Expected an IO exception");
+        } catch (final IOException expected) {
+            assertFalse(cache.get(key(CachingStreamer.IDENTITY)).isPresent());
+        }
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.grpctrl.rest.resource.v1;
+
+import static org.junit.Assert.assertEquals;
+
+import com.grpctrl.common.model.Account;
+import com.grpctrl.common.supplier.ObjectMapperSupplier;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.ServiceUnavailableException;
+
+/**
+ * Perform testing on the {@link NdjsonStreamer} class.
+ */
+public class NdjsonStreamerTest {
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+        private int flushes = 0;
+
+        @Override
+        public void flush() {
+            this.flushes++;
+        }
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        final List<Account> accounts = Arrays.asList(new Account(1L, "a", new Account().getServiceLevel()),
+                new Account(2L, "b", new Account().getServiceLevel()));
+        final NdjsonStreamer<Account> streamer =
+                new NdjsonStreamer<>(new ObjectMapperSupplier(), accounts::forEach, 100, 1000);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamer.write(output);
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(4, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"a\",\"serviceLevel\":{\"maxGroups\":100,\"maxTags\":1000,\"maxDepth\":3,"
+                + "\"maxRequestRate\":50,\"maxConcurrentRequests\":10}}", lines[0]);
+        assertEquals("{\"id\":2,\"name\":\"b\",\"serviceLevel\":{\"maxGroups\":100,\"maxTags\":1000,\"maxDepth\":3,"
+                + "\"maxRequestRate\":50,\"maxConcurrentRequests\":10}}", lines[1]);
+        assertEquals("{\"success\":true,\"count\":2}", lines[2]);
+        assertEquals("", lines[3]);
+    }
+
+    @Test
+    public void testWriteEmpty() throws IOException {
+        final NdjsonStreamer<Account> streamer = new NdjsonStreamer<>(new ObjectMapperSupplier(), consumer -> {
+        }, 100, 1000);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamer.write(output);
+        assertEquals("{\"success\":true,\"count\":0}\n", new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteFailure() throws IOException {
+        final NdjsonStreamer<Account> streamer = new NdjsonStreamer<>(new ObjectMapperSupplier(), consumer -> {
+            consumer.accept(new Account("a"));
+            throw new IllegalStateException("Broken");
+        }, 100, 1000);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamer.write(output);
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"success\":false,\"count\":1,\"code\":500,\"message\":\"IllegalStateException: Broken\"}",
+                lines[1]);
+    }
+
+    @Test
+    public void testWriteWebApplicationFailure() throws IOException {
+        final NdjsonStreamer<Account> streamer = new NdjsonStreamer<>(new ObjectMapperSupplier(), consumer -> {
+            throw new ServiceUnavailableException("Busy", 1L);
+        }, 100, 1000);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamer.write(output);
+        assertEquals("{\"success\":false,\"count\":0,\"code\":503,\"message\":\"ServiceUnavailableException: Busy\"}\n",
+                new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFlushRecords() throws IOException {
+        final NdjsonStreamer<Account> streamer = new NdjsonStreamer<>(new ObjectMapperSupplier(), consumer -> {
+            for (int i = 0; i < 10; i++) {
+                consumer.accept(new Account("a"));
+            }
+        }, 3, 60000);
+
+        final FlushCountingOutputStream output = new FlushCountingOutputStream();
+        streamer.write(output);
+
+        // One flush for every three records, the remainder is written when the generator is closed.
+        assertEquals(3, output.flushes);
+    }
+
+    @Test
+    public void testFlushInterval() throws IOException {
+        final NdjsonStreamer<Account> streamer = new NdjsonStreamer<>(new ObjectMapperSupplier(), consumer -> {
+            for (int i = 0; i < 10; i++) {
+                consumer.accept(new Account("a"));
+            }
+        }, 1000, 0);
+
+        final FlushCountingOutputStream output = new FlushCountingOutputStream();
+        streamer.write(output);
+
+        // With no interval, every record is flushed.
+        assertEquals(10, output.flushes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFlushRecords() {
+        new NdjsonStreamer<Account>(new ObjectMapperSupplier(), consumer -> {
+        }, 0, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFlushInterval() {
+        new NdjsonStreamer<Account>(new ObjectMapperSupplier(), consumer -> {
+        }, 100, -1);
+    }
+}
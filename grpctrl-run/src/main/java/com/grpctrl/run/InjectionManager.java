@@ -5,11 +5,16 @@ import static org.glassfish.hk2.utilities.ServiceLocatorUtilities.bind;
 
 import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.common.supplier.ExecutorServiceSupplier;
+import com.grpctrl.common.supplier.FlightRecorderManagerSupplier;
 import com.grpctrl.common.supplier.HealthCheckRegistrySupplier;
+import com.grpctrl.common.supplier.MemoryPressureMonitorSupplier;
 import com.grpctrl.common.supplier.MetricRegistrySupplier;
 import com.grpctrl.common.supplier.OAuth20ServiceSupplier;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
+import com.grpctrl.common.supplier.ResponseCacheSupplier;
 import com.grpctrl.common.supplier.ScheduledExecutorServiceSupplier;
+import com.grpctrl.common.supplier.StreamingExecutorServiceSupplier;
+import com.grpctrl.crypto.password.PasswordHasherSupplier;
 import com.grpctrl.crypto.pbe.PasswordBasedEncryptionSupplier;
 import com.grpctrl.crypto.ske.SymmetricKeyEncryptionSupplier;
 import com.grpctrl.crypto.ssl.SslContextSupplier;
@@ -55,6 +60,10 @@ public class InjectionManager {
     private void bindAll() {
         bind(this.serviceLocator, new ExecutorServiceSupplier.Binder());
         bind(this.serviceLocator, new ScheduledExecutorServiceSupplier.Binder());
+        bind(this.serviceLocator, new StreamingExecutorServiceSupplier.Binder());
+        bind(this.serviceLocator, new ResponseCacheSupplier.Binder());
+        bind(this.serviceLocator, new MemoryPressureMonitorSupplier.Binder());
+        bind(this.serviceLocator, new FlightRecorderManagerSupplier.Binder());
         bind(this.serviceLocator, new PasswordBasedEncryptionSupplier.Binder());
         bind(this.serviceLocator, new KeyStoreSupplier.Binder());
         bind(this.serviceLocator, new SymmetricKeyEncryptionSupplier.Binder());
@@ -63,6 +72,7 @@ public class InjectionManager {
         bind(this.serviceLocator, new OAuth20ServiceSupplier.Binder());
         bind(this.serviceLocator, new MetricRegistrySupplier.Binder());
         bind(this.serviceLocator, new HealthCheckRegistrySupplier.Binder());
+        bind(this.serviceLocator, new PasswordHasherSupplier.Binder());
         bind(this.serviceLocator, new DataSourceSupplier.Binder());
         bind(this.serviceLocator, new AccountDaoSupplier.Binder());
         bind(this.serviceLocator, new ApiLoginDaoSupplier.Binder());
@@ -0,0 +1,88 @@
+package com.grpctrl.run;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A Jetty thread pool with a bounded job queue, rejecting new work when the queue is full instead of letting requests
+ * pile up without limit. The pool exposes its saturation as metrics: the number of threads, how many are busy or idle,
+ * the number of queued jobs, the utilization of the pool, and the rate at which jobs are rejected.
+ */
+public class InstrumentedThreadPool extends QueuedThreadPool implements MetricSet {
+    @Nonnull
+    private final Meter rejected = new Meter();
+
+    /**
+     * @param minThreads the minimum number of threads kept in the pool
+     * @param maxThreads the maximum number of threads in the pool
+     * @param idleTimeoutMillis the number of milliseconds an idle thread above the minimum is kept before it is stopped
+     * @param queueSize the maximum number of jobs waiting for a thread before new jobs are rejected
+     *
+     * @throws IllegalArgumentException if the queue size is not positive
+     */
+    public InstrumentedThreadPool(
+            final int minThreads, final int maxThreads, final int idleTimeoutMillis, final int queueSize) {
+        super(maxThreads, minThreads, idleTimeoutMillis, createQueue(minThreads, queueSize));
+        setName("server");
+    }
+
+    @Nonnull
+    private static BlockingArrayQueue<Runnable> createQueue(final int minThreads, final int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("The thread pool queue size must be positive");
+        }
+        final int initial = Math.min(Math.max(minThreads, 1), queueSize);
+        return new BlockingArrayQueue<>(initial, initial, queueSize);
+    }
+
+    /**
+     * @return the meter tracking the jobs rejected because the queue was full
+     */
+    @Nonnull
+    public Meter getRejected() {
+        return this.rejected;
+    }
+
+    @Override
+    public void execute(@Nonnull final Runnable job) {
+        try {
+            super.execute(job);
+        } catch (final RejectedExecutionException rejected) {
+            this.rejected.mark();
+            throw rejected;
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        metrics.put(name(QueuedThreadPool.class, getName(), "threads"), (Gauge<Integer>) this::getThreads);
+        metrics.put(name(QueuedThreadPool.class, getName(), "idle"), (Gauge<Integer>) this::getIdleThreads);
+        metrics.put(name(QueuedThreadPool.class, getName(), "busy"), (Gauge<Integer>) this::getBusyThreads);
+        metrics.put(name(QueuedThreadPool.class, getName(), "queued"), (Gauge<Integer>) this::getQueueSize);
+        metrics.put(name(QueuedThreadPool.class, getName(), "low-on-threads"), (Gauge<Boolean>) this::isLowOnThreads);
+        metrics.put(name(QueuedThreadPool.class, getName(), "utilization"), new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(getBusyThreads(), getMaxThreads());
+            }
+        });
+        metrics.put(name(QueuedThreadPool.class, getName(), "rejected"), this.rejected);
+        return metrics;
+    }
+}
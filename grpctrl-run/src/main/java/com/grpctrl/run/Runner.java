@@ -1,18 +1,30 @@
 package com.grpctrl.run;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.servlets.MetricsServlet;
 import com.grpctrl.common.config.ConfigKeys;
 import com.grpctrl.common.model.UserRole;
+import com.grpctrl.common.supplier.MetricRegistrySupplier;
 import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.crypto.ssl.SslContextSupplier;
+import com.grpctrl.db.DataSourceSupplier;
 import com.grpctrl.rest.ApiApplication;
 import com.grpctrl.rest.ContextListener;
 import com.grpctrl.security.CustomLoginServiceSupplier;
 import com.typesafe.config.Config;
 
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.security.ConstraintMapping;
 import org.eclipse.jetty.security.ConstraintSecurityHandler;
 import org.eclipse.jetty.security.authentication.FormAuthenticator;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.ForwardedRequestCustomizer;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
@@ -25,15 +37,18 @@ import org.eclipse.jetty.server.session.SessionHandler;
 import org.eclipse.jetty.servlet.DefaultServlet;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.security.Constraint;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.glassfish.jersey.servlet.ServletContainer;
 import org.glassfish.jersey.servlet.ServletProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.InetSocketAddress;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -42,6 +57,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.servlet.ServletContext;
 
 /**
  * Responsible for running the system.
@@ -49,6 +65,8 @@ import javax.annotation.Nonnull;
 public class Runner {
     private static final Logger LOG = LoggerFactory.getLogger(Runner.class);
 
+    private static final String METRICS_PATH = "/admin/metrics/*";
+
     @Nonnull
     private final InjectionManager injectionManager;
 
@@ -63,30 +81,45 @@ public class Runner {
      * Run the application server.
      */
     public void run() {
-        final Server server = getServer();
+        final InstrumentedThreadPool threadPool = getThreadPool();
+        final Server server = getServer(threadPool);
         try {
             server.start();
-            server.join();
+
+            // The metric registry is created when the servlet context is initialized, during server start.
+            final MetricRegistry metricRegistry = this.injectionManager.get(MetricRegistrySupplier.class).get();
+            metricRegistry.registerAll(threadPool);
+            this.injectionManager.get(DataSourceSupplier.class).registerMetrics(metricRegistry);
+
             LOG.info("Server started");
+            server.join();
         } catch (final Throwable throwable) {
             LOG.error("Problem with Jetty", throwable);
         }
     }
 
-    private Server getServer() {
+    private InstrumentedThreadPool getThreadPool() {
         final Config config = this.injectionManager.get(ConfigSupplier.class).get();
-        final String host = config.getString(ConfigKeys.SYSTEM_HOST.getKey());
-        final int port = config.getInt(ConfigKeys.SYSTEM_PORT.getKey());
+        final int minThreads = config.getInt(ConfigKeys.SERVER_THREADS_MIN.getKey());
+        final int maxThreads = config.getInt(ConfigKeys.SERVER_THREADS_MAX.getKey());
+        final long idleTimeout =
+                config.getDuration(ConfigKeys.SERVER_THREADS_IDLE_TIMEOUT.getKey(), TimeUnit.MILLISECONDS);
+        final int queueSize = config.getInt(ConfigKeys.SERVER_THREADS_QUEUE_SIZE.getKey());
 
-        final Server server = new Server(new InetSocketAddress(host, port));
+        return new InstrumentedThreadPool(minThreads, maxThreads, (int) idleTimeout, queueSize);
+    }
+
+    private Server getServer(@Nonnull final InstrumentedThreadPool threadPool) {
+        final Server server = new Server(threadPool);
         server.setHandler(getContextHandler());
-        configureSsl(server);
+        configureConnectors(server);
         return server;
     }
 
     private ServletContextHandler getContextHandler() {
         final Config config = this.injectionManager.get(ConfigSupplier.class).get();
         final String webContent = config.getString(ConfigKeys.WEB_CONTENT.getKey());
+        final long cacheMaxAge = config.getDuration(ConfigKeys.WEB_CACHE_MAX_AGE.getKey(), TimeUnit.SECONDS);
 
         final SessionManager sessionManager = new HashSessionManager();
         sessionManager.setMaxInactiveInterval((int) TimeUnit.MINUTES.toSeconds(5));
@@ -101,13 +134,26 @@ public class Runner {
         servletContextHandler
                 .setAttribute(ServletProperties.SERVICE_LOCATOR, this.injectionManager.getServiceLocator());
 
+        // Make the servlet context available to suppliers bound in the service locator, like the metric registry.
+        ServiceLocatorUtilities.addOneConstant(this.injectionManager.getServiceLocator(),
+                servletContextHandler.getServletContext(), null, ServletContext.class);
+
         final ServletHolder jerseyServlet = servletContextHandler.addServlet(ServletContainer.class, "/api/*");
         jerseyServlet.setInitOrder(1);
         jerseyServlet.setInitParameter("javax.ws.rs.Application", ApiApplication.class.getName());
 
+        // Expose the metric registry as JSON to administrators, with timer durations in milliseconds.
+        servletContextHandler.setInitParameter(MetricsServlet.DURATION_UNIT, TimeUnit.MILLISECONDS.name());
+        servletContextHandler.setInitParameter(MetricsServlet.RATE_UNIT, TimeUnit.SECONDS.name());
+        final ServletHolder metricsServlet = servletContextHandler.addServlet(MetricsServlet.class, METRICS_PATH);
+        metricsServlet.setInitOrder(2);
+
         final ServletHolder webServlet = servletContextHandler.addServlet(DefaultServlet.class, "/*");
-        webServlet.setInitOrder(2);
+        webServlet.setInitOrder(3);
         webServlet.setInitParameter("resourceBase", webContent);
+        // Serve the gzip variants of the static content created during the build, when the client accepts them.
+        webServlet.setInitParameter("precompressed", "true");
+        webServlet.setInitParameter("cacheControl", "public, max-age=" + cacheMaxAge);
 
         return servletContextHandler;
     }
@@ -127,34 +173,123 @@ public class Runner {
         constraintSecurityHandler.setRoles(roles);
         constraintSecurityHandler.setLoginService(this.injectionManager.get(CustomLoginServiceSupplier.class).get());
         constraintSecurityHandler.setAuthenticator(new FormAuthenticator("/api/auth/login", "/", false));
+
+        final Constraint adminConstraint = new Constraint(Constraint.__FORM_AUTH, UserRole.ADMIN.name());
+        adminConstraint.setAuthenticate(true);
+        final ConstraintMapping metricsMapping = new ConstraintMapping();
+        metricsMapping.setPathSpec(METRICS_PATH);
+        metricsMapping.setConstraint(adminConstraint);
+        constraintSecurityHandler.addConstraintMapping(metricsMapping);
         return constraintSecurityHandler;
     }
 
-    private void configureSsl(@Nonnull final Server server) {
+    private void configureConnectors(@Nonnull final Server server) {
         final Config config = this.injectionManager.get(ConfigSupplier.class).get();
-        if (config.getBoolean(ConfigKeys.CRYPTO_SSL_ENABLED.getKey())) {
-            final int port = config.getInt(ConfigKeys.SYSTEM_PORT.getKey());
-            final SslContextFactory sslContextFactory = new SslContextFactory();
-            sslContextFactory.setSslContext(this.injectionManager.get(SslContextSupplier.class).get());
+        final String host = config.getString(ConfigKeys.SYSTEM_HOST.getKey());
+        final int port = config.getInt(ConfigKeys.SYSTEM_PORT.getKey());
+        final boolean ssl = config.getBoolean(ConfigKeys.CRYPTO_SSL_ENABLED.getKey());
+        final boolean http2 = config.getBoolean(ConfigKeys.SERVER_HTTP2_ENABLED.getKey());
+
+        final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setOutputBufferSize(32768);
+        httpConfiguration.setRequestHeaderSize(8192);
+        httpConfiguration.setResponseHeaderSize(8192);
+        httpConfiguration.setSendServerVersion(false);
+        httpConfiguration.setSendDateHeader(false);
 
-            final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        final List<ConnectionFactory> connectionFactories = new ArrayList<>();
+        if (ssl) {
             httpConfiguration.setSecureScheme("https");
             httpConfiguration.setSecurePort(port);
-            httpConfiguration.setOutputBufferSize(32768);
-            httpConfiguration.setRequestHeaderSize(8192);
-            httpConfiguration.setResponseHeaderSize(8192);
-            httpConfiguration.setSendServerVersion(false);
-            httpConfiguration.setSendDateHeader(false);
 
             final HttpConfiguration httpsConfiguration = new HttpConfiguration(httpConfiguration);
             httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
 
-            final ServerConnector sslConnector = new ServerConnector(server,
-                    new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()),
-                    new HttpConnectionFactory(httpsConfiguration));
-            sslConnector.setPort(port);
-            server.setConnectors(new Connector[] {sslConnector});
+            final SslContextFactory sslContextFactory = new SslContextFactory();
+            sslContextFactory.setSslContext(this.injectionManager.get(SslContextSupplier.class).get());
+
+            final Optional<ALPNServerConnectionFactory> alpn = http2 ? getAlpn() : Optional.empty();
+            if (alpn.isPresent()) {
+                // HTTP/2 requires specific cipher suites, so prefer those acceptable to HTTP/2 during negotiation.
+                sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+                sslContextFactory.setUseCipherSuitesOrder(true);
+
+                connectionFactories.add(new SslConnectionFactory(sslContextFactory, alpn.get().getProtocol()));
+                connectionFactories.add(alpn.get());
+                connectionFactories.add(configureHttp2(new HTTP2ServerConnectionFactory(httpsConfiguration)));
+            } else {
+                connectionFactories.add(new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()));
+            }
+            connectionFactories.add(new HttpConnectionFactory(httpsConfiguration));
+        } else {
+            connectionFactories.add(new HttpConnectionFactory(httpConfiguration));
+            if (http2) {
+                // Support cleartext HTTP/2, either as an upgrade from HTTP/1.1 or with prior knowledge.
+                connectionFactories.add(configureHttp2(new HTTP2CServerConnectionFactory(httpConfiguration)));
+            }
+        }
+
+        final List<Connector> connectors = new ArrayList<>();
+        connectors.add(createConnector(server, host, port, connectionFactories));
+
+        if (config.getBoolean(ConfigKeys.SERVER_HTTP_ENABLED.getKey())) {
+            // Plain HTTP for deployments behind a load balancer that terminates TLS and forwards the original scheme,
+            // host and client address in the X-Forwarded headers.
+            final HttpConfiguration forwardedConfiguration = new HttpConfiguration(httpConfiguration);
+            forwardedConfiguration.addCustomizer(new ForwardedRequestCustomizer());
+
+            final List<ConnectionFactory> httpConnectionFactories = new ArrayList<>();
+            httpConnectionFactories.add(new HttpConnectionFactory(forwardedConfiguration));
+            if (http2) {
+                httpConnectionFactories
+                        .add(configureHttp2(new HTTP2CServerConnectionFactory(forwardedConfiguration)));
+            }
+            final int httpPort = config.getInt(ConfigKeys.SERVER_HTTP_PORT.getKey());
+            connectors.add(createConnector(server, host, httpPort, httpConnectionFactories));
         }
+        server.setConnectors(connectors.toArray(new Connector[connectors.size()]));
+    }
+
+    @Nonnull
+    private ServerConnector createConnector(
+            @Nonnull final Server server, @Nonnull final String host, final int port,
+            @Nonnull final List<ConnectionFactory> connectionFactories) {
+        final Config config = this.injectionManager.get(ConfigSupplier.class).get();
+        final int acceptors = config.getInt(ConfigKeys.SERVER_ACCEPTORS.getKey());
+        final int selectors = config.getInt(ConfigKeys.SERVER_SELECTORS.getKey());
+
+        final ServerConnector connector = new ServerConnector(server, acceptors, selectors,
+                connectionFactories.toArray(new ConnectionFactory[connectionFactories.size()]));
+        connector.setHost(host);
+        connector.setPort(port);
+        connector.setAcceptQueueSize(config.getInt(ConfigKeys.SERVER_ACCEPT_QUEUE_SIZE.getKey()));
+        connector.setIdleTimeout(config.getDuration(ConfigKeys.SERVER_IDLE_TIMEOUT.getKey(), TimeUnit.MILLISECONDS));
+        return connector;
+    }
+
+    @Nonnull
+    private Optional<ALPNServerConnectionFactory> getAlpn() {
+        try {
+            final ALPNServerConnectionFactory alpn =
+                    new ALPNServerConnectionFactory("h2", HttpVersion.HTTP_1_1.asString());
+            alpn.setDefaultProtocol(HttpVersion.HTTP_1_1.asString());
+            return Optional.of(alpn);
+        } catch (final IllegalStateException unavailable) {
+            // On Java 8 the ALPN implementation must be added to the boot class path, fall back to HTTP/1.1 without it.
+            LOG.warn("ALPN is not available, HTTP/2 over TLS is disabled: {}", unavailable.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Nonnull
+    private <F extends AbstractHTTP2ServerConnectionFactory> F configureHttp2(@Nonnull final F factory) {
+        final Config config = this.injectionManager.get(ConfigSupplier.class).get();
+        factory.setMaxConcurrentStreams(config.getInt(ConfigKeys.SERVER_HTTP2_MAX_CONCURRENT_STREAMS.getKey()));
+        // Jetty 9.3 advertises this "send" window to clients as the SETTINGS_INITIAL_WINDOW_SIZE, which is the window
+        // each stream has for receiving request data.
+        factory.setInitialStreamSendWindow(
+                config.getBytes(ConfigKeys.SERVER_HTTP2_INITIAL_STREAM_WINDOW.getKey()).intValue());
+        return factory;
     }
 
     /**
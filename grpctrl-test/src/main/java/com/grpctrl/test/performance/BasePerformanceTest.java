@@ -1,6 +1,8 @@
 package com.grpctrl.test.performance;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.grpctrl.client.OkHttpClientSupplier;
 import com.grpctrl.common.supplier.ConfigSupplier;
 import com.grpctrl.common.supplier.ObjectMapperSupplier;
@@ -16,9 +18,20 @@ import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -28,11 +41,19 @@ import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
 /**
- * Perform some performance testing on the account get-all capability.
+ * The base class for the performance tests, responsible for running the workers and reporting the results.
  */
 public class BasePerformanceTest extends LocalRunner {
     private static final Logger LOG = LoggerFactory.getLogger(BasePerformanceTest.class);
 
+    /** The system property holding the directory into which the JSON reports of the runs are written. */
+    public static final String REPORT_DIR_PROPERTY = "grpctrl.performance.reports";
+    /** The directory into which the JSON reports of the runs are written when the system property is not set. */
+    public static final String DEFAULT_REPORT_DIR = "target/performance-reports";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
 
@@ -65,7 +86,8 @@ public class BasePerformanceTest extends LocalRunner {
     }
 
     /**
-     * Run the performance tests.
+     * Run the performance tests. The latency of each request is recorded into a {@link LatencyHistogram}, the results
+     * are logged, and a JSON report of the run is written into the report directory.
      *
      * @param workerSupplier the supplier responsible for providing the worker threads
      * @param workerCount the total number of worker threads to create
@@ -80,7 +102,7 @@ public class BasePerformanceTest extends LocalRunner {
 
         final List<PerformanceWorker> workers = new ArrayList<>(workerCount);
 
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         for (int workerNum = 0; workerNum < workerCount; workerNum++) {
             final PerformanceWorker worker = workerSupplier.get();
             workers.add(worker);
@@ -91,88 +113,255 @@ public class BasePerformanceTest extends LocalRunner {
         while (!testExecutor.isTerminated()) {
             testExecutor.awaitTermination(5, TimeUnit.MILLISECONDS);
         }
-        final long stop = System.currentTimeMillis();
+        final long stop = System.nanoTime();
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        workers.forEach(worker -> latencies.recordValue(worker.getDuration()));
+
+        // In this closed-loop test every thread sends its next request as soon as the previous one completes, so the
+        // typical latency is the interval at which each thread is expected to send requests.
+        final long expectedInterval = latencies.getValueAtPercentile(50);
+        final LatencyHistogram corrected = latencies.copyCorrectedForCoordinatedOmission(expectedInterval);
+
+        logResults(workers, concurrent, stop - start, latencies, corrected);
 
-        logResults(workers, concurrent, stop - start);
+        final ObjectNode report = getObjectMapper().createObjectNode();
+        report.put("mode", "closed-loop");
+        report.put("concurrentThreads", concurrent);
+        report.put("totalRequests", workers.size());
+        report.put("errors", getErrorCount(workers));
+        report.put("durationNanos", stop - start);
+        report.put("throughput", getThroughput(workers.size(), stop - start));
+        report.put("expectedIntervalNanos", expectedInterval);
+        report.set("latency", toJson(latencies));
+        report.set("correctedLatency", toJson(corrected));
+        report.set("throughputOverTime", getThroughputOverTime(workers, start, stop));
+        writeReport(report);
     }
 
-    private void logResults(
-            @Nonnull final List<PerformanceWorker> workers, final int concurrentThreads, final long realTime) {
+    /**
+     * Run the performance tests in open-loop mode, sending requests at the rate defined by the rate profile no matter
+     * how long the server takes to respond. Latencies are measured from the time each request was intended to be sent,
+     * so queueing delays caused by a server that falls behind are included. Only the requests sent during the
+     * measurement phase are recorded. The results are logged, and a JSON report of the run is written into the report
+     * directory, including the requested and achieved request rates.
+     *
+     * @param workerSupplier the supplier responsible for providing the worker sending each request
+     * @param rateProfile defines the rate at which requests are sent
+     * @param warmUp the duration of the warm-up phase, during which requests are sent but not recorded
+     * @param measurement the duration of the measurement phase
+     * @param threads the number of worker threads sending requests, which limits the number of requests in flight
+     *
+     * @throws InterruptedException if interrupted while sending the requests
+     */
+    public void runOpenLoopTests(
+            @Nonnull final Supplier<PerformanceWorker> workerSupplier, @Nonnull final RateProfile rateProfile,
+            @Nonnull final Duration warmUp, @Nonnull final Duration measurement, final int threads)
+            throws InterruptedException {
+        final OpenLoopGenerator generator = new OpenLoopGenerator(rateProfile, warmUp, measurement, threads);
+        generator.run(workerSupplier);
+
+        final long measurementStart = generator.getMeasurementStart();
+        final long measurementStop = generator.getMeasurementStop();
+        final List<OpenLoopGenerator.ScheduledRequest> measured =
+                generator.getRequests().stream().filter(OpenLoopGenerator.ScheduledRequest::isMeasured)
+                        .collect(Collectors.toList());
+        final List<PerformanceWorker> workers =
+                measured.stream().map(OpenLoopGenerator.ScheduledRequest::getWorker).collect(Collectors.toList());
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final LatencyHistogram serviceTimes = new LatencyHistogram();
+        measured.forEach(request -> {
+            latencies.recordValue(request.getLatency());
+            serviceTimes.recordValue(request.getWorker().getDuration());
+        });
+
+        // The requested rate follows from the schedule, the achieved rate counts the requests completed in time.
+        final int completed = (int) workers.stream().filter(worker -> worker.getStop() < measurementStop).count();
+        final double requestedRate = getThroughput(measured.size(), generator.getMeasurementNanos());
+        final double achievedRate = getThroughput(completed, generator.getMeasurementNanos());
         final int errorCount = getErrorCount(workers);
-        final List<Long> durations = getDurations(workers);
-        final Long sum = getSum(durations);
-        final Double mean = getMean(sum, durations.size());
-        final Double median = getMedian(durations);
-        final Long min = getMin(durations);
-        final Long max = getMax(durations);
 
-        LOG.info("Concurrent Threads: {}", concurrentThreads);
-        LOG.info("Total Requests:     {}", workers.size());
+        LOG.info("Rate Profile:       {}", rateProfile);
+        LOG.info("Threads:            {}", threads);
+        LOG.info("Warm-up Requests:   {}", generator.getRequests().size() - measured.size());
+        LOG.info("Total Requests:     {}", measured.size());
         LOG.info("Errors:             {}", errorCount);
-        LOG.info("Duration Real Time: {}", DurationFormatUtils.formatDurationHMS(realTime));
-        LOG.info("Duration Mean:      {}", DurationFormatUtils.formatDurationHMS(mean.longValue()));
-        LOG.info("Duration Median:    {}", DurationFormatUtils.formatDurationHMS(median.longValue()));
-        LOG.info("Duration Minimum:   {}", DurationFormatUtils.formatDurationHMS(min));
-        LOG.info("Duration Maximum:   {}", DurationFormatUtils.formatDurationHMS(max));
-        if (!durations.isEmpty()) {
-            LOG.info("Duration First:     {}", DurationFormatUtils.formatDurationHMS(durations.get(0)));
-        }
+        LOG.info("Measurement Time:   {}", DurationFormatUtils.formatDurationHMS(measurement.toMillis()));
+        LOG.info("Requested Rate:     {} requests/second", String.format("%.1f", requestedRate));
+        LOG.info("Achieved Rate:      {} requests/second", String.format("%.1f", achievedRate));
+        logLatencies(latencies, serviceTimes, "service time");
 
-        if (workers.size() <= 30) {
-            // Print the individual thread durations if there aren't that many threads.
-            LOG.info("Individual durations for each thread:");
-            int threadNum = 1;
-            for (final PerformanceWorker worker : workers) {
-                LOG.info("Worker {}: {}", StringUtils.leftPad(String.valueOf(threadNum++), 2, '0'),
-                        DurationFormatUtils.formatDurationHMS(worker.getDuration()));
-            }
+        // Include the seconds after the measurement phase during which the requests sent late were still completing.
+        final long lastStop = workers.stream().mapToLong(PerformanceWorker::getStop).max().orElse(measurementStop);
+        final ArrayNode rateOverTime =
+                getThroughputOverTime(workers, measurementStart, Math.max(lastStop, measurementStop));
+        final int seconds = rateOverTime.size();
+        final long[] requested = new long[seconds];
+        for (final OpenLoopGenerator.ScheduledRequest request : measured) {
+            requested[(int) Math.min(
+                    TimeUnit.NANOSECONDS.toSeconds(request.getIntendedStart() - measurementStart), seconds - 1)]++;
+        }
+        for (int second = 0; second < seconds; second++) {
+            ((ObjectNode) rateOverTime.get(second)).put("requested", requested[second]);
         }
+
+        final ObjectNode report = getObjectMapper().createObjectNode();
+        report.put("mode", "open-loop");
+        report.put("rateProfile", rateProfile.toString());
+        report.put("threads", threads);
+        report.put("warmUpNanos", warmUp.toNanos());
+        report.put("measurementNanos", measurement.toNanos());
+        report.put("totalRequests", measured.size());
+        report.put("errors", errorCount);
+        report.put("requestedRate", requestedRate);
+        report.put("achievedRate", achievedRate);
+        report.set("latency", toJson(latencies));
+        report.set("serviceTime", toJson(serviceTimes));
+        report.set("throughputOverTime", rateOverTime);
+        writeReport(report);
     }
 
-    private double getMean(final long sum, final int count) {
-        if (count == 0) {
-            return 0D;
+    /**
+     * Summarize the latencies recorded into a histogram.
+     *
+     * @param histogram the histogram holding the latencies, in nanoseconds
+     *
+     * @return the JSON summary of the latencies, in nanoseconds
+     */
+    @Nonnull
+    public ObjectNode toJson(@Nonnull final LatencyHistogram histogram) {
+        final ObjectNode json = getObjectMapper().createObjectNode();
+        json.put("count", histogram.getTotalCount());
+        json.put("min", histogram.getMin());
+        json.put("mean", histogram.getMean());
+        for (final double percentile : PERCENTILES) {
+            json.put(getPercentileName(percentile), histogram.getValueAtPercentile(percentile));
         }
+        json.put("max", histogram.getMax());
+        return json;
+    }
 
-        return ((double) sum) / count;
+    /**
+     * Write the JSON report of a run into the directory specified by the {@value #REPORT_DIR_PROPERTY} system property,
+     * which defaults to {@value #DEFAULT_REPORT_DIR}. The name of the test and the time of the run are added to the
+     * report. Failure to write the report is logged, it does not fail the run.
+     *
+     * @param report the report to write
+     *
+     * @return the file holding the report, if it was written successfully
+     */
+    @Nonnull
+    public Optional<Path> writeReport(@Nonnull final ObjectNode report) {
+        final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        final ObjectNode json = getObjectMapper().createObjectNode();
+        json.put("test", getClass().getSimpleName());
+        json.put("timestamp", now.toString());
+        json.setAll(Objects.requireNonNull(report));
+
+        final Path dir = Paths.get(System.getProperty(REPORT_DIR_PROPERTY, DEFAULT_REPORT_DIR));
+        final Path file = dir.resolve(getClass().getSimpleName() + "-" + REPORT_TIMESTAMP.format(now) + ".json");
+        try {
+            Files.createDirectories(dir);
+            getObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), json);
+            LOG.info("Report:             {}", file.toAbsolutePath());
+            return Optional.of(file);
+        } catch (final IOException writeFailed) {
+            LOG.error("Failed to write the performance report to " + file, writeFailed);
+            return Optional.empty();
+        }
     }
 
-    private double getMedian(@Nonnull final List<Long> durations) {
-        if (durations.isEmpty()) {
-            return 0D;
+    /**
+     * Count the requests and errors completed during each second of a run.
+     *
+     * @param workers the workers that completed during the run
+     * @param start the value of {@link System#nanoTime()} when the run started
+     * @param stop the value of {@link System#nanoTime()} when the run completed
+     *
+     * @return the JSON array holding the number of requests and errors completed during each second of the run
+     */
+    @Nonnull
+    public ArrayNode getThroughputOverTime(
+            @Nonnull final Collection<? extends PerformanceWorker> workers, final long start, final long stop) {
+        final int seconds = (int) TimeUnit.NANOSECONDS.toSeconds(stop - start) + 1;
+        final long[] requests = new long[seconds];
+        final long[] errors = new long[seconds];
+        for (final PerformanceWorker worker : workers) {
+            final int second = (int) Math.min(Math.max(TimeUnit.NANOSECONDS.toSeconds(worker.getStop() - start), 0),
+                    seconds - 1);
+            requests[second]++;
+            if (worker.getFailure().isPresent()) {
+                errors[second]++;
+            }
         }
 
-        if (durations.size() % 2 == 1) {
-            return durations.get(durations.size() / 2).doubleValue();
-        } else {
-            final Double first = durations.get(durations.size() / 2 - 1).doubleValue();
-            final Double second = durations.get(durations.size() / 2).doubleValue();
-            return (first + second) / 2;
+        final ArrayNode json = getObjectMapper().createArrayNode();
+        for (int second = 0; second < seconds; second++) {
+            final ObjectNode interval = json.addObject();
+            interval.put("second", second);
+            interval.put("requests", requests[second]);
+            interval.put("errors", errors[second]);
         }
+        return json;
     }
 
-    private Long getMin(@Nonnull final List<Long> durations) {
-        long min = Long.MAX_VALUE;
-        for (final Long duration : durations) {
-            min = Math.min(min, duration);
+    private void logResults(
+            @Nonnull final List<PerformanceWorker> workers, final int concurrentThreads, final long realTime,
+            @Nonnull final LatencyHistogram latencies, @Nonnull final LatencyHistogram corrected) {
+        LOG.info("Concurrent Threads: {}", concurrentThreads);
+        LOG.info("Total Requests:     {}", workers.size());
+        LOG.info("Errors:             {}", getErrorCount(workers));
+        LOG.info("Duration Real Time: {}", DurationFormatUtils.formatDurationHMS(
+                TimeUnit.NANOSECONDS.toMillis(realTime)));
+        LOG.info("Throughput:         {} requests/second",
+                String.format("%.1f", getThroughput(workers.size(), realTime)));
+        logLatencies(latencies, corrected, "corrected");
+
+        if (workers.size() <= 30) {
+            // Print the individual thread durations if there aren't that many threads.
+            LOG.info("Individual durations for each thread:");
+            int threadNum = 1;
+            for (final PerformanceWorker worker : workers) {
+                LOG.info("Worker {}: {}", StringUtils.leftPad(String.valueOf(threadNum++), 2, '0'),
+                        formatLatency(worker.getDuration()));
+            }
         }
-        return min;
     }
 
-    private long getMax(@Nonnull final List<Long> durations) {
-        long max = Long.MIN_VALUE;
-        for (final Long duration : durations) {
-            max = Math.max(max, duration);
+    /**
+     * Log the latency percentiles of a run, next to the percentiles of a related histogram.
+     *
+     * @param latencies the recorded latencies, in nanoseconds
+     * @param other the related latencies, like the ones corrected for coordinated omission, in nanoseconds
+     * @param otherName the name describing the related latencies in the log
+     */
+    public void logLatencies(
+            @Nonnull final LatencyHistogram latencies, @Nonnull final LatencyHistogram other,
+            @Nonnull final String otherName) {
+        LOG.info("Latency Mean:       {} ({} {})", formatLatency((long) latencies.getMean()), otherName,
+                formatLatency((long) other.getMean()));
+        LOG.info("Latency Minimum:    {}", formatLatency(latencies.getMin()));
+        for (final double percentile : PERCENTILES) {
+            LOG.info("Latency {} {} ({} {})", StringUtils.rightPad(getPercentileName(percentile) + ":", 10),
+                    formatLatency(latencies.getValueAtPercentile(percentile)), otherName,
+                    formatLatency(other.getValueAtPercentile(percentile)));
         }
-        return max;
+        LOG.info("Latency Maximum:    {}", formatLatency(latencies.getMax()));
     }
 
-    private long getSum(@Nonnull final List<Long> durations) {
-        long sum = 0L;
-        for (final Long duration : durations) {
-            sum += duration;
-        }
-        return sum;
+    @Nonnull
+    private static String getPercentileName(final double percentile) {
+        return "p" + new BigDecimal(String.valueOf(percentile)).stripTrailingZeros().toPlainString();
+    }
+
+    @Nonnull
+    private static String formatLatency(final long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000D);
+    }
+
+    private static double getThroughput(final int requests, final long durationNanos) {
+        return durationNanos <= 0 ? 0D : requests * 1_000_000_000D / durationNanos;
     }
 
     private int getErrorCount(@Nonnull final List<? extends PerformanceWorker> workers) {
@@ -184,10 +373,4 @@ public class BasePerformanceTest extends LocalRunner {
         }
         return count;
     }
-
-    @Nonnull
-    private List<Long> getDurations(@Nonnull final List<? extends PerformanceWorker> threads) {
-        Objects.requireNonNull(threads);
-        return threads.stream().map(PerformanceWorker::getDuration).collect(Collectors.toList());
-    }
 }
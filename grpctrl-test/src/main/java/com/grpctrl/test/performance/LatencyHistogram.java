@@ -0,0 +1,210 @@
+package com.grpctrl.test.performance;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Records latency values, in nanoseconds, into a histogram in the style of HdrHistogram. Values are counted in
+ * log-linear buckets: each power of two is divided into 1024 equally sized buckets, so every recorded value is retained
+ * with a relative precision of about 0.1% across the whole range of values, while the histogram uses a fixed amount of
+ * memory no matter how many values are recorded. The minimum, maximum and mean are tracked exactly.
+ *
+ * <p>A histogram recorded by a closed-loop load test suffers from coordinated omission: while the server stalls, the
+ * workers wait for responses instead of sending the requests they would have sent, so the stall is sampled only once
+ * per worker. The {@link #recordValueWithExpectedInterval(long, long)} and
+ * {@link #copyCorrectedForCoordinatedOmission(long)} methods add the missing samples back.</p>
+ */
+@SuppressFBWarnings(value = "IS2_INCONSISTENT_SYNC",
+        justification = "the unsynchronized accesses only touch new copies not yet visible to other threads")
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    @Nonnull
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF_COUNT];
+
+    private long totalCount = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+    private double sum = 0;
+
+    private static int getIndex(final long value) {
+        final int bucket = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return bucket * SUB_BUCKET_HALF_COUNT + (int) (value >>> bucket);
+    }
+
+    private static long getLowestEquivalentValue(final int index) {
+        final int bucket = Math.max(0, index / SUB_BUCKET_HALF_COUNT - 1);
+        return (long) (index - bucket * SUB_BUCKET_HALF_COUNT) << bucket;
+    }
+
+    private static long getHighestEquivalentValue(final int index) {
+        final int bucket = Math.max(0, index / SUB_BUCKET_HALF_COUNT - 1);
+        return getLowestEquivalentValue(index) + (1L << bucket) - 1;
+    }
+
+    /**
+     * Record a single value.
+     *
+     * @param value the value to record, in nanoseconds
+     *
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public synchronized void recordValue(final long value) {
+        recordValues(value, 1);
+    }
+
+    private void recordValues(final long value, final long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency values can not be negative: " + value);
+        }
+        this.counts[getIndex(value)] += count;
+        this.totalCount += count;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+        this.sum += (double) value * count;
+    }
+
+    /**
+     * Record a single value, correcting for coordinated omission. When the value is larger than the expected interval
+     * between requests, the requests that would have been sent during the wait are recorded as well, with latencies
+     * decreasing by the expected interval down to the expected interval.
+     *
+     * @param value the value to record, in nanoseconds
+     * @param expectedInterval the expected interval between requests sent by a single worker, in nanoseconds, where a
+     *     value of zero or less disables the correction
+     *
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public synchronized void recordValueWithExpectedInterval(final long value, final long expectedInterval) {
+        recordValues(value, 1);
+        if (expectedInterval > 0) {
+            for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+                recordValues(missing, 1);
+            }
+        }
+    }
+
+    /**
+     * Add all of the values recorded into another histogram to this histogram.
+     *
+     * @param other the histogram whose values are added
+     */
+    public void add(@Nonnull final LatencyHistogram other) {
+        final LatencyHistogram copy = Objects.requireNonNull(other).copy();
+        synchronized (this) {
+            for (int index = 0; index < copy.counts.length; index++) {
+                this.counts[index] += copy.counts[index];
+            }
+            this.totalCount += copy.totalCount;
+            this.min = Math.min(this.min, copy.min);
+            this.max = Math.max(this.max, copy.max);
+            this.sum += copy.sum;
+        }
+    }
+
+    /**
+     * @return a copy of this histogram
+     */
+    @Nonnull
+    public synchronized LatencyHistogram copy() {
+        final LatencyHistogram copy = new LatencyHistogram();
+        System.arraycopy(this.counts, 0, copy.counts, 0, this.counts.length);
+        copy.totalCount = this.totalCount;
+        copy.min = this.min;
+        copy.max = this.max;
+        copy.sum = this.sum;
+        return copy;
+    }
+
+    /**
+     * Create a copy of this histogram corrected for coordinated omission, as if every value had been recorded using
+     * {@link #recordValueWithExpectedInterval(long, long)}.
+     *
+     * @param expectedInterval the expected interval between requests sent by a single worker, in nanoseconds, where a
+     *     value of zero or less disables the correction
+     *
+     * @return the corrected copy of this histogram
+     */
+    @Nonnull
+    public synchronized LatencyHistogram copyCorrectedForCoordinatedOmission(final long expectedInterval) {
+        if (expectedInterval <= 0) {
+            return copy();
+        }
+
+        final LatencyHistogram corrected = new LatencyHistogram();
+        for (int index = 0; index < this.counts.length; index++) {
+            final long count = this.counts[index];
+            if (count == 0) {
+                continue;
+            }
+            final long value = Math.min(Math.max(getHighestEquivalentValue(index), this.min), this.max);
+            corrected.recordValues(value, count);
+            for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+                corrected.recordValues(missing, count);
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * @return the total number of recorded values
+     */
+    public synchronized long getTotalCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * @return the smallest recorded value, or zero when no values were recorded
+     */
+    public synchronized long getMin() {
+        return this.totalCount == 0 ? 0 : this.min;
+    }
+
+    /**
+     * @return the largest recorded value, or zero when no values were recorded
+     */
+    public synchronized long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return the mean of the recorded values, or zero when no values were recorded
+     */
+    public synchronized double getMean() {
+        return this.totalCount == 0 ? 0 : this.sum / this.totalCount;
+    }
+
+    /**
+     * @param percentile the percentile to retrieve, between 0 and 100
+     *
+     * @return the value at or below which the provided percentage of the recorded values fall, reported as the
+     *     largest value equivalent to the recorded values within the precision of the histogram, or zero when no
+     *     values were recorded
+     *
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    public synchronized long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (this.totalCount == 0) {
+            return 0;
+        }
+
+        // Ignore floating point error, so the 99.9th percentile of 1000 values is the 999th value.
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * this.totalCount - 1e-9));
+        long seen = 0;
+        for (int index = 0; index < this.counts.length; index++) {
+            seen += this.counts[index];
+            if (seen >= target) {
+                return Math.min(Math.max(getHighestEquivalentValue(index), this.min), this.max);
+            }
+        }
+        return this.max;
+    }
+}
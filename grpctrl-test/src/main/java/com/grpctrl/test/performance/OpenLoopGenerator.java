@@ -0,0 +1,217 @@
+package com.grpctrl.test.performance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Sends requests at the rate defined by a {@link RateProfile}, independent of how long the server takes to respond.
+ * Each request is assigned the time at which it is intended to be sent, and its latency is measured from that time, so
+ * the time spent waiting for a free worker thread while the server falls behind is included in the latency, as it
+ * would be for real clients. This avoids the coordinated omission of closed-loop tests, where a slow server also slows
+ * down the rate of the requests measuring it.
+ *
+ * <p>A run consists of a warm-up phase, during which requests are sent but not measured, followed by the measurement
+ * phase. A generator performs a single run.</p>
+ */
+public class OpenLoopGenerator {
+    // How long to wait before checking the rate again when the profile calls for no requests.
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Nonnull
+    private final RateProfile rateProfile;
+    private final long warmUpNanos;
+    private final long measurementNanos;
+    private final int threads;
+
+    @Nonnull
+    private final List<ScheduledRequest> requests = new ArrayList<>();
+    private long start = 0L;
+    private boolean started = false;
+
+    /**
+     * @param rateProfile defines the rate at which requests are sent
+     * @param warmUp the duration of the warm-up phase, possibly zero
+     * @param measurement the duration of the measurement phase
+     * @param threads the number of worker threads sending requests, which limits the number of requests in flight
+     *
+     * @throws NullPointerException if any of the object parameters are {@code null}
+     * @throws IllegalArgumentException if the warm-up duration is negative, or the measurement duration or the number
+     *     of threads are not positive
+     */
+    public OpenLoopGenerator(
+            @Nonnull final RateProfile rateProfile, @Nonnull final Duration warmUp, @Nonnull final Duration measurement,
+            final int threads) {
+        this.rateProfile = Objects.requireNonNull(rateProfile);
+        this.warmUpNanos = Objects.requireNonNull(warmUp).toNanos();
+        this.measurementNanos = Objects.requireNonNull(measurement).toNanos();
+        this.threads = threads;
+
+        if (this.warmUpNanos < 0 || this.measurementNanos <= 0 || threads < 1) {
+            throw new IllegalArgumentException("Invalid warm-up or measurement duration, or number of threads");
+        }
+    }
+
+    /**
+     * @return the profile defining the rate at which requests are sent
+     */
+    @Nonnull
+    public RateProfile getRateProfile() {
+        return this.rateProfile;
+    }
+
+    /**
+     * @return the number of worker threads sending requests
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the run started
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the warm-up phase ended and the measurement phase started
+     */
+    public long getMeasurementStart() {
+        return this.start + this.warmUpNanos;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the measurement phase ended, after which no more requests
+     *     were sent
+     */
+    public long getMeasurementStop() {
+        return getMeasurementStart() + this.measurementNanos;
+    }
+
+    /**
+     * @return the duration of the measurement phase, in nanoseconds
+     */
+    public long getMeasurementNanos() {
+        return this.measurementNanos;
+    }
+
+    /**
+     * @return all of the requests scheduled during the run, in the order they were intended to be sent
+     */
+    @Nonnull
+    public List<ScheduledRequest> getRequests() {
+        return Collections.unmodifiableList(this.requests);
+    }
+
+    /**
+     * Send requests according to the rate profile until the end of the measurement phase, and wait for all of the
+     * requests to complete.
+     *
+     * @param workerSupplier the supplier responsible for providing the worker sending each request
+     *
+     * @throws InterruptedException if interrupted while waiting to send or complete the requests
+     * @throws IllegalStateException if the generator has already been run
+     */
+    public void run(@Nonnull final Supplier<PerformanceWorker> workerSupplier) throws InterruptedException {
+        Objects.requireNonNull(workerSupplier);
+        if (this.started) {
+            throw new IllegalStateException("The generator has already been run");
+        }
+        this.started = true;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        try {
+            this.start = System.nanoTime();
+            final long stop = getMeasurementStop();
+            long intended = this.start;
+            while (intended < stop) {
+                final double rate = this.rateProfile.getRate(intended - this.start);
+                if (rate <= 0) {
+                    intended += IDLE_NANOS;
+                    continue;
+                }
+
+                // Requests whose intended time has passed already are sent right away, keeping to the schedule.
+                for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+
+                final ScheduledRequest request =
+                        new ScheduledRequest(workerSupplier.get(), intended, intended >= getMeasurementStart());
+                this.requests.add(request);
+                executor.execute(request.getWorker());
+                intended += Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        while (!executor.isTerminated()) {
+            executor.awaitTermination(5, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * A request sent by the generator, along with the time it was intended to be sent.
+     */
+    public static class ScheduledRequest {
+        @Nonnull
+        private final PerformanceWorker worker;
+        private final long intendedStart;
+        private final boolean measured;
+
+        /**
+         * @param worker the worker responsible for sending the request
+         * @param intendedStart the value of {@link System#nanoTime()} at which the request was intended to be sent
+         * @param measured whether the request was sent during the measurement phase
+         */
+        public ScheduledRequest(
+                @Nonnull final PerformanceWorker worker, final long intendedStart, final boolean measured) {
+            this.worker = Objects.requireNonNull(worker);
+            this.intendedStart = intendedStart;
+            this.measured = measured;
+        }
+
+        /**
+         * @return the worker responsible for sending the request
+         */
+        @Nonnull
+        public PerformanceWorker getWorker() {
+            return this.worker;
+        }
+
+        /**
+         * @return the value of {@link System#nanoTime()} at which the request was intended to be sent
+         */
+        public long getIntendedStart() {
+            return this.intendedStart;
+        }
+
+        /**
+         * @return whether the request was sent during the measurement phase, rather than the warm-up phase
+         */
+        public boolean isMeasured() {
+            return this.measured;
+        }
+
+        /**
+         * @return the latency of the request in nanoseconds, from the time it was intended to be sent until it
+         *     completed, including any time spent waiting for a worker thread
+         */
+        public long getLatency() {
+            return this.worker.getStop() - this.intendedStart;
+        }
+    }
+}
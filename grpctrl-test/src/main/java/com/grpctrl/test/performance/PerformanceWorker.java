@@ -4,15 +4,28 @@ import java.util.Optional;
 
 /**
  * An interface for performance testing threads where the thread tracks how long it takes to run the task, and whether
- * an error occurred during the task processing.
+ * an error occurred during the task processing. Times are measured with {@link System#nanoTime()}, so they are only
+ * meaningful relative to other times measured within the same JVM.
  */
 public interface PerformanceWorker extends Runnable {
+    /**
+     * @return the value of {@link System#nanoTime()} when the {@link Runnable#run} method started
+     */
+    long getStart();
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the {@link Runnable#run} method completed
+     */
+    long getStop();
+
     /**
      * Calculate and return the duration of the {@link Runnable#run} method, after the runnable has completed execution.
      *
-     * @return the duration of the task processing, in milliseconds
+     * @return the duration of the task processing, in nanoseconds
      */
-    long getDuration();
+    default long getDuration() {
+        return getStop() - getStart();
+    }
 
     /**
      * Retrieves the failure that occurred during the performance worker task processing, if available.
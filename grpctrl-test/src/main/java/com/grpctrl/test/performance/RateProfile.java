@@ -0,0 +1,139 @@
+package com.grpctrl.test.performance;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Defines the rate, in requests per second, at which an {@link OpenLoopGenerator} sends requests over the course of a
+ * run, measured from the start of the run including the warm-up phase.
+ */
+public abstract class RateProfile {
+    /**
+     * @param elapsedNanos the number of nanoseconds elapsed since the start of the run
+     *
+     * @return the rate at which requests are sent at that time, in requests per second
+     */
+    public abstract double getRate(long elapsedNanos);
+
+    /**
+     * @param rate the rate at which requests are sent, in requests per second
+     *
+     * @return a profile sending requests at the same rate throughout the run
+     *
+     * @throws IllegalArgumentException if the rate is not positive
+     */
+    @Nonnull
+    public static RateProfile constant(final double rate) {
+        requirePositive(rate);
+        return new Ramp(rate, rate, 1);
+    }
+
+    /**
+     * @param startRate the rate at which requests are sent at the start of the run, in requests per second
+     * @param endRate the rate at which requests are sent at the end of the ramp, in requests per second
+     * @param duration the duration over which the rate changes linearly from the start rate to the end rate, after
+     *     which the end rate is maintained
+     *
+     * @return a profile changing the rate at which requests are sent linearly
+     *
+     * @throws IllegalArgumentException if either rate is negative, the end rate is not positive, or the duration is
+     *     not positive
+     */
+    @Nonnull
+    public static RateProfile ramp(final double startRate, final double endRate, @Nonnull final Duration duration) {
+        if (startRate < 0) {
+            throw new IllegalArgumentException("Request rates can not be negative: " + startRate);
+        }
+        requirePositive(endRate);
+        return new Ramp(startRate, endRate, requirePositive(duration));
+    }
+
+    /**
+     * @param initialRate the rate at which requests are sent during the first step, in requests per second
+     * @param increment the amount by which the rate increases with each following step, in requests per second
+     * @param stepDuration the duration of each step
+     *
+     * @return a profile increasing the rate at which requests are sent in steps, to find the rate at which the server
+     *     saturates
+     *
+     * @throws IllegalArgumentException if the initial rate or the step duration are not positive, or the increment is
+     *     negative
+     */
+    @Nonnull
+    public static RateProfile step(
+            final double initialRate, final double increment, @Nonnull final Duration stepDuration) {
+        requirePositive(initialRate);
+        if (increment < 0) {
+            throw new IllegalArgumentException("Rate increment can not be negative: " + increment);
+        }
+        return new Step(initialRate, increment, requirePositive(stepDuration));
+    }
+
+    private static void requirePositive(final double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Request rates must be positive: " + rate);
+        }
+    }
+
+    private static long requirePositive(@Nonnull final Duration duration) {
+        if (Objects.requireNonNull(duration).isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Rate profile durations must be positive: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    private static class Ramp extends RateProfile {
+        private final double startRate;
+        private final double endRate;
+        private final long durationNanos;
+
+        Ramp(final double startRate, final double endRate, final long durationNanos) {
+            this.startRate = startRate;
+            this.endRate = endRate;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public double getRate(final long elapsedNanos) {
+            if (elapsedNanos >= this.durationNanos) {
+                return this.endRate;
+            }
+            return this.startRate + (this.endRate - this.startRate) * Math.max(elapsedNanos, 0) / this.durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            if (this.startRate == this.endRate) {
+                return String.format("constant %.1f/s", this.endRate);
+            }
+            return String.format("ramp %.1f/s to %.1f/s over %s", this.startRate, this.endRate,
+                    Duration.ofNanos(this.durationNanos));
+        }
+    }
+
+    private static class Step extends RateProfile {
+        private final double initialRate;
+        private final double increment;
+        private final long stepNanos;
+
+        Step(final double initialRate, final double increment, final long stepNanos) {
+            this.initialRate = initialRate;
+            this.increment = increment;
+            this.stepNanos = stepNanos;
+        }
+
+        @Override
+        public double getRate(final long elapsedNanos) {
+            // The rate only changes once each whole step has elapsed.
+            return this.initialRate + this.increment * Math.floorDiv(Math.max(elapsedNanos, 0), this.stepNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("step %.1f/s plus %.1f/s every %s", this.initialRate, this.increment,
+                    Duration.ofNanos(this.stepNanos));
+        }
+    }
+}
@@ -87,7 +87,7 @@ public class AccountAddPerformanceTest extends BasePerformanceTest {
 
         @Override
         public void run() {
-            this.start = System.currentTimeMillis();
+            this.start = System.nanoTime();
 
             final AtomicInteger total = new AtomicInteger(0);
             try {
@@ -96,13 +96,18 @@ public class AccountAddPerformanceTest extends BasePerformanceTest {
                 this.failure = failure;
                 LOG.error("Failed to add account", failure);
             } finally {
-                this.stop = System.currentTimeMillis();
+                this.stop = System.nanoTime();
             }
         }
 
         @Override
-        public long getDuration() {
-            return this.stop - this.start;
+        public long getStart() {
+            return this.start;
+        }
+
+        @Override
+        public long getStop() {
+            return this.stop;
         }
 
         @Override
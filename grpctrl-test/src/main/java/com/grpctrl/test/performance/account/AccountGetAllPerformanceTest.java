@@ -74,7 +74,7 @@ public class AccountGetAllPerformanceTest extends BasePerformanceTest {
 
         @Override
         public void run() {
-            this.start = System.currentTimeMillis();
+            this.start = System.nanoTime();
 
             final AtomicInteger total = new AtomicInteger(0);
             try {
@@ -83,13 +83,18 @@ public class AccountGetAllPerformanceTest extends BasePerformanceTest {
                 this.failure = failure;
                 LOG.error("Failed to get all accounts", failure);
             } finally {
-                this.stop = System.currentTimeMillis();
+                this.stop = System.nanoTime();
             }
         }
 
         @Override
-        public long getDuration() {
-            return this.stop - this.start;
+        public long getStart() {
+            return this.start;
+        }
+
+        @Override
+        public long getStop() {
+            return this.stop;
         }
 
         @Override
@@ -4,10 +4,12 @@ import com.grpctrl.client.AccountClient;
 import com.grpctrl.common.model.EndPoint;
 import com.grpctrl.test.performance.BasePerformanceTest;
 import com.grpctrl.test.performance.PerformanceWorker;
+import com.grpctrl.test.performance.RateProfile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -32,8 +34,22 @@ public class AccountGetPerformanceTest extends BasePerformanceTest {
     private static final int TOTAL_REQUESTS = 10000;
     private static final int CONCURRENT = 100;
 
+    private static final RateProfile OPEN_LOOP_RATE = RateProfile.constant(500);
+    private static final Duration OPEN_LOOP_WARM_UP = Duration.ofSeconds(30);
+    private static final Duration OPEN_LOOP_MEASUREMENT = Duration.ofMinutes(2);
+
+    /**
+     * @param args the command-line parameters, where {@code open-loop} sends requests at a constant rate instead of
+     *     sending a fixed number of requests as fast as possible
+     *
+     * @throws InterruptedException if interrupted while running the tests
+     */
     public static void main(final String... args) throws InterruptedException {
-        new AccountGetPerformanceTest().runTests();
+        if (args.length > 0 && "open-loop".equals(args[0])) {
+            new AccountGetPerformanceTest().runOpenLoopTests();
+        } else {
+            new AccountGetPerformanceTest().runTests();
+        }
     }
 
     @Nonnull
@@ -47,6 +63,11 @@ public class AccountGetPerformanceTest extends BasePerformanceTest {
         runTests(new AccountGetWorkerSupplier(this.client), TOTAL_REQUESTS, CONCURRENT);
     }
 
+    public void runOpenLoopTests() throws InterruptedException {
+        runOpenLoopTests(new AccountGetWorkerSupplier(this.client), OPEN_LOOP_RATE, OPEN_LOOP_WARM_UP,
+                OPEN_LOOP_MEASUREMENT, CONCURRENT);
+    }
+
     private static class AccountGetWorkerSupplier implements Supplier<PerformanceWorker> {
         @Nonnull
         private final AccountClient client;
@@ -88,7 +109,7 @@ public class AccountGetPerformanceTest extends BasePerformanceTest {
 
         @Override
         public void run() {
-            this.start = System.currentTimeMillis();
+            this.start = System.nanoTime();
 
             final AtomicInteger total = new AtomicInteger(0);
             try {
@@ -97,13 +118,18 @@ public class AccountGetPerformanceTest extends BasePerformanceTest {
                 this.failure = failure;
                 LOG.error("Failed to get account by id " + this.accountId, failure);
             } finally {
-                this.stop = System.currentTimeMillis();
+                this.stop = System.nanoTime();
             }
         }
 
         @Override
-        public long getDuration() {
-            return this.stop - this.start;
+        public long getStart() {
+            return this.start;
+        }
+
+        @Override
+        public long getStop() {
+            return this.stop;
         }
 
         @Override
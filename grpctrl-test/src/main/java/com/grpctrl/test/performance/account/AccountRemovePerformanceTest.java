@@ -73,7 +73,7 @@ public class AccountRemovePerformanceTest extends BasePerformanceTest {
 
         @Override
         public void run() {
-            this.start = System.currentTimeMillis();
+            this.start = System.nanoTime();
 
             try {
                 this.client.remove(1L);
@@ -81,13 +81,18 @@ public class AccountRemovePerformanceTest extends BasePerformanceTest {
                 this.failure = failure;
                 LOG.error("Failed to remove account", failure);
             } finally {
-                this.stop = System.currentTimeMillis();
+                this.stop = System.nanoTime();
             }
         }
 
         @Override
-        public long getDuration() {
-            return this.stop - this.start;
+        public long getStart() {
+            return this.start;
+        }
+
+        @Override
+        public long getStop() {
+            return this.stop;
         }
 
         @Override
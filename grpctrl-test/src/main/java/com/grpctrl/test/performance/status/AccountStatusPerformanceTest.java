@@ -77,7 +77,7 @@ public class AccountStatusPerformanceTest extends BasePerformanceTest {
 
         @Override
         public void run() {
-            this.start = System.currentTimeMillis();
+            this.start = System.nanoTime();
 
             try {
                 this.client.get(this.apiLogin);
@@ -85,13 +85,18 @@ public class AccountStatusPerformanceTest extends BasePerformanceTest {
                 this.failure = failure;
                 LOG.error("Failed to get account status", failure);
             } finally {
-                this.stop = System.currentTimeMillis();
+                this.stop = System.nanoTime();
             }
         }
 
         @Override
-        public long getDuration() {
-            return this.stop - this.start;
+        public long getStart() {
+            return this.start;
+        }
+
+        @Override
+        public long getStop() {
+            return this.stop;
         }
 
         @Override
@@ -0,0 +1,104 @@
+package com.grpctrl.test.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue("Expected " + expected + " but was " + actual, Math.abs(expected - actual) <= expected / 1000 + 1);
+    }
+
+    @Test
+    public void testEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99), 0);
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void testSmallValuesExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.recordValue(value);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.0001);
+        assertEquals(500, histogram.getValueAtPercentile(50));
+        assertEquals(900, histogram.getValueAtPercentile(90));
+        assertEquals(990, histogram.getValueAtPercentile(99));
+        assertEquals(999, histogram.getValueAtPercentile(99.9));
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testUnsortedLargeValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 100; millis >= 1; millis--) {
+            histogram.recordValue(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(50), histogram.getValueAtPercentile(50));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(90), histogram.getValueAtPercentile(90));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(99), histogram.getValueAtPercentile(99));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.getValueAtPercentile(99.9));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), histogram.getMin());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.getMax());
+    }
+
+    @Test
+    public void testCoordinatedOmissionCorrection() {
+        final LatencyHistogram recorded = new LatencyHistogram();
+        final LatencyHistogram corrected = new LatencyHistogram();
+        for (int request = 0; request < 99; request++) {
+            recorded.recordValue(10);
+            corrected.recordValueWithExpectedInterval(10, 10);
+        }
+        // A single stall of 1000, during which 99 more requests would have been sent.
+        recorded.recordValue(1000);
+        corrected.recordValueWithExpectedInterval(1000, 10);
+
+        assertEquals(100, recorded.getTotalCount());
+        assertEquals(10, recorded.getValueAtPercentile(99));
+        assertEquals(199, corrected.getTotalCount());
+        assertEquals(510, corrected.getValueAtPercentile(75));
+        assertEquals(1000, corrected.getMax());
+
+        final LatencyHistogram copy = recorded.copyCorrectedForCoordinatedOmission(10);
+        assertEquals(corrected.getTotalCount(), copy.getTotalCount());
+        assertEquals(corrected.getValueAtPercentile(75), copy.getValueAtPercentile(75));
+        assertEquals(corrected.getMean(), copy.getMean(), 0.0001);
+    }
+
+    @Test
+    public void testAdd() {
+        final LatencyHistogram first = new LatencyHistogram();
+        first.recordValue(5);
+        final LatencyHistogram second = new LatencyHistogram();
+        second.recordValue(TimeUnit.SECONDS.toNanos(3));
+        first.add(second);
+        assertEquals(2, first.getTotalCount());
+        assertEquals(5, first.getMin());
+        assertEquals(TimeUnit.SECONDS.toNanos(3), first.getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeValue() {
+        new LatencyHistogram().recordValue(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getValueAtPercentile(101);
+    }
+}
@@ -0,0 +1,98 @@
+package com.grpctrl.test.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link OpenLoopGenerator} class.
+ */
+public class OpenLoopGeneratorTest {
+    private static class SleepingWorker implements PerformanceWorker {
+        private final long sleepMillis;
+        private long start = 0L;
+        private long stop = 0L;
+
+        SleepingWorker(final long sleepMillis) {
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public void run() {
+            this.start = System.nanoTime();
+            try {
+                Thread.sleep(this.sleepMillis);
+            } catch (final InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.stop = System.nanoTime();
+            }
+        }
+
+        @Override
+        public long getStart() {
+            return this.start;
+        }
+
+        @Override
+        public long getStop() {
+            return this.stop;
+        }
+
+        @Override
+        public Optional<Throwable> getFailure() {
+            return Optional.empty();
+        }
+    }
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        final OpenLoopGenerator generator = new OpenLoopGenerator(
+                RateProfile.constant(100), Duration.ofMillis(200), Duration.ofMillis(500), 4);
+        generator.run(() -> new SleepingWorker(0));
+
+        final List<OpenLoopGenerator.ScheduledRequest> requests = generator.getRequests();
+        assertEquals(70, requests.size());
+        assertEquals(50, requests.stream().filter(OpenLoopGenerator.ScheduledRequest::isMeasured).count());
+        for (int index = 0; index < requests.size(); index++) {
+            final OpenLoopGenerator.ScheduledRequest request = requests.get(index);
+            assertEquals(generator.getStart() + index * TimeUnit.MILLISECONDS.toNanos(10), request.getIntendedStart());
+            assertEquals(request.getIntendedStart() >= generator.getMeasurementStart(), request.isMeasured());
+            assertTrue(request.getWorker().getStart() >= request.getIntendedStart());
+        }
+    }
+
+    @Test
+    public void testIndependentOfResponseTimes() throws InterruptedException {
+        // A single thread can complete only 5 requests per second, while 20 per second are sent.
+        final OpenLoopGenerator generator =
+                new OpenLoopGenerator(RateProfile.constant(20), Duration.ZERO, Duration.ofMillis(500), 1);
+        generator.run(() -> new SleepingWorker(200));
+
+        final List<OpenLoopGenerator.ScheduledRequest> requests = generator.getRequests();
+        assertEquals(10, requests.size());
+        // The last request waited for the nine requests sent before it, which is included in its latency.
+        final OpenLoopGenerator.ScheduledRequest last = requests.get(requests.size() - 1);
+        assertTrue(last.getLatency() >= TimeUnit.MILLISECONDS.toNanos(10 * 200 - 450));
+        assertTrue(last.getWorker().getDuration() < last.getLatency());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRunTwice() throws InterruptedException {
+        final OpenLoopGenerator generator =
+                new OpenLoopGenerator(RateProfile.constant(100), Duration.ZERO, Duration.ofMillis(10), 1);
+        generator.run(() -> new SleepingWorker(0));
+        generator.run(() -> new SleepingWorker(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreads() {
+        new OpenLoopGenerator(RateProfile.constant(100), Duration.ZERO, Duration.ofSeconds(1), 0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.grpctrl.test.performance;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link RateProfile} class.
+ */
+public class RateProfileTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testConstant() {
+        final RateProfile profile = RateProfile.constant(100);
+        assertEquals(100, profile.getRate(0), 0.0001);
+        assertEquals(100, profile.getRate(60 * SECOND), 0.0001);
+        assertEquals("constant 100.0/s", profile.toString());
+    }
+
+    @Test
+    public void testRamp() {
+        final RateProfile profile = RateProfile.ramp(0, 100, Duration.ofSeconds(10));
+        assertEquals(0, profile.getRate(0), 0.0001);
+        assertEquals(50, profile.getRate(5 * SECOND), 0.0001);
+        assertEquals(100, profile.getRate(10 * SECOND), 0.0001);
+        assertEquals(100, profile.getRate(20 * SECOND), 0.0001);
+        assertEquals("ramp 0.0/s to 100.0/s over PT10S", profile.toString());
+    }
+
+    @Test
+    public void testStep() {
+        final RateProfile profile = RateProfile.step(100, 50, Duration.ofSeconds(30));
+        assertEquals(100, profile.getRate(0), 0.0001);
+        assertEquals(100, profile.getRate(30 * SECOND - 1), 0.0001);
+        assertEquals(150, profile.getRate(30 * SECOND), 0.0001);
+        assertEquals(250, profile.getRate(95 * SECOND), 0.0001);
+        assertEquals("step 100.0/s plus 50.0/s every PT30S", profile.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstantNotPositive() {
+        RateProfile.constant(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRampNegativeStart() {
+        RateProfile.ramp(-1, 100, Duration.ofSeconds(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStepZeroDuration() {
+        RateProfile.step(100, 50, Duration.ZERO);
+    }
+}